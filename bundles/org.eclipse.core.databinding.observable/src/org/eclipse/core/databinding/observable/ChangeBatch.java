@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.core.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.map.IObservableMap;
+import org.eclipse.core.databinding.observable.map.MapChangeEvent;
+import org.eclipse.core.databinding.observable.map.MapDiff;
+import org.eclipse.core.databinding.observable.set.IObservableSet;
+import org.eclipse.core.databinding.observable.set.SetChangeEvent;
+import org.eclipse.core.databinding.observable.set.SetDiff;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.ValueDiff;
+
+/**
+ * Collects the change events fired within a {@link Realm#batch(Runnable)
+ * batch} and merges them per observable and event type. When the batch ends,
+ * every observable fires at most one event of each type, in the order in which
+ * the first event of that kind was fired during the batch.
+ * <p>
+ * Only events which describe the state of an observable are deferred.
+ * Vetoable and dispose events are always delivered immediately.
+ * </p>
+ */
+/* package */final class ChangeBatch {
+
+	/**
+	 * The events which were fired by one change manager for one listener type.
+	 */
+	private static final class PendingEvents {
+		final ChangeManager changeManager;
+		final List<ObservableEvent> events = new ArrayList<>(2);
+
+		PendingEvents(ChangeManager changeManager) {
+			this.changeManager = changeManager;
+		}
+	}
+
+	/**
+	 * Identity key of a change manager and a listener type.
+	 */
+	private static final class Key {
+		private final ChangeManager changeManager;
+		private final Object listenerType;
+
+		Key(ChangeManager changeManager, Object listenerType) {
+			this.changeManager = changeManager;
+			this.listenerType = listenerType;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(changeManager) + System.identityHashCode(listenerType);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return changeManager == other.changeManager && listenerType == other.listenerType;
+		}
+	}
+
+	private final Map<Key, PendingEvents> pendingEvents = new LinkedHashMap<>();
+
+	/**
+	 * Records the given event to be fired when the batch ends.
+	 *
+	 * @param changeManager
+	 *            the change manager which fires the event
+	 * @param event
+	 *            the event
+	 * @return <code>true</code> if the event was deferred, <code>false</code>
+	 *         if it has to be fired immediately
+	 */
+	boolean defer(ChangeManager changeManager, ObservableEvent event) {
+		if (!isMergeable(event)) {
+			return false;
+		}
+		pendingEvents.computeIfAbsent(new Key(changeManager, event.getListenerType()),
+				key -> new PendingEvents(changeManager)).events.add(event);
+		return true;
+	}
+
+	/**
+	 * Fires the merged events. Events fired by the listeners are delivered
+	 * immediately as the batch has already ended.
+	 */
+	void fire() {
+		for (PendingEvents pending : pendingEvents.values()) {
+			pending.changeManager.fireEvent(merge(pending.events));
+		}
+		pendingEvents.clear();
+	}
+
+	private static boolean isMergeable(ObservableEvent event) {
+		return event instanceof ChangeEvent || event instanceof StaleEvent || event instanceof ValueChangeEvent
+				|| event instanceof ListChangeEvent || event instanceof SetChangeEvent
+				|| event instanceof MapChangeEvent;
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static ObservableEvent merge(List<ObservableEvent> events) {
+		ObservableEvent first = events.get(0);
+		if (events.size() == 1 || first instanceof ChangeEvent || first instanceof StaleEvent) {
+			return first;
+		}
+		if (first instanceof ValueChangeEvent) {
+			return new ValueChangeEvent(((ValueChangeEvent) first).getObservableValue(), mergeValueDiffs(events));
+		}
+		if (first instanceof ListChangeEvent) {
+			List<ListDiffEntry<Object>> differences = new ArrayList<>();
+			for (ObservableEvent event : events) {
+				differences.addAll(Arrays.asList(((ListChangeEvent<Object>) event).diff.getDifferences()));
+			}
+			return new ListChangeEvent(((ListChangeEvent) first).getObservableList(),
+					Diffs.createListDiff(differences));
+		}
+		if (first instanceof SetChangeEvent) {
+			return new SetChangeEvent(((SetChangeEvent) first).getObservableSet(), mergeSetDiffs(events));
+		}
+		return new MapChangeEvent(((MapChangeEvent) first).getObservableMap(), mergeMapDiffs(events));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ValueDiff<Object> mergeValueDiffs(List<ObservableEvent> events) {
+		final ValueDiff<Object> firstDiff = ((ValueChangeEvent<Object>) events.get(0)).diff;
+		final ValueDiff<Object> lastDiff = ((ValueChangeEvent<Object>) events.get(events.size() - 1)).diff;
+		// the diff may compute its values lazily, don't ask for them before
+		// a listener does
+		return new ValueDiff<Object>() {
+			@Override
+			public Object getOldValue() {
+				return firstDiff.getOldValue();
+			}
+
+			@Override
+			public Object getNewValue() {
+				return lastDiff.getNewValue();
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private static SetDiff<Object> mergeSetDiffs(List<ObservableEvent> events) {
+		Set<Object> additions = new HashSet<>();
+		Set<Object> removals = new HashSet<>();
+		for (ObservableEvent event : events) {
+			SetDiff<Object> diff = ((SetChangeEvent<Object>) event).diff;
+			for (Object element : diff.getRemovals()) {
+				if (!additions.remove(element)) {
+					removals.add(element);
+				}
+			}
+			for (Object element : diff.getAdditions()) {
+				if (!removals.remove(element)) {
+					additions.add(element);
+				}
+			}
+		}
+		return Diffs.createSetDiff(additions, removals);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MapDiff<Object, Object> mergeMapDiffs(List<ObservableEvent> events) {
+		// keys which were contained in the map before the batch, with their
+		// original values
+		Map<Object, Object> oldValues = new HashMap<>();
+		// keys which are contained in the map after the batch, with their
+		// current values
+		Map<Object, Object> newValues = new HashMap<>();
+		Set<Object> touchedKeys = new HashSet<>();
+		for (ObservableEvent event : events) {
+			MapDiff<Object, Object> diff = ((MapChangeEvent<Object, Object>) event).diff;
+			for (Object key : diff.getRemovedKeys()) {
+				if (touchedKeys.add(key)) {
+					oldValues.put(key, diff.getOldValue(key));
+				}
+				newValues.remove(key);
+			}
+			for (Object key : diff.getChangedKeys()) {
+				if (touchedKeys.add(key)) {
+					oldValues.put(key, diff.getOldValue(key));
+				}
+				newValues.put(key, diff.getNewValue(key));
+			}
+			for (Object key : diff.getAddedKeys()) {
+				touchedKeys.add(key);
+				newValues.put(key, diff.getNewValue(key));
+			}
+		}
+
+		Set<Object> addedKeys = new HashSet<>();
+		Set<Object> removedKeys = new HashSet<>();
+		Set<Object> changedKeys = new HashSet<>();
+		for (Object key : touchedKeys) {
+			boolean wasContained = oldValues.containsKey(key);
+			boolean isContained = newValues.containsKey(key);
+			if (wasContained && isContained) {
+				changedKeys.add(key);
+			} else if (wasContained) {
+				removedKeys.add(key);
+			} else if (isContained) {
+				addedKeys.add(key);
+			}
+		}
+		return Diffs.createMapDiff(addedKeys, removedKeys, changedKeys, oldValues, newValues);
+	}
+}
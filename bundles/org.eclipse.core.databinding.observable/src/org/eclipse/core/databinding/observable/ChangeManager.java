@@ -13,6 +13,7 @@
  *     Matthew Hall - bugs 118516, 255734
  *     Chris Audley - bug 273265
  *     Stefan Xenos <sxenos@gmail.com> - Bug 335792
+ *     Eclipse contributors - batched change notifications
  *******************************************************************************/
 
 package org.eclipse.core.databinding.observable;
@@ -112,6 +113,10 @@ import org.eclipse.core.runtime.ListenerList;
 	}
 
 	protected void fireEvent(ObservableEvent event) {
+		ChangeBatch batch = realm.getChangeBatch();
+		if (batch != null && batch.defer(this, event)) {
+			return;
+		}
 		Object listenerType = event.getListenerType();
 		int listenerTypeIndex = findListenerTypeIndex(listenerType);
 		if (listenerTypeIndex != -1) {
@@ -13,6 +13,7 @@
  *     Matthew Hall - bug 226216
  *     Stefan Xenos <sxenos@gmail.com> - Bug 335792
  *     Stefan Xenos <sxenos@gmail.com> - Bug 474065
+ *     Eclipse contributors - Myers and histogram diff for large lists
  *******************************************************************************/
 
 package org.eclipse.core.databinding.observable;
@@ -25,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Set;
 
 import org.eclipse.core.databinding.observable.list.ListDiff;
@@ -32,12 +34,21 @@ import org.eclipse.core.databinding.observable.list.ListDiffEntry;
 import org.eclipse.core.databinding.observable.map.MapDiff;
 import org.eclipse.core.databinding.observable.set.SetDiff;
 import org.eclipse.core.databinding.observable.value.ValueDiff;
+import org.eclipse.core.internal.databinding.observable.ListDiffComputer;
 
 /**
  * @since 1.0
  *
  */
 public class Diffs {
+
+	/**
+	 * Lists whose differing parts have more element pairs than this are diffed
+	 * with {@link ListDiffComputer} instead of the quadratic algorithm, which
+	 * reports moves of elements as adjacent removal and addition.
+	 */
+	private static final long QUADRATIC_DIFF_LIMIT = 64 * 1024;
+
 	private static final class UnmodifiableListDiff<E> extends ListDiff<E> {
 		private ListDiff<? extends E> toWrap;
 
@@ -229,7 +240,35 @@ public class Diffs {
 	 */
 	public static <E> ListDiff<E> computeListDiff(List<? extends E> oldList, List<? extends E> newList) {
 		List<ListDiffEntry<E>> diffEntries = new ArrayList<>();
-		createListDiffs(new ArrayList<>(oldList), newList, diffEntries);
+		if (!(oldList instanceof RandomAccess)) {
+			oldList = new ArrayList<>(oldList);
+		}
+		if (!(newList instanceof RandomAccess)) {
+			newList = new ArrayList<>(newList);
+		}
+		int oldSize = oldList.size();
+		int newSize = newList.size();
+		int prefix = 0;
+		int minSize = Math.min(oldSize, newSize);
+		while (prefix < minSize && Objects.equals(oldList.get(prefix), newList.get(prefix))) {
+			prefix++;
+		}
+
+		if (prefix == oldSize) {
+			// elements appended, or no change
+			for (int i = prefix; i < newSize; i++) {
+				diffEntries.add(createListDiffEntry(i, true, newList.get(i)));
+			}
+		} else if (prefix == newSize) {
+			// trailing elements removed
+			for (int i = oldSize; i > prefix;) {
+				diffEntries.add(createListDiffEntry(--i, false, oldList.get(i)));
+			}
+		} else if ((long) (oldSize - prefix) * (newSize - prefix) <= QUADRATIC_DIFF_LIMIT) {
+			createListDiffs(new ArrayList<>(oldList), newList, prefix, diffEntries);
+		} else {
+			ListDiffComputer.computeListDiff(oldList, newList, prefix, diffEntries);
+		}
 		return createListDiff(diffEntries);
 	}
 
@@ -266,10 +305,10 @@ public class Diffs {
 	/**
 	 * adapted from EMF's ListDifferenceAnalyzer
 	 */
-	private static <E> void createListDiffs(List<E> oldList, List<? extends E> newList,
+	private static <E> void createListDiffs(List<E> oldList, List<? extends E> newList, int start,
 			List<ListDiffEntry<E>> listDiffs) {
-		int index = 0;
-		for (E newValue : newList) {
+		int index = start;
+		for (E newValue : newList.subList(start, newList.size())) {
 			if (oldList.size() <= index) {
 				// append newValue to newList
 				listDiffs.add(createListDiffEntry(index, true, newValue));
@@ -12,13 +12,13 @@
  *     IBM Corporation - initial API and implementation
  *     Matthew Hall - bugs 210115, 146397, 249526, 262269, 251424
  *     Stefan Xenos <sxenos@gmail.com> - Bug 335792
+ *     Eclipse contributors - pooled tracking frames
  *******************************************************************************/
 package org.eclipse.core.databinding.observable;
 
-import java.util.Set;
+import java.util.Arrays;
 
 import org.eclipse.core.databinding.util.Policy;
-import org.eclipse.core.internal.databinding.identity.IdentitySet;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -64,20 +64,13 @@ import org.eclipse.core.runtime.Status;
 public class ObservableTracker {
 
 	/**
-	 * Threadlocal storage pointing to the current Set of IObservables, or null
-	 * if none. Note that this is actually the top of a stack. Whenever a method
-	 * changes the current value, it remembers the old value as a local variable
-	 * and restores the old value when the method exits.
+	 * Threadlocal storage pointing to the stack of tracking frames of the
+	 * current thread. The top frame holds the current set of read and created
+	 * IObservables, the listeners to attach and the ignore count. Frames are
+	 * reused, so monitoring a runnable does not allocate anything but the
+	 * resulting array once the stack has grown to its maximum depth.
 	 */
-	private static ThreadLocal<IChangeListener> currentChangeListener = new ThreadLocal<>();
-
-	private static ThreadLocal<IStaleListener> currentStaleListener = new ThreadLocal<>();
-
-	private static ThreadLocal<Set<IObservable>> currentGetterCalledSet = new ThreadLocal<>();
-
-	private static ThreadLocal<Set<IObservable>> currentObservableCreatedSet = new ThreadLocal<>();
-
-	private static ThreadLocal<Integer> currentIgnoreCount = new ThreadLocal<>();
+	private static final ThreadLocal<FrameStack> currentFrameStack = ThreadLocal.withInitial(FrameStack::new);
 
 	/**
 	 * Invokes the given runnable, and returns the set of IObservables that were
@@ -97,31 +90,26 @@ public class ObservableTracker {
 	 */
 	public static IObservable[] runAndMonitor(Runnable runnable,
 			IChangeListener changeListener, IStaleListener staleListener) {
-		// Remember the previous value in the listener stack
-		Set<IObservable> lastObservableSet = currentGetterCalledSet.get();
-		IChangeListener lastChangeListener = currentChangeListener.get();
-		IStaleListener lastStaleListener = currentStaleListener.get();
-		Integer lastIgnore = currentIgnoreCount.get();
-
-		Set<IObservable> observableSet = new IdentitySet<>();
-		// Push the new listeners to the top of the stack
-		currentGetterCalledSet.set(observableSet);
-		currentChangeListener.set(changeListener);
-		currentStaleListener.set(staleListener);
-		currentIgnoreCount.set(null);
+		FrameStack stack = currentFrameStack.get();
+		Frame parent = stack.top();
+		// Push a new frame to the top of the stack, the set of created
+		// observables is inherited from the enclosing frame
+		Frame frame = stack.push();
+		frame.getterCalledSet = frame.ownSet;
+		frame.changeListener = changeListener;
+		frame.staleListener = staleListener;
+		frame.observableCreatedSet = parent.observableCreatedSet;
+		IObservable[] observables;
 		try {
 			runnable.run();
 		} finally {
-			// Pop the new listener off the top of the stack (by restoring the
-			// previous listener)
-			currentGetterCalledSet.set(lastObservableSet);
-			currentChangeListener.set(lastChangeListener);
-			currentStaleListener.set(lastStaleListener);
-			checkUnmatchedIgnore(runnable);
-			currentIgnoreCount.set(lastIgnore);
+			checkUnmatchedIgnore(frame, runnable);
+			// Pop the frame off the top of the stack, which restores the
+			// previous listeners
+			observables = stack.pop();
 		}
 
-		return observableSet.toArray(new IObservable[observableSet.size()]);
+		return observables;
 	}
 
 	/**
@@ -141,34 +129,34 @@ public class ObservableTracker {
 	 * @since 1.2
 	 */
 	public static IObservable[] runAndCollect(Runnable runnable) {
-		Set<IObservable> lastObservableCreatedSet = currentObservableCreatedSet.get();
-		Integer lastIgnore = currentIgnoreCount.get();
-
-		Set<IObservable> observableSet = new IdentitySet<>();
-		// Push the new listeners to the top of the stack
-		currentObservableCreatedSet.set(observableSet);
-		currentIgnoreCount.set(null);
+		FrameStack stack = currentFrameStack.get();
+		Frame parent = stack.top();
+		// Push a new frame to the top of the stack, the getter tracking is
+		// inherited from the enclosing frame
+		Frame frame = stack.push();
+		frame.getterCalledSet = parent.getterCalledSet;
+		frame.changeListener = parent.changeListener;
+		frame.staleListener = parent.staleListener;
+		frame.observableCreatedSet = frame.ownSet;
+		IObservable[] observables;
 		try {
 			runnable.run();
 		} finally {
-			// Pop the new listener off the top of the stack (by restoring the
-			// previous listener)
-			currentObservableCreatedSet.set(lastObservableCreatedSet);
-			checkUnmatchedIgnore(runnable);
-			currentIgnoreCount.set(lastIgnore);
+			checkUnmatchedIgnore(frame, runnable);
+			observables = stack.pop();
 		}
 
-		return observableSet.toArray(new IObservable[observableSet.size()]);
+		return observables;
 	}
 
-	private static void checkUnmatchedIgnore(Runnable runnable) {
-		if (isIgnore()) {
+	private static void checkUnmatchedIgnore(Frame frame, Runnable runnable) {
+		if (frame.ignoreCount > 0) {
 			Policy.getLog()
 					.log(new Status(
 							IStatus.ERROR,
 							Policy.JFACE_DATABINDING,
 							"There were " //$NON-NLS-1$
-									+ currentIgnoreCount.get()
+									+ frame.ignoreCount
 									+ " unmatched setIgnore(true) invocations in runnable " //$NON-NLS-1$
 									+ runnable));
 		}
@@ -193,15 +181,14 @@ public class ObservableTracker {
 	 * @since 1.3
 	 */
 	public static void setIgnore(boolean ignore) {
-		Integer lastCount = currentIgnoreCount.get();
+		Frame frame = currentFrameStack.get().top();
 
-		int newCount = (lastCount == null ? 0 : lastCount.intValue())
-				+ (ignore ? 1 : -1);
+		int newCount = frame.ignoreCount + (ignore ? 1 : -1);
 
 		if (newCount < 0)
 			throw new IllegalStateException("Ignore count is already zero"); //$NON-NLS-1$
 
-		currentIgnoreCount.set(newCount == 0 ? null : Integer.valueOf(newCount));
+		frame.ignoreCount = newCount;
 	}
 
 	/**
@@ -231,10 +218,6 @@ public class ObservableTracker {
 				+ Integer.toHexString(System.identityHashCode(observable));
 	}
 
-	private static boolean isIgnore() {
-		return currentIgnoreCount.get() != null;
-	}
-
 	/**
 	 * Notifies the ObservableTracker that an observable was read from. The
 	 * JavaDoc for methods that invoke this method should include the following
@@ -254,16 +237,17 @@ public class ObservableTracker {
 			Assert.isTrue(false, "Getter called outside realm of observable " //$NON-NLS-1$
 					+ toString(observable));
 
-		if (isIgnore())
+		Frame frame = currentFrameStack.get().top();
+		if (frame.ignoreCount > 0)
 			return;
 
-		Set<IObservable> getterCalledSet = currentGetterCalledSet.get();
+		ObservableSet getterCalledSet = frame.getterCalledSet;
 		if (getterCalledSet != null && getterCalledSet.add(observable)) {
 			// If anyone is listening for observable usage...
-			IChangeListener changeListener = currentChangeListener.get();
+			IChangeListener changeListener = frame.changeListener;
 			if (changeListener != null)
 				observable.addChangeListener(changeListener);
-			IStaleListener staleListener = currentStaleListener.get();
+			IStaleListener staleListener = frame.staleListener;
 			if (staleListener != null)
 				observable.addStaleListener(staleListener);
 		}
@@ -277,11 +261,163 @@ public class ObservableTracker {
 	 * @since 1.2
 	 */
 	public static void observableCreated(IObservable observable) {
-		if (isIgnore())
+		Frame frame = currentFrameStack.get().top();
+		if (frame.ignoreCount > 0)
 			return;
-		Set<IObservable> observableCreatedSet = currentObservableCreatedSet.get();
+		ObservableSet observableCreatedSet = frame.observableCreatedSet;
 		if (observableCreatedSet != null) {
 			observableCreatedSet.add(observable);
 		}
 	}
+
+	/**
+	 * One level of nested {@link #runAndMonitor} and {@link #runAndCollect}
+	 * invocations. The bottom frame of each thread only holds the ignore count
+	 * of calls made outside of any tracking runnable.
+	 */
+	private static final class Frame {
+		/** The set owned by this frame, reused whenever the frame is pushed */
+		final ObservableSet ownSet = new ObservableSet();
+
+		ObservableSet getterCalledSet;
+		ObservableSet observableCreatedSet;
+		IChangeListener changeListener;
+		IStaleListener staleListener;
+		int ignoreCount;
+
+		IObservable[] reset() {
+			getterCalledSet = null;
+			observableCreatedSet = null;
+			changeListener = null;
+			staleListener = null;
+			ignoreCount = 0;
+			return ownSet.drain();
+		}
+	}
+
+	private static final class FrameStack {
+		private Frame[] frames = { new Frame() };
+		private int top;
+
+		Frame top() {
+			return frames[top];
+		}
+
+		Frame push() {
+			if (++top == frames.length) {
+				frames = Arrays.copyOf(frames, top * 2);
+			}
+			Frame frame = frames[top];
+			if (frame == null) {
+				frame = frames[top] = new Frame();
+			}
+			return frame;
+		}
+
+		/**
+		 * Removes the top frame and returns the observables it gathered.
+		 */
+		IObservable[] pop() {
+			return frames[top--].reset();
+		}
+	}
+
+	/**
+	 * Insertion ordered set of observables compared by identity. Small sets
+	 * are searched linearly, larger ones through an open addressing hash table
+	 * which is built once the set grows beyond {@link #LINEAR_LIMIT} elements.
+	 */
+	private static final class ObservableSet {
+		private static final int LINEAR_LIMIT = 8;
+
+		/**
+		 * Arrays larger than this are released when the set is drained instead
+		 * of being kept for the next use of the frame
+		 */
+		private static final int POOLED_CAPACITY = 256;
+
+		private IObservable[] elements = new IObservable[LINEAR_LIMIT];
+		private int size;
+		/**
+		 * Hash table of the elements with a power of two length, only used
+		 * when size exceeds {@link #LINEAR_LIMIT}
+		 */
+		private IObservable[] table;
+		private boolean hashed;
+
+		boolean add(IObservable observable) {
+			if (hashed) {
+				int mask = table.length - 1;
+				int index = System.identityHashCode(observable) & mask;
+				IObservable existing;
+				while ((existing = table[index]) != null) {
+					if (existing == observable) {
+						return false;
+					}
+					index = (index + 1) & mask;
+				}
+			} else {
+				for (int i = 0; i < size; i++) {
+					if (elements[i] == observable) {
+						return false;
+					}
+				}
+			}
+
+			if (size == elements.length) {
+				elements = Arrays.copyOf(elements, size * 2);
+			}
+			elements[size++] = observable;
+			if (hashed && size * 2 <= table.length) {
+				insert(observable);
+			} else if (size > LINEAR_LIMIT) {
+				rehash();
+			}
+			return true;
+		}
+
+		private void rehash() {
+			int capacity = Integer.highestOneBit(size) * 4;
+			if (table == null || table.length < capacity) {
+				table = new IObservable[capacity];
+			} else {
+				Arrays.fill(table, null);
+			}
+			hashed = true;
+			for (int i = 0; i < size; i++) {
+				insert(elements[i]);
+			}
+		}
+
+		private void insert(IObservable observable) {
+			int mask = table.length - 1;
+			int index = System.identityHashCode(observable) & mask;
+			while (table[index] != null) {
+				index = (index + 1) & mask;
+			}
+			table[index] = observable;
+		}
+
+		/**
+		 * Returns the elements of this set and clears it for the next use.
+		 */
+		IObservable[] drain() {
+			IObservable[] result = Arrays.copyOf(elements, size);
+			if (elements.length > POOLED_CAPACITY) {
+				elements = new IObservable[LINEAR_LIMIT];
+			} else {
+				Arrays.fill(elements, 0, size, null);
+			}
+			if (table != null) {
+				if (table.length > POOLED_CAPACITY) {
+					table = null;
+				} else if (hashed) {
+					Arrays.fill(table, null);
+				}
+			}
+			hashed = false;
+			size = 0;
+			return result;
+		}
+	}
 }
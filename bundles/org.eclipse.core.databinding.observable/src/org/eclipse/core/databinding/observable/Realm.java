@@ -13,6 +13,7 @@
  *     Brad Reynolds - bug 168153
  *     Boris Bokowski - bug 245647
  *     Stefan Xenos <sxenos@gmail.com> - Bug 335792
+ *     Eclipse contributors - batched change notifications
  *******************************************************************************/
 
 package org.eclipse.core.databinding.observable;
@@ -22,6 +23,7 @@ import java.util.TimerTask;
 
 import org.eclipse.core.databinding.util.Policy;
 import org.eclipse.core.internal.databinding.observable.Queue;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
@@ -76,6 +78,12 @@ import org.eclipse.core.runtime.Status;
  * lock, it may be easier to implement syncExec and keep the default
  * implementation of asyncExec.
  * </p>
+ * <p>
+ * Bulk updates of observables can be wrapped in a {@link #batch(Runnable)
+ * batch}. Within a batch, the change events of the observables of this realm
+ * are deferred and merged, so every observable notifies its listeners once
+ * when the batch ends.
+ * </p>
  *
  * @since 1.0
  *
@@ -122,6 +130,14 @@ public abstract class Realm {
 
 	private volatile Timer timer;
 
+	/**
+	 * The events deferred by the current batch, or <code>null</code> if no
+	 * batch is open. Only accessed from within this realm.
+	 */
+	private ChangeBatch changeBatch;
+
+	private int batchDepth;
+
 	Queue workQueue = new Queue();
 
 	/**
@@ -323,6 +339,94 @@ public abstract class Realm {
 		}
 	}
 
+	/**
+	 * Runs the given runnable as a batch. Change, stale, value, list, set and
+	 * map change events fired by observables of this realm while the runnable
+	 * executes are deferred until it returns. The events of each observable are
+	 * then merged, so that e.g. adding many elements to a list fires a single
+	 * list change event whose diff contains all additions, and setting a value
+	 * several times fires a single value change event from the first old value
+	 * to the last new value.
+	 * <p>
+	 * Vetoable value changing events and dispose events are not deferred.
+	 * Batches may be nested, the events are fired when the outermost batch
+	 * ends, even if the runnable throws an exception.
+	 * </p>
+	 * <p>
+	 * Note that observables which are derived from other observables, such as
+	 * computed values, are only notified when the batch ends and may therefore
+	 * return outdated values from within the batch.
+	 * </p>
+	 * <p>
+	 * This method must be called from within this realm.
+	 * </p>
+	 *
+	 * @param runnable
+	 *            the runnable to execute
+	 * @since 1.13
+	 */
+	public void batch(Runnable runnable) {
+		beginBatch();
+		try {
+			runnable.run();
+		} finally {
+			endBatch();
+		}
+	}
+
+	/**
+	 * Opens a batch. Every call must be balanced with a call to
+	 * {@link #endBatch()}, preferably in a finally block.
+	 * <p>
+	 * This method must be called from within this realm.
+	 * </p>
+	 *
+	 * @see #batch(Runnable)
+	 * @since 1.13
+	 */
+	public void beginBatch() {
+		Assert.isTrue(isCurrent(), "Batch must be started from within the realm"); //$NON-NLS-1$
+		if (batchDepth++ == 0) {
+			changeBatch = new ChangeBatch();
+		}
+	}
+
+	/**
+	 * Closes a batch opened with {@link #beginBatch()}. When the outermost batch
+	 * is closed, the merged events are fired.
+	 *
+	 * @exception IllegalStateException
+	 *                if no batch is open
+	 * @see #batch(Runnable)
+	 * @since 1.13
+	 */
+	public void endBatch() {
+		if (batchDepth == 0) {
+			throw new IllegalStateException("No batch is open"); //$NON-NLS-1$
+		}
+		if (--batchDepth == 0) {
+			ChangeBatch batch = changeBatch;
+			changeBatch = null;
+			batch.fire();
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if a batch is open in this realm
+	 * @see #batch(Runnable)
+	 * @since 1.13
+	 */
+	public boolean isBatching() {
+		return batchDepth > 0;
+	}
+
+	/**
+	 * @return the events deferred by the current batch, or <code>null</code>
+	 */
+	/* package */ChangeBatch getChangeBatch() {
+		return changeBatch;
+	}
+
 	/**
 	 * Sets the provided <code>realm</code> as the default for the duration of
 	 * {@link Runnable#run()} and resets the previous realm after completion.
@@ -14,6 +14,7 @@
  *     Matthew Hall - bug 274081
  *     Stefan Xenos <sxenos@gmail.com> - Bug 335792
  *     Simon Scholz <simon.scholz@vogella.com> - Bug 488145
+ *     Eclipse contributors - only update listeners of changed dependencies
  *******************************************************************************/
 package org.eclipse.core.databinding.observable.value;
 
@@ -28,6 +29,7 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.internal.databinding.observable.Dependencies;
 
 /**
  * A Lazily calculated value that automatically computes and registers listeners
@@ -198,13 +200,17 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
 			IObservable[] newDependencies = ObservableTracker.runAndMonitor(
-					privateInterface, privateInterface, null);
+					privateInterface, null, null);
+
+			// Only touch the listeners of dependencies which were added or
+			// dropped, the others are still registered from the last run
+			Dependencies.update(dependencies, newDependencies, privateInterface, privateInterface);
 
 			stale = false;
 			for (IObservable observable : newDependencies) {
-				// Add a change listener to the new dependency.
 				if (observable.isStale()) {
 					stale = true;
+					observable.removeStaleListener(privateInterface);
 				} else {
 					observable.addStaleListener(privateInterface);
 				}
@@ -232,7 +238,11 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 		if (!dirty) {
 			dirty = true;
 
-			stopListening();
+			// Keep listening while somebody is interested in our value, so the
+			// dependencies can be diffed when the value is recomputed
+			if (!hasListeners()) {
+				stopListening();
+			}
 
 			// copy the old value
 			final T oldValue = cachedValue;
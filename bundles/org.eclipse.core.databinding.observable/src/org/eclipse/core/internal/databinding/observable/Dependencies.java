@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.IStaleListener;
+
+/**
+ * Updates the listeners of a computation when the set of observables it
+ * depends on has been recomputed. Only the listeners of dependencies which were
+ * added or dropped are touched, so the dependencies which are used by both
+ * computations do not see their last listener removed and their first listener
+ * added again.
+ *
+ * @since 1.13
+ */
+public final class Dependencies {
+
+	/**
+	 * Dependency arrays smaller than this are compared linearly.
+	 */
+	private static final int LINEAR_LIMIT = 8;
+
+	private Dependencies() {
+	}
+
+	/**
+	 * Adds the given change listener to the new dependencies which are not
+	 * contained in the old dependencies and removes the listeners from the old
+	 * dependencies which are not contained in the new ones. Dependencies are
+	 * compared by identity. New listeners are attached before the listeners of
+	 * dropped dependencies are removed.
+	 *
+	 * @param oldDependencies
+	 *            the dependencies the listeners are currently attached to, or
+	 *            <code>null</code> if none
+	 * @param newDependencies
+	 *            the unique dependencies of the new computation
+	 * @param changeListener
+	 *            the change listener to add to and remove from the
+	 *            dependencies
+	 * @param staleListener
+	 *            stale listener to remove from the dropped dependencies, or
+	 *            <code>null</code>
+	 */
+	public static void update(IObservable[] oldDependencies, IObservable[] newDependencies,
+			IChangeListener changeListener, IStaleListener staleListener) {
+		if (oldDependencies == null || oldDependencies.length == 0) {
+			for (IObservable observable : newDependencies) {
+				observable.addChangeListener(changeListener);
+			}
+			return;
+		}
+
+		if (oldDependencies.length <= LINEAR_LIMIT && newDependencies.length <= LINEAR_LIMIT) {
+			for (IObservable observable : newDependencies) {
+				if (!contains(oldDependencies, observable)) {
+					observable.addChangeListener(changeListener);
+				}
+			}
+			for (IObservable observable : oldDependencies) {
+				if (!contains(newDependencies, observable)) {
+					removeListeners(observable, changeListener, staleListener);
+				}
+			}
+			return;
+		}
+
+		// value is true if the old dependency is still used
+		Map<IObservable, Boolean> old = new IdentityHashMap<>(oldDependencies.length);
+		for (IObservable observable : oldDependencies) {
+			old.put(observable, Boolean.FALSE);
+		}
+		for (IObservable observable : newDependencies) {
+			if (old.replace(observable, Boolean.TRUE) == null) {
+				observable.addChangeListener(changeListener);
+			}
+		}
+		for (Map.Entry<IObservable, Boolean> entry : old.entrySet()) {
+			if (!entry.getValue().booleanValue()) {
+				removeListeners(entry.getKey(), changeListener, staleListener);
+			}
+		}
+	}
+
+	private static boolean contains(IObservable[] observables, IObservable observable) {
+		for (IObservable element : observables) {
+			if (element == observable) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void removeListeners(IObservable observable, IChangeListener changeListener,
+			IStaleListener staleListener) {
+		observable.removeChangeListener(changeListener);
+		if (staleListener != null) {
+			observable.removeStaleListener(staleListener);
+		}
+	}
+}
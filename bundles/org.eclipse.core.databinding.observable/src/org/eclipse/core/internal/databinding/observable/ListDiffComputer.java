@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+
+/**
+ * Computes the differences between two lists with the O(ND) algorithm of Myers
+ * and, if there are too many differences for it, with a histogram diff as known
+ * from git and JGit.
+ * <p>
+ * The elements are mapped to integer ids with a hash index so that comparing
+ * them is cheap. The Myers algorithm finds the shortest edit script, it gives
+ * up after a maximum number of edits. The histogram diff skips the common
+ * prefix and suffix of a region, splits it at the longest common run
+ * containing the element occurring least often in the old list, and diffs both
+ * sides the same way. A region whose common elements all occur too often is
+ * diffed with the Myers algorithm again. A region without common elements, or
+ * with too many edits, is reported as replaced. Moves are reported as removal
+ * and addition at unrelated positions.
+ * </p>
+ * <p>
+ * The elements have to implement {@link Object#hashCode()} consistently with
+ * {@link Object#equals(Object)}.
+ * </p>
+ *
+ * @since 1.13
+ */
+public class ListDiffComputer {
+
+	/**
+	 * Elements occurring more often than this in a region are not used to
+	 * split it
+	 */
+	private static final int MAX_CHAIN_LENGTH = 64;
+
+	/**
+	 * Maximum number of additions and removals the Myers algorithm searches for
+	 * in a region, its memory use is quadratic in this number
+	 */
+	private static final int MAX_EDIT_DISTANCE = 500;
+
+	private final int[] a;
+	private final int[] b;
+	private final int aOffset;
+	private final int bOffset;
+
+	// histogram of the old region being split, indexed by element id
+	private final int[] count;
+	private final int[] head;
+	// next position of the same element in the old region
+	private final int[] next;
+
+	private int[] regions = new int[64];
+	private int regionCount;
+
+	// old start, old end, new start, new end of each changed region
+	private int[] hunks = new int[64];
+	private int hunkCount;
+
+	private ListDiffComputer(int[] a, int aOffset, int[] b, int bOffset, int idCount) {
+		this.a = a;
+		this.b = b;
+		this.aOffset = aOffset;
+		this.bOffset = bOffset;
+		this.count = new int[idCount];
+		this.head = new int[idCount];
+		Arrays.fill(head, -1);
+		this.next = new int[a.length];
+	}
+
+	/**
+	 * Adds the differences between the given lists to the given list of diff
+	 * entries. The elements before the given start index are known to be
+	 * equal.
+	 *
+	 * @param <E>         the list element type
+	 * @param oldList     the old list state
+	 * @param newList     the new list state
+	 * @param start       the length of the common prefix of both lists
+	 * @param diffEntries the list to add the diff entries to
+	 */
+	public static <E> void computeListDiff(List<? extends E> oldList, List<? extends E> newList, int start,
+			List<ListDiffEntry<E>> diffEntries) {
+		Object[] oldElements = oldList.toArray();
+		Object[] newElements = newList.toArray();
+		int aEnd = oldElements.length;
+		int bEnd = newElements.length;
+
+		Map<Object, Integer> ids = new HashMap<>();
+		int[] a = new int[aEnd - start];
+		for (int i = start; i < aEnd; i++) {
+			a[i - start] = ids.computeIfAbsent(oldElements[i], k -> Integer.valueOf(ids.size())).intValue();
+		}
+		int[] b = new int[bEnd - start];
+		boolean common = false;
+		for (int i = start; i < bEnd; i++) {
+			Integer id = ids.get(newElements[i]);
+			// elements not in the old list never match
+			b[i - start] = id == null ? -1 : id.intValue();
+			common |= id != null;
+		}
+
+		ListDiffComputer diff = new ListDiffComputer(a, start, b, start, ids.size());
+		if (common) {
+			if (!diff.myers(0, a.length, 0, b.length)) {
+				diff.pushRegion(0, a.length, 0, b.length);
+				diff.run();
+			}
+		} else {
+			diff.addHunk(0, a.length, 0, b.length);
+		}
+		diff.createEntries(oldElements, newElements, diffEntries);
+	}
+
+	private void run() {
+		while (regionCount > 0) {
+			regionCount -= 4;
+			int aStart = regions[regionCount];
+			int aEnd = regions[regionCount + 1];
+			int bStart = regions[regionCount + 2];
+			int bEnd = regions[regionCount + 3];
+
+			while (aStart < aEnd && bStart < bEnd && a[aStart] == b[bStart]) {
+				aStart++;
+				bStart++;
+			}
+			while (aStart < aEnd && bStart < bEnd && a[aEnd - 1] == b[bEnd - 1]) {
+				aEnd--;
+				bEnd--;
+			}
+			if (aStart == aEnd && bStart == bEnd) {
+				continue;
+			}
+			if (aStart == aEnd || bStart == bEnd) {
+				addHunk(aStart, aEnd, bStart, bEnd);
+				continue;
+			}
+			split(aStart, aEnd, bStart, bEnd);
+		}
+	}
+
+	private void split(int aStart, int aEnd, int bStart, int bEnd) {
+		for (int i = aEnd - 1; i >= aStart; i--) {
+			int id = a[i];
+			next[i] = head[id];
+			head[id] = i;
+			count[id]++;
+		}
+
+		boolean common = false;
+		int bestCount = MAX_CHAIN_LENGTH;
+		int bestLength = 0;
+		int bestAStart = -1;
+		int bestAEnd = -1;
+		int bestBStart = -1;
+		int bestBEnd = -1;
+		for (int bi = bStart; bi < bEnd;) {
+			int id = b[bi];
+			if (id < 0 || count[id] == 0) {
+				bi++;
+				continue;
+			}
+			common = true;
+			if (count[id] > bestCount) {
+				bi++;
+				continue;
+			}
+			int nextB = bi + 1;
+			for (int ai = head[id]; ai != -1; ai = next[ai]) {
+				int lowest = count[id];
+				int as = ai;
+				int bs = bi;
+				while (as > aStart && bs > bStart && a[as - 1] == b[bs - 1]) {
+					as--;
+					bs--;
+					lowest = Math.min(lowest, count[a[as]]);
+				}
+				int ae = ai + 1;
+				int be = bi + 1;
+				while (ae < aEnd && be < bEnd && a[ae] == b[be]) {
+					lowest = Math.min(lowest, count[a[ae]]);
+					ae++;
+					be++;
+				}
+				if (lowest < bestCount || (lowest == bestCount && ae - as > bestLength)) {
+					bestCount = lowest;
+					bestLength = ae - as;
+					bestAStart = as;
+					bestAEnd = ae;
+					bestBStart = bs;
+					bestBEnd = be;
+				}
+				nextB = Math.max(nextB, be);
+			}
+			bi = nextB;
+		}
+
+		for (int i = aStart; i < aEnd; i++) {
+			int id = a[i];
+			head[id] = -1;
+			count[id] = 0;
+		}
+
+		if (bestLength == 0) {
+			if (!common || !myers(aStart, aEnd, bStart, bEnd)) {
+				addHunk(aStart, aEnd, bStart, bEnd);
+			}
+			return;
+		}
+		// the left side is popped and reported first
+		pushRegion(bestAEnd, aEnd, bestBEnd, bEnd);
+		pushRegion(aStart, bestAStart, bStart, bestBStart);
+	}
+
+	/**
+	 * Diffs the given region with the greedy algorithm of Myers, which finds
+	 * the shortest edit script in O((N+M)D) time. Equal runs at the start and
+	 * end of the region are followed along a diagonal without any edit.
+	 *
+	 * @return <code>false</code> if the region has more than
+	 *         {@link #MAX_EDIT_DISTANCE} edits, nothing is reported then
+	 */
+	private boolean myers(int aStart, int aEnd, int bStart, int bEnd) {
+		int n = aEnd - aStart;
+		int m = bEnd - bStart;
+		int max = Math.min(n + m, MAX_EDIT_DISTANCE);
+		int offset = max + 1;
+		int[] v = new int[2 * max + 3];
+		// the furthest x reached on each diagonal before each step d
+		int[][] trace = new int[max + 1][];
+		int distance = -1;
+		search: for (int d = 0; d <= max; d++) {
+			trace[d] = Arrays.copyOfRange(v, offset - d - 1, offset + d + 2);
+			for (int k = -d; k <= d; k += 2) {
+				int x;
+				if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+					x = v[offset + k + 1];
+				} else {
+					x = v[offset + k - 1] + 1;
+				}
+				int y = x - k;
+				while (x < n && y < m && a[aStart + x] == b[bStart + y]) {
+					x++;
+					y++;
+				}
+				v[offset + k] = x;
+				if (x >= n && y >= m) {
+					distance = d;
+					break search;
+				}
+			}
+		}
+		if (distance < 0) {
+			return false;
+		}
+
+		// walk back from the end, each step d has one edit at its start
+		int[] editX = new int[distance];
+		int[] editY = new int[distance];
+		boolean[] insertion = new boolean[distance];
+		int x = n;
+		int y = m;
+		for (int d = distance; d > 0; d--) {
+			int[] previous = trace[d];
+			// previous holds the diagonals -d-1..d+1 of step d-1
+			int k = x - y;
+			int previousK;
+			if (k == -d || (k != d && previous[k - 1 + d + 1] < previous[k + 1 + d + 1])) {
+				previousK = k + 1;
+			} else {
+				previousK = k - 1;
+			}
+			int previousX = previous[previousK + d + 1];
+			int previousY = previousX - previousK;
+			editX[d - 1] = previousX;
+			editY[d - 1] = previousY;
+			// coming from the diagonal k+1 moves down, i.e. adds an element
+			insertion[d - 1] = previousK == k + 1;
+			x = previousX;
+			y = previousY;
+		}
+
+		// merge adjacent edits to regions
+		int hunkAStart = -1;
+		int hunkAEnd = -1;
+		int hunkBStart = -1;
+		int hunkBEnd = -1;
+		for (int i = 0; i < distance; i++) {
+			int ex = editX[i];
+			int ey = editY[i];
+			if (hunkAStart < 0 || hunkAEnd != ex || hunkBEnd != ey) {
+				if (hunkAStart >= 0) {
+					addHunk(aStart + hunkAStart, aStart + hunkAEnd, bStart + hunkBStart, bStart + hunkBEnd);
+				}
+				hunkAStart = hunkAEnd = ex;
+				hunkBStart = hunkBEnd = ey;
+			}
+			if (insertion[i]) {
+				hunkBEnd++;
+			} else {
+				hunkAEnd++;
+			}
+		}
+		if (hunkAStart >= 0) {
+			addHunk(aStart + hunkAStart, aStart + hunkAEnd, bStart + hunkBStart, bStart + hunkBEnd);
+		}
+		return true;
+	}
+
+	private void pushRegion(int aStart, int aEnd, int bStart, int bEnd) {
+		if (regionCount + 4 > regions.length) {
+			regions = Arrays.copyOf(regions, regions.length * 2);
+		}
+		regions[regionCount++] = aStart;
+		regions[regionCount++] = aEnd;
+		regions[regionCount++] = bStart;
+		regions[regionCount++] = bEnd;
+	}
+
+	private void addHunk(int aStart, int aEnd, int bStart, int bEnd) {
+		if (hunkCount + 4 > hunks.length) {
+			hunks = Arrays.copyOf(hunks, hunks.length * 2);
+		}
+		hunks[hunkCount++] = aStart;
+		hunks[hunkCount++] = aEnd;
+		hunks[hunkCount++] = bStart;
+		hunks[hunkCount++] = bEnd;
+	}
+
+	/**
+	 * Reports the changed regions in order. The elements of a region are added
+	 * before the replaced elements are removed from its end, like
+	 * {@link Diffs#computeListDiff(List, List)} does for smaller lists.
+	 */
+	@SuppressWarnings("unchecked")
+	private <E> void createEntries(Object[] oldElements, Object[] newElements, List<ListDiffEntry<E>> diffEntries) {
+		for (int h = 0; h < hunkCount; h += 4) {
+			int aStart = hunks[h] + aOffset;
+			int aEnd = hunks[h + 1] + aOffset;
+			int bStart = hunks[h + 2] + bOffset;
+			int bEnd = hunks[h + 3] + bOffset;
+			// all elements before bStart are already those of the new list
+			for (int i = bStart; i < bEnd; i++) {
+				diffEntries.add(Diffs.createListDiffEntry(i, true, (E) newElements[i]));
+			}
+			for (int i = aEnd - 1; i >= aStart; i--) {
+				diffEntries.add(Diffs.createListDiffEntry(bEnd + i - aStart, false, (E) oldElements[i]));
+			}
+		}
+	}
+}
@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     Stefan Xenos (Google) - initial API and implementation
+ *     Eclipse contributors - only update listeners of changed dependencies
  ******************************************************************************/
 package org.eclipse.core.internal.databinding.observable.sideeffect;
 
@@ -24,6 +25,7 @@ import org.eclipse.core.databinding.observable.IObservable;
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.sideeffect.ISideEffect;
+import org.eclipse.core.internal.databinding.observable.Dependencies;
 import org.eclipse.core.runtime.Assert;
 
 /**
@@ -88,6 +90,11 @@ public final class SideEffect implements ISideEffect {
 	 * realm.asyncExec
 	 */
 	private boolean asyncScheduled;
+	/**
+	 * True while {@link #runnable} is executed. Changes made by the runnable
+	 * itself do not dirty the side-effect.
+	 */
+	private boolean running;
 	private int pauseDepth;
 	private Runnable runnable;
 	/**
@@ -184,19 +191,22 @@ public final class SideEffect implements ISideEffect {
 	private void update() {
 		if (dirty && pauseDepth <= 0) {
 			dirty = false;
-			// Hold a reference to the old dependencies to prevent them from
-			// being garbage collected until we've computed the new set. In the
-			// event that a dependency is lazily created, this prevents it from
-			// being destroyed and immediately recreated.
-
-			// Stop listening for dependency changes.
-			stopListening();
+			// Keep listening to the old dependencies until we've computed the
+			// new set. This prevents a lazily created dependency from being
+			// destroyed and immediately recreated, and lets us only touch the
+			// listeners of dependencies which were added or dropped.
 
 			// This line will do the following:
 			// - Run the calculate method
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
-			IObservable[] newDependencies = ObservableTracker.runAndMonitor(runnable, null, null);
+			IObservable[] newDependencies;
+			running = true;
+			try {
+				newDependencies = ObservableTracker.runAndMonitor(runnable, null, null);
+			} finally {
+				running = false;
+			}
 
 			// If the side-effect disposed itself, exit without attaching any
 			// listeners.
@@ -204,9 +214,7 @@ public final class SideEffect implements ISideEffect {
 				return;
 			}
 
-			for (IObservable next : newDependencies) {
-				next.addChangeListener(privateInterface);
-			}
+			Dependencies.update(dependencies, newDependencies, privateInterface, null);
 
 			dependencies = newDependencies;
 		}
@@ -337,7 +345,9 @@ public final class SideEffect implements ISideEffect {
 	private class PrivateInterface implements IChangeListener, Runnable {
 		@Override
 		public void handleChange(ChangeEvent event) {
-			markDirtyInternal();
+			if (!running) {
+				markDirtyInternal();
+			}
 		}
 
 		@Override
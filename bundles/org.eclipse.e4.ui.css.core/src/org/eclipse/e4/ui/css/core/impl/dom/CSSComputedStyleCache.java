@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.css.CSSStyleDeclaration;
+
+/**
+ * Cache of computed styles shared between elements which are matched by the
+ * same selectors. Two elements have the same match signature if they and all of
+ * their ancestors have the same local name, namespace, id, CSS class and the
+ * same values for the attributes and pseudo classes tested by the selectors of
+ * a {@link CSSRuleIndex}.
+ * <p>
+ * A cache is only valid for the rule index it was created for and has to be
+ * discarded together with it when the style sheets change.
+ * </p>
+ */
+final class CSSComputedStyleCache {
+
+	/** Upper bound of cached signatures, the cache is flushed when reached */
+	static final int MAX_ENTRIES = 8192;
+
+	private static final char FIELD_SEPARATOR = '\u0001';
+	private static final char NODE_SEPARATOR = '\u0002';
+	private static final char NULL_VALUE = '\u0003';
+
+	/** Marker for signatures which are not matched by any selector */
+	private static final CSSStyleDeclaration NO_STYLE = new CSSStyleDeclarationImpl(null);
+
+	private final String[] attributeNames;
+	private final String[] pseudoClasses;
+	private final Map<String, CSSStyleDeclaration> styles = new HashMap<>();
+
+	CSSComputedStyleCache(CSSRuleIndex ruleIndex) {
+		Set<String> attributes = ruleIndex.getAttributeNames();
+		this.attributeNames = attributes.toArray(new String[attributes.size()]);
+		Set<String> pseudos = ruleIndex.getPseudoClasses();
+		this.pseudoClasses = pseudos.toArray(new String[pseudos.size()]);
+	}
+
+	/**
+	 * Returns whether the style of the given element can be cached. Only
+	 * elements wrapping native widgets provide all the state needed for the
+	 * signature.
+	 */
+	boolean isCacheable(Element elt) {
+		return elt instanceof CSSStylableElement;
+	}
+
+	/**
+	 * Computes the match signature of the element for the given pseudo
+	 * element.
+	 */
+	private String getSignature(Element elt, String pseudoElt) {
+		StringBuilder signature = new StringBuilder(128);
+		appendValue(signature, pseudoElt);
+		for (Node n = elt; n != null; n = n.getParentNode()) {
+			signature.append(NODE_SEPARATOR);
+			if (n.getNodeType() != Node.ELEMENT_NODE) {
+				signature.append(n.getNodeType());
+				continue;
+			}
+			Element e = (Element) n;
+			appendValue(signature, CSSRuleIndex.getLocalName(e));
+			appendValue(signature, e.getNamespaceURI());
+			appendValue(signature, CSSRuleIndex.getId(e));
+			appendValue(signature, CSSRuleIndex.getClasses(e));
+			for (String attributeName : attributeNames) {
+				appendValue(signature, e.hasAttribute(attributeName) ? e.getAttribute(attributeName) : null);
+			}
+			if (pseudoClasses.length > 0) {
+				signature.append(FIELD_SEPARATOR);
+				if (e instanceof CSSStylableElement) {
+					CSSStylableElement stylableElement = (CSSStylableElement) e;
+					for (String pseudoClass : pseudoClasses) {
+						if (stylableElement.isPseudoInstanceOf(pseudoClass)) {
+							signature.append(stylableElement.isStaticPseudoInstance(pseudoClass) ? 'S' : 'P');
+						} else {
+							signature.append('-');
+						}
+					}
+				}
+			}
+		}
+		return signature.toString();
+	}
+
+	/**
+	 * Returns the computed style for the signature of the given element,
+	 * computing it with <code>styleComputer</code> on a cache miss.
+	 *
+	 * @param elt           the element
+	 * @param pseudoElt     the pseudo element, may be <code>null</code>
+	 * @param styleComputer computes the style of the element
+	 * @return the computed style, may be <code>null</code>
+	 */
+	CSSStyleDeclaration getComputedStyle(Element elt, String pseudoElt,
+			Supplier<CSSStyleDeclaration> styleComputer) {
+		String signature = getSignature(elt, pseudoElt);
+		CSSStyleDeclaration style = styles.get(signature);
+		if (style == null) {
+			style = styleComputer.get();
+			if (style == null) {
+				style = NO_STYLE;
+			}
+			if (styles.size() >= MAX_ENTRIES) {
+				styles.clear();
+			}
+			styles.put(signature, style);
+		}
+		return style == NO_STYLE ? null : style;
+	}
+
+	private static void appendValue(StringBuilder signature, String value) {
+		signature.append(FIELD_SEPARATOR);
+		if (value == null) {
+			signature.append(NULL_VALUE);
+		} else {
+			signature.append(value);
+		}
+	}
+}
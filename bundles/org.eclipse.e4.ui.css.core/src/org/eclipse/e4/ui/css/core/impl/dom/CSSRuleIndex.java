@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSIdConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSPseudoClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.ElementSelector;
+import org.w3c.css.sac.LangCondition;
+import org.w3c.css.sac.NegativeCondition;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSStyleRule;
+
+/**
+ * Index of the selectors of a list of CSS rules, bucketed by the most selective
+ * key of their subject (the right-most compound selector): id, CSS class or
+ * element local name. Selectors without such a key are kept in a universal
+ * bucket which is consulted for every element.
+ * <p>
+ * The index only narrows the set of selectors which have to be matched against
+ * an element; the full selector match is still performed by the caller. The
+ * candidates are returned in stylesheet order so the cascade position of
+ * matching rules is the same as with a linear scan.
+ * </p>
+ */
+final class CSSRuleIndex {
+
+	/**
+	 * A selector of a style rule together with its position in the combined
+	 * rule list.
+	 */
+	static final class Entry {
+		final CSSStyleRule rule;
+		final ExtendedSelector selector;
+		final int order;
+
+		Entry(CSSStyleRule rule, ExtendedSelector selector, int order) {
+			this.rule = rule;
+			this.selector = selector;
+			this.order = order;
+		}
+	}
+
+	private final Map<String, List<Entry>> idBuckets = new HashMap<>();
+	private final Map<String, List<Entry>> classBuckets = new HashMap<>();
+	private final Map<String, List<Entry>> localNameBuckets = new HashMap<>();
+	private final List<Entry> universalBucket = new ArrayList<>();
+	private final int size;
+
+	/** Attribute names referenced by attribute conditions of any selector */
+	private final Set<String> attributeNames = new TreeSet<>();
+	/** Pseudo classes referenced by any selector */
+	private final Set<String> pseudoClasses = new TreeSet<>();
+	/**
+	 * Whether the selectors only depend on the element and ancestor state which
+	 * is described by {@link #attributeNames} and {@link #pseudoClasses}
+	 */
+	private boolean signatureComplete = true;
+
+	CSSRuleIndex(List<CSSRule> ruleList) {
+		int order = 0;
+		for (CSSRule rule : ruleList) {
+			if (rule.getType() != CSSRule.STYLE_RULE || (!(rule instanceof ExtendedCSSRule))) {
+				continue; // we only handle the CSSRule.STYLE_RULE and ExtendedCSSRule case
+			}
+			SelectorList selectorList = ((ExtendedCSSRule) rule).getSelectorList();
+			int l = selectorList.getLength();
+			for (int j = 0; j < l; j++) {
+				Selector selector = selectorList.item(j);
+				if (selector instanceof ExtendedSelector) {
+					add(new Entry((CSSStyleRule) rule, (ExtendedSelector) selector, order++));
+					collectDependencies(selector);
+				}
+			}
+		}
+		this.size = order;
+	}
+
+	/**
+	 * @return the number of indexed selectors
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return the names of the attributes tested by the indexed selectors
+	 */
+	Set<String> getAttributeNames() {
+		return attributeNames;
+	}
+
+	/**
+	 * @return the pseudo classes tested by the indexed selectors
+	 */
+	Set<String> getPseudoClasses() {
+		return pseudoClasses;
+	}
+
+	/**
+	 * Returns whether the match result of all indexed selectors is fully
+	 * determined by the local name, namespace, id, class, the
+	 * {@link #getAttributeNames() attributes} and the
+	 * {@link #getPseudoClasses() pseudo classes} of an element and its
+	 * ancestors. This is not the case for e.g. sibling selectors.
+	 *
+	 * @return <code>true</code> if elements with the same such signature are
+	 *         matched by the same selectors
+	 */
+	boolean isSignatureComplete() {
+		return signatureComplete;
+	}
+
+	/**
+	 * Returns the selectors which may match the given element, in stylesheet
+	 * order.
+	 *
+	 * @param elt the element to look up
+	 * @return the candidate selectors, never <code>null</code>
+	 */
+	List<Entry> getCandidates(Element elt) {
+		List<Entry> candidates = new ArrayList<>(universalBucket);
+		int sources = universalBucket.isEmpty() ? 0 : 1;
+
+		sources += addBucket(candidates, localNameBuckets, getLocalName(elt));
+		sources += addBucket(candidates, idBuckets, getId(elt));
+		String classes = getClasses(elt);
+		if (classes != null && !classes.isEmpty()) {
+			for (String className : splitClasses(classes)) {
+				sources += addBucket(candidates, classBuckets, className);
+			}
+		}
+
+		if (sources > 1) {
+			candidates.sort((e1, e2) -> Integer.compare(e1.order, e2.order));
+		}
+		return candidates;
+	}
+
+	private void add(Entry entry) {
+		Selector subject = getSubject(entry.selector);
+		if (subject instanceof ConditionalSelector) {
+			ConditionalSelector conditionalSelector = (ConditionalSelector) subject;
+			String id = findConditionValue(conditionalSelector.getCondition(), true);
+			if (id != null) {
+				addToBucket(idBuckets, id, entry);
+				return;
+			}
+			String className = findConditionValue(conditionalSelector.getCondition(), false);
+			if (className != null) {
+				addToBucket(classBuckets, className, entry);
+				return;
+			}
+			subject = conditionalSelector.getSimpleSelector();
+		}
+		if (subject instanceof ElementSelector && subject.getSelectorType() == Selector.SAC_ELEMENT_NODE_SELECTOR) {
+			String localName = ((ElementSelector) subject).getLocalName();
+			if (localName != null) {
+				addToBucket(localNameBuckets, localName, entry);
+				return;
+			}
+		}
+		universalBucket.add(entry);
+	}
+
+	private void collectDependencies(Selector selector) {
+		if (selector instanceof ConditionalSelector) {
+			collectDependencies(((ConditionalSelector) selector).getSimpleSelector());
+			collectDependencies(((ConditionalSelector) selector).getCondition());
+		} else if (selector instanceof DescendantSelector) {
+			collectDependencies(((DescendantSelector) selector).getAncestorSelector());
+			collectDependencies(((DescendantSelector) selector).getSimpleSelector());
+		} else if (!(selector instanceof ElementSelector)) {
+			// sibling selectors depend on the previous sibling, unknown
+			// selectors on anything
+			signatureComplete = false;
+		}
+	}
+
+	private void collectDependencies(Condition condition) {
+		if (condition instanceof CombinatorCondition) {
+			collectDependencies(((CombinatorCondition) condition).getFirstCondition());
+			collectDependencies(((CombinatorCondition) condition).getSecondCondition());
+		} else if (condition instanceof NegativeCondition) {
+			collectDependencies(((NegativeCondition) condition).getCondition());
+		} else if (condition instanceof CSSPseudoClassConditionImpl) {
+			pseudoClasses.add(((AttributeCondition) condition).getValue());
+		} else if (condition instanceof CSSIdConditionImpl || condition instanceof CSSClassConditionImpl) {
+			// part of every signature
+		} else if (condition instanceof LangCondition) {
+			attributeNames.add("lang");
+		} else if (condition instanceof AttributeCondition
+				&& ((AttributeCondition) condition).getLocalName() != null) {
+			attributeNames.add(((AttributeCondition) condition).getLocalName());
+		} else {
+			signatureComplete = false;
+		}
+	}
+
+	/**
+	 * Returns the compound selector which has to match the styled element
+	 * itself.
+	 */
+	private static Selector getSubject(Selector selector) {
+		Selector subject = selector;
+		while (true) {
+			if (subject instanceof DescendantSelector) {
+				subject = ((DescendantSelector) subject).getSimpleSelector();
+			} else if (subject instanceof SiblingSelector) {
+				subject = ((SiblingSelector) subject).getSiblingSelector();
+			} else {
+				return subject;
+			}
+		}
+	}
+
+	/**
+	 * Searches the given condition (and the operands of AND conditions) for an
+	 * id or a class condition and returns its value.
+	 */
+	private static String findConditionValue(Condition condition, boolean id) {
+		if (id && condition instanceof CSSIdConditionImpl) {
+			return ((AttributeCondition) condition).getValue();
+		}
+		if (!id && condition instanceof CSSClassConditionImpl) {
+			return ((AttributeCondition) condition).getValue();
+		}
+		if (condition.getConditionType() == Condition.SAC_AND_CONDITION) {
+			CombinatorCondition combinator = (CombinatorCondition) condition;
+			String value = findConditionValue(combinator.getFirstCondition(), id);
+			return value != null ? value : findConditionValue(combinator.getSecondCondition(), id);
+		}
+		return null;
+	}
+
+	private static void addToBucket(Map<String, List<Entry>> buckets, String key, Entry entry) {
+		buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+	}
+
+	private static int addBucket(List<Entry> candidates, Map<String, List<Entry>> buckets, String key) {
+		if (key == null) {
+			return 0;
+		}
+		List<Entry> bucket = buckets.get(key);
+		if (bucket == null) {
+			return 0;
+		}
+		candidates.addAll(bucket);
+		return 1;
+	}
+
+	static String getLocalName(Element elt) {
+		// same lookup as CSSElementSelectorImpl#match
+		return elt.getPrefix() == null ? elt.getNodeName() : elt.getLocalName();
+	}
+
+	static String getId(Element elt) {
+		if (elt instanceof CSSStylableElement) {
+			return ((CSSStylableElement) elt).getCSSId();
+		}
+		return elt.getAttribute("id");
+	}
+
+	static String getClasses(Element elt) {
+		if (elt instanceof CSSStylableElement) {
+			return ((CSSStylableElement) elt).getCSSClass();
+		}
+		return elt.getAttribute("class");
+	}
+
+	/**
+	 * Splits a class attribute the same way as CSSClassConditionImpl#match
+	 * tokenizes it.
+	 */
+	private static Set<String> splitClasses(String classes) {
+		Set<String> result = null;
+		int length = classes.length();
+		int start = -1;
+		for (int i = 0; i <= length; i++) {
+			boolean separator = i == length || Character.isSpaceChar(classes.charAt(i));
+			if (separator) {
+				if (start != -1) {
+					if (result == null) {
+						result = new LinkedHashSet<>(4);
+					}
+					result.add(classes.substring(start, i));
+					start = -1;
+				}
+			} else if (start == -1) {
+				start = i;
+			}
+		}
+		return result == null ? Collections.emptySet() : result;
+	}
+}
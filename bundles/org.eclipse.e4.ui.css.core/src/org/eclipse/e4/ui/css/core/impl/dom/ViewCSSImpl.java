@@ -14,22 +14,19 @@
  *     Lars Vogel <Lars.Vogel@gmail.com> - Bug 422702
  *     Stefan Winkler <stefan@winklerweb.net> - Bug 458342
  *     Karsten Thoms <karste.thoms@itemis.de> - Bug 532869
+ *     Eclipse contributors - indexed selector matching, computed style cache
  *******************************************************************************/
 package org.eclipse.e4.ui.css.core.impl.dom;
 
 import java.util.ArrayList;
 import java.util.List;
-import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
 import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
 import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
-import org.w3c.css.sac.Selector;
-import org.w3c.css.sac.SelectorList;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.css.CSSRule;
 import org.w3c.dom.css.CSSRuleList;
 import org.w3c.dom.css.CSSStyleDeclaration;
-import org.w3c.dom.css.CSSStyleRule;
 import org.w3c.dom.css.CSSStyleSheet;
 import org.w3c.dom.css.DocumentCSS;
 import org.w3c.dom.css.ViewCSS;
@@ -47,6 +44,13 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	private boolean ruleCachingEnabled;
 	/** Cached state of combined CSS rules for the current stylesheets */
 	private List<CSSRule> currentCombinedRules;
+	/** Selector index for {@link #currentCombinedRules} */
+	private CSSRuleIndex currentRuleIndex;
+	/**
+	 * Computed styles shared by elements with the same match signature, for
+	 * {@link #currentRuleIndex}
+	 */
+	private CSSComputedStyleCache currentStyleCache;
 
 	/**
 	 * Creates a new ViewCSS.
@@ -73,7 +77,30 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	 */
 	@Override
 	public CSSStyleDeclaration getComputedStyle(Element elt, String pseudoElt) {
-		return getComputedStyle(getCombinedRules(), elt, pseudoElt);
+		CSSRuleIndex ruleIndex = getRuleIndex();
+		CSSComputedStyleCache styleCache = this.currentStyleCache;
+		if (styleCache != null && styleCache.isCacheable(elt)) {
+			return styleCache.getComputedStyle(elt, pseudoElt, () -> getComputedStyle(ruleIndex, elt, pseudoElt));
+		}
+		return getComputedStyle(ruleIndex, elt, pseudoElt);
+	}
+
+	/**
+	 * Retrieves the selector index for the combined list of CSS rules. Like the
+	 * combined rules, the index is only rebuilt when the stylesheets change.
+	 *
+	 * @return index of the selectors of all style sheets
+	 */
+	private CSSRuleIndex getRuleIndex() {
+		if (this.ruleCachingEnabled && this.currentRuleIndex != null) {
+			return this.currentRuleIndex;
+		}
+		CSSRuleIndex ruleIndex = new CSSRuleIndex(getCombinedRules());
+		if (this.ruleCachingEnabled) {
+			this.currentRuleIndex = ruleIndex;
+			this.currentStyleCache = ruleIndex.isSignatureComplete() ? new CSSComputedStyleCache(ruleIndex) : null;
+		}
+		return ruleIndex;
 	}
 
 	/**
@@ -111,7 +138,7 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 		return cssRules;
 	}
 
-	private CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
+	private CSSStyleDeclaration getComputedStyle(CSSRuleIndex ruleIndex, Element elt, String pseudoElt) {
 		Node parent = elt.getParentNode();
 
 		Node[] hierarchy = null;
@@ -126,35 +153,24 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 		List<StyleWrapper> styleDeclarations = null;
 		StyleWrapper firstStyleDeclaration = null;
 		int position = 0;
-		for (CSSRule rule : ruleList) {
-			if (rule.getType() != CSSRule.STYLE_RULE || (!(rule instanceof ExtendedCSSRule)) ) {
-				continue; // we only handle the CSSRule.STYLE_RULE and ExtendedCSSRule case
-			}
-			CSSStyleRule styleRule = (CSSStyleRule) rule;
-			ExtendedCSSRule r = (ExtendedCSSRule) rule;
-			SelectorList selectorList = r.getSelectorList();
-			// Loop for SelectorList
-			int l = selectorList.getLength();
-			for (int j = 0; j < l; j++) {
-				Selector selector = selectorList.item(j);
-				if (selector instanceof ExtendedSelector) {
-					ExtendedSelector extendedSelector = (ExtendedSelector) selector;
-					if (extendedSelector.match(elt, hierarchy, 0, pseudoElt)) {
-						CSSStyleDeclaration style = styleRule.getStyle();
-						int specificity = extendedSelector.getSpecificity();
-						StyleWrapper wrapper = new StyleWrapper(style, specificity, position++);
-						if (firstStyleDeclaration == null) {
-							firstStyleDeclaration = wrapper;
-						} else {
-							// There is several Style Declarations which
-							// match the current element
-							if (styleDeclarations == null) {
-								styleDeclarations = new ArrayList<>();
-								styleDeclarations.add(firstStyleDeclaration);
-							}
-							styleDeclarations.add(wrapper);
-						}
+		// only the selectors whose subject can match the element are evaluated,
+		// in the same order as they appear in the combined rules
+		for (CSSRuleIndex.Entry candidate : ruleIndex.getCandidates(elt)) {
+			ExtendedSelector extendedSelector = candidate.selector;
+			if (extendedSelector.match(elt, hierarchy, 0, pseudoElt)) {
+				CSSStyleDeclaration style = candidate.rule.getStyle();
+				int specificity = extendedSelector.getSpecificity();
+				StyleWrapper wrapper = new StyleWrapper(style, specificity, position++);
+				if (firstStyleDeclaration == null) {
+					firstStyleDeclaration = wrapper;
+				} else {
+					// There is several Style Declarations which
+					// match the current element
+					if (styleDeclarations == null) {
+						styleDeclarations = new ArrayList<>();
+						styleDeclarations.add(firstStyleDeclaration);
 					}
+					styleDeclarations.add(wrapper);
 				}
 			}
 		}
@@ -172,10 +188,14 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	@Override
 	public void styleSheetAdded(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
+		currentStyleCache = null;
 	}
 
 	@Override
 	public void styleSheetRemoved(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
+		currentStyleCache = null;
 	}
 }
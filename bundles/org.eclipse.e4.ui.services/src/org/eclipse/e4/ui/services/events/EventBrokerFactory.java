@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - direct event dispatch
  *******************************************************************************/
 package org.eclipse.e4.ui.services.events;
 
@@ -18,8 +19,10 @@ import org.eclipse.e4.core.contexts.ContextInjectionFactory;
 import org.eclipse.e4.core.contexts.IContextFunction;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.services.internal.events.DirectEventBroker;
 import org.eclipse.e4.ui.services.internal.events.EventBroker;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.event.EventAdmin;
 
@@ -31,6 +34,15 @@ import org.osgi.service.event.EventAdmin;
 @Component(service = IContextFunction.class, property = "service.context.key=org.eclipse.e4.core.services.events.IEventBroker")
 public class EventBrokerFactory extends ContextFunction {
 
+	/**
+	 * Context property selecting the {@link DirectEventBroker}, which
+	 * dispatches events to the subscribers of all direct brokers in-process
+	 * instead of registering each subscription with the event admin. Set to
+	 * <code>Boolean.TRUE</code> or <code>"true"</code>, typically in the
+	 * application context.
+	 */
+	public static final String DIRECT_DISPATCH = "org.eclipse.e4.ui.services.events.directDispatch"; //$NON-NLS-1$
+
 	// mandatory static reference to EventAdmin to ensure it is available before
 	// the factory is activated
 
@@ -40,8 +52,24 @@ public class EventBrokerFactory extends ContextFunction {
 		// we only need to ensure it is available before starting this factory
 	}
 
+	@Deactivate
+	void deactivate() {
+		// the dispatcher shared by the direct brokers registers services and
+		// listeners of this bundle which must not outlive it
+		DirectEventBroker.disposeDispatcher();
+	}
+
 	@Override
 	public Object compute(IEclipseContext context, String contextKey) {
+		Object directDispatch = context.get(DIRECT_DISPATCH);
+		if (Boolean.TRUE.equals(directDispatch) || "true".equals(directDispatch)) { //$NON-NLS-1$
+			DirectEventBroker broker = context.getLocal(DirectEventBroker.class);
+			if (broker == null) {
+				broker = ContextInjectionFactory.make(DirectEventBroker.class, context);
+				context.set(DirectEventBroker.class, broker);
+			}
+			return broker;
+		}
 		EventBroker broker = context.getLocal(EventBroker.class);
 		if (broker == null) {
 			broker = ContextInjectionFactory.make(EventBroker.class, context);
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.services.events;
+
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * An {@link EventHandler} which opts in to batched delivery on the UI thread
+ * for its non-headless subscriptions with an {@link IEventBroker}.
+ * <p>
+ * Instead of synchronously executing every event on the UI thread, events are
+ * queued per subscription and drained by a single asynchronous UI runnable.
+ * Events are therefore delivered after
+ * {@link IEventBroker#send(String, Object)} has returned. Events which map to
+ * the same non-<code>null</code> {@link #getCoalescingKey(Event) coalescing
+ * key} while waiting in the queue are collapsed into the most recent one.
+ * Queued events are discarded when the subscription ends.
+ * </p>
+ * <p>
+ * Headless subscriptions are still delivered directly on the posting thread.
+ * </p>
+ */
+public interface IBatchingEventHandler extends EventHandler {
+
+	/**
+	 * Returns the key used to coalesce queued events. Of several queued events
+	 * with an equal key only the last one is delivered.
+	 *
+	 * @param event the event to be queued
+	 * @return the coalescing key or <code>null</code> if the event must not be
+	 *         coalesced
+	 * @see #topicAndProperty(Event, String)
+	 */
+	default Object getCoalescingKey(Event event) {
+		return null;
+	}
+
+	/**
+	 * Handles a batch of events on the UI thread, in the order they were
+	 * received. The default implementation calls
+	 * {@link #handleEvent(Event)} for each event.
+	 *
+	 * @param events the events of the batch, never empty
+	 */
+	default void handleEvents(List<Event> events) {
+		for (Event event : events) {
+			handleEvent(event);
+		}
+	}
+
+	/**
+	 * Creates a coalescing key from the topic of the event and the value of
+	 * the given event property, e.g. the changed element of a UI model event.
+	 *
+	 * @param event        the event
+	 * @param propertyName the name of the event property
+	 * @return a key suitable for {@link #getCoalescingKey(Event)}
+	 */
+	static Object topicAndProperty(Event event, String propertyName) {
+		return Arrays.asList(event.getTopic(), event.getProperty(propertyName));
+	}
+}
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.services.events;
+
+import org.eclipse.e4.core.services.events.IEventBroker;
+
+/**
+ * Implemented by {@link IEventBroker}s which can tell whether an event with a
+ * given topic would currently be delivered to any handler. Publishers of
+ * frequent events use it to skip building the event payload when nobody
+ * listens.
+ * <p>
+ * The answer is conservative: event filters of the subscriptions are not
+ * evaluated, and handlers subscribing concurrently may or may not be
+ * considered.
+ * </p>
+ */
+public interface IEventTopicRegistry {
+
+	/**
+	 * @param topic the event topic, without wildcards
+	 * @return <code>false</code> if no handler is subscribed to the topic,
+	 *         <code>true</code> if one may be
+	 */
+	boolean hasSubscribers(String topic);
+}
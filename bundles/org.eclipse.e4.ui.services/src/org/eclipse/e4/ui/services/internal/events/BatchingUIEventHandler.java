@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.services.internal.events;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.e4.ui.services.events.IBatchingEventHandler;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Queues the events for a {@link IBatchingEventHandler} and delivers them in a
+ * single asynchronous runnable on the UI thread, coalescing events with the
+ * same key.
+ */
+public class BatchingUIEventHandler implements EventHandler {
+
+	final private IBatchingEventHandler eventHandler;
+	final private UISynchronize uiSync;
+
+	/** Pending events by coalescing key, guarded by itself */
+	private final Map<Object, Event> pending = new LinkedHashMap<>();
+	/** Whether a drain runnable has been scheduled, guarded by pending */
+	private boolean scheduled;
+	/**
+	 * Whether the subscription is still active, guarded by pending. Events
+	 * queued before the subscription ended are dropped.
+	 */
+	private boolean active = true;
+
+	public BatchingUIEventHandler(IBatchingEventHandler eventHandler, UISynchronize uiSync) {
+		this.eventHandler = eventHandler;
+		this.uiSync = uiSync;
+	}
+
+	@Override
+	public void handleEvent(final Event event) {
+		Object key = eventHandler.getCoalescingKey(event);
+		boolean schedule;
+		synchronized (pending) {
+			if (!active) {
+				return;
+			}
+			if (key == null) {
+				// a unique key, the event is never coalesced
+				key = new Object();
+			} else {
+				// re-insert so the coalesced event keeps its place relative to
+				// the events received before it
+				pending.remove(key);
+			}
+			pending.put(key, event);
+			schedule = !scheduled;
+			scheduled = true;
+		}
+		if (schedule) {
+			uiSync.asyncExec(this::drain);
+		}
+	}
+
+	private void drain() {
+		List<Event> events;
+		synchronized (pending) {
+			scheduled = false;
+			if (!active) {
+				return;
+			}
+			events = new ArrayList<>(pending.values());
+			pending.clear();
+		}
+		if (!events.isEmpty()) {
+			eventHandler.handleEvents(events);
+		}
+	}
+
+	/**
+	 * Ends the subscription, discarding all events which have not been
+	 * delivered yet.
+	 */
+	public void dispose() {
+		synchronized (pending) {
+			active = false;
+			pending.clear();
+		}
+	}
+}
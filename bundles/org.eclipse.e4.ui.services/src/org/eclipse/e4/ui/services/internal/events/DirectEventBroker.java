@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.services.internal.events;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import org.eclipse.e4.core.di.annotations.Optional;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.core.services.log.Logger;
+import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.e4.ui.services.events.EventBrokerFactory;
+import org.eclipse.e4.ui.services.events.IBatchingEventHandler;
+import org.eclipse.e4.ui.services.events.IEventTopicRegistry;
+import org.eclipse.e4.ui.services.internal.events.EventTopicIndex.Subscription;
+import org.osgi.framework.Filter;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * {@link IEventBroker} which dispatches events to the subscribers of all direct
+ * brokers in-process instead of registering every subscription as an event
+ * handler service. Selected by setting
+ * {@link EventBrokerFactory#DIRECT_DISPATCH} in the context.
+ *
+ * @see DirectEventDispatcher
+ */
+public class DirectEventBroker implements IEventBroker, IEventTopicRegistry {
+
+	private final Map<EventHandler, Collection<Subscription>> subscriptions = new HashMap<>();
+
+	private final DirectEventDispatcher dispatcher = DirectEventDispatcher.getInstance();
+
+	@Inject
+	@Optional
+	UISynchronize uiSync;
+
+	@Inject
+	@Optional
+	Logger logger;
+
+	@Inject
+	EventAdmin eventAdmin;
+
+	@Override
+	public boolean hasSubscribers(String topic) {
+		return dispatcher.hasSubscribers(topic);
+	}
+
+	@Override
+	public boolean send(String topic, Object data) {
+		Event event = constructEvent(topic, data);
+		if (dispatcher.hasServiceHandlers(topic)) {
+			dispatcher.sendAndForward(event, eventAdmin);
+		} else {
+			dispatcher.send(event);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean post(String topic, Object data) {
+		// delivered to the direct subscriptions by the bridge handler, which
+		// keeps the ordering guarantees of the event admin
+		eventAdmin.postEvent(constructEvent(topic, data));
+		return true;
+	}
+
+	/**
+	 * Creates the event for the given data, with the same properties as the
+	 * events of the {@link EventBroker}.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Event constructEvent(String topic, Object data) {
+		if (data instanceof Map<?, ?>) {
+			Map<String, Object> map = (Map<String, Object>) data;
+			if (map.containsKey(EventConstants.EVENT_TOPIC) && map.containsKey(IEventBroker.DATA)) {
+				return new Event(topic, map);
+			}
+			Map<String, Object> eventMap = new HashMap<>(map);
+			eventMap.putIfAbsent(EventConstants.EVENT_TOPIC, topic);
+			eventMap.putIfAbsent(IEventBroker.DATA, data);
+			return new Event(topic, eventMap);
+		}
+		if (data instanceof Dictionary<?, ?>) {
+			Dictionary<String, Object> d = (Dictionary<String, Object>) data;
+			if (d.get(EventConstants.EVENT_TOPIC) != null && d.get(IEventBroker.DATA) != null) {
+				return new Event(topic, d);
+			}
+			Map<String, Object> map = new HashMap<>();
+			for (Enumeration<String> keys = d.keys(); keys.hasMoreElements();) {
+				String key = keys.nextElement();
+				map.put(key, d.get(key));
+			}
+			map.putIfAbsent(EventConstants.EVENT_TOPIC, topic);
+			map.putIfAbsent(IEventBroker.DATA, map);
+			return new Event(topic, map);
+		}
+		return data == null ? new Event(topic, Map.of(EventConstants.EVENT_TOPIC, topic))
+				: new Event(topic, Map.of(EventConstants.EVENT_TOPIC, topic, IEventBroker.DATA, data));
+	}
+
+	/**
+	 * Releases the dispatcher shared by all direct brokers, unregistering its
+	 * event handler services and listeners. Called when the event broker
+	 * factory of this bundle is deactivated.
+	 */
+	public static void disposeDispatcher() {
+		DirectEventDispatcher.disposeInstance();
+		EventHandlerServiceTopics.disposeInstance();
+	}
+
+	@Override
+	public boolean subscribe(String topic, EventHandler eventHandler) {
+		return subscribe(topic, null, eventHandler, false);
+	}
+
+	@Override
+	public boolean subscribe(String topic, String filter, EventHandler eventHandler, boolean headless) {
+		Filter eventFilter = null;
+		if (filter != null) {
+			try {
+				eventFilter = FrameworkUtil.createFilter(filter);
+			} catch (InvalidSyntaxException e) {
+				throw new IllegalArgumentException("Invalid event filter: " + filter, e);
+			}
+		}
+		EventHandler wrappedHandler;
+		if (!headless && uiSync != null && eventHandler instanceof IBatchingEventHandler) {
+			wrappedHandler = new BatchingUIEventHandler((IBatchingEventHandler) eventHandler, uiSync);
+		} else {
+			wrappedHandler = new UIEventHandler(eventHandler, headless ? null : uiSync);
+		}
+		Subscription subscription = dispatcher.subscribe(topic, eventFilter, wrappedHandler, logger);
+		synchronized (subscriptions) {
+			subscriptions.computeIfAbsent(eventHandler, h -> new ArrayList<>()).add(subscription);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean unsubscribe(EventHandler eventHandler) {
+		Collection<Subscription> handled;
+		synchronized (subscriptions) {
+			handled = subscriptions.remove(eventHandler);
+		}
+		if (handled == null || handled.isEmpty()) {
+			return false;
+		}
+		handled.forEach(dispatcher::unsubscribe);
+		return true;
+	}
+
+	@PreDestroy
+	void dispose() {
+		Collection<Collection<Subscription>> values;
+		synchronized (subscriptions) {
+			values = new ArrayList<>(subscriptions.values());
+			subscriptions.clear();
+		}
+		for (Collection<Subscription> handled : values) {
+			handled.forEach(dispatcher::unsubscribe);
+		}
+	}
+}
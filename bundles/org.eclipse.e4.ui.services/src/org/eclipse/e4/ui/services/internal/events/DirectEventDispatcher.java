@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.services.internal.events;
+
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.e4.core.services.log.Logger;
+import org.eclipse.e4.ui.services.internal.events.EventTopicIndex.Subscription;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Filter;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Dispatches events between all {@link DirectEventBroker}s of the framework
+ * without going through the event admin.
+ * <p>
+ * Broker subscriptions are kept in an {@link EventTopicIndex} instead of being
+ * registered as event handler services. The topics of the event handler
+ * services registered by other code (e.g. for <code>@UIEventTopic</code>
+ * injection or by the OSGi based {@link EventBroker}) are tracked as well, and
+ * an event is only forwarded to the event admin if one of them matches. Events
+ * published to the event admin by other code reach the direct subscriptions
+ * through a single bridge handler.
+ * </p>
+ * <p>
+ * The shared instance lives until {@link #disposeInstance()} is called when the
+ * event broker factory of this bundle is deactivated.
+ * </p>
+ */
+final class DirectEventDispatcher {
+
+	private static DirectEventDispatcher instance;
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	/** Subscriptions of the direct brokers */
+	private final EventTopicIndex index = new EventTopicIndex();
+
+	/** Topics of the event handler services other than the bridge */
+	private final EventHandlerServiceTopics serviceTopics = EventHandlerServiceTopics.getInstance();
+
+	/**
+	 * Events which are being forwarded to the event admin after they have been
+	 * delivered to the direct subscriptions, compared by identity
+	 */
+	private final Set<Event> forwarding = Collections
+			.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+	private final ServiceRegistration<?> bridgeRegistration;
+
+	static synchronized DirectEventDispatcher getInstance() {
+		if (instance == null) {
+			instance = new DirectEventDispatcher();
+		}
+		return instance;
+	}
+
+	/**
+	 * Unregisters the bridge handler of the shared instance and drops it, the
+	 * next {@link #getInstance()} creates a new one.
+	 */
+	static synchronized void disposeInstance() {
+		if (instance != null) {
+			instance.dispose();
+			instance = null;
+		}
+	}
+
+	private DirectEventDispatcher() {
+		BundleContext bundleContext = FrameworkUtil.getBundle(getClass()).getBundleContext();
+		if (bundleContext == null) {
+			bridgeRegistration = null;
+			return;
+		}
+		Dictionary<String, Object> properties = new Hashtable<>();
+		properties.put(EventConstants.EVENT_TOPIC, new String[] { "*" });
+		EventHandler bridge = this::handleServiceEvent;
+		bridgeRegistration = bundleContext.registerService(EventHandler.class.getName(), bridge, properties);
+		serviceTopics.ignore(bridgeRegistration.getReference());
+	}
+
+	private void dispose() {
+		if (bridgeRegistration != null) {
+			try {
+				bridgeRegistration.unregister();
+			} catch (IllegalStateException e) {
+				// already unregistered when the bundle stopped
+			}
+		}
+	}
+
+	Subscription subscribe(String topic, Filter filter, EventHandler handler, Logger logger) {
+		Subscription subscription = new Subscription(topic, filter, handler, logger, sequence.incrementAndGet());
+		index.add(subscription);
+		return subscription;
+	}
+
+	void unsubscribe(Subscription subscription) {
+		index.remove(subscription);
+	}
+
+	/**
+	 * @return whether an event handler service other than the bridge is
+	 *         registered for the topic
+	 */
+	boolean hasServiceHandlers(String topic) {
+		return serviceTopics.hasHandlers(topic);
+	}
+
+	/**
+	 * @return whether a direct subscription or an event handler service other
+	 *         than the bridge is registered for the topic
+	 */
+	boolean hasSubscribers(String topic) {
+		return index.getSubscriptions(topic).length > 0 || serviceTopics.hasHandlers(topic);
+	}
+
+	/**
+	 * Synchronously delivers the event to the matching direct subscriptions.
+	 */
+	void send(Event event) {
+		for (Subscription subscription : index.getSubscriptions(event.getTopic())) {
+			subscription.deliver(event);
+		}
+	}
+
+	/**
+	 * Synchronously delivers the event to the matching direct subscriptions and
+	 * then to the event handler services through the event admin.
+	 */
+	void sendAndForward(Event event, EventAdmin eventAdmin) {
+		send(event);
+		forwarding.add(event);
+		try {
+			eventAdmin.sendEvent(event);
+		} finally {
+			forwarding.remove(event);
+		}
+	}
+
+	/**
+	 * Receives all events of the event admin and delivers the ones which have
+	 * not already been delivered by {@link #sendAndForward(Event, EventAdmin)}.
+	 */
+	private void handleServiceEvent(Event event) {
+		if (!forwarding.contains(event)) {
+			send(event);
+		}
+	}
+}
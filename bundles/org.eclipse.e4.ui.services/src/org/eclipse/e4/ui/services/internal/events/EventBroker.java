@@ -12,6 +12,7 @@
  *     IBM Corporation - initial API and implementation
  *     Steven Spungin - Bug 441874
  *     Simon Scholz <simon.scholz@vogella.com> - Bug 478889
+ *     Eclipse contributors - subscriber lookup by topic, batched UI delivery
  *******************************************************************************/
 package org.eclipse.e4.ui.services.internal.events;
 
@@ -27,6 +28,8 @@ import javax.inject.Inject;
 import org.eclipse.e4.core.di.annotations.Optional;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.e4.ui.services.events.IBatchingEventHandler;
+import org.eclipse.e4.ui.services.events.IEventTopicRegistry;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.framework.ServiceRegistration;
@@ -35,10 +38,11 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.event.EventConstants;
 import org.osgi.service.event.EventHandler;
 
-public class EventBroker implements IEventBroker {
+public class EventBroker implements IEventBroker, IEventTopicRegistry {
 
 	// TBD synchronization
 	private Map<EventHandler, Collection<ServiceRegistration<?>>> registrations = new HashMap<>();
+	private Map<ServiceRegistration<?>, BatchingUIEventHandler> batchingHandlers = new HashMap<>();
 
 	@Inject
 	@Optional
@@ -49,6 +53,11 @@ public class EventBroker implements IEventBroker {
 
 	BundleContext bundleContext = FrameworkUtil.getBundle(getClass()).getBundleContext();
 
+	@Override
+	public boolean hasSubscribers(String topic) {
+		return EventHandlerServiceTopics.getInstance().hasHandlers(topic);
+	}
+
 	@Override
 	public boolean send(String topic, Object data) {
 		Event event = constructEvent(topic, data);
@@ -125,9 +134,19 @@ public class EventBroker implements IEventBroker {
 		if (filter != null) {
 			d.put(EventConstants.EVENT_FILTER, filter);
 		}
-		EventHandler wrappedHandler = new UIEventHandler(eventHandler, headless ? null : uiSync);
+		EventHandler wrappedHandler;
+		BatchingUIEventHandler batchingHandler = null;
+		if (!headless && uiSync != null && eventHandler instanceof IBatchingEventHandler) {
+			wrappedHandler = batchingHandler = new BatchingUIEventHandler((IBatchingEventHandler) eventHandler,
+					uiSync);
+		} else {
+			wrappedHandler = new UIEventHandler(eventHandler, headless ? null : uiSync);
+		}
 		ServiceRegistration<?> registration = bundleContext.registerService(EventHandler.class.getName(),
 				wrappedHandler, d);
+		if (batchingHandler != null) {
+			batchingHandlers.put(registration, batchingHandler);
+		}
 		Collection<ServiceRegistration<?>> handled = registrations.get(eventHandler);
 		if (handled == null) {
 			registrations.put(eventHandler, handled = new ArrayList<>());
@@ -142,18 +161,27 @@ public class EventBroker implements IEventBroker {
 		if (handled == null || handled.isEmpty())
 			return false;
 		for (ServiceRegistration<?> r : handled) {
-			r.unregister();
+			unregister(r);
 		}
 		return true;
 	}
 
+	private void unregister(ServiceRegistration<?> registration) {
+		registration.unregister();
+		BatchingUIEventHandler batchingHandler = batchingHandlers.remove(registration);
+		if (batchingHandler != null) {
+			// events already queued must not reach the unsubscribed handler
+			batchingHandler.dispose();
+		}
+	}
+
 	@PreDestroy
 	void dispose() {
 		Collection<Collection<ServiceRegistration<?>>> values = new ArrayList<>(registrations.values());
 		registrations.clear();
 		for (Collection<ServiceRegistration<?>> handled : values) {
 			for (ServiceRegistration<?> registration : handled) {
-				registration.unregister();
+				unregister(registration);
 			}
 		}
 	}
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.services.internal.events;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.e4.ui.services.internal.events.EventTopicIndex.Subscription;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Tracks the topics of all event handler services registered with the
+ * framework, to answer whether the event admin would deliver an event with a
+ * given topic to anyone. Event filters of the handlers are not evaluated, so
+ * the answer is conservative.
+ */
+final class EventHandlerServiceTopics {
+
+	private static EventHandlerServiceTopics instance;
+
+	private final EventTopicIndex index = new EventTopicIndex();
+
+	private final Map<ServiceReference<?>, List<Subscription>> subscriptions = new HashMap<>();
+
+	private final Set<ServiceReference<?>> ignored = new HashSet<>();
+
+	private long sequence;
+
+	/** Whether the services could be tracked; if not, handlers are assumed */
+	private final boolean tracking;
+
+	private final BundleContext bundleContext;
+
+	private final ServiceListener listener = this::serviceChanged;
+
+	static synchronized EventHandlerServiceTopics getInstance() {
+		if (instance == null) {
+			instance = new EventHandlerServiceTopics();
+		}
+		return instance;
+	}
+
+	/**
+	 * Removes the service listener of the shared instance and drops it, the
+	 * next {@link #getInstance()} creates a new one.
+	 */
+	static synchronized void disposeInstance() {
+		if (instance != null) {
+			instance.dispose();
+			instance = null;
+		}
+	}
+
+	private EventHandlerServiceTopics() {
+		bundleContext = FrameworkUtil.getBundle(getClass()).getBundleContext();
+		if (bundleContext == null) {
+			tracking = false;
+			return;
+		}
+		String filter = '(' + Constants.OBJECTCLASS + '=' + EventHandler.class.getName() + ')';
+		try {
+			bundleContext.addServiceListener(listener, filter);
+			ServiceReference<?>[] references = bundleContext.getServiceReferences(EventHandler.class.getName(), null);
+			if (references != null) {
+				for (ServiceReference<?> reference : references) {
+					addService(reference);
+				}
+			}
+		} catch (InvalidSyntaxException e) {
+			// the filter is constant
+			throw new IllegalStateException(e);
+		}
+		tracking = true;
+	}
+
+	private void dispose() {
+		if (tracking) {
+			try {
+				bundleContext.removeServiceListener(listener);
+			} catch (IllegalStateException e) {
+				// the bundle context is no longer valid
+			}
+		}
+	}
+
+	/**
+	 * @return whether an event handler service, which is not ignored, is
+	 *         registered for the topic
+	 */
+	boolean hasHandlers(String topic) {
+		return !tracking || index.getSubscriptions(topic).length > 0;
+	}
+
+	/**
+	 * Excludes the given event handler service from the tracked topics.
+	 */
+	void ignore(ServiceReference<?> reference) {
+		synchronized (subscriptions) {
+			ignored.add(reference);
+			removeService(reference);
+		}
+	}
+
+	private void serviceChanged(ServiceEvent event) {
+		ServiceReference<?> reference = event.getServiceReference();
+		synchronized (subscriptions) {
+			switch (event.getType()) {
+			case ServiceEvent.REGISTERED:
+				addService(reference);
+				break;
+			case ServiceEvent.MODIFIED:
+				addService(reference);
+				break;
+			default:
+				removeService(reference);
+				ignored.remove(reference);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Adds the topics of the service, replacing those added before. The service
+	 * may be reported both by the listener and by the initial scan.
+	 */
+	private void addService(ServiceReference<?> reference) {
+		synchronized (subscriptions) {
+			removeService(reference);
+			// ignored, or unregistered since the initial scan found it
+			if (ignored.contains(reference) || reference.getBundle() == null) {
+				return;
+			}
+			List<Subscription> topics = new ArrayList<>();
+			for (String topic : getTopics(reference.getProperty(EventConstants.EVENT_TOPIC))) {
+				Subscription subscription = new Subscription(topic, null, null, null, ++sequence);
+				index.add(subscription);
+				topics.add(subscription);
+			}
+			subscriptions.put(reference, topics);
+		}
+	}
+
+	private void removeService(ServiceReference<?> reference) {
+		synchronized (subscriptions) {
+			List<Subscription> topics = subscriptions.remove(reference);
+			if (topics != null) {
+				topics.forEach(index::remove);
+			}
+		}
+	}
+
+	private static List<String> getTopics(Object property) {
+		List<String> topics = new ArrayList<>();
+		if (property instanceof String) {
+			topics.add((String) property);
+		} else if (property instanceof String[]) {
+			for (String topic : (String[]) property) {
+				topics.add(topic);
+			}
+		} else if (property instanceof Collection<?>) {
+			for (Object topic : (Collection<?>) property) {
+				if (topic instanceof String) {
+					topics.add((String) topic);
+				}
+			}
+		}
+		return topics;
+	}
+}
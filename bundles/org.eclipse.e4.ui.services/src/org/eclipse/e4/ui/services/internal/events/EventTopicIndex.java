@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.services.internal.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.e4.core.services.log.Logger;
+import org.osgi.framework.Filter;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Index of {@link Subscription}s by topic. Subscription topics are organized in
+ * a trie of topic segments. Besides exact topics, the wildcards supported by
+ * the event admin are supported: <code>*</code> matches every topic and
+ * <code>a/b/*</code> matches every topic below <code>a/b</code>.
+ * <p>
+ * The subscriptions of a node are kept in copy-on-write arrays and the
+ * subscriptions matching a topic are cached until the next modification, so
+ * looking up the subscribers of an event does not allocate.
+ * </p>
+ */
+final class EventTopicIndex {
+
+	/** Upper bound of cached topic resolutions, the cache is flushed when reached */
+	private static final int MAX_RESOLVED_TOPICS = 2048;
+
+	private static final String WILDCARD = "*";
+
+	private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+	/**
+	 * A handler subscribed to a topic.
+	 */
+	static final class Subscription {
+		final String topic;
+		final Filter filter;
+		final EventHandler handler;
+		final Logger logger;
+		final long sequence;
+
+		Subscription(String topic, Filter filter, EventHandler handler, Logger logger, long sequence) {
+			this.topic = topic;
+			this.filter = filter;
+			this.handler = handler;
+			this.logger = logger;
+			this.sequence = sequence;
+		}
+
+		void deliver(Event event) {
+			if (filter != null && !event.matches(filter)) {
+				return;
+			}
+			try {
+				handler.handleEvent(event);
+			} catch (RuntimeException | LinkageError e) {
+				// like the event admin, isolate the other handlers
+				if (logger != null) {
+					logger.error(e, "Exception while dispatching event " + event.getTopic() + " to handler "
+							+ handler);
+				}
+			}
+		}
+	}
+
+	private static final class Node {
+		final Map<String, Node> children = new HashMap<>();
+		/** subscriptions to the topic ending in this node */
+		volatile Subscription[] exact = NO_SUBSCRIPTIONS;
+		/** subscriptions to all topics below this node */
+		volatile Subscription[] wildcard = NO_SUBSCRIPTIONS;
+	}
+
+	private final Node root = new Node();
+
+	private final Map<String, Subscription[]> resolved = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the subscriptions whose topic matches the given event topic, in
+	 * subscription order.
+	 *
+	 * @param topic the topic of an event
+	 * @return the matching subscriptions, must not be modified
+	 */
+	Subscription[] getSubscriptions(String topic) {
+		Subscription[] subscriptions = resolved.get(topic);
+		if (subscriptions != null) {
+			return subscriptions;
+		}
+		return resolve(topic);
+	}
+
+	synchronized void add(Subscription subscription) {
+		String topic = subscription.topic;
+		if (WILDCARD.equals(topic)) {
+			root.wildcard = append(root.wildcard, subscription);
+		} else if (topic.endsWith("/" + WILDCARD)) {
+			Node node = getNode(topic.substring(0, topic.length() - 2), true);
+			node.wildcard = append(node.wildcard, subscription);
+		} else {
+			Node node = getNode(topic, true);
+			node.exact = append(node.exact, subscription);
+		}
+		resolved.clear();
+	}
+
+	synchronized void remove(Subscription subscription) {
+		String topic = subscription.topic;
+		if (WILDCARD.equals(topic)) {
+			root.wildcard = remove(root.wildcard, subscription);
+		} else if (topic.endsWith("/" + WILDCARD)) {
+			Node node = getNode(topic.substring(0, topic.length() - 2), false);
+			if (node != null) {
+				node.wildcard = remove(node.wildcard, subscription);
+			}
+		} else {
+			Node node = getNode(topic, false);
+			if (node != null) {
+				node.exact = remove(node.exact, subscription);
+			}
+		}
+		resolved.clear();
+	}
+
+	private synchronized Subscription[] resolve(String topic) {
+		Subscription[] subscriptions = resolved.get(topic);
+		if (subscriptions != null) {
+			return subscriptions;
+		}
+		List<Subscription> matches = new ArrayList<>();
+		matches.addAll(Arrays.asList(root.wildcard));
+		Node node = root;
+		int start = 0;
+		while (node != null) {
+			int end = topic.indexOf('/', start);
+			String segment = end == -1 ? topic.substring(start) : topic.substring(start, end);
+			node = node.children.get(segment);
+			if (node != null) {
+				if (end == -1) {
+					matches.addAll(Arrays.asList(node.exact));
+					break;
+				}
+				matches.addAll(Arrays.asList(node.wildcard));
+				start = end + 1;
+			}
+		}
+		if (matches.isEmpty()) {
+			subscriptions = NO_SUBSCRIPTIONS;
+		} else {
+			matches.sort((s1, s2) -> Long.compare(s1.sequence, s2.sequence));
+			subscriptions = matches.toArray(new Subscription[matches.size()]);
+		}
+		if (resolved.size() >= MAX_RESOLVED_TOPICS) {
+			resolved.clear();
+		}
+		resolved.put(topic, subscriptions);
+		return subscriptions;
+	}
+
+	private Node getNode(String topic, boolean create) {
+		Node node = root;
+		for (String segment : topic.split("/")) {
+			Node child = node.children.get(segment);
+			if (child == null) {
+				if (!create) {
+					return null;
+				}
+				child = new Node();
+				node.children.put(segment, child);
+			}
+			node = child;
+		}
+		return node;
+	}
+
+	private static Subscription[] append(Subscription[] subscriptions, Subscription subscription) {
+		Subscription[] result = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+		result[subscriptions.length] = subscription;
+		return result;
+	}
+
+	private static Subscription[] remove(Subscription[] subscriptions, Subscription subscription) {
+		for (int i = 0; i < subscriptions.length; i++) {
+			if (subscriptions[i] == subscription) {
+				if (subscriptions.length == 1) {
+					return NO_SUBSCRIPTIONS;
+				}
+				Subscription[] result = new Subscription[subscriptions.length - 1];
+				System.arraycopy(subscriptions, 0, result, 0, i);
+				System.arraycopy(subscriptions, i + 1, result, i, subscriptions.length - i - 1);
+				return result;
+			}
+		}
+		return subscriptions;
+	}
+}
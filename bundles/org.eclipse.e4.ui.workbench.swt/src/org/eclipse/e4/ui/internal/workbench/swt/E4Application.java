@@ -18,6 +18,7 @@
  *     Christian Georgi (SAP)            - Bug 432480
  *     Simon Scholz <simon.scholz@vogella.com> - Bug 478896
  *     Christoph Läubrich - Bug 563459 
+ *     Eclipse contributors - persisted model format option, startup timeline
  ******************************************************************************/
 
 package org.eclipse.e4.ui.internal.workbench.swt;
@@ -62,6 +63,7 @@ import org.eclipse.e4.ui.internal.workbench.ReflectionContributionFactory;
 import org.eclipse.e4.ui.internal.workbench.ResourceHandler;
 import org.eclipse.e4.ui.internal.workbench.SelectionAggregator;
 import org.eclipse.e4.ui.internal.workbench.SelectionServiceImpl;
+import org.eclipse.e4.ui.internal.workbench.StartupTimeline;
 import org.eclipse.e4.ui.internal.workbench.URIHelper;
 import org.eclipse.e4.ui.internal.workbench.WorkbenchLogger;
 import org.eclipse.e4.ui.model.application.MAddon;
@@ -208,6 +210,7 @@ public class E4Application implements IApplication {
 	}
 
 	public E4Workbench createE4Workbench(IApplicationContext applicationContext, final Display display) {
+		StartupTimeline.phase("Create workbench"); //$NON-NLS-1$
 		args = (String[]) applicationContext.getArguments().get(IApplicationContext.APPLICATION_ARGS);
 
 		IEclipseContext appContext = createDefaultContext();
@@ -244,7 +247,12 @@ public class E4Application implements IApplication {
 		}
 
 		// Create the app model and its context
-		MApplication appModel = loadApplicationModel(applicationContext, appContext);
+		MApplication appModel;
+		try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_MODEL,
+				"E4Application.loadApplicationModel")) { //$NON-NLS-1$
+			appModel = loadApplicationModel(applicationContext, appContext);
+		}
+		StartupTimeline.phase("Application model loaded"); //$NON-NLS-1$
 		appModel.setContext(appContext);
 
 		boolean isRtl = ((Window.getDefaultOrientation() & SWT.RIGHT_TO_LEFT) != 0);
@@ -261,7 +269,10 @@ public class E4Application implements IApplication {
 		appContext.set(MApplication.class, appModel);
 
 		// adds basic services to the contexts
-		initializeServices(appModel);
+		try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_WORKBENCH,
+				"E4Application.initializeServices")) { //$NON-NLS-1$
+			initializeServices(appModel);
+		}
 
 		// let the life cycle manager add to the model
 		if (lcManager != null) {
@@ -272,9 +283,12 @@ public class E4Application implements IApplication {
 		// Create the addons
 		IEclipseContext addonStaticContext = EclipseContextFactory.create();
 		for (MAddon addon : appModel.getAddons()) {
-			addonStaticContext.set(MAddon.class, addon);
-			Object obj = factory.create(addon.getContributionURI(), appContext, addonStaticContext);
-			addon.setObject(obj);
+			try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_WORKBENCH, "Create addon", //$NON-NLS-1$
+					addon.getContributionURI())) {
+				addonStaticContext.set(MAddon.class, addon);
+				Object obj = factory.create(addon.getContributionURI(), appContext, addonStaticContext);
+				addon.setObject(obj);
+			}
 		}
 
 		// Parse out parameters from both the command line and/or the product
@@ -298,7 +312,10 @@ public class E4Application implements IApplication {
 
 		// Instantiate the Workbench (which is responsible for
 		// 'running' the UI (if any)...
-		return workbench = new E4Workbench(appModel, appContext);
+		try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_WORKBENCH,
+				"E4Workbench.<init>")) { //$NON-NLS-1$
+			return workbench = new E4Workbench(appModel, appContext);
+		}
 	}
 
 	private void setCSSContextVariables(IApplicationContext applicationContext, IEclipseContext context) {
@@ -360,6 +377,10 @@ public class E4Application implements IApplication {
 				.map(Boolean::parseBoolean).orElse(Boolean.FALSE);
 		eclipseContext.set(IWorkbench.CLEAR_PERSISTED_STATE, clearPersistedState);
 
+		// File format of the persisted state
+		getArgValue(E4Workbench.PERSISTED_MODEL_FORMAT, appContext, false)
+				.ifPresent(format -> eclipseContext.set(E4Workbench.PERSISTED_MODEL_FORMAT, format));
+
 		String resourceHandler = getArgValue(IWorkbench.MODEL_RESOURCE_HANDLER, appContext, false)
 				.orElse("bundleclass://org.eclipse.e4.ui.workbench/" + ResourceHandler.class.getName());
 
@@ -15,6 +15,7 @@
  *     Alexander Baranov <achilles-86@mail.ru> - Bug 458460
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 483842
  *     Patrik Suzzi <psuzzi@gmail.com> - Bug 487621
+ *     Eclipse contributors - startup timeline
  *******************************************************************************/
 package org.eclipse.e4.ui.internal.workbench.swt;
 
@@ -64,6 +65,7 @@ import org.eclipse.e4.ui.di.Focus;
 import org.eclipse.e4.ui.di.PersistState;
 import org.eclipse.e4.ui.internal.workbench.Activator;
 import org.eclipse.e4.ui.internal.workbench.E4Workbench;
+import org.eclipse.e4.ui.internal.workbench.StartupTimeline;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
 import org.eclipse.e4.ui.model.application.MContribution;
@@ -1047,7 +1049,10 @@ public class PartRenderingEngine implements IPresentationEngine {
 
 			@Override
 			public void run() {
-				initializeStyling(display, runContext);
+				try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_RENDER,
+						"PartRenderingEngine.initializeStyling")) { //$NON-NLS-1$
+					initializeStyling(display, runContext);
+				}
 
 				// Register an SWT resource handler
 				runContext.set(IResourceUtilities.class, new ResourceUtility());
@@ -1078,13 +1083,14 @@ public class PartRenderingEngine implements IPresentationEngine {
 					display.addFilter(SWT.Deactivate, shellDialogListener);
 					spinOnce = false; // loop until the app closes
 					theApp = (MApplication) uiRoot;
-					// long startTime = System.currentTimeMillis();
 					for (MWindow window : theApp.getChildren()) {
-						createGui(window);
+						try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_RENDER,
+								"Render window", window.getElementId())) { //$NON-NLS-1$
+							createGui(window);
+						}
 					}
+					StartupTimeline.phase("Windows rendered"); //$NON-NLS-1$
 
-					// long endTime = System.currentTimeMillis();
-					// System.out.println("Render: " + (endTime - startTime));
 					// tell the app context we are starting so the splash is
 					// torn down
 					IApplicationContext ac = appContext.get(IApplicationContext.class);
@@ -1109,7 +1115,15 @@ public class PartRenderingEngine implements IPresentationEngine {
 				// allow any early startup extensions to run
 				Runnable earlyStartup = (Runnable) runContext.get(EARLY_STARTUP_HOOK);
 				if (earlyStartup != null) {
-					earlyStartup.run();
+					try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_EARLY_STARTUP,
+							"Early startup hook")) { //$NON-NLS-1$
+						earlyStartup.run();
+					}
+					// the owner of the hook finishes the timeline once its
+					// (possibly asynchronous) startup work is done
+					StartupTimeline.write();
+				} else {
+					StartupTimeline.finish();
 				}
 
 				TestableObject testableObject = runContext.get(TestableObject.class);
@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.WeakHashMap;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.util.BasicInternalEList;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+
+/**
+ * Binary resource for the application model. It is an alternative to
+ * {@link E4XMIResource} which is faster to load and produces smaller files.
+ * <p>
+ * The IDs of the model elements follow the same rules as the XMI IDs of
+ * {@link E4XMIResource}: every element (except map entries) gets a generated
+ * unique ID on first access, the IDs are used as URI fragments and are written
+ * to the file. They are stored in a table in front of the binary EMF data, in
+ * the order of a depth-first traversal of the persisted containment tree.
+ * </p>
+ * <p>
+ * Like {@link E4XMIResource}, the resource supports the
+ * {@link E4XMIResource#OPTION_FILTER_PERSIST_STATE} save option. The filtered
+ * elements, and references to them, are left out while the model is written.
+ * </p>
+ */
+public class E4BinaryResource extends BinaryResourceImpl implements E4ModelResource {
+
+	private static final int ID_TABLE_VERSION = 1;
+
+	private final Map<EObject, String> objectMap = new WeakHashMap<>();
+	private final Map<String, EObject> idMap = new HashMap<>();
+	private final Set<String> knownIds = new HashSet<>();
+
+	public E4BinaryResource() {
+	}
+
+	public E4BinaryResource(URI uri) {
+		super(uri);
+	}
+
+	@Override
+	public void setInternalId(EObject object, String id) {
+		objectMap.put(object, id);
+		knownIds.add(id);
+	}
+
+	@Override
+	public String getInternalId(EObject object) {
+		return objectMap.get(object);
+	}
+
+	private String getUniqueId() {
+		String id = EcoreUtil.generateUUID();
+		while (knownIds.contains(id)) {
+			id = EcoreUtil.generateUUID();
+		}
+		return id;
+	}
+
+	@Override
+	public void setID(EObject eObject, String id) {
+		if (id != null) {
+			objectMap.put(eObject, id);
+			idMap.put(id, eObject);
+			knownIds.add(id);
+		}
+	}
+
+	@Override
+	public String getID(EObject eObject) {
+		if (eObject instanceof Entry<?, ?>) {
+			return null;
+		}
+		String id = objectMap.get(eObject);
+		if (id == null) {
+			id = getUniqueId();
+			setID(eObject, id);
+		} else if (idMap.get(id) != eObject) {
+			// an internal ID or an element which was detached before
+			idMap.put(id, eObject);
+		}
+		return id;
+	}
+
+	@Override
+	public Map<String, EObject> getIDToEObjectMap() {
+		return idMap;
+	}
+
+	@Override
+	public String getURIFragment(EObject eObject) {
+		String id = getID(eObject);
+		return id != null ? id : super.getURIFragment(eObject);
+	}
+
+	@Override
+	protected EObject getEObjectByID(String id) {
+		EObject eObject = idMap.get(id);
+		return eObject != null ? eObject : super.getEObjectByID(id);
+	}
+
+	@Override
+	protected boolean isAttachedDetachedHelperRequired() {
+		return true;
+	}
+
+	@Override
+	protected void detachedHelper(EObject eObject) {
+		// keep the ID in the object map in case the element is added again
+		String id = objectMap.get(eObject);
+		if (id != null && idMap.get(id) == eObject) {
+			idMap.remove(id);
+		}
+		super.detachedHelper(eObject);
+	}
+
+	@Override
+	protected void doSave(OutputStream outputStream, Map<?, ?> options) throws IOException {
+		boolean filter = options != null
+				&& Boolean.TRUE.equals(options.get(E4XMIResource.OPTION_FILTER_PERSIST_STATE));
+		List<EObject> elements = getPersistedElements(filter);
+		DataOutputStream out = new DataOutputStream(outputStream);
+		out.writeInt(ID_TABLE_VERSION);
+		out.writeInt(elements.size());
+		for (EObject element : elements) {
+			String id = getID(element);
+			out.writeUTF(id == null ? "" : id); //$NON-NLS-1$
+		}
+		out.flush();
+		if (filter) {
+			FilteringOutputStream filteringOut = new FilteringOutputStream(outputStream, options);
+			filteringOut.saveResource(this);
+			filteringOut.flush();
+		} else {
+			super.doSave(outputStream, options);
+		}
+	}
+
+	@Override
+	protected void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
+		DataInputStream in = new DataInputStream(inputStream);
+		int version = in.readInt();
+		if (version != ID_TABLE_VERSION) {
+			throw new IOException("Unsupported model format version " + version); //$NON-NLS-1$
+		}
+		String[] ids = new String[in.readInt()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = in.readUTF();
+		}
+		super.doLoad(inputStream, options);
+
+		List<EObject> elements = getPersistedElements(false);
+		if (elements.size() != ids.length) {
+			throw new IOException("Model ID table does not match the model content"); //$NON-NLS-1$
+		}
+		for (int i = 0; i < ids.length; i++) {
+			if (!ids[i].isEmpty()) {
+				setID(elements.get(i), ids[i]);
+			}
+		}
+	}
+
+	@Override
+	protected void doUnload() {
+		super.doUnload();
+		objectMap.clear();
+		idMap.clear();
+		knownIds.clear();
+	}
+
+	/**
+	 * Writes the model without the elements which are filtered by
+	 * {@link E4XMISave}.
+	 */
+	private static final class FilteringOutputStream extends EObjectOutputStream {
+
+		FilteringOutputStream(OutputStream outputStream, Map<?, ?> options) throws IOException {
+			super(outputStream, options);
+		}
+
+		@Override
+		public void saveEObjects(InternalEList<? extends InternalEObject> internalEObjects, Check check)
+				throws IOException {
+			InternalEList<InternalEObject> persisted = null;
+			for (int i = 0; i < internalEObjects.size(); i++) {
+				InternalEObject internalEObject = internalEObjects.basicGet(i);
+				if (persisted == null && !E4XMISave.isPersisted(internalEObject)) {
+					// only copy the list if an element is left out
+					persisted = new BasicInternalEList<>(InternalEObject.class);
+					for (int j = 0; j < i; j++) {
+						persisted.add(internalEObjects.basicGet(j));
+					}
+				} else if (persisted != null && E4XMISave.isPersisted(internalEObject)) {
+					persisted.add(internalEObject);
+				}
+			}
+			super.saveEObjects(persisted != null ? persisted : internalEObjects, check);
+		}
+
+		@Override
+		public void saveEObject(InternalEObject internalEObject, Check check) throws IOException {
+			super.saveEObject(
+					internalEObject == null || E4XMISave.isPersisted(internalEObject) ? internalEObject : null,
+					check);
+		}
+	}
+
+	/**
+	 * Returns the elements written by the binary EMF serialization, depth-first
+	 * along the non-transient containment references.
+	 *
+	 * @param filter whether the elements filtered by {@link E4XMISave} are left
+	 *               out
+	 */
+	private List<EObject> getPersistedElements(boolean filter) {
+		List<EObject> elements = new ArrayList<>();
+		for (EObject root : getContents()) {
+			collectPersistedElements(root, filter, elements);
+		}
+		return elements;
+	}
+
+	private static void collectPersistedElements(EObject eObject, boolean filter, List<EObject> elements) {
+		if (filter && !E4XMISave.isPersisted(eObject)) {
+			return;
+		}
+		elements.add(eObject);
+		for (EReference containment : eObject.eClass().getEAllContainments()) {
+			if (containment.isTransient() || !eObject.eIsSet(containment)) {
+				continue;
+			}
+			Object value = eObject.eGet(containment, false);
+			if (value instanceof List<?>) {
+				for (Object child : (List<?>) value) {
+					collectPersistedElements((EObject) child, filter, elements);
+				}
+			} else if (value instanceof EObject) {
+				collectPersistedElements((EObject) value, filter, elements);
+			}
+		}
+	}
+}
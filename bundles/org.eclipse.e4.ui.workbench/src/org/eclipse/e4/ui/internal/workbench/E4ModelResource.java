@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.Map;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+/**
+ * A resource containing (parts of) the application model, which identifies the
+ * model elements by generated unique IDs.
+ *
+ * @see E4XMIResource
+ * @see E4BinaryResource
+ */
+public interface E4ModelResource extends Resource {
+
+	/**
+	 * Returns the ID of the given element, creating a unique ID if it has none.
+	 *
+	 * @param eObject the element
+	 * @return the ID or <code>null</code> for map entries
+	 */
+	String getID(EObject eObject);
+
+	/**
+	 * Sets the ID of the given element.
+	 *
+	 * @param eObject the element
+	 * @param id      the ID
+	 */
+	void setID(EObject eObject, String id);
+
+	/**
+	 * Remembers the ID of an element without registering it as URI fragment.
+	 *
+	 * @param object the element
+	 * @param id     the ID
+	 */
+	void setInternalId(EObject object, String id);
+
+	/**
+	 * @param object the element
+	 * @return the ID remembered for the element or <code>null</code>
+	 */
+	String getInternalId(EObject object);
+
+	/**
+	 * @return the map of the IDs to the elements
+	 */
+	Map<String, EObject> getIDToEObjectMap();
+}
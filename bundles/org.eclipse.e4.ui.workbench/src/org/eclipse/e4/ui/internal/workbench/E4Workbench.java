@@ -13,6 +13,7 @@
  *     IBM Corporation - initial API and implementation
  *     Christian Georgi (SAP) - Bug 432480
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 472654, 393171, 508450
+ *     Eclipse contributors - binary model format, startup timeline
  ******************************************************************************/
 package org.eclipse.e4.ui.internal.workbench;
 
@@ -87,6 +88,26 @@ public class E4Workbench implements IWorkbench {
 	 */
 	public static final String FORCED_SHOW_LOCATION = "forcedShowLocation"; //$NON-NLS-1$
 
+	/**
+	 * The argument for the file format of the persisted workbench model, either
+	 * {@link #MODEL_FORMAT_XMI} (default) or {@link #MODEL_FORMAT_BINARY} <br>
+	 * <br>
+	 * Value is: <code>persistedModelFormat</code>
+	 */
+	public static final String PERSISTED_MODEL_FORMAT = "persistedModelFormat"; //$NON-NLS-1$
+
+	/**
+	 * Value of {@link #PERSISTED_MODEL_FORMAT} to persist the workbench model in
+	 * <code>workbench.xmi</code>
+	 */
+	public static final String MODEL_FORMAT_XMI = "xmi"; //$NON-NLS-1$
+
+	/**
+	 * Value of {@link #PERSISTED_MODEL_FORMAT} to persist the workbench model in
+	 * the binary <code>workbench.e4bin</code>, see {@link E4BinaryResource}
+	 */
+	public static final String MODEL_FORMAT_BINARY = "binary"; //$NON-NLS-1$
+
 	private final String id;
 	private ServiceRegistration<?> osgiRegistration;
 
@@ -149,7 +170,10 @@ public class E4Workbench implements IWorkbench {
 	 */
 	public void createAndRunUI(MApplicationElement uiRoot) {
 		// Has someone already created one ?
-		instantiateRenderer();
+		try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_RENDER,
+				"E4Workbench.instantiateRenderer")) { //$NON-NLS-1$
+			instantiateRenderer();
+		}
 
 		if (renderer != null) {
 			renderer.run(uiRoot, appContext);
@@ -11,6 +11,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 472654
+ *     Eclipse contributors - E4ModelResource
  ******************************************************************************/
 
 package org.eclipse.e4.ui.internal.workbench;
@@ -26,7 +27,7 @@ import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.ecore.xmi.XMLSave;
 import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
 
-public class E4XMIResource extends XMIResourceImpl {
+public class E4XMIResource extends XMIResourceImpl implements E4ModelResource {
 
 	public static final String OPTION_FILTER_PERSIST_STATE = "E4_FILTER_PERSISTED_STATE"; //$NON-NLS-1$
 
@@ -40,11 +41,13 @@ public class E4XMIResource extends XMIResourceImpl {
 		super(uri);
 	}
 
+	@Override
 	public void setInternalId(EObject object, String id) {
 		objectMap.put(object, id);
 		knownIds.add(id);
 	}
 
+	@Override
 	public String getInternalId(EObject object) {
 		return objectMap.get(object);
 	}
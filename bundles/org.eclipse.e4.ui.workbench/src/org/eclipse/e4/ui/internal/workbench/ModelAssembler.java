@@ -15,6 +15,7 @@
  *     Brian de Alwis (MTI) - Bug 433053
  *     Alexandra Buzila - Refactoring, Bug 475934
  *     Gerhard Kreuzer - Bug 561324
+ *     Eclipse contributors - support the binary model resource, startup timeline
  ******************************************************************************/
 
 package org.eclipse.e4.ui.internal.workbench;
@@ -162,7 +163,7 @@ public class ModelAssembler {
 					String[] fr = fragmentHeader.split(";"); //$NON-NLS-1$
 					if (fr.length > 0) {
 						String attrURI = fr[0];
-						E4XMIResource applicationResource = (E4XMIResource) ((EObject) application).eResource();
+						E4ModelResource applicationResource = (E4ModelResource) ((EObject) application).eResource();
 						ResourceSet resourceSet = applicationResource.getResourceSet();
 						if (attrURI == null) {
 							log(LogLevel.WARN, "Unable to find location for the model extension {}", bundleName); //$NON-NLS-1$
@@ -319,11 +320,20 @@ public class ModelAssembler {
 			IExtension[] extensions = new ExtensionsSort().sort(extPoint.getExtensions());
 
 			// run processors which are marked to run before fragments
-			runProcessors(extensions, initial, false);
+			try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_MODEL,
+					"Run processors before fragments")) { //$NON-NLS-1$
+				runProcessors(extensions, initial, false);
+			}
 			// process fragments (and resolve imports)
-			processFragments(extensions, initial);
+			try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_MODEL,
+					"Process fragments")) { //$NON-NLS-1$
+				processFragments(extensions, initial);
+			}
 			// run processors which are marked to run after fragments
-			runProcessors(extensions, initial, true);
+			try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_MODEL,
+					"Run processors after fragments")) { //$NON-NLS-1$
+				runProcessors(extensions, initial, true);
+			}
 		}
 
 		// once we are done, any further handling in the tracker can't be initial
@@ -479,9 +489,12 @@ public class ModelAssembler {
 
 	public void processFragments(Collection<ModelFragmentWrapper> fragmentList) {
 		for (ModelFragmentWrapper fragmentWrapper : fragmentList) {
-			processFragment(fragmentWrapper.getFragmentContainer(), fragmentWrapper.getModelFragment(),
-					fragmentWrapper.getContributorName(), fragmentWrapper.getContributorURI(),
-					fragmentWrapper.isCheckExists());
+			try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_MODEL, "Process fragment", //$NON-NLS-1$
+					fragmentWrapper.getContributorName())) {
+				processFragment(fragmentWrapper.getFragmentContainer(), fragmentWrapper.getModelFragment(),
+						fragmentWrapper.getContributorName(), fragmentWrapper.getContributorURI(),
+						fragmentWrapper.isCheckExists());
+			}
 		}
 	}
 
@@ -533,7 +546,7 @@ public class ModelAssembler {
 	}
 
 	private MModelFragments getFragmentsContainer(String attrURI, String bundleName) {
-		E4XMIResource applicationResource = (E4XMIResource) ((EObject) application).eResource();
+		E4ModelResource applicationResource = (E4ModelResource) ((EObject) application).eResource();
 		ResourceSet resourceSet = applicationResource.getResourceSet();
 		if (attrURI == null) {
 			log(LogLevel.WARN, "Unable to find location for the model extension {}", bundleName); //$NON-NLS-1$
@@ -590,7 +603,7 @@ public class ModelAssembler {
 	public List<MApplicationElement> processModelFragment(MModelFragment fragment, String contributorURI,
 			boolean checkExist) {
 
-		E4XMIResource applicationResource = (E4XMIResource) ((EObject) application).eResource();
+		E4ModelResource applicationResource = (E4ModelResource) ((EObject) application).eResource();
 
 		List<MApplicationElement> elements = fragment.getElements();
 		if (elements.isEmpty()) {
@@ -600,7 +613,7 @@ public class ModelAssembler {
 		for (MApplicationElement el : elements) {
 			EObject o = (EObject) el;
 
-			E4XMIResource r = (E4XMIResource) o.eResource();
+			E4ModelResource r = (E4ModelResource) o.eResource();
 
 			if (checkExist && applicationResource.getIDToEObjectMap().containsKey(r.getID(o))) {
 				continue;
@@ -616,7 +629,7 @@ public class ModelAssembler {
 			TreeIterator<EObject> treeIt = EcoreUtil.getAllContents(o, true);
 			while (treeIt.hasNext()) {
 				EObject eObj = treeIt.next();
-				r = (E4XMIResource) eObj.eResource();
+				r = (E4ModelResource) eObj.eResource();
 				if (contributorURI != null && (eObj instanceof MApplicationElement)) {
 					((MApplicationElement) eObj).setContributorURI(contributorURI);
 				}
@@ -704,7 +717,8 @@ public class ModelAssembler {
 			localContext.set(key, el);
 		}
 
-		try {
+		try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_MODEL, "Run processor", //$NON-NLS-1$
+				ce.getAttribute("class"))) { //$NON-NLS-1$
 			Object o = factory.create("bundleclass://" + ce.getContributor().getName() + "/" + ce.getAttribute("class"), //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
 					context, localContext);
 			if (o == null) {
@@ -742,7 +756,9 @@ public class ModelAssembler {
 			localContext.set(key, el);
 		}
 
-		try {
+		try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_MODEL, "Run processor", //$NON-NLS-1$
+				processor.getProcessorClass() != null ? processor.getProcessorClass().getName()
+						: processor.getClass().getName())) {
 			Object o = null;
 			if (processor.getProcessorClass() != null) {
 				o = ContextInjectionFactory.make(processor.getProcessorClass(), localContext);
@@ -15,6 +15,7 @@
  *     		Implemented workbench auto-save to correctly restore state in case of crash.
  *     Terry Parker <tparker@google.com> - Bug 416673
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 393171
+ *     Eclipse contributors - binary model format, startup timeline
  ******************************************************************************/
 
 package org.eclipse.e4.ui.internal.workbench;
@@ -26,6 +27,7 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -90,6 +92,11 @@ public class ResourceHandler implements IModelResourceHandler {
 	@Named(IWorkbench.CLEAR_PERSISTED_STATE)
 	private boolean clearPersistedState;
 
+	@Inject
+	@Optional
+	@Named(E4Workbench.PERSISTED_MODEL_FORMAT)
+	private String modelFormat;
+
 	/**
 	 * Constructor.
 	 *
@@ -108,6 +115,8 @@ public class ResourceHandler implements IModelResourceHandler {
 		resourceSet = new ResourceSetImpl();
 		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
 				.put(Resource.Factory.Registry.DEFAULT_EXTENSION, new E4XMIResourceFactory());
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(E4BinaryResourceFactory.EXTENSION,
+				new E4BinaryResourceFactory());
 		resourceSet.getPackageRegistry().put(ApplicationPackageImpl.eNS_URI, ApplicationPackageImpl.eINSTANCE);
 		resourceSet.getPackageRegistry().put(CommandsPackageImpl.eNS_URI, CommandsPackageImpl.eINSTANCE);
 		resourceSet.getPackageRegistry().put(UiPackageImpl.eNS_URI, UiPackageImpl.eINSTANCE);
@@ -143,15 +152,30 @@ public class ResourceHandler implements IModelResourceHandler {
 	@Override
 	public Resource loadMostRecentModel() {
 		File workbenchData = null;
+		File otherFormatData = null;
 		URI restoreLocation = null;
 
 		if (saveAndRestore) {
 			workbenchData = getWorkbenchSaveLocation();
-			restoreLocation = URI.createFileURI(workbenchData.getAbsolutePath());
+			otherFormatData = getWorkbenchSaveLocation(!isBinaryFormat());
+		}
+
+		if (clearPersistedState && workbenchData != null) {
+			if (workbenchData.exists()) {
+				workbenchData.delete();
+			}
+			if (otherFormatData.exists()) {
+				otherFormatData.delete();
+			}
 		}
 
-		if (clearPersistedState && workbenchData != null && workbenchData.exists()) {
-			workbenchData.delete();
+		// restore from the other format if only that was saved, the model is
+		// migrated to the configured format and the other file deleted on save
+		boolean migrate = false;
+		if (workbenchData != null) {
+			File restoreData = getModelFile(getBaseLocation(), modelFormat);
+			migrate = !restoreData.equals(workbenchData);
+			restoreLocation = URI.createFileURI(restoreData.getAbsolutePath());
 		}
 
 		// last stored time-stamp
@@ -166,7 +190,10 @@ public class ResourceHandler implements IModelResourceHandler {
 
 		resource = null;
 		if (restore && saveAndRestore) {
-			resource = loadResource(restoreLocation);
+			try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_MODEL,
+					"Load persisted model", restoreLocation.toFileString())) { //$NON-NLS-1$
+				resource = loadResource(restoreLocation);
+			}
 			// If the saved model does not have any top-level windows, Eclipse will exit
 			// immediately, so throw out the persisted state and reinitialize with the defaults.
 			if (!hasTopLevelWindows(resource)) {
@@ -175,12 +202,17 @@ public class ResourceHandler implements IModelResourceHandler {
 							"The persisted application model has no top-level window. Reinitializing with the default application model."); //$NON-NLS-1$
 				}
 				resource = null;
+			} else if (migrate) {
+				resource = migrateResource(resource);
 			}
 		}
 		if (resource == null) {
-			Resource applicationResource = loadResource(applicationDefinitionInstance);
-			MApplication theApp = (MApplication) applicationResource.getContents().get(0);
-			resource = createResourceWithApp(theApp);
+			try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_MODEL,
+					"Load initial model", String.valueOf(applicationDefinitionInstance))) { //$NON-NLS-1$
+				Resource applicationResource = loadResource(applicationDefinitionInstance);
+				MApplication theApp = (MApplication) applicationResource.getContents().get(0);
+				resource = createResourceWithApp(theApp);
+			}
 			context.set(E4Workbench.NO_SAVED_MODEL_FOUND, Boolean.TRUE);
 			initialModel = true;
 		} else {
@@ -206,8 +238,12 @@ public class ResourceHandler implements IModelResourceHandler {
 							+ "Continuing execution, but the missing window may cause other initialization failures."); //$NON-NLS-1$
 		}
 
-		CommandLineOptionModelProcessor processor = ContextInjectionFactory.make(CommandLineOptionModelProcessor.class, context);
-		processor.process();
+		try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_MODEL,
+				"CommandLineOptionModelProcessor.process")) { //$NON-NLS-1$
+			CommandLineOptionModelProcessor processor = ContextInjectionFactory
+					.make(CommandLineOptionModelProcessor.class, context);
+			processor.process();
+		}
 
 		return resource;
 	}
@@ -218,6 +254,11 @@ public class ResourceHandler implements IModelResourceHandler {
 			Map<String, Object> options = new HashMap<>();
 			options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE);
 			resource.save(options);
+			// a model migrated from the other format is never restored from it again
+			File otherFormatData = getWorkbenchSaveLocation(!isBinaryFormat());
+			if (otherFormatData.exists()) {
+				otherFormatData.delete();
+			}
 		}
 	}
 
@@ -240,11 +281,67 @@ public class ResourceHandler implements IModelResourceHandler {
 			URI saveLocation = URI.createFileURI(getWorkbenchSaveLocation().getAbsolutePath());
 			return resourceSet.createResource(saveLocation);
 		}
-		return resourceSet.createResource(URI.createURI("workbench.xmi")); //$NON-NLS-1$
+		return resourceSet.createResource(URI.createURI(getWorkbenchFileName(isBinaryFormat())));
 	}
 
 	private File getWorkbenchSaveLocation() {
-		return new File(getBaseLocation(), "workbench.xmi"); //$NON-NLS-1$
+		return getWorkbenchSaveLocation(isBinaryFormat());
+	}
+
+	private File getWorkbenchSaveLocation(boolean binary) {
+		return new File(getBaseLocation(), getWorkbenchFileName(binary));
+	}
+
+	/**
+	 * Returns the file the application model is restored from: the file of the
+	 * given format or, if only the file of the other format exists, that one, from
+	 * which the model is then migrated.
+	 *
+	 * @param directory   the directory containing the persisted model
+	 * @param modelFormat the format the model is persisted in, see
+	 *                    {@link E4Workbench#PERSISTED_MODEL_FORMAT}, may be
+	 *                    <code>null</code>
+	 * @return the file, which does not exist if no model was persisted
+	 */
+	public static File getModelFile(File directory, String modelFormat) {
+		boolean binary = E4Workbench.MODEL_FORMAT_BINARY.equals(modelFormat);
+		File file = new File(directory, getWorkbenchFileName(binary));
+		if (!file.exists()) {
+			File otherFormatFile = new File(directory, getWorkbenchFileName(!binary));
+			if (otherFormatFile.exists()) {
+				return otherFormatFile;
+			}
+		}
+		return file;
+	}
+
+	private static String getWorkbenchFileName(boolean binary) {
+		return binary ? "workbench." + E4BinaryResourceFactory.EXTENSION : "workbench.xmi"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private boolean isBinaryFormat() {
+		return E4Workbench.MODEL_FORMAT_BINARY.equals(modelFormat);
+	}
+
+	/**
+	 * Moves the model loaded from the other file format into a new resource of
+	 * the configured format, keeping the IDs of all elements.
+	 */
+	private Resource migrateResource(Resource source) {
+		Map<EObject, String> ids = new IdentityHashMap<>();
+		TreeIterator<EObject> it = source.getAllContents();
+		while (it.hasNext()) {
+			EObject o = it.next();
+			String id = ((E4ModelResource) source).getID(o);
+			if (id != null) {
+				ids.put(o, id);
+			}
+		}
+		Resource target = createResource();
+		target.getContents().addAll(source.getContents());
+		ids.forEach(((E4ModelResource) target)::setID);
+		resourceSet.getResources().remove(source);
+		return target;
 	}
 
 	private File getBaseLocation() {
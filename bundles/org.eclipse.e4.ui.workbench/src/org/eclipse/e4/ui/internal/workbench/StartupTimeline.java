@@ -0,0 +1,417 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.osgi.service.log.LogService;
+
+/**
+ * Records a timeline of the workbench startup and writes it as a Chrome
+ * trace-event JSON file, which can be opened with <code>about:tracing</code>,
+ * Perfetto or similar tools.
+ * <p>
+ * Recording is enabled by launching with
+ * <code>-Dorg.eclipse.e4.ui.workbench.startupTimeline=&lt;file&gt;</code>.
+ * Without that property every call returns immediately, spans are a shared
+ * no-op instance and nothing is allocated.
+ * </p>
+ * <p>
+ * Spans are opened with {@link #begin(String, String)} and closed with
+ * {@link Span#close()}, typically in a try-with-resources block. Spans of the
+ * same thread nest by time. {@link #phase(String)} marks a global point in
+ * time such as "model loaded". The timeline is written by {@link #write()}
+ * and, for the last time, by {@link #finish()}, after which nothing is
+ * recorded anymore.
+ * </p>
+ */
+public final class StartupTimeline {
+
+	/**
+	 * System property naming the file the startup timeline is written to.
+	 */
+	public static final String FILE_PROPERTY = "org.eclipse.e4.ui.workbench.startupTimeline"; //$NON-NLS-1$
+
+	/** Category of the e4 workbench lifecycle spans */
+	public static final String CAT_WORKBENCH = "workbench"; //$NON-NLS-1$
+	/** Category of the application model spans */
+	public static final String CAT_MODEL = "model"; //$NON-NLS-1$
+	/** Category of the rendering spans */
+	public static final String CAT_RENDER = "render"; //$NON-NLS-1$
+	/** Category of the early startup spans */
+	public static final String CAT_EARLY_STARTUP = "earlyStartup"; //$NON-NLS-1$
+
+	private static final String FILE = System.getProperty(FILE_PROPERTY);
+
+	/**
+	 * Whether the timeline is recorded at all, constant for the lifetime of
+	 * the VM.
+	 */
+	public static final boolean ENABLED = FILE != null && !FILE.isEmpty();
+
+	/**
+	 * Upper bound of recorded events, in case recording is never finished. A
+	 * truncated timeline is logged and marked in the written file.
+	 */
+	private static final int MAX_EVENTS = 100_000;
+
+	private static final long ORIGIN_NANOS = System.nanoTime();
+	private static final long ORIGIN_MICROS = getOriginMicros();
+
+	private static final Recorder RECORDER = ENABLED ? new Recorder(Paths.get(FILE)) : null;
+
+	/**
+	 * A span of the timeline, recorded when it is closed.
+	 */
+	public static class Span implements AutoCloseable {
+		private final Recorder recorder;
+		private final String category;
+		private final String name;
+		private final String detail;
+		private final long start;
+
+		Span(Recorder recorder, String category, String name, String detail) {
+			this.recorder = recorder;
+			this.category = category;
+			this.name = name;
+			this.detail = detail;
+			this.start = System.nanoTime();
+		}
+
+		@Override
+		public void close() {
+			if (recorder.recording) {
+				recorder.record(new Event('X', category, name, detail, start, System.nanoTime() - start));
+			}
+		}
+	}
+
+	private static final Span NO_SPAN = new Span(null, null, null, null) {
+		@Override
+		public void close() {
+			// not recorded
+		}
+	};
+
+	private static final class Event {
+		final char phase;
+		final String category;
+		final String name;
+		final String detail;
+		final long start;
+		final long duration;
+		final long threadId;
+
+		Event(char phase, String category, String name, String detail, long start, long duration) {
+			this.phase = phase;
+			this.category = category;
+			this.name = name;
+			this.detail = detail;
+			this.start = start;
+			this.duration = duration;
+			this.threadId = Thread.currentThread().getId();
+		}
+	}
+
+	/**
+	 * Records the events of one timeline and writes them to a file. The static
+	 * methods of {@link StartupTimeline} use the recorder of the file given by
+	 * {@link StartupTimeline#FILE_PROPERTY}.
+	 */
+	public static final class Recorder {
+		private final Path file;
+		private final ConcurrentLinkedQueue<Event> events = new ConcurrentLinkedQueue<>();
+		private final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+		private final AtomicInteger eventCount = new AtomicInteger();
+		/** Whether events are recorded, until finished or capped */
+		private volatile boolean recording = true;
+		private final AtomicBoolean capped = new AtomicBoolean();
+		private final int maxEvents;
+		private boolean finished;
+
+		/**
+		 * @param file the file the timeline is written to
+		 */
+		public Recorder(Path file) {
+			this(file, MAX_EVENTS);
+		}
+
+		/**
+		 * @param file      the file the timeline is written to
+		 * @param maxEvents the maximum number of recorded events
+		 */
+		public Recorder(Path file, int maxEvents) {
+			this.file = file;
+			this.maxEvents = maxEvents;
+		}
+
+		/**
+		 * Opens a span of the current thread.
+		 *
+		 * @param category the category of the span
+		 * @param name     the name of the span
+		 * @param detail   an additional description shown with the span, may be
+		 *                 <code>null</code>
+		 * @return the span to close once the measured work is done, never
+		 *         <code>null</code>
+		 * @see StartupTimeline#begin(String, String, String)
+		 */
+		public Span begin(String category, String name, String detail) {
+			if (!recording) {
+				return NO_SPAN;
+			}
+			return new Span(this, category, name, detail);
+		}
+
+		/**
+		 * Marks the start of a startup phase on the timeline.
+		 *
+		 * @param name the name of the phase
+		 */
+		public void phase(String name) {
+			if (recording) {
+				record(new Event('i', CAT_WORKBENCH, name, null, System.nanoTime(), 0));
+			}
+		}
+
+		/**
+		 * Writes the events recorded so far to the timeline file. Recording
+		 * continues.
+		 */
+		public void write() {
+			writeTo(file);
+		}
+
+		/**
+		 * Stops recording and writes the timeline file, also if recording was
+		 * stopped because the maximum number of events was reached. Calling this
+		 * method more than once has no further effect.
+		 */
+		public synchronized void finish() {
+			if (finished) {
+				return;
+			}
+			phase("Startup finished"); //$NON-NLS-1$
+			finished = true;
+			recording = false;
+			write();
+		}
+
+		/**
+		 * @return whether events were dropped because the maximum number of events
+		 *         was reached
+		 */
+		public boolean isCapped() {
+			return capped.get();
+		}
+
+		void record(Event event) {
+			if (eventCount.incrementAndGet() > maxEvents) {
+				recording = false;
+				if (capped.compareAndSet(false, true)) {
+					Activator.log(LogService.LOG_WARNING, "The startup timeline reached " + maxEvents //$NON-NLS-1$
+							+ " events, later events are not recorded"); //$NON-NLS-1$
+				}
+				return;
+			}
+			// events are recorded by the thread they belong to
+			Thread thread = Thread.currentThread();
+			threadNames.putIfAbsent(Long.valueOf(thread.getId()), thread.getName());
+			events.add(event);
+		}
+
+		private synchronized void writeTo(Path target) {
+			List<Event> snapshot = new ArrayList<>(events);
+			StringBuilder json = new StringBuilder(128 * (snapshot.size() + threadNames.size() + 1));
+			json.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["); //$NON-NLS-1$
+			boolean first = true;
+			for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+				first = appendSeparator(json, first);
+				json.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(thread.getKey()) //$NON-NLS-1$
+						.append(",\"args\":{\"name\":"); //$NON-NLS-1$
+				appendString(json, thread.getValue());
+				json.append("}}"); //$NON-NLS-1$
+			}
+			for (Event event : snapshot) {
+				first = appendSeparator(json, first);
+				json.append("{\"name\":"); //$NON-NLS-1$
+				appendString(json, event.name);
+				json.append(",\"cat\":"); //$NON-NLS-1$
+				appendString(json, event.category);
+				json.append(",\"ph\":\"").append(event.phase).append('"'); //$NON-NLS-1$
+				json.append(",\"ts\":").append(toMicros(event.start)); //$NON-NLS-1$
+				if (event.phase == 'X') {
+					json.append(",\"dur\":").append(event.duration / 1000); //$NON-NLS-1$
+				} else {
+					json.append(",\"s\":\"g\""); //$NON-NLS-1$
+				}
+				json.append(",\"pid\":1,\"tid\":").append(event.threadId); //$NON-NLS-1$
+				if (event.detail != null) {
+					json.append(",\"args\":{\"detail\":"); //$NON-NLS-1$
+					appendString(json, event.detail);
+					json.append('}');
+				}
+				json.append('}');
+			}
+			json.append(']');
+			if (capped.get()) {
+				json.append(",\"otherData\":{\"truncated\":\"").append(maxEvents).append(" events\"}"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			json.append('}');
+
+			try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+				writer.write(json.toString());
+			} catch (IOException e) {
+				Activator.log(LogService.LOG_ERROR, "Unable to write the startup timeline to " + target, e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private StartupTimeline() {
+	}
+
+	/**
+	 * Opens a span of the current thread.
+	 *
+	 * @param category the category of the span, e.g. {@link #CAT_MODEL}
+	 * @param name     the name of the span
+	 * @return the span to close once the measured work is done, never
+	 *         <code>null</code>
+	 */
+	public static Span begin(String category, String name) {
+		return begin(category, name, null);
+	}
+
+	/**
+	 * Opens a span of the current thread.
+	 *
+	 * @param category the category of the span, e.g. {@link #CAT_MODEL}
+	 * @param name     the name of the span
+	 * @param detail   an additional description shown with the span, e.g. the
+	 *                 contributing bundle, may be <code>null</code>
+	 * @return the span to close once the measured work is done, never
+	 *         <code>null</code>
+	 */
+	public static Span begin(String category, String name, String detail) {
+		if (!ENABLED) {
+			return NO_SPAN;
+		}
+		return RECORDER.begin(category, name, detail);
+	}
+
+	/**
+	 * Marks the start of a startup phase on the timeline.
+	 *
+	 * @param name the name of the phase
+	 */
+	public static void phase(String name) {
+		if (ENABLED) {
+			RECORDER.phase(name);
+		}
+	}
+
+	/**
+	 * Writes the events recorded so far to the timeline file. Recording
+	 * continues.
+	 */
+	public static void write() {
+		if (ENABLED) {
+			RECORDER.write();
+		}
+	}
+
+	/**
+	 * Stops recording and writes the timeline file. Calling this method more
+	 * than once has no further effect.
+	 */
+	public static void finish() {
+		if (ENABLED) {
+			RECORDER.finish();
+		}
+	}
+
+	private static boolean appendSeparator(StringBuilder json, boolean first) {
+		if (!first) {
+			json.append(",\n"); //$NON-NLS-1$
+		}
+		return false;
+	}
+
+	static void appendString(StringBuilder json, String value) {
+		if (value == null) {
+			json.append("null"); //$NON-NLS-1$
+			return;
+		}
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				json.append("\\\""); //$NON-NLS-1$
+				break;
+			case '\\':
+				json.append("\\\\"); //$NON-NLS-1$
+				break;
+			case '\n':
+				json.append("\\n"); //$NON-NLS-1$
+				break;
+			case '\r':
+				json.append("\\r"); //$NON-NLS-1$
+				break;
+			case '\t':
+				json.append("\\t"); //$NON-NLS-1$
+				break;
+			default:
+				if (c < 0x20) {
+					json.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+				} else {
+					json.append(c);
+				}
+			}
+		}
+		json.append('"');
+	}
+
+	private static long toMicros(long nanos) {
+		return ORIGIN_MICROS + (nanos - ORIGIN_NANOS) / 1000;
+	}
+
+	/**
+	 * Places the origin of the timeline at the launcher start time if the
+	 * framework published it, so the time spent before the workbench bundles
+	 * were loaded is visible as well.
+	 */
+	private static long getOriginMicros() {
+		String startTime = System.getProperty("eclipse.startTime"); //$NON-NLS-1$
+		if (startTime != null) {
+			try {
+				long sinceLaunch = System.currentTimeMillis() - Long.parseLong(startTime);
+				if (sinceLaunch > 0) {
+					return sinceLaunch * 1000;
+				}
+			} catch (NumberFormatException e) {
+				// start at 0
+			}
+		}
+		return 0;
+	}
+}
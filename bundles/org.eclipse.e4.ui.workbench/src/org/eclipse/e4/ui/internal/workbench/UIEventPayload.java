@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
+import org.osgi.service.event.EventConstants;
+
+/**
+ * The immutable event data of a UI model event published by
+ * {@link UIEventPublisher}.
+ * <p>
+ * The values are kept in fixed slots instead of a hash table. The
+ * {@link IEventBroker#DATA data} payload holds the {@link EventTags} only, like
+ * the map the publisher used to create. The publisher sends the event
+ * properties created by {@link #createEventProperties}, which additionally
+ * contain the {@link EventConstants#EVENT_TOPIC topic} and the data payload, so
+ * the event brokers create the event directly from them without copying the
+ * tags into an intermediate map first.
+ * </p>
+ */
+final class UIEventPayload extends AbstractMap<String, Object> {
+
+	private static final String[] KEYS = { EventConstants.EVENT_TOPIC, IEventBroker.DATA, EventTags.TYPE,
+			EventTags.ELEMENT, EventTags.ATTNAME, EventTags.NEW_VALUE, EventTags.OLD_VALUE, EventTags.POSITION,
+			EventTags.WIDGET };
+
+	private static final int TOPIC = 0;
+	private static final int DATA = 1;
+	private static final int TYPE = 2;
+	private static final int ELEMENT = 3;
+	private static final int ATTNAME = 4;
+	private static final int NEW_VALUE = 5;
+	private static final int OLD_VALUE = 6;
+	private static final int POSITION = 7;
+	private static final int WIDGET = 8;
+
+	/** Marks a slot without a value; <code>null</code> is a valid widget */
+	private static final Object ABSENT = new Object();
+
+	private final Object[] values;
+
+	private int size;
+
+	private Set<Map.Entry<String, Object>> entrySet;
+
+	private UIEventPayload(Object[] values) {
+		this.values = values;
+		for (Object value : values) {
+			if (value != ABSENT) {
+				size++;
+			}
+		}
+	}
+
+	/**
+	 * Creates the properties of a UI model event. The
+	 * {@link IEventBroker#DATA} entry is a map holding the event tags only.
+	 *
+	 * @param topic         the event topic
+	 * @param type          one of the {@link org.eclipse.e4.ui.workbench.UIEvents.EventTypes}
+	 * @param element       the changed model element
+	 * @param attributeName the name of the changed attribute
+	 * @param newValue      the new value or <code>null</code>
+	 * @param oldValue      the old value or <code>null</code>
+	 * @param position      the position or <code>null</code>
+	 * @param hasWidget     whether the element is a UI element
+	 * @param widget        the widget of the UI element, may be <code>null</code>
+	 * @return the event properties
+	 */
+	static Map<String, Object> createEventProperties(String topic, String type, Object element, String attributeName,
+			Object newValue, Object oldValue, Object position, boolean hasWidget, Object widget) {
+		Object[] tags = new Object[KEYS.length];
+		tags[TOPIC] = ABSENT;
+		tags[DATA] = ABSENT;
+		tags[TYPE] = type;
+		tags[ELEMENT] = element;
+		tags[ATTNAME] = attributeName;
+		tags[NEW_VALUE] = newValue == null ? ABSENT : newValue;
+		tags[OLD_VALUE] = oldValue == null ? ABSENT : oldValue;
+		tags[POSITION] = position == null ? ABSENT : position;
+		tags[WIDGET] = hasWidget ? widget : ABSENT;
+		UIEventPayload data = new UIEventPayload(tags.clone());
+
+		tags[TOPIC] = topic;
+		tags[DATA] = data;
+		return new UIEventPayload(tags);
+	}
+
+	private static int slot(Object key) {
+		for (int i = 0; i < KEYS.length; i++) {
+			if (KEYS[i].equals(key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		int slot = slot(key);
+		return slot != -1 && values[slot] != ABSENT;
+	}
+
+	@Override
+	public Object get(Object key) {
+		int slot = slot(key);
+		return slot == -1 || values[slot] == ABSENT ? null : values[slot];
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new AbstractSet<>() {
+				@Override
+				public Iterator<Map.Entry<String, Object>> iterator() {
+					return new Iterator<>() {
+						private int next = advance(0);
+
+						private int advance(int from) {
+							int i = from;
+							while (i < KEYS.length && values[i] == ABSENT) {
+								i++;
+							}
+							return i;
+						}
+
+						@Override
+						public boolean hasNext() {
+							return next < KEYS.length;
+						}
+
+						@Override
+						public Map.Entry<String, Object> next() {
+							if (next >= KEYS.length) {
+								throw new NoSuchElementException();
+							}
+							Map.Entry<String, Object> entry = new SimpleImmutableEntry<>(KEYS[next], values[next]);
+							next = advance(next + 1);
+							return entry;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return entrySet;
+	}
+}
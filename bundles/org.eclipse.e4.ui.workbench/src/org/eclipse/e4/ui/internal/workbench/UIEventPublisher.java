@@ -11,11 +11,13 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 472654
+ *     Eclipse contributors - skip events without subscribers, compact payload
  *******************************************************************************/
 package org.eclipse.e4.ui.internal.workbench;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.events.IEventBroker;
@@ -23,8 +25,8 @@ import org.eclipse.e4.ui.model.application.MApplicationElement;
 import org.eclipse.e4.ui.model.application.impl.StringToObjectMapImpl;
 import org.eclipse.e4.ui.model.application.impl.StringToStringMapImpl;
 import org.eclipse.e4.ui.model.application.ui.MUIElement;
+import org.eclipse.e4.ui.services.events.IEventTopicRegistry;
 import org.eclipse.e4.ui.workbench.UIEvents;
-import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
 import org.eclipse.e4.ui.workbench.UIEvents.EventTypes;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EClass;
@@ -38,6 +40,16 @@ public class UIEventPublisher extends EContentAdapter {
 
 	private IEclipseContext context;
 
+	/**
+	 * Topics by structural feature or map attribute name, indexed by the EMF
+	 * notification type
+	 */
+	private final Map<Object, String[]> topics = new ConcurrentHashMap<>();
+
+	private final LongAdder publishedEvents = new LongAdder();
+
+	private final LongAdder suppressedEvents = new LongAdder();
+
 	/**
 	 * @param e4Context
 	 */
@@ -53,15 +65,86 @@ public class UIEventPublisher extends EContentAdapter {
 		if (notification.isTouch())
 			return;
 
-		// Format the EMF event as an E4 UIEvent
-		Map<String, Object> argMap = new HashMap<>();
+		String topic = getTopic(notification);
+		if (topic == null) {
+			return;
+		}
+
+		// Only format the EMF event as an E4 UIEvent if somebody listens
+		IEventBroker eventManager = context.get(IEventBroker.class);
+		if (eventManager instanceof IEventTopicRegistry
+				&& !((IEventTopicRegistry) eventManager).hasSubscribers(topic)) {
+			suppressedEvents.increment();
+			return;
+		}
+		eventManager.send(topic, formatData(notification, topic));
+		publishedEvents.increment();
+	}
 
-		String topic = formatData(notification, argMap);
+	/**
+	 * @return the number of model events sent to the event broker
+	 */
+	public long getPublishedEventCount() {
+		return publishedEvents.sum();
+	}
 
-		if (topic != null) {
-			IEventBroker eventManager = context.get(IEventBroker.class);
-			eventManager.send(topic, argMap);
+	/**
+	 * @return the number of model events which were not sent because the event
+	 *         broker had no subscriber for their topic
+	 */
+	public long getSuppressedEventCount() {
+		return suppressedEvents.sum();
+	}
+
+	/**
+	 * Returns the topic of the UI event for the notification, checking that
+	 * map changes originate from the expected model fields (see
+	 * {@link #formatData(Notification, String)}).
+	 *
+	 * @return the topic or <code>null</code> if the notification is ignored
+	 */
+	private String getTopic(Notification notification) {
+		Object notifier = notification.getNotifier();
+		if (notifier instanceof MApplicationElement) {
+			// Most EMF events will be these. Even map add and remove events
+			return getTopic((EStructuralFeature) notification.getFeature(), notification);
+		} else if (notifier instanceof StringToObjectMapImpl) {
+			// These are SET events on StringToObjectMap only
+			// StringToObjectMap is ONLY used by MApplicationData.transientData
+			MApplicationElement appElement = (MApplicationElement) ((StringToObjectMapImpl) notifier).eContainer();
+
+			// Guard code to detect if some other model field is using a StringToObjectMap
+			final String key = ((StringToObjectMapImpl) notifier).getKey();
+			Object storedNewValue = appElement.getTransientData().get(key);
+			Object notificationNewValue = notification.getNewValue();
+
+			// Identity check by design. If these are not the same object then the event came from
+			// a different model object than we expected. Warn the developer
+			if (notificationNewValue != storedNewValue) {
+				throw new IllegalArgumentException(
+						"A StringToObjectMap that was NOT MApplicationElement.transientData changed.  You must modify UIEventPublisher appropriately"); //$NON-NLS-1$
+			}
+			return getTopic(UIEvents.ApplicationElement.TRANSIENTDATA, notification);
+		} else if (notifier instanceof StringToStringMapImpl) {
+			// These are SET events on StringToStringMap only
+			// StringToStringMap is ONLY used by MApplicationData.persistedState
+			MApplicationElement appElement = (MApplicationElement) ((StringToStringMapImpl) notifier).eContainer();
+
+			// Guard code to detect if some other model field is using a StringToStringMap
+			final String key = ((StringToStringMapImpl) notifier).getKey();
+			Object storedNewValue = appElement.getPersistedState().get(key);
+			Object notificationNewValue = notification.getNewValue();
+
+			// Identity check by design. If these are not the same object then the event came from
+			// a different model object than we expected. Warn the developer
+			if (notificationNewValue != storedNewValue) {
+				throw new IllegalArgumentException(
+						"A StringToStringMap that was NOT MApplicationElement.persistedState changed.  You must modify UIEventPublisher appropriately"); //$NON-NLS-1$
+			}
+			return getTopic(UIEvents.ApplicationElement.PERSISTEDSTATE, notification);
 		}
+		// Unhandled notification type. Ignore event
+		return null;
 	}
 
 	/**
@@ -102,11 +185,9 @@ public class UIEventPublisher extends EContentAdapter {
 	 * Likely there is some "simple" EMF wisdom we are missing to make this work with a couple of
 	 * annotations, a white swan and a full moon.
 	 */
-	private String formatData(final Notification notification, Map<String, Object> argMap) {
-		MApplicationElement appElement = null;
-		EStructuralFeature feature = null;
-		String attributeName = null;
-		String topic = null;
+	private Map<String, Object> formatData(final Notification notification, String topic) {
+		MApplicationElement appElement;
+		String attributeName;
 
 		Object notifier = notification.getNotifier();
 		Object oldValue = null;
@@ -114,11 +195,8 @@ public class UIEventPublisher extends EContentAdapter {
 		Object position = null;
 
 		if (notifier instanceof MApplicationElement) {
-			// Most EMF events will be these. Even map add and remove events
 			appElement = (MApplicationElement) notifier;
-			feature = (EStructuralFeature) notification.getFeature();
-			attributeName = feature.getName();
-			topic = getTopic(feature, getEventType(notification));
+			attributeName = ((EStructuralFeature) notification.getFeature()).getName();
 			switch (notification.getEventType()) {
 			case Notification.MOVE:
 				// for MOVE, oldValue is actually the source position
@@ -150,82 +228,39 @@ public class UIEventPublisher extends EContentAdapter {
 						+ ": unhandled EMF Notification code: " //$NON-NLS-1$
 						+ notification.getEventType());
 			}
-		} else if (notifier instanceof StringToObjectMapImpl) {
-			// These are SET events on StringToObjectMap only
-			// StringToObjectMap is ONLY used by MApplicationData.transientData
-			appElement = (MApplicationElement) ((StringToObjectMapImpl) notifier).eContainer();
-
-			// Guard code to detect if some other model field is using a StringToObjectMap
-			final String key = ((StringToObjectMapImpl) notifier).getKey();
-			Object storedNewValue = appElement.getTransientData().get(key);
-			Object notificationNewValue = notification.getNewValue();
-
-			// Identity check by design. If these are not the same object then the event came from
-			// a different model object than we expected. Warn the developer
-			if (notificationNewValue != storedNewValue) {
-				throw new IllegalArgumentException(
-						"A StringToObjectMap that was NOT MApplicationElement.transientData changed.  You must modify UIEventPublisher appropriately"); //$NON-NLS-1$
+		} else {
+			// a map SET event, the notifier has been checked by getTopic(Notification)
+			final String key;
+			if (notifier instanceof StringToObjectMapImpl) {
+				appElement = (MApplicationElement) ((StringToObjectMapImpl) notifier).eContainer();
+				key = ((StringToObjectMapImpl) notifier).getKey();
+				attributeName = UIEvents.ApplicationElement.TRANSIENTDATA;
+			} else {
+				appElement = (MApplicationElement) ((StringToStringMapImpl) notifier).eContainer();
+				key = ((StringToStringMapImpl) notifier).getKey();
+				attributeName = UIEvents.ApplicationElement.PERSISTEDSTATE;
 			}
 
-			attributeName = UIEvents.ApplicationElement.TRANSIENTDATA;
-			topic = getTopic(attributeName, getEventType(notification));
-
 			// We need to send MapEntries for the old and new values.
 			oldValue = createMapEntry(key, notification.getOldValue());
 			newValue = createMapEntry(key, notification.getNewValue());
-		} else if (notifier instanceof StringToStringMapImpl) {
-			// These are SET events on StringToStringMap only
-			// StringToStringMap is ONLY used by MApplicationData.persistedState
-			appElement = (MApplicationElement) ((StringToStringMapImpl) notifier).eContainer();
-
-			// Guard code to detect if some other model field is using a StringToStringMap
-			final String key = ((StringToStringMapImpl) notifier).getKey();
-			Object storedNewValue = appElement.getPersistedState().get(key);
-			Object notificationNewValue = notification.getNewValue();
-
-			// Identity check by design. If these are not the same object then the event came from
-			// a different model object than we expected. Warn the developer
-			if (notificationNewValue != storedNewValue) {
-				throw new IllegalArgumentException(
-						"A StringToStringMap that was NOT MApplicationElement.persistedState changed.  You must modify UIEventPublisher appropriately"); //$NON-NLS-1$
-			}
-
-			attributeName = UIEvents.ApplicationElement.PERSISTEDSTATE;
-			topic = getTopic(attributeName, getEventType(notification));
-			oldValue = createMapEntry(key, notification.getOldValue());
-			newValue = createMapEntry(key, notification.getNewValue());
-		} else {
-			// Unhandled notification type. Ignore event
-			return null;
 		}
 
-		argMap.put(EventTags.TYPE, getEventType(notification));
-		argMap.put(EventTags.ELEMENT, appElement);
-		argMap.put(EventTags.ATTNAME, attributeName);
-
 		// no need to include UNSET
-		if (notification.getEventType() == Notification.SET
-				|| notification.getEventType() == Notification.MOVE
-				|| notification.getEventType() == Notification.ADD
-				|| notification.getEventType() == Notification.ADD_MANY
-				|| notification.getEventType() == Notification.REMOVE
-				|| notification.getEventType() == Notification.REMOVE_MANY) {
-			if (newValue != null) {
-				argMap.put(EventTags.NEW_VALUE, newValue);
-			}
-			if (oldValue != null) {
-				argMap.put(EventTags.OLD_VALUE, oldValue);
-			}
-			if (position != null) {
-				argMap.put(EventTags.POSITION, position);
-			}
-		}
-
-		if (appElement instanceof MUIElement) {
-			argMap.put(EventTags.WIDGET, ((MUIElement) appElement).getWidget());
+		if (notification.getEventType() != Notification.SET
+				&& notification.getEventType() != Notification.MOVE
+				&& notification.getEventType() != Notification.ADD
+				&& notification.getEventType() != Notification.ADD_MANY
+				&& notification.getEventType() != Notification.REMOVE
+				&& notification.getEventType() != Notification.REMOVE_MANY) {
+			newValue = null;
+			oldValue = null;
+			position = null;
 		}
 
-		return topic;
+		boolean uiElement = appElement instanceof MUIElement;
+		return UIEventPayload.createEventProperties(topic, getEventType(notification), appElement, attributeName,
+				newValue, oldValue, position, uiElement, uiElement ? ((MUIElement) appElement).getWidget() : null);
 	}
 
 	private String getEventType(Notification notification) {
@@ -272,6 +307,27 @@ public class UIEventPublisher extends EContentAdapter {
 		};
 	}
 
+	private String getTopic(Object featureOrAttribute, Notification notification) {
+		int eventType = notification.getEventType();
+		if (eventType < 0 || eventType > Notification.MOVE) {
+			return getTopic(featureOrAttribute, getEventType(notification));
+		}
+		String[] featureTopics = topics.computeIfAbsent(featureOrAttribute, f -> new String[Notification.MOVE + 1]);
+		String topic = featureTopics[eventType];
+		if (topic == null) {
+			// racing threads compute the same value
+			topic = featureTopics[eventType] = getTopic(featureOrAttribute, getEventType(notification));
+		}
+		return topic;
+	}
+
+	private String getTopic(Object featureOrAttribute, String type) {
+		if (featureOrAttribute instanceof EStructuralFeature) {
+			return getTopic((EStructuralFeature) featureOrAttribute, type);
+		}
+		return getTopic((String) featureOrAttribute, type);
+	}
+
 	private String getTopic(EStructuralFeature eFeature, String type) {
 		EClass eContainingClass = eFeature.getEContainingClass();
 		return UIEvents.UIModelTopicBase + UIEvents.TOPIC_SEP
@@ -12,12 +12,18 @@
  *     IBM Corporation - initial API and implementation
  *     Lars Vogel <Lars.Vogel@gmail.com> - Bug 430873
  *     Andrey Loskutov <loskutov@gmx.de> - Bug 364735
+ *     Eclipse contributors - sorting on cached sort keys
  ******************************************************************************/
 
 package org.eclipse.jface.viewers;
 
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -41,6 +47,11 @@ import org.eclipse.jface.util.Policy;
  * categorization; and they may override the <code>compare</code> methods
  * to provide a totally different way of sorting elements.
  * </p>
+ * <p>
+ * For large inputs, clients which do not override <code>compare</code> may
+ * enable {@link #setUseSortKeys(boolean) sort keys}, which computes the category
+ * and label of every element only once per sort.
+ * </p>
  * @see IStructuredContentProvider
  * @see StructuredViewer
  *
@@ -53,6 +64,26 @@ public class ViewerComparator {
 	 */
 	private Comparator<? super String> comparator;
 
+	/**
+	 * Arrays with at least this many elements are sorted in parallel when
+	 * sorting on collation keys.
+	 */
+	private static final int PARALLEL_SORT_THRESHOLD = 10000;
+
+	private boolean useSortKeys;
+
+	/**
+	 * The labels and collation keys of the elements sorted so far, or
+	 * <code>null</code> if none have been computed. An entry is reused by the
+	 * next sort as long as the label of the element does not change.
+	 */
+	private volatile Map<Object, CachedLabel> labelCache;
+
+	/**
+	 * The collator which created the keys in {@link #labelCache}
+	 */
+	private Collator labelCacheCollator;
+
 	/**
 	 * Creates a new {@link ViewerComparator}, which uses the default comparator
 	 * to sort strings.
@@ -87,6 +118,39 @@ public class ViewerComparator {
 		return comparator;
 	}
 
+	/**
+	 * Sets whether {@link #sort(Viewer, Object[])} sorts on precomputed keys.
+	 * When enabled, the category and the label of each element are computed
+	 * once per sort instead of once per comparison. If the
+	 * {@link #getComparator() string comparator} is a {@link Collator}, the
+	 * labels are converted to {@link CollationKey}s, which are kept for the
+	 * next sort as long as the label of an element does not change. Large
+	 * arrays of collation keys are sorted in parallel.
+	 * <p>
+	 * Sort keys produce the same order as the default
+	 * {@link #compare(Viewer, Object, Object)} implementation. They must not
+	 * be enabled by subclasses which override <code>compare</code>.
+	 * </p>
+	 *
+	 * @param enable <code>true</code> to sort on precomputed keys
+	 * @since 3.30
+	 */
+	public void setUseSortKeys(boolean enable) {
+		useSortKeys = enable;
+		labelCache = null;
+	}
+
+	/**
+	 * Returns whether {@link #sort(Viewer, Object[])} sorts on precomputed keys.
+	 *
+	 * @return <code>true</code> if sort keys are used
+	 * @see #setUseSortKeys(boolean)
+	 * @since 3.30
+	 */
+	public boolean isUseSortKeys() {
+		return useSortKeys;
+	}
+
 	/**
 	 * Returns the category of the given element. The category is a
 	 * number used to allocate elements to bins; the bins are arranged
@@ -203,7 +267,11 @@ public class ViewerComparator {
 	 */
 	public void sort(final Viewer viewer, Object[] elements) {
 		try {
-			Arrays.sort(elements, (a, b) -> ViewerComparator.this.compare(viewer, a, b));
+			if (useSortKeys && elements.length > 1) {
+				sortByKeys(viewer, elements);
+			} else {
+				Arrays.sort(elements, (a, b) -> ViewerComparator.this.compare(viewer, a, b));
+			}
 		} catch (IllegalArgumentException e) {
 			String msg = e
 					+ "\nWorkaround for comparator violation:\n\tSet system property -Djava.util.Arrays.useLegacyMergeSort=true" //$NON-NLS-1$
@@ -228,4 +296,76 @@ public class ViewerComparator {
 			throw e;
 		}
 	}
+
+	private void sortByKeys(Viewer viewer, Object[] elements) {
+		Comparator<? super String> stringComparator = getComparator();
+		Collator collator = stringComparator instanceof Collator ? (Collator) stringComparator : null;
+		Map<Object, CachedLabel> cache = collator != null ? getLabelCache(collator) : null;
+		SortKey[] keys = new SortKey[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			Object element = elements[i];
+			String label = getLabel(viewer, element);
+			CachedLabel cached = cache != null ? cache.get(element) : null;
+			if (cached == null || !cached.label.equals(label)) {
+				cached = new CachedLabel(label, collator != null ? collator.getCollationKey(label) : null);
+				if (cache != null) {
+					cache.put(element, cached);
+				}
+			}
+			keys[i] = new SortKey(element, category(element), cached);
+		}
+
+		Comparator<SortKey> keyComparator = (k1, k2) -> {
+			if (k1.category != k2.category) {
+				return k1.category - k2.category;
+			}
+			if (collator != null) {
+				return k1.cached.collationKey.compareTo(k2.cached.collationKey);
+			}
+			return stringComparator.compare(k1.cached.label, k2.cached.label);
+		};
+		if (collator != null && keys.length >= PARALLEL_SORT_THRESHOLD) {
+			Arrays.parallelSort(keys, keyComparator);
+		} else {
+			Arrays.sort(keys, keyComparator);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			elements[i] = keys[i].element;
+		}
+	}
+
+	private synchronized Map<Object, CachedLabel> getLabelCache(Collator collator) {
+		if (labelCache == null || labelCacheCollator != collator) {
+			labelCache = Collections.synchronizedMap(new WeakHashMap<>());
+			labelCacheCollator = collator;
+		}
+		return labelCache;
+	}
+
+	/**
+	 * The label of an element and its collation key, if the string comparator
+	 * is a collator. Does not reference the element so it can be cached with
+	 * weak keys.
+	 */
+	private static final class CachedLabel {
+		final String label;
+		final CollationKey collationKey;
+
+		CachedLabel(String label, CollationKey collationKey) {
+			this.label = label;
+			this.collationKey = collationKey;
+		}
+	}
+
+	private static final class SortKey {
+		final Object element;
+		final int category;
+		final CachedLabel cached;
+
+		SortKey(Object element, int category, CachedLabel cached) {
+			this.element = element;
+			this.category = category;
+			this.cached = cached;
+		}
+	}
 }
@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - parallel marker gathering, attribute snapshot
  *******************************************************************************/
 
 package org.eclipse.ui.internal.views.markers;
@@ -26,14 +27,23 @@ import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.mapping.ResourceMapping;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.ui.IMemento;
@@ -47,6 +57,7 @@ import org.eclipse.ui.views.markers.FilterConfigurationArea;
 import org.eclipse.ui.views.markers.MarkerField;
 import org.eclipse.ui.views.markers.internal.ContentGeneratorDescriptor;
 import org.eclipse.ui.views.markers.internal.MarkerGroup;
+import org.eclipse.ui.views.markers.internal.MarkerMessages;
 import org.eclipse.ui.views.markers.internal.MarkerSupportRegistry;
 import org.eclipse.ui.views.markers.internal.MarkerType;
 import org.eclipse.ui.views.markers.internal.MarkerTypesModel;
@@ -75,6 +86,16 @@ public class MarkerContentGenerator {
 	/*Use this to indicate filter change rather than a null*/
 	private final Collection<MarkerFieldFilterGroup> FILTERS_CHANGED = Collections.emptySet();
 
+	/*
+	 * Markers are gathered in parallel per project unless disabled with system
+	 * property org.eclipse.ui.internal.views.markers.parallelGathering=false
+	 */
+	private static final boolean PARALLEL_GATHERING = Boolean.parseBoolean(
+			System.getProperty("org.eclipse.ui.internal.views.markers.parallelGathering", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	// the number of jobs finding markers in parallel at most
+	private static final int GATHER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
 	//Carries the description for the generator, as coded in the given extension point
 	private ContentGeneratorDescriptor generatorDescriptor;
 
@@ -973,14 +994,18 @@ public class MarkerContentGenerator {
 					return false;
 				}
 				for (String superType : superTypes) {
-					boolean success = internalGatherMarkers(resources, superType, includeSubTypes, result, monitor);
+					boolean success = PARALLEL_GATHERING
+							? parallelGatherMarkers(resources, superType, includeSubTypes, result, monitor)
+							: internalGatherMarkers(resources, superType, includeSubTypes, result, monitor);
 					if (!success || monitor.isCanceled()) {
 						return false;
 					}
 				}
 			} else {
 				for (String typeId : typeIds) {
-					boolean success = internalGatherMarkers(resources, typeId, includeSubTypes, result, monitor);
+					boolean success = PARALLEL_GATHERING
+							? parallelGatherMarkers(resources, typeId, includeSubTypes, result, monitor)
+							: internalGatherMarkers(resources, typeId, includeSubTypes, result, monitor);
 					if (!success || monitor.isCanceled()) {
 						return false;
 					}
@@ -1049,6 +1074,118 @@ public class MarkerContentGenerator {
 		return true;
 	}
 
+	/**
+	 * A parallel variant of
+	 * {@link #internalGatherMarkers(Collection, String, boolean, Collection, IProgressMonitor)}.
+	 * The workspace root is split into its projects and the markers of the
+	 * resources are found by at most {@link #GATHER_THREADS} jobs. The markers
+	 * are filtered in the calling thread, in the order of the resources, since
+	 * filters are not required to be thread safe.
+	 *
+	 * @param resources
+	 * @param typeId
+	 * @param includeSubTypes
+	 * @param result
+	 * @param monitor
+	 */
+	private boolean parallelGatherMarkers(Collection<IResource> resources, String typeId,
+			boolean includeSubTypes, Collection<MarkerEntry> result, IProgressMonitor monitor) {
+		if (monitor.isCanceled()) {
+			return false;
+		}
+		List<IResource> targets = new ArrayList<>();
+		List<Integer> depths = new ArrayList<>();
+		for (IResource resource : resources) {
+			if (resource.getType() == IResource.ROOT) {
+				// the root itself may have markers as well
+				targets.add(resource);
+				depths.add(Integer.valueOf(IResource.DEPTH_ZERO));
+				for (IProject project : ((IWorkspaceRoot) resource).getProjects(IContainer.INCLUDE_HIDDEN)) {
+					targets.add(project);
+					depths.add(Integer.valueOf(IResource.DEPTH_INFINITE));
+				}
+			} else {
+				targets.add(resource);
+				depths.add(Integer.valueOf(IResource.DEPTH_INFINITE));
+			}
+		}
+		AtomicReferenceArray<IMarker[]> found = new AtomicReferenceArray<>(targets.size());
+		AtomicInteger next = new AtomicInteger();
+		JobGroup group = new JobGroup(MarkerMessages.MarkerView_searching_for_markers, GATHER_THREADS, 0);
+		for (int i = 0; i < Math.min(GATHER_THREADS, targets.size()); i++) {
+			Job job = new Job(MarkerMessages.MarkerView_searching_for_markers) {
+				@Override
+				protected IStatus run(IProgressMonitor jobMonitor) {
+					for (int index = next.getAndIncrement(); index < targets.size(); index = next.getAndIncrement()) {
+						if (monitor.isCanceled() || jobMonitor.isCanceled()) {
+							return Status.CANCEL_STATUS;
+						}
+						found.set(index, findMarkers(targets.get(index), depths.get(index).intValue(), typeId,
+								includeSubTypes));
+					}
+					return Status.OK_STATUS;
+				}
+			};
+			job.setSystem(true);
+			job.setJobGroup(group);
+			job.schedule();
+		}
+		try {
+			group.join(0, monitor);
+		} catch (OperationCanceledException e) {
+			group.cancel();
+			return false;
+		} catch (InterruptedException e) {
+			group.cancel();
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		if (monitor.isCanceled()) {
+			return false;
+		}
+
+		IResource[] selected = getSelectedResources();
+		Collection<MarkerFieldFilterGroup> enabled = getEnabledFilters();
+		boolean filtersAreANDed = andFilters();
+		for (int index = 0; index < targets.size(); index++) {
+			IMarker[] markers = found.get(index);
+			if (markers == null) {
+				continue;
+			}
+			for (int i = 0; i < markers.length; i++) {
+				MarkerEntry entry = new MarkerEntry(markers[i]);
+				if (select(entry, selected, enabled, filtersAreANDed)) {
+					result.add(entry);
+				}
+				entry.clearCache();
+				if (i % 500 == 0) {
+					if (monitor.isCanceled()) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Find the markers of one resource.
+	 *
+	 * @return the markers or <code>null</code> if the resource is not
+	 *         accessible or the markers could not be read
+	 */
+	private static IMarker[] findMarkers(IResource resource, int depth, String typeId, boolean includeSubTypes) {
+		try {
+			if (!resource.isAccessible()) {
+				return null;
+			}
+			return resource.findMarkers(typeId, includeSubTypes, depth);
+		} catch (CoreException e) {
+			MarkerSupportInternalUtilities.logViewError(e);
+			return null;
+		}
+	}
+
 	void dispose() {
 		if (filterPreferenceListener != null) {
 			IDEWorkbenchPlugin.getDefault().getPreferenceStore().removePropertyChangeListener(filterPreferenceListener);
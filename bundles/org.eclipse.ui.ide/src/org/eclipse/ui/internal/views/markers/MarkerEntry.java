@@ -12,6 +12,7 @@
  *     IBM Corporation - initial API and implementation
  *     Andrey Loskutov <loskutov@gmx.de> - generified interface, bug 461762
  *     Patrik Suzzi <psuzzi@itemis.com> - bug 530702
+ *     Eclipse contributors - attribute snapshot
  *******************************************************************************/
 
 package org.eclipse.ui.internal.views.markers;
@@ -36,6 +37,8 @@ import org.eclipse.ui.internal.ide.Policy;
 import org.eclipse.ui.internal.ide.model.WorkbenchMarker;
 import org.eclipse.ui.model.IWorkbenchAdapter;
 import org.eclipse.ui.views.markers.MarkerViewUtil;
+import org.eclipse.ui.views.markers.internal.MarkerGroup;
+import org.eclipse.ui.views.markers.internal.MarkerGroupingEntry;
 import org.eclipse.ui.views.markers.internal.MarkerMessages;
 import org.eclipse.ui.views.markers.internal.MarkerTypesModel;
 
@@ -86,6 +89,10 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 	/** cached value **/
 	private String markerTypeName;
 
+	/** the captured attributes, see {@link MarkerSnapshot} **/
+	private MarkerSnapshot snapshot;
+	private int snapshotRow;
+
 	/**
 	 * Important: access to these fields must be via methods, they must be in sync
 	 * and their values should reflect correctly the state of the other
@@ -141,6 +148,15 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 
 	@Override
 	public int getAttributeValue(String attribute, int defaultValue) {
+		if (snapshot != null) {
+			int captured = snapshot.getInt(snapshotRow, attribute);
+			if (captured == MarkerSnapshot.UNSET) {
+				return defaultValue;
+			}
+			if (captured != MarkerSnapshot.NOT_CAPTURED) {
+				return captured;
+			}
+		}
 		Object value = getAttributeValue(attribute);
 		if (value == null) {
 			return defaultValue;
@@ -156,6 +172,18 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 	 * @return Object or <code>null</code>
 	 */
 	Object getAttributeValue(String attribute) {
+		if (snapshot != null && MarkerSnapshot.isCaptured(attribute)) {
+			if (IMarker.LOCATION.equals(attribute)) {
+				return snapshot.getLocation(snapshotRow);
+			}
+			int captured = snapshot.getInt(snapshotRow, attribute);
+			if (captured == MarkerSnapshot.UNSET) {
+				return null;
+			}
+			if (captured != MarkerSnapshot.NOT_CAPTURED) {
+				return Integer.valueOf(captured);
+			}
+		}
 		Object value = getCachedValueOrCompute(attribute, () -> {
 			if(stale){
 				return null;
@@ -297,6 +325,10 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 		if (markerType != null) {
 			return markerType;
 		}
+		if (snapshot != null) {
+			markerType = snapshot.getType(snapshotRow);
+			return markerType;
+		}
 		if(stale){
 			markerType = NLS.bind(MarkerMessages.FieldMessage_WrongType, marker.toString());
 			return markerType;
@@ -319,15 +351,23 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 
 	@Override
 	public String getPath() {
-		Object value = getCachedValueOrCompute(MarkerViewUtil.PATH_ATTRIBUTE, () -> {
-			if (stale || checkIfMarkerStale()) {
-				return MarkerSupportInternalUtilities.UNKNOWN_ATRRIBTE_VALUE_STRING;
-			}
-			return getPath(marker.getResource());
-		});
+		if (snapshot != null) {
+			return snapshot.getPath(snapshotRow);
+		}
+		Object value = getCachedValueOrCompute(MarkerViewUtil.PATH_ATTRIBUTE, this::computePath);
 		return (String) value;
 	}
 
+	/**
+	 * @return the path to show for the marker, not cached
+	 */
+	String computePath() {
+		if (stale || checkIfMarkerStale()) {
+			return MarkerSupportInternalUtilities.UNKNOWN_ATRRIBTE_VALUE_STRING;
+		}
+		return getPath(marker.getResource());
+	}
+
 	protected String getPath(IResource resource) {
 		IPath path = resource.getFullPath();
 		int n = path.segmentCount() - 1; // n is the number of segments
@@ -401,6 +441,40 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 		return stale;
 	}
 
+	/**
+	 * Refer to a row of a snapshot for the captured attributes.
+	 *
+	 * @param markerSnapshot
+	 * @param row
+	 */
+	void setSnapshot(MarkerSnapshot markerSnapshot, int row) {
+		snapshotRow = row;
+		snapshot = markerSnapshot;
+	}
+
+	/**
+	 * @return whether the attributes of the receiver were captured already
+	 */
+	boolean hasSnapshot() {
+		return snapshot != null;
+	}
+
+	/**
+	 * Find the group of the receiver in group, computed only once per group if
+	 * the receiver was captured in a {@link MarkerSnapshot}.
+	 *
+	 * @param group
+	 * @return MarkerGroupingEntry
+	 * @throws CoreException
+	 *             if the marker does not exist
+	 */
+	MarkerGroupingEntry getGroupValue(MarkerGroup group) throws CoreException {
+		if (snapshot != null) {
+			return snapshot.getGroupValue(snapshotRow, group, marker);
+		}
+		return group.findGroupValue(marker.getType(), marker);
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hashCode(marker);
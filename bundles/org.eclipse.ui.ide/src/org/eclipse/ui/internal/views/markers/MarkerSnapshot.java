@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.ui.internal.views.markers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ui.views.markers.internal.MarkerGroup;
+import org.eclipse.ui.views.markers.internal.MarkerGroupingEntry;
+
+/**
+ * A columnar snapshot of the marker attributes which are used over and over
+ * while sorting, grouping and labelling the entries of an update: severity,
+ * line number and priority as primitive ints, type, location and path as
+ * shared strings. It is captured once per update with a single attribute
+ * lookup per marker, each captured {@link MarkerEntry} refers to its row.
+ * Unlike the entry caches the snapshot survives {@link MarkerEntry#clearCache()}.
+ * A changed marker gets a new entry, so the rows never need to be updated.
+ *
+ * @since 3.21
+ */
+final class MarkerSnapshot {
+
+	/** Value of an int column for an attribute which is not set */
+	static final int UNSET = Integer.MIN_VALUE;
+
+	/** Value of an int column for an attribute which is not an Integer */
+	static final int NOT_CAPTURED = Integer.MIN_VALUE + 1;
+
+	private static final String[] ATTRIBUTES = { IMarker.SEVERITY, IMarker.LINE_NUMBER, IMarker.PRIORITY,
+			IMarker.LOCATION };
+
+	private final int[] severities;
+	private final int[] lines;
+	private final int[] priorities;
+	private final String[] types;
+	private final String[] locations;
+	private final String[] paths;
+
+	private volatile GroupColumn groupColumn;
+
+	/**
+	 * The group values of the rows for one {@link MarkerGroup}, computed
+	 * lazily.
+	 */
+	private static final class GroupColumn {
+		final MarkerGroup group;
+		final MarkerGroupingEntry[] values;
+
+		GroupColumn(MarkerGroup group, int size) {
+			this.group = group;
+			values = new MarkerGroupingEntry[size];
+		}
+	}
+
+	private MarkerSnapshot(int size) {
+		severities = new int[size];
+		lines = new int[size];
+		priorities = new int[size];
+		types = new String[size];
+		locations = new String[size];
+		paths = new String[size];
+	}
+
+	/**
+	 * Capture the attributes of the entries in [from, to) which do not refer to
+	 * a snapshot yet. Entries of markers which do not exist any more are left
+	 * out.
+	 *
+	 * @param entries
+	 * @param from
+	 * @param to
+	 */
+	static void capture(MarkerEntry[] entries, int from, int to) {
+		int size = 0;
+		for (int i = from; i < to; i++) {
+			if (!entries[i].hasSnapshot()) {
+				size++;
+			}
+		}
+		if (size == 0) {
+			return;
+		}
+		MarkerSnapshot snapshot = new MarkerSnapshot(size);
+		Map<String, String> strings = new HashMap<>();
+		int row = 0;
+		for (int i = from; i < to && row < size; i++) {
+			MarkerEntry entry = entries[i];
+			IMarker marker = entry.getMarker();
+			if (entry.hasSnapshot() || marker == null || entry.getStaleState()) {
+				continue;
+			}
+			Object[] values;
+			String type;
+			try {
+				values = marker.getAttributes(ATTRIBUTES);
+				type = marker.getType();
+			} catch (CoreException e) {
+				entry.checkIfMarkerStale();
+				continue;
+			}
+			snapshot.severities[row] = toInt(values[0]);
+			snapshot.lines[row] = toInt(values[1]);
+			snapshot.priorities[row] = toInt(values[2]);
+			snapshot.locations[row] = values[3] == null ? null : share(strings, values[3].toString());
+			snapshot.types[row] = share(strings, type);
+			snapshot.paths[row] = share(strings, entry.computePath());
+			entry.setSnapshot(snapshot, row);
+			row++;
+		}
+	}
+
+	private static int toInt(Object value) {
+		if (value == null) {
+			return UNSET;
+		}
+		if (value instanceof Integer) {
+			int intValue = ((Integer) value).intValue();
+			return intValue == UNSET || intValue == NOT_CAPTURED ? NOT_CAPTURED : intValue;
+		}
+		return NOT_CAPTURED;
+	}
+
+	private static String share(Map<String, String> strings, String value) {
+		String shared = strings.putIfAbsent(value, value);
+		return shared == null ? value : shared;
+	}
+
+	/**
+	 * Return the captured value of an int attribute.
+	 *
+	 * @param row
+	 * @param attribute
+	 * @return the value, {@link #UNSET} or {@link #NOT_CAPTURED} if the
+	 *         attribute is not captured or not an Integer
+	 */
+	int getInt(int row, String attribute) {
+		switch (attribute) {
+		case IMarker.SEVERITY:
+			return severities[row];
+		case IMarker.LINE_NUMBER:
+			return lines[row];
+		case IMarker.PRIORITY:
+			return priorities[row];
+		default:
+			return NOT_CAPTURED;
+		}
+	}
+
+	/**
+	 * @return whether attribute is captured by the snapshot
+	 */
+	static boolean isCaptured(String attribute) {
+		switch (attribute) {
+		case IMarker.SEVERITY:
+		case IMarker.LINE_NUMBER:
+		case IMarker.PRIORITY:
+		case IMarker.LOCATION:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	String getLocation(int row) {
+		return locations[row];
+	}
+
+	String getType(int row) {
+		return types[row];
+	}
+
+	String getPath(int row) {
+		return paths[row];
+	}
+
+	/**
+	 * Return the group value of a row, computed once per {@link MarkerGroup}.
+	 *
+	 * @param row
+	 * @param group
+	 * @param marker
+	 *            the marker of the row
+	 * @return MarkerGroupingEntry
+	 */
+	MarkerGroupingEntry getGroupValue(int row, MarkerGroup group, IMarker marker) {
+		GroupColumn column = groupColumn;
+		if (column == null || column.group != group) {
+			column = new GroupColumn(group, types.length);
+			groupColumn = column;
+		}
+		MarkerGroupingEntry value = column.values[row];
+		if (value == null) {
+			value = group.findGroupValue(types[row], marker);
+			column.values[row] = value;
+		}
+		return value;
+	}
+}
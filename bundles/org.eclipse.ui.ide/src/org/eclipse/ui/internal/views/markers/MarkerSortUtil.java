@@ -24,6 +24,7 @@
  *
  * Contributions:
  *              IBM - Ported the code to Java
+ *              Eclipse contributors - incremental marker updates
  */
 
 package org.eclipse.ui.internal.views.markers;
@@ -370,6 +371,22 @@ public class MarkerSortUtil {
 		}
 	}
 
+	/**
+	 * Returns whether {@link #sortStartingKElement(MarkerEntry[], Comparator, int, int, int, IProgressMonitor)}
+	 * sorts all <code>n</code> elements of a range and not only the first
+	 * <code>k</code> of them.
+	 *
+	 * @param n
+	 *            the number of elements in the range
+	 * @param k
+	 *            the number of elements requested to be sorted
+	 * @return <code>true</code> if the whole range ends up sorted
+	 */
+	static boolean sortsFully(int n, int k) {
+		return n <= 1 || k >= n || BATCH_SIZE == Integer.MAX_VALUE
+				|| (n <= BATCH_SIZE && (((float) n / k) <= MERGE_OR_HEAP_SWITCH));
+	}
+
 	/**
 	 * @param fArray1
 	 * @param comparator
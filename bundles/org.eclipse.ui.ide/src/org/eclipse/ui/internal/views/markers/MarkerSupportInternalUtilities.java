@@ -11,6 +11,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Lars Vogel <Lars.Vogel@gmail.com> - Bug 430694
+ *     Eclipse contributors - captured group values
  ******************************************************************************/
 
 package org.eclipse.ui.internal.views.markers;
@@ -222,6 +223,26 @@ public class MarkerSupportInternalUtilities {
 		return width;
 	}
 
+	/**
+	 * Find the grouping entry of the item in group. The value is computed only
+	 * once per group for a {@link MarkerEntry} captured in a
+	 * {@link MarkerSnapshot}.
+	 *
+	 * @param group
+	 * @param item
+	 *            an item with a marker
+	 * @return MarkerGroupingEntry
+	 * @throws CoreException
+	 *             if the marker does not exist
+	 */
+	public static MarkerGroupingEntry findGroupValue(MarkerGroup group, MarkerItem item) throws CoreException {
+		if (item instanceof MarkerEntry) {
+			return ((MarkerEntry) item).getGroupValue(group);
+		}
+		IMarker marker = item.getMarker();
+		return group.findGroupValue(marker.getType(), marker);
+	}
+
 	/**
 	 * Return the group value of the item in group.
 	 *
@@ -233,8 +254,7 @@ public class MarkerSupportInternalUtilities {
 		if (item.getMarker() == null)
 			return ((MarkerSupportItem) item).getDescription();
 		try {
-			MarkerGroupingEntry groupingEntry = group.findGroupValue(item
-					.getMarker().getType(), item.getMarker());
+			MarkerGroupingEntry groupingEntry = findGroupValue(group, item);
 			return groupingEntry.getLabel();
 		} catch (CoreException exception) {
 			Policy.handle(exception);
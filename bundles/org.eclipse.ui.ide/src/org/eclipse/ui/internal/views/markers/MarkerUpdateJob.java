@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - incremental marker updates
  ******************************************************************************/
 
 package org.eclipse.ui.internal.views.markers;
@@ -162,6 +163,13 @@ class MarkerUpdateJob extends Job {
 		this.clean = true;
 	}
 
+	/**
+	 * Clear a requested clean
+	 */
+	void resetClean() {
+		this.clean = false;
+	}
+
 	/**
 	 * @return last update time
 	 */
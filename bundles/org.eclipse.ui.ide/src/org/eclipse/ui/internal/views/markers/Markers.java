@@ -11,6 +11,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Mickael Istria (Red Hat Inc.) - Bug 486901
+ *     Eclipse contributors - apply marker deltas incrementally, attribute snapshot
  ******************************************************************************/
 
 package org.eclipse.ui.internal.views.markers;
@@ -25,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.eclipse.core.resources.IMarker;
@@ -62,6 +64,10 @@ class Markers {
 	private Map<IMarker, MarkerEntry> markerToEntryMap;
 	private Integer[] markerCounts;
 
+	// whether every category (or the whole array) is completely sorted, only
+	// then new entries can be merged in without sorting again
+	private boolean sorted;
+
 	Markers(CachedMarkerBuilder builder) {
 		this.builder = builder;
 	}
@@ -85,9 +91,11 @@ class Markers {
 				markerToEntryMap = null;
 			}
 			markerCounts = null;
+			sorted = false;
 			if (markerEntries.isEmpty()) {
 				categories = EMPTY_CATEGORY_ARRAY;
 				markerEntryArray = EMPTY_ENTRY_ARRAY;
+				sorted = true;
 				return true;
 			}
 			if (monitor.isCanceled()) {
@@ -95,6 +103,8 @@ class Markers {
 			}
 			MarkerEntry[] markerArray = new MarkerEntry[markerEntries.size()];
 			markerEntries.toArray(markerArray);
+			// capture the attributes used for sorting and grouping once
+			MarkerSnapshot.capture(markerArray, 0, markerArray.length);
 			markerEntryArray = markerArray;
 			if (sortAndGroup) {
 				if (monitor.isCanceled()) {
@@ -114,6 +124,195 @@ class Markers {
 		}
 	}
 
+	/**
+	 * Apply marker changes to the entries collected so far. Entries of the
+	 * removed markers are dropped and the new entries, which must have been
+	 * selected by the filters already, are merged into their place in the
+	 * sorted entries and categories. If the entries are not completely sorted
+	 * (see {@link MarkerSortUtil#sortsFully(int, int)}) they are sorted and
+	 * grouped again after the change.
+	 *
+	 * @param removedMarkers
+	 *            the markers which were removed or changed
+	 * @param newEntries
+	 *            the entries to add for the changed and added markers
+	 * @param monitor
+	 * @return <code>false</code> if cancelled before the change was made
+	 */
+	synchronized boolean applyUpdates(Set<IMarker> removedMarkers, Collection<MarkerEntry> newEntries,
+			IProgressMonitor monitor) {
+		MarkerEntry[] added = newEntries.toArray(EMPTY_ENTRY_ARRAY);
+		MarkerSnapshot.capture(added, 0, added.length);
+		if (!sorted) {
+			List<MarkerEntry> entries = new ArrayList<>(markerEntryArray.length + newEntries.size());
+			for (MarkerEntry entry : markerEntryArray) {
+				if (isKept(entry, removedMarkers)) {
+					entries.add(entry);
+				}
+			}
+			entries.addAll(newEntries);
+			return updateWithNewMarkers(entries, true, monitor);
+		}
+		boolean initialVal = inChange;
+		try {
+			inChange = true;
+			MarkerEntry[] newArray;
+			MarkerCategory[] newCategories;
+			if (builder.isShowingHierarchy()) {
+				newArray = new MarkerEntry[markerEntryArray.length + newEntries.size()];
+				newCategories = mergeIntoCategories(removedMarkers, newEntries, newArray, monitor);
+				if (newCategories == null) {
+					return false;
+				}
+				int length = newCategories.length == 0 ? 0 : newCategories[newCategories.length - 1].end + 1;
+				if (length < newArray.length) {
+					newArray = Arrays.copyOf(newArray, length);
+				}
+			} else {
+				Arrays.sort(added, builder.getComparator());
+				newArray = merge(markerEntryArray, 0, markerEntryArray.length, removedMarkers, added,
+						builder.getComparator());
+				newCategories = EMPTY_CATEGORY_ARRAY;
+			}
+			if (monitor.isCanceled()) {
+				return false;
+			}
+			if (markerToEntryMap != null) {
+				markerToEntryMap.clear();
+				markerToEntryMap = null;
+			}
+			markerCounts = null;
+			markerEntryArray = newArray;
+			categories = newCategories;
+			MarkerEntry.clearCollationCache();
+			return true;
+		} finally {
+			inChange = initialVal;
+		}
+	}
+
+	/**
+	 * Merge the changes per category into newArray, keeping the categories in
+	 * the same order as {@link #groupMarkerEntries(MarkerEntry[], MarkerGroup, int, IProgressMonitor)}.
+	 *
+	 * @return the new categories or <code>null</code> if cancelled
+	 */
+	private MarkerCategory[] mergeIntoCategories(Set<IMarker> removedMarkers,
+			Collection<MarkerEntry> newEntries, MarkerEntry[] newArray, IProgressMonitor monitor) {
+		MarkerGroup group = builder.getCategoryGroup();
+		TreeMap<MarkerGroupingEntry, MarkerCategory> oldCategories = new TreeMap<>(group.getEntriesComparator());
+		for (MarkerCategory category : categories) {
+			for (int i = category.start; i <= category.end; i++) {
+				MarkerEntry entry = markerEntryArray[i];
+				if (isKept(entry, removedMarkers)) {
+					try {
+						oldCategories.put(entry.getGroupValue(group), category);
+						break;
+					} catch (CoreException e) {
+						entry.checkIfMarkerStale();
+					}
+				}
+			}
+		}
+		TreeMap<MarkerGroupingEntry, List<MarkerEntry>> additions = new TreeMap<>(group.getEntriesComparator());
+		for (MarkerEntry entry : newEntries) {
+			try {
+				additions.computeIfAbsent(entry.getGroupValue(group), k -> new ArrayList<>()).add(entry);
+			} catch (CoreException e) {
+				entry.checkIfMarkerStale();
+			}
+		}
+		TreeMap<MarkerGroupingEntry, Object> allGroups = new TreeMap<>(group.getEntriesComparator());
+		allGroups.putAll(oldCategories);
+		allGroups.putAll(additions);
+
+		Comparator<MarkerItem> comparator = builder.getComparator().getFieldsComparator();
+		List<MarkerCategory> result = new ArrayList<>(allGroups.size());
+		int start = 0;
+		for (MarkerGroupingEntry groupingEntry : allGroups.keySet()) {
+			if (monitor.isCanceled()) {
+				return null;
+			}
+			MarkerCategory category = oldCategories.get(groupingEntry);
+			List<MarkerEntry> added = additions.get(groupingEntry);
+			MarkerEntry[] merged = merge(markerEntryArray, category == null ? 0 : category.start,
+					category == null ? 0 : category.end + 1, removedMarkers,
+					added == null ? EMPTY_ENTRY_ARRAY : sortEntries(added, comparator), comparator);
+			if (merged.length == 0) {
+				continue;
+			}
+			System.arraycopy(merged, 0, newArray, start, merged.length);
+			int end = start + merged.length - 1;
+			result.add(new MarkerCategory(this, start, end,
+					group.getMarkerField().getValue(newArray[start])));
+			start = end + 1;
+		}
+		return result.toArray(EMPTY_CATEGORY_ARRAY);
+	}
+
+	private static boolean isKept(MarkerEntry entry, Set<IMarker> removedMarkers) {
+		IMarker marker = entry.getMarker();
+		return marker != null && !entry.getStaleState() && !removedMarkers.contains(marker);
+	}
+
+	private static MarkerEntry[] sortEntries(Collection<MarkerEntry> entries, Comparator<MarkerItem> comparator) {
+		MarkerEntry[] sortedEntries = entries.toArray(EMPTY_ENTRY_ARRAY);
+		Arrays.sort(sortedEntries, comparator);
+		return sortedEntries;
+	}
+
+	/**
+	 * Merge the sorted additions into the sorted range [from, to) of entries,
+	 * leaving out the entries of removed markers. Each addition is placed
+	 * with a binary search, so only O(a log n) comparisons are made for a
+	 * additions.
+	 */
+	private static MarkerEntry[] merge(MarkerEntry[] entries, int from, int to, Set<IMarker> removedMarkers,
+			MarkerEntry[] additions, Comparator<MarkerItem> comparator) {
+		// drop the removed entries first, changed markers would not compare
+		// consistently with their old position any more
+		MarkerEntry[] kept = new MarkerEntry[to - from];
+		int keptCount = copyKept(entries, from, to, removedMarkers, kept, 0);
+		if (additions.length == 0) {
+			return keptCount == kept.length ? kept : Arrays.copyOf(kept, keptCount);
+		}
+		MarkerEntry[] result = new MarkerEntry[keptCount + additions.length];
+		int count = 0;
+		int next = 0;
+		for (MarkerEntry addition : additions) {
+			// insert after equal entries to keep the order stable
+			int low = next;
+			int high = keptCount;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				int value = comparator.compare(kept[mid], addition);
+				kept[mid].clearCache();
+				if (value <= 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			System.arraycopy(kept, next, result, count, low - next);
+			count += low - next;
+			addition.clearCache();
+			result[count++] = addition;
+			next = low;
+		}
+		System.arraycopy(kept, next, result, count, keptCount - next);
+		return result;
+	}
+
+	private static int copyKept(MarkerEntry[] entries, int from, int to, Set<IMarker> removedMarkers,
+			MarkerEntry[] result, int count) {
+		for (int i = from; i < to; i++) {
+			if (isKept(entries[i], removedMarkers)) {
+				result[count++] = entries[i];
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Sort the contained marker entries and build categories if required.
 	 *
@@ -152,8 +351,10 @@ class Markers {
 		boolean initialVal = inChange;
 		MarkerComparator markerComparator = builder.getComparator();
 		MarkerCategory lastCategory = null;
+		boolean fullySorted = true;
 		try {
 			inChange = true;
+			sorted = false;
 			if (builder.isShowingHierarchy()) {
 				Comparator<MarkerItem> comparator = markerComparator.getFieldsComparator();
 				for (MarkerCategory category : categories) {
@@ -168,6 +369,7 @@ class Markers {
 					MarkerSortUtil.sortStartingKElement(markerEntryArray,
 							comparator, category.start, category.end, effLimit,
 							monitor);
+					fullySorted &= MarkerSortUtil.sortsFully(avaliable, effLimit);
 				}
 			} else {
 				if (monitor.isCanceled()) {
@@ -177,10 +379,12 @@ class Markers {
 				int effLimit = getShowingLimit(avaialble);
 				MarkerSortUtil.sortStartingKElement(markerEntryArray,
 						markerComparator, effLimit, monitor);
+				fullySorted = MarkerSortUtil.sortsFully(markerEntryArray.length, effLimit);
 			}
 			if (monitor.isCanceled()) {
 				return false;
 			}
+			sorted = fullySorted;
 			monitor.worked(50);
 			return true;
 		} catch (IllegalArgumentException e) {
@@ -267,7 +471,7 @@ class Markers {
 				return Collections.emptyMap();
 			}
 			try {
-				MarkerGroupingEntry groupingEntry = group.findGroupValue(marker.getType(), marker);
+				MarkerGroupingEntry groupingEntry = entries[i].getGroupValue(group);
 				List<MarkerEntry> list = map.get(groupingEntry);
 				if (list == null) {
 					list = new ArrayList<>();
@@ -319,14 +523,8 @@ class Markers {
 	static Integer[] getMarkerCounts(MarkerEntry[] entries) {
 		int[] ints = new int[] { 0, 0, 0, 0 };
 		for (MarkerEntry entry : entries) {
-			IMarker marker = entry.getMarker();
 			int severity = -1;
-			Object value = null;
-			try {
-				value = marker.getAttribute(IMarker.SEVERITY);
-			} catch (CoreException e) {
-				entry.checkIfMarkerStale();
-			}
+			Object value = entry.getAttributeValue(IMarker.SEVERITY);
 			if (value instanceof Integer) {
 				severity = ((Integer) value).intValue();
 			}
@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - incremental marker updates
  ******************************************************************************/
 
 package org.eclipse.ui.internal.views.markers;
@@ -177,14 +178,12 @@ class MarkersChangeListener implements IResourceChangeListener {
 
 	/**
 	 * Handle changes incrementally.
-	 * The following performs incremental updation
-	 * of the markers that were gathered initially, and keeps them synched at
-	 * any point with the markers of interest in Workspace. Unfortunately marker
-	 * operations cannot be locked so locking between gathering of markers and
-	 * marker deltas is not possible.
-	 *
-	 * Note : this method of updating is NOT used and tested yet and has holes
-	 * but left out SOLELY for further investigation(*).
+	 * The following queues the marker deltas for the {@link IncrementUpdateJob}
+	 * which applies them to the markers that were gathered initially, and keeps
+	 * them synched at any point with the markers of interest in Workspace.
+	 * Unfortunately marker operations cannot be locked so locking between
+	 * gathering of markers and marker deltas is not possible, the deltas are
+	 * applied idempotently instead.
 	 *
 	 * @param event
 	 */
@@ -541,6 +540,19 @@ class MarkerUpdateScheduler {
 		// updateTimer.reset();
 	}
 
+	/**
+	 * Schedule marker update for changed markers. An incremental builder only
+	 * applies the queued marker deltas and does not gather all markers again.
+	 */
+	void scheduleMarkerChangeUpdate(long delay, boolean cancelPrevious) {
+		builder.setBuilding(true);
+		if (cancelPrevious) {
+			cancelQueuedUIUpdates();
+			cancelUpdate();
+		}
+		updateJob = builder.scheduleUpdateJob(delay, !builder.isIncremental());
+	}
+
 	/**
 	 * Schedule marker update.
 	 */
@@ -804,7 +816,7 @@ class MarkerUpdateScheduler {
 
 		private void go(long delay, boolean cancelPrevious) {
 			timeB4Update = System.currentTimeMillis() + delay;
-			scheduleUpdate(delay + AFTER_MARGIN, cancelPrevious);
+			scheduleMarkerChangeUpdate(delay + AFTER_MARGIN, cancelPrevious);
 		}
 	}
 }
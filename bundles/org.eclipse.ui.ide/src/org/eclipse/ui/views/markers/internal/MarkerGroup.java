@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - use captured group values
  *******************************************************************************/
 
 package org.eclipse.ui.views.markers.internal;
@@ -246,8 +247,8 @@ public class MarkerGroup {
 			}
 
 			try {
-				MarkerGroupingEntry groupValue2 = findGroupValue(item2.getMarker().getType(), item2.getMarker());
-				MarkerGroupingEntry groupValue1 = findGroupValue(item1.getMarker().getType(), item1.getMarker());
+				MarkerGroupingEntry groupValue2 = MarkerSupportInternalUtilities.findGroupValue(MarkerGroup.this, item2);
+				MarkerGroupingEntry groupValue1 = MarkerSupportInternalUtilities.findGroupValue(MarkerGroup.this, item1);
 				return (groupValue2.getPriority() - groupValue1.getPriority());
 
 			} catch (CoreException exception) {
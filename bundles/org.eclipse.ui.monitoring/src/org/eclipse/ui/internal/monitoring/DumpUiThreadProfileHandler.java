@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.handlers.HandlerUtil;
+
+/**
+ * Writes the stack samples collected by the running {@link UiThreadSampler} to a file in the
+ * collapsed stack format, which can be turned into a flame graph.
+ */
+public class DumpUiThreadProfileHandler extends AbstractHandler {
+	private static final String FILE_EXTENSION = ".collapsed"; //$NON-NLS-1$
+
+	@Override
+	public Object execute(ExecutionEvent event) {
+		Shell shell = HandlerUtil.getActiveShell(event);
+		UiThreadSampler sampler = UiThreadSampler.getActiveSampler();
+		if (sampler == null) {
+			MessageDialog.openInformation(shell, Messages.DumpUiThreadProfileHandler_dialog_title,
+					Messages.DumpUiThreadProfileHandler_not_running);
+			return null;
+		}
+
+		FileDialog dialog = new FileDialog(shell, SWT.SAVE);
+		dialog.setText(Messages.DumpUiThreadProfileHandler_dialog_title);
+		dialog.setFilterExtensions(new String[] { '*' + FILE_EXTENSION, "*.*" }); //$NON-NLS-1$
+		dialog.setFileName("ui-thread-" //$NON-NLS-1$
+				+ new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + FILE_EXTENSION); //$NON-NLS-1$
+		dialog.setOverwrite(true);
+		String fileName = dialog.open();
+		if (fileName == null) {
+			return null;
+		}
+
+		int samples;
+		try (Writer writer = Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8)) {
+			samples = sampler.getProfile().writeCollapsedStacks(writer);
+		} catch (IOException e) {
+			String message = NLS.bind(Messages.DumpUiThreadProfileHandler_write_error_1, fileName);
+			MonitoringPlugin.logError(message, e);
+			MessageDialog.openError(shell, Messages.DumpUiThreadProfileHandler_dialog_title, message);
+			return null;
+		}
+
+		MessageDialog.openInformation(shell, Messages.DumpUiThreadProfileHandler_dialog_title,
+				NLS.bind(Messages.DumpUiThreadProfileHandler_dumped_4, new Object[] { samples, fileName,
+						sampler.getInterval(), String.format("%.2f", sampler.getOverhead() * 100) })); //$NON-NLS-1$
+		return null;
+	}
+}
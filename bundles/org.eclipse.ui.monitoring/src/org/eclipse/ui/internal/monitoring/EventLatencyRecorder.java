@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.swt.SWT;
+
+/**
+ * Records the durations of the SWT events dispatched by the UI thread in {@link LatencyHistogram}s,
+ * one for all events and one per event type. Durations are recorded in microseconds and include
+ * the time spent in nested events, but not the time spent waiting in nested event loops, e.g. of
+ * modal dialogs.
+ */
+public class EventLatencyRecorder {
+	/** Name of the pseudo event type of the histogram of all events. */
+	public static final String ALL_EVENTS = "All"; //$NON-NLS-1$
+
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+	private static final int MAX_EVENT_TYPE = 63;
+	private static final Map<Integer, String> EVENT_TYPE_NAMES = new HashMap<>();
+
+	static {
+		addEventTypeName(SWT.None, "None"); //$NON-NLS-1$
+		addEventTypeName(SWT.KeyDown, "KeyDown"); //$NON-NLS-1$
+		addEventTypeName(SWT.KeyUp, "KeyUp"); //$NON-NLS-1$
+		addEventTypeName(SWT.MouseDown, "MouseDown"); //$NON-NLS-1$
+		addEventTypeName(SWT.MouseUp, "MouseUp"); //$NON-NLS-1$
+		addEventTypeName(SWT.MouseMove, "MouseMove"); //$NON-NLS-1$
+		addEventTypeName(SWT.MouseEnter, "MouseEnter"); //$NON-NLS-1$
+		addEventTypeName(SWT.MouseExit, "MouseExit"); //$NON-NLS-1$
+		addEventTypeName(SWT.MouseDoubleClick, "MouseDoubleClick"); //$NON-NLS-1$
+		addEventTypeName(SWT.Paint, "Paint"); //$NON-NLS-1$
+		addEventTypeName(SWT.Move, "Move"); //$NON-NLS-1$
+		addEventTypeName(SWT.Resize, "Resize"); //$NON-NLS-1$
+		addEventTypeName(SWT.Dispose, "Dispose"); //$NON-NLS-1$
+		addEventTypeName(SWT.Selection, "Selection"); //$NON-NLS-1$
+		addEventTypeName(SWT.DefaultSelection, "DefaultSelection"); //$NON-NLS-1$
+		addEventTypeName(SWT.FocusIn, "FocusIn"); //$NON-NLS-1$
+		addEventTypeName(SWT.FocusOut, "FocusOut"); //$NON-NLS-1$
+		addEventTypeName(SWT.Expand, "Expand"); //$NON-NLS-1$
+		addEventTypeName(SWT.Collapse, "Collapse"); //$NON-NLS-1$
+		addEventTypeName(SWT.Iconify, "Iconify"); //$NON-NLS-1$
+		addEventTypeName(SWT.Deiconify, "Deiconify"); //$NON-NLS-1$
+		addEventTypeName(SWT.Close, "Close"); //$NON-NLS-1$
+		addEventTypeName(SWT.Show, "Show"); //$NON-NLS-1$
+		addEventTypeName(SWT.Hide, "Hide"); //$NON-NLS-1$
+		addEventTypeName(SWT.Modify, "Modify"); //$NON-NLS-1$
+		addEventTypeName(SWT.Verify, "Verify"); //$NON-NLS-1$
+		addEventTypeName(SWT.Activate, "Activate"); //$NON-NLS-1$
+		addEventTypeName(SWT.Deactivate, "Deactivate"); //$NON-NLS-1$
+		addEventTypeName(SWT.Help, "Help"); //$NON-NLS-1$
+		addEventTypeName(SWT.DragDetect, "DragDetect"); //$NON-NLS-1$
+		addEventTypeName(SWT.Arm, "Arm"); //$NON-NLS-1$
+		addEventTypeName(SWT.Traverse, "Traverse"); //$NON-NLS-1$
+		addEventTypeName(SWT.MouseHover, "MouseHover"); //$NON-NLS-1$
+		addEventTypeName(SWT.HardKeyDown, "HardKeyDown"); //$NON-NLS-1$
+		addEventTypeName(SWT.HardKeyUp, "HardKeyUp"); //$NON-NLS-1$
+		addEventTypeName(SWT.MenuDetect, "MenuDetect"); //$NON-NLS-1$
+		addEventTypeName(SWT.SetData, "SetData"); //$NON-NLS-1$
+		addEventTypeName(SWT.MouseVerticalWheel, "MouseVerticalWheel"); //$NON-NLS-1$
+		addEventTypeName(SWT.MouseHorizontalWheel, "MouseHorizontalWheel"); //$NON-NLS-1$
+		addEventTypeName(SWT.Settings, "Settings"); //$NON-NLS-1$
+		addEventTypeName(SWT.EraseItem, "EraseItem"); //$NON-NLS-1$
+		addEventTypeName(SWT.PaintItem, "PaintItem"); //$NON-NLS-1$
+		addEventTypeName(SWT.ImeComposition, "ImeComposition"); //$NON-NLS-1$
+		addEventTypeName(SWT.OrientationChange, "OrientationChange"); //$NON-NLS-1$
+		addEventTypeName(SWT.OpenDocument, "OpenDocument"); //$NON-NLS-1$
+		addEventTypeName(SWT.Touch, "Touch"); //$NON-NLS-1$
+		addEventTypeName(SWT.Gesture, "Gesture"); //$NON-NLS-1$
+		addEventTypeName(SWT.Segments, "Segments"); //$NON-NLS-1$
+	}
+
+	private final LatencyHistogram allEvents = new LatencyHistogram();
+	private final AtomicReferenceArray<LatencyHistogram> eventTypes =
+			new AtomicReferenceArray<>(MAX_EVENT_TYPE + 1);
+	private volatile long startTime = System.currentTimeMillis();
+
+	/**
+	 * Records the duration of a dispatched event.
+	 *
+	 * @param eventType the SWT event type
+	 * @param micros the duration in microseconds
+	 */
+	public void recordEvent(int eventType, long micros) {
+		allEvents.recordValue(micros);
+		if (eventType >= 0 && eventType <= MAX_EVENT_TYPE) {
+			LatencyHistogram histogram = eventTypes.get(eventType);
+			if (histogram == null) {
+				eventTypes.compareAndSet(eventType, null, new LatencyHistogram());
+				histogram = eventTypes.get(eventType);
+			}
+			histogram.recordValue(micros);
+		}
+	}
+
+	/**
+	 * Returns the histogram of all events.
+	 */
+	public LatencyHistogram getAllEvents() {
+		return allEvents;
+	}
+
+	/**
+	 * Returns the histograms of all events and of the event types which have been recorded, by
+	 * the name of the event type. The histogram of all events comes first.
+	 */
+	public Map<String, LatencyHistogram> getHistograms() {
+		Map<String, LatencyHistogram> result = new LinkedHashMap<>();
+		result.put(ALL_EVENTS, allEvents);
+		for (int i = 0; i <= MAX_EVENT_TYPE; i++) {
+			LatencyHistogram histogram = eventTypes.get(i);
+			if (histogram != null) {
+				result.put(getEventTypeName(i), histogram);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the time in milliseconds since when the events are recorded.
+	 */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Discards all recorded durations.
+	 */
+	public void reset() {
+		startTime = System.currentTimeMillis();
+		allEvents.reset();
+		for (int i = 0; i <= MAX_EVENT_TYPE; i++) {
+			LatencyHistogram histogram = eventTypes.get(i);
+			if (histogram != null) {
+				histogram.reset();
+			}
+		}
+	}
+
+	private static void addEventTypeName(int eventType, String name) {
+		EVENT_TYPE_NAMES.put(eventType, name);
+	}
+
+	/**
+	 * Returns the name of the SWT event type, e.g. "Selection".
+	 */
+	public static String getEventTypeName(int eventType) {
+		String name = EVENT_TYPE_NAMES.get(eventType);
+		return name != null ? name : "Event" + eventType; //$NON-NLS-1$
+	}
+
+	/**
+	 * Writes one line per histogram with its count, mean, percentiles and maximum in
+	 * milliseconds, preceded by a header line.
+	 */
+	public void writeCsv(Writer writer) throws IOException {
+		StringBuilder buf = new StringBuilder("eventType,count,meanMs"); //$NON-NLS-1$
+		for (double percentile : PERCENTILES) {
+			buf.append(",p").append(formatPercentile(percentile)).append("Ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		buf.append(",maxMs\n"); //$NON-NLS-1$
+		for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+			LatencyHistogram histogram = entry.getValue();
+			buf.append(entry.getKey()).append(',').append(histogram.getTotalCount()).append(',')
+					.append(formatMillis(histogram.getMean()));
+			for (double percentile : PERCENTILES) {
+				buf.append(',').append(formatMillis(histogram.getValueAtPercentile(percentile)));
+			}
+			buf.append(',').append(formatMillis(histogram.getMaxValue())).append('\n');
+		}
+		writer.write(buf.toString());
+	}
+
+	/**
+	 * Writes a JSON object with the start and end time of the recording and the count, mean,
+	 * percentiles and maximum in milliseconds of every histogram.
+	 */
+	public void writeJson(Writer writer) throws IOException {
+		StringBuilder buf = new StringBuilder("{\n"); //$NON-NLS-1$
+		buf.append("  \"startTime\": ").append(startTime).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append("  \"endTime\": ").append(System.currentTimeMillis()).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append("  \"eventTypes\": {"); //$NON-NLS-1$
+		List<String> entries = new ArrayList<>();
+		for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+			LatencyHistogram histogram = entry.getValue();
+			StringBuilder item = new StringBuilder();
+			item.append("\n    \"").append(entry.getKey()).append("\": {\"count\": ") //$NON-NLS-1$ //$NON-NLS-2$
+					.append(histogram.getTotalCount()).append(", \"meanMs\": ") //$NON-NLS-1$
+					.append(formatMillis(histogram.getMean()));
+			for (double percentile : PERCENTILES) {
+				item.append(", \"p").append(formatPercentile(percentile)).append("Ms\": ") //$NON-NLS-1$ //$NON-NLS-2$
+						.append(formatMillis(histogram.getValueAtPercentile(percentile)));
+			}
+			item.append(", \"maxMs\": ").append(formatMillis(histogram.getMaxValue())).append('}'); //$NON-NLS-1$
+			entries.add(item.toString());
+		}
+		buf.append(String.join(",", entries)); //$NON-NLS-1$
+		buf.append("\n  }\n}\n"); //$NON-NLS-1$
+		writer.write(buf.toString());
+	}
+
+	private static String formatPercentile(double percentile) {
+		return percentile == Math.rint(percentile) ? Integer.toString((int) percentile)
+				: Double.toString(percentile).replace('.', '_');
+	}
+
+	private static String formatMillis(double micros) {
+		return String.format(Locale.ROOT, "%.3f", micros / 1000); //$NON-NLS-1$
+	}
+}
@@ -12,12 +12,15 @@
  *     Steve Foreman (Google) - initial API and implementation
  *     Marcus Eng (Google)
  *     Sergey Prigogin (Google)
+ *     Eclipse contributors - continuous sampling of the UI thread, event latency histograms
  *******************************************************************************/
 package org.eclipse.ui.internal.monitoring;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -79,6 +82,16 @@ public class EventLoopMonitorThread extends Thread {
 		public String uiThreadFilter;
 		/** @see org.eclipse.ui.monitoring.PreferenceConstants#NONINTERESTING_THREAD_FILTER */
 		public String noninterestingThreadFilter;
+		/** If true, continuously sample the UI thread while it is busy. */
+		public boolean samplingProfilerEnabled;
+		/** Interval between two samples of the continuous sampling. */
+		public int samplingInterval;
+		/** Maximum number of samples kept by the continuous sampling. */
+		public int samplingBufferSize;
+		/** @see org.eclipse.ui.monitoring.PreferenceConstants#LATENCY_DUMP_FILE */
+		public String latencyDumpFile;
+		/** Interval in seconds between two dumps of the event latency statistics. */
+		public int latencyDumpInterval;
 
 		/**
 		 * Checks if the values of parameters for UI responsiveness monitoring are valid.
@@ -107,6 +120,34 @@ public class EventLoopMonitorThread extends Thread {
 								deadlockThreshold, longEventErrorThreshold));
 			}
 
+			if (samplingProfilerEnabled) {
+				if (samplingInterval <= 0) {
+					problems.append(NEW_LINE_AND_BULLET +
+							NLS.bind(Messages.EventLoopMonitorThread_sampling_interval_error_1,
+									samplingInterval));
+				}
+				if (samplingBufferSize <= 0) {
+					problems.append(NEW_LINE_AND_BULLET +
+							NLS.bind(Messages.EventLoopMonitorThread_sampling_buffer_size_error_1,
+									samplingBufferSize));
+				}
+			}
+
+			if (latencyDumpFile != null && !latencyDumpFile.isEmpty()) {
+				if (latencyDumpInterval <= 0) {
+					problems.append(NEW_LINE_AND_BULLET +
+							NLS.bind(Messages.EventLoopMonitorThread_latency_dump_interval_error_1,
+									latencyDumpInterval));
+				}
+				try {
+					Paths.get(latencyDumpFile);
+				} catch (InvalidPathException e) {
+					problems.append(NEW_LINE_AND_BULLET +
+							NLS.bind(Messages.EventLoopMonitorThread_latency_dump_file_error_1,
+									latencyDumpFile));
+				}
+			}
+
 			if (problems.length() != 0) {
 				throw new IllegalArgumentException(
 						NLS.bind(Messages.EventLoopMonitorThread_invalid_argument_error_1,
@@ -134,6 +175,23 @@ public class EventLoopMonitorThread extends Thread {
 		private int[] nestingLevelStack = new int[64];
 		private int nestingLevelStackSize;
 
+		/**
+		 * The types and start times of the events being dispatched, in the order of the
+		 * {@link SWT#PreEvent PreEvent}s. Used to record the event durations in the
+		 * {@link EventLoopMonitorThread#latencyRecorder}.
+		 */
+		private int[] openEventTypes = new int[64];
+		private long[] openEventStartTimes = new long[64];
+		private int openEventCount;
+
+		/**
+		 * The start times of the external event dispatches on the {@link #nestingLevelStack}, and
+		 * the number of open events at their start. Time spent in an external event loop is not
+		 * counted as part of the events that were open when it started.
+		 */
+		private long[] externalDispatchStartTimes = new long[nestingLevelStack.length];
+		private int[] externalDispatchOpenEventCounts = new int[nestingLevelStack.length];
+
 		@Override
 		public void handleEvent(Event event) {
 			/*
@@ -166,6 +224,7 @@ public class EventLoopMonitorThread extends Thread {
 					break;  // Ignore events that may be produced during a UI freeze.
 				}
 				nestingLevel++;
+				startEventTiming(event.detail);
 				if (eventHistory != null) {
 					eventHistory.recordEvent(event.type, event.detail, nestingLevel);
 				}
@@ -181,6 +240,7 @@ public class EventLoopMonitorThread extends Thread {
 					// started listening to SWT events.
 					nestingLevel = 0;
 				}
+				stopEventTiming();
 				if (eventHistory != null) {
 					eventHistory.recordEvent(event.type, event.detail, nestingLevel);
 				}
@@ -224,8 +284,28 @@ public class EventLoopMonitorThread extends Thread {
 			}
 		}
 
+		private void startEventTiming(int eventType) {
+			if (openEventCount == openEventTypes.length) {
+				openEventTypes = Arrays.copyOf(openEventTypes, openEventCount * 2);
+				openEventStartTimes = Arrays.copyOf(openEventStartTimes, openEventCount * 2);
+			}
+			openEventTypes[openEventCount] = eventType;
+			openEventStartTimes[openEventCount++] = System.nanoTime();
+		}
+
+		private void stopEventTiming() {
+			// There is no open event if the PreEvent occurred before we started listening.
+			if (openEventCount > 0) {
+				openEventCount--;
+				long duration = System.nanoTime() - openEventStartTimes[openEventCount];
+				latencyRecorder.recordEvent(openEventTypes[openEventCount], duration / 1000);
+			}
+		}
+
 		private void saveAndResetNestingLevel() {
 			if (nestingLevelStackSize < nestingLevelStack.length) {
+				externalDispatchStartTimes[nestingLevelStackSize] = System.nanoTime();
+				externalDispatchOpenEventCounts[nestingLevelStackSize] = openEventCount;
 				nestingLevelStack[nestingLevelStackSize++] = nestingLevel;
 				nestingLevel = 0;
 			} else {
@@ -239,6 +319,14 @@ public class EventLoopMonitorThread extends Thread {
 		private void restoreNestingLevel() {
 			if (nestingLevelStackSize > 0) {
 				nestingLevel = nestingLevelStack[--nestingLevelStackSize];
+				// Exclude the time spent in the external event loop from the open events.
+				long externalDispatchTime =
+						System.nanoTime() - externalDispatchStartTimes[nestingLevelStackSize];
+				int count = Math.min(externalDispatchOpenEventCounts[nestingLevelStackSize],
+						openEventCount);
+				for (int i = 0; i < count; i++) {
+					openEventStartTimes[i] += externalDispatchTime;
+				}
 			} else {
 				// This may happen if some PreExternalEventDispatch events had occurred before we
 				// started listening to SWT events.
@@ -357,6 +445,10 @@ public class EventLoopMonitorThread extends Thread {
 	private final long uiThreadId;
 	private final Object sleepMonitor;
 	private final boolean logToErrorLog;
+	private final UiThreadSampler sampler;
+	private final EventLatencyRecorder latencyRecorder = new EventLatencyRecorder();
+	private final LatencyDumpJob latencyDumpJob;
+	private final long latencyDumpInterval;
 	private EventHistory eventHistory;
 	private ThreadMXBean threadMXBean;
 	private boolean dumpLockedMonitors;
@@ -395,6 +487,27 @@ public class EventLoopMonitorThread extends Thread {
 		uiThreadFilter = new FilterHandler(args.uiThreadFilter);
 		noninterestingThreadFilter = new FilterHandler(args.noninterestingThreadFilter);
 		sleepMonitor = new Object();
+		if (args.samplingProfilerEnabled) {
+			sampler = new UiThreadSampler(uiThreadId, () -> eventStartOrResumeTime != 0,
+					args.samplingInterval, args.samplingBufferSize);
+		} else {
+			sampler = null;
+		}
+		if (args.latencyDumpFile != null && !args.latencyDumpFile.isEmpty()) {
+			latencyDumpInterval = args.latencyDumpInterval * 1000L;
+			latencyDumpJob = new LatencyDumpJob(latencyRecorder, Paths.get(args.latencyDumpFile),
+					latencyDumpInterval);
+		} else {
+			latencyDumpInterval = 0;
+			latencyDumpJob = null;
+		}
+	}
+
+	/**
+	 * Returns the recorder of the durations of the dispatched events.
+	 */
+	public EventLatencyRecorder getLatencyRecorder() {
+		return latencyRecorder;
 	}
 
 	/**
@@ -402,6 +515,9 @@ public class EventLoopMonitorThread extends Thread {
 	 */
 	public void shutdown() throws SWTException {
 		cancelled.set(true);
+		if (sampler != null) {
+			sampler.shutdown();
+		}
 		if (!display.isDisposed()) {
 			display.removeListener(SWT.PreEvent, eventLoopState);
 			display.removeListener(SWT.PostEvent, eventLoopState);
@@ -490,6 +606,14 @@ public class EventLoopMonitorThread extends Thread {
 		// Register for events
 		display.asyncExec(this::registerDisplayListeners);
 
+		if (sampler != null && !cancelled.get()) {
+			sampler.start();
+		}
+		UiResponsiveness.register(latencyRecorder);
+		if (latencyDumpJob != null) {
+			latencyDumpJob.schedule(latencyDumpInterval);
+		}
+
 		long currTime = getTimestamp();
 
 		while (!cancelled.get()) {
@@ -642,6 +766,12 @@ public class EventLoopMonitorThread extends Thread {
 
 			lastEventStartOrResumeTime = currEventStartOrResumeTime;
 		}
+
+		UiResponsiveness.unregister(latencyRecorder);
+		if (latencyDumpJob != null) {
+			latencyDumpJob.cancel();
+			latencyDumpJob.dump();
+		}
 	}
 
 	private ThreadInfo[] captureThreadStacks(boolean dumpAllThreads) {
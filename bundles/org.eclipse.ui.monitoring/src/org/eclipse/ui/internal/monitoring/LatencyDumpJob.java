@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Periodically writes the statistics of an {@link EventLatencyRecorder} to a file, in JSON format
+ * if the file name ends with ".json" and in CSV format otherwise. The file is replaced on every
+ * dump, so it always contains the statistics since the start of the monitoring.
+ */
+public class LatencyDumpJob extends Job {
+	private final EventLatencyRecorder recorder;
+	private final Path file;
+	private final long interval;
+
+	/**
+	 * @param recorder the recorder to dump
+	 * @param file the file to write
+	 * @param interval the interval between two dumps in milliseconds
+	 */
+	public LatencyDumpJob(EventLatencyRecorder recorder, Path file, long interval) {
+		super(Messages.LatencyDumpJob_name);
+		this.recorder = recorder;
+		this.file = file;
+		this.interval = interval;
+		setSystem(true);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		if (!dump()) {
+			return Status.OK_STATUS; // The error is logged, don't keep failing.
+		}
+		if (!monitor.isCanceled()) {
+			schedule(interval);
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Writes the statistics to the file.
+	 *
+	 * @return {@code true} if the file has been written
+	 */
+	public boolean dump() {
+		try {
+			Path parent = file.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			// Write a temporary file first so readers never see a partial dump.
+			Path temporary = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+			try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+				if (file.getFileName().toString().endsWith(".json")) { //$NON-NLS-1$
+					recorder.writeJson(writer);
+				} else {
+					recorder.writeCsv(writer);
+				}
+			}
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+			return true;
+		} catch (IOException e) {
+			MonitoringPlugin.logError(NLS.bind(Messages.LatencyDumpJob_write_error_1, file), e);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations with a bounded relative error, in the style of HdrHistogram. Values
+ * below {@link #SUB_BUCKET_COUNT} are counted exactly; larger values are counted in logarithmic
+ * buckets, each split into {@link #SUB_BUCKET_COUNT}/2 linear sub-buckets, which limits the
+ * relative error of the reported percentiles to about 6%.
+ * <p>
+ * Recording is lock-free and does not allocate. Reading concurrently with recording may return
+ * slightly inconsistent values, e.g. a count which does not include the last recorded value yet.
+ * </p>
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 5;
+	/** Number of exactly counted values and sub-buckets of the first logarithmic bucket. */
+	static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+	private static final int BUCKET_COUNT =
+			SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * HALF_SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong totalCount = new AtomicLong();
+	private final AtomicLong totalValue = new AtomicLong();
+	private final AtomicLong maxValue = new AtomicLong();
+
+	/**
+	 * Records a value.
+	 *
+	 * @param value the value, negative values are counted as 0
+	 */
+	public void recordValue(long value) {
+		long v = Math.max(value, 0);
+		counts.incrementAndGet(getIndex(v));
+		totalCount.incrementAndGet();
+		totalValue.addAndGet(v);
+		long max;
+		while (v > (max = maxValue.get()) && !maxValue.compareAndSet(max, v)) {
+			// Retry.
+		}
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 */
+	public long getTotalCount() {
+		return totalCount.get();
+	}
+
+	/**
+	 * Returns the largest recorded value, or 0 if no value has been recorded.
+	 */
+	public long getMaxValue() {
+		return maxValue.get();
+	}
+
+	/**
+	 * Returns the mean of the recorded values, or 0 if no value has been recorded.
+	 */
+	public double getMean() {
+		long count = totalCount.get();
+		return count == 0 ? 0 : (double) totalValue.get() / count;
+	}
+
+	/**
+	 * Returns the value below or at which the given percentage of the recorded values fall,
+	 * within the precision of the histogram.
+	 *
+	 * @param percentile the percentile between 0 and 100
+	 * @return the highest value equivalent to the percentile, or 0 if no value has been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			count += counts.get(i);
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long threshold = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+		long cumulative = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			cumulative += counts.get(i);
+			if (cumulative >= threshold) {
+				return Math.min(getHighestValue(i), getMaxValue());
+			}
+		}
+		return getMaxValue();
+	}
+
+	/**
+	 * Discards all recorded values.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts.set(i, 0);
+		}
+		totalCount.set(0);
+		totalValue.set(0);
+		maxValue.set(0);
+	}
+
+	static int getIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		// The position of the highest bit is at least SUB_BUCKET_BITS.
+		int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+		int subBucket = (int) (value >>> shift); // Between HALF_SUB_BUCKET_COUNT and SUB_BUCKET_COUNT - 1.
+		return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + subBucket - HALF_SUB_BUCKET_COUNT;
+	}
+
+	static long getHighestValue(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+		long subBucket = (index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+		long lowest = subBucket << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -18,6 +18,10 @@ import org.eclipse.osgi.util.NLS;
 
 final class Messages extends NLS {
 	public static String DefaultUiFreezeEventLogger_holding_1;
+	public static String DumpUiThreadProfileHandler_dialog_title;
+	public static String DumpUiThreadProfileHandler_dumped_4;
+	public static String DumpUiThreadProfileHandler_not_running;
+	public static String DumpUiThreadProfileHandler_write_error_1;
 	public static String DefaultUiFreezeEventLogger_sample_header_2;
 	public static String DefaultUiFreezeEventLogger_stack_trace_header;
 	public static String DefaultUiFreezeEventLogger_starved_awake_and_asleep;
@@ -38,8 +42,14 @@ final class Messages extends NLS {
 	public static String EventLoopMonitorThread_invalid_logger_type_error_4;
 	public static String EventLoopMonitorThread_logging_disabled_error;
 	public static String EventLoopMonitorThread_warning_threshold_error_1;
+	public static String EventLoopMonitorThread_latency_dump_file_error_1;
+	public static String EventLoopMonitorThread_latency_dump_interval_error_1;
 	public static String EventLoopMonitorThread_max_event_loop_depth_exceeded_1;
+	public static String EventLoopMonitorThread_sampling_buffer_size_error_1;
+	public static String EventLoopMonitorThread_sampling_interval_error_1;
 	public static String FilterHandler_missing_thread_error;
+	public static String LatencyDumpJob_name;
+	public static String LatencyDumpJob_write_error_1;
 	public static String MonitoringStartup_initialization_error;
 
 	private Messages() {
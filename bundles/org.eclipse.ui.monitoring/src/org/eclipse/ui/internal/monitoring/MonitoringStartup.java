@@ -85,6 +85,13 @@ public class MonitoringStartup implements IStartup {
 		args.noninterestingThreadFilter =
 				preferences.getString(PreferenceConstants.NONINTERESTING_THREAD_FILTER);
 		args.logToErrorLog = preferences.getBoolean(PreferenceConstants.LOG_TO_ERROR_LOG);
+		args.samplingProfilerEnabled =
+				preferences.getBoolean(PreferenceConstants.SAMPLING_PROFILER_ENABLED);
+		args.samplingInterval = preferences.getInt(PreferenceConstants.SAMPLING_INTERVAL_MILLIS);
+		args.samplingBufferSize = preferences.getInt(PreferenceConstants.SAMPLING_BUFFER_SIZE);
+		args.latencyDumpFile = preferences.getString(PreferenceConstants.LATENCY_DUMP_FILE);
+		args.latencyDumpInterval =
+				preferences.getInt(PreferenceConstants.LATENCY_DUMP_INTERVAL_SECONDS);
 
 		return args;
 	}
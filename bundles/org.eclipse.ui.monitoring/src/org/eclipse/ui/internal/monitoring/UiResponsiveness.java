@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Exposes an {@link EventLatencyRecorder} through JMX under {@link #OBJECT_NAME}.
+ */
+public class UiResponsiveness implements UiResponsivenessMXBean {
+	/** The name the bean is registered under in the platform MBean server. */
+	public static final String OBJECT_NAME = "org.eclipse.ui.monitoring:type=UiResponsiveness"; //$NON-NLS-1$
+
+	private static EventLatencyRecorder registeredRecorder;
+
+	private final EventLatencyRecorder recorder;
+
+	UiResponsiveness(EventLatencyRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	/**
+	 * Registers a bean for the recorder with the platform MBean server, replacing the bean of a
+	 * previous recorder.
+	 */
+	static synchronized void register(EventLatencyRecorder recorder) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(new UiResponsiveness(recorder), name);
+			registeredRecorder = recorder;
+		} catch (JMException e) {
+			MonitoringPlugin.logError(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Unregisters the bean of the given recorder, unless it has already been replaced.
+	 */
+	static synchronized void unregister(EventLatencyRecorder recorder) {
+		if (registeredRecorder != recorder) {
+			return;
+		}
+		registeredRecorder = null;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (JMException e) {
+			MonitoringPlugin.logError(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public long getEventCount() {
+		return recorder.getAllEvents().getTotalCount();
+	}
+
+	@Override
+	public double getMeanMillis() {
+		return recorder.getAllEvents().getMean() / 1000;
+	}
+
+	@Override
+	public double getP50Millis() {
+		return getPercentileMillis(EventLatencyRecorder.ALL_EVENTS, 50);
+	}
+
+	@Override
+	public double getP90Millis() {
+		return getPercentileMillis(EventLatencyRecorder.ALL_EVENTS, 90);
+	}
+
+	@Override
+	public double getP99Millis() {
+		return getPercentileMillis(EventLatencyRecorder.ALL_EVENTS, 99);
+	}
+
+	@Override
+	public double getMaxMillis() {
+		return recorder.getAllEvents().getMaxValue() / 1000.0;
+	}
+
+	@Override
+	public String[] getEventTypes() {
+		return recorder.getHistograms().keySet().toArray(new String[0]);
+	}
+
+	@Override
+	public long getEventCount(String eventType) {
+		LatencyHistogram histogram = recorder.getHistograms().get(eventType);
+		return histogram == null ? 0 : histogram.getTotalCount();
+	}
+
+	@Override
+	public double getPercentileMillis(String eventType, double percentile) {
+		LatencyHistogram histogram = recorder.getHistograms().get(eventType);
+		return histogram == null ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	@Override
+	public String dumpCsv() {
+		StringWriter writer = new StringWriter();
+		try {
+			recorder.writeCsv(writer);
+		} catch (IOException e) {
+			// Does not happen with a StringWriter.
+		}
+		return writer.toString();
+	}
+
+	@Override
+	public String dumpJson() {
+		StringWriter writer = new StringWriter();
+		try {
+			recorder.writeJson(writer);
+		} catch (IOException e) {
+			// Does not happen with a StringWriter.
+		}
+		return writer.toString();
+	}
+
+	@Override
+	public void reset() {
+		recorder.reset();
+	}
+}
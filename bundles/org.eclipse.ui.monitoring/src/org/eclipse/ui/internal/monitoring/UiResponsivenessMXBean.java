@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+/**
+ * Management interface exposing the latency of the SWT events dispatched by the UI thread. All
+ * durations are in milliseconds.
+ *
+ * @see EventLatencyRecorder
+ */
+public interface UiResponsivenessMXBean {
+	/**
+	 * Returns the number of recorded events.
+	 */
+	long getEventCount();
+
+	/**
+	 * Returns the mean duration of all events.
+	 */
+	double getMeanMillis();
+
+	/**
+	 * Returns the median duration of all events.
+	 */
+	double getP50Millis();
+
+	/**
+	 * Returns the 90th percentile of the duration of all events.
+	 */
+	double getP90Millis();
+
+	/**
+	 * Returns the 99th percentile of the duration of all events.
+	 */
+	double getP99Millis();
+
+	/**
+	 * Returns the longest duration of an event.
+	 */
+	double getMaxMillis();
+
+	/**
+	 * Returns the names of the event types which have been recorded.
+	 */
+	String[] getEventTypes();
+
+	/**
+	 * Returns the number of recorded events of the given type, or of all events for
+	 * {@link EventLatencyRecorder#ALL_EVENTS}.
+	 */
+	long getEventCount(String eventType);
+
+	/**
+	 * Returns a percentile of the duration of the events of the given type, or of all events for
+	 * {@link EventLatencyRecorder#ALL_EVENTS}.
+	 *
+	 * @param eventType the name of the event type
+	 * @param percentile the percentile between 0 and 100
+	 */
+	double getPercentileMillis(String eventType, double percentile);
+
+	/**
+	 * Returns the statistics of all event types in CSV format.
+	 */
+	String dumpCsv();
+
+	/**
+	 * Returns the statistics of all event types in JSON format.
+	 */
+	String dumpJson();
+
+	/**
+	 * Discards all recorded durations.
+	 */
+	void reset();
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fixed-size ring buffer of stack traces of the UI thread recorded by the {@link UiThreadSampler}.
+ * Once the buffer is full, every new sample overwrites the oldest one, so the memory used by the
+ * profile is bounded by its capacity.
+ * <p>
+ * The samples can be aggregated into the collapsed stack format understood by flame graph tools:
+ * one line per distinct stack with the frames from the root to the leaf separated by semicolons,
+ * followed by a space and the number of samples of that stack.
+ * </p>
+ */
+public class UiThreadProfile {
+	private final long[] timestamps;
+	private final StackTraceElement[][] stacks;
+	private int start; // Index of the oldest sample.
+	private int size;  // Number of samples in the buffer.
+	private long totalSamples;
+
+	/**
+	 * @param capacity the maximum number of samples kept in the buffer
+	 */
+	public UiThreadProfile(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity: " + capacity); //$NON-NLS-1$
+		}
+		timestamps = new long[capacity];
+		stacks = new StackTraceElement[capacity][];
+	}
+
+	/**
+	 * Records a sample, overwriting the oldest one if the buffer is full.
+	 *
+	 * @param timestamp the time of the sample in milliseconds
+	 * @param stack the stack trace of the UI thread, the top frame first
+	 */
+	public synchronized void addSample(long timestamp, StackTraceElement[] stack) {
+		int j = (start + size) % stacks.length;
+		timestamps[j] = timestamp;
+		stacks[j] = stack;
+		if (size < stacks.length) {
+			size++;
+		} else if (++start >= stacks.length) {
+			start = 0;
+		}
+		totalSamples++;
+	}
+
+	/**
+	 * Returns the number of samples currently held in the buffer.
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of samples recorded since the profile was created or cleared, including
+	 * the ones which have been overwritten.
+	 */
+	public synchronized long getTotalSampleCount() {
+		return totalSamples;
+	}
+
+	/**
+	 * Returns the timestamp of the oldest sample held in the buffer, or 0 if the buffer is empty.
+	 */
+	public synchronized long getOldestTimestamp() {
+		return size == 0 ? 0 : timestamps[start];
+	}
+
+	/**
+	 * Discards all samples.
+	 */
+	public synchronized void clear() {
+		Arrays.fill(stacks, null);
+		start = 0;
+		size = 0;
+		totalSamples = 0;
+	}
+
+	/**
+	 * Aggregates the samples held in the buffer by their collapsed stack.
+	 *
+	 * @return the number of samples by collapsed stack, sorted by the stacks
+	 */
+	public Map<String, Integer> getCollapsedStacks() {
+		StackTraceElement[][] snapshot;
+		synchronized (this) {
+			snapshot = new StackTraceElement[size][];
+			for (int i = 0; i < size; i++) {
+				snapshot[i] = stacks[(start + i) % stacks.length];
+			}
+		}
+
+		// Aggregate outside of the lock to not block the sampler.
+		Map<String, Integer> result = new TreeMap<>();
+		StringBuilder buf = new StringBuilder();
+		for (StackTraceElement[] stack : snapshot) {
+			if (stack.length != 0) {
+				result.merge(collapse(stack, buf), 1, Integer::sum);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the samples held in the buffer in the collapsed stack format.
+	 *
+	 * @param writer the writer to write to
+	 * @return the number of written samples
+	 * @throws IOException if writing fails
+	 */
+	public int writeCollapsedStacks(Writer writer) throws IOException {
+		int count = 0;
+		for (Map.Entry<String, Integer> entry : getCollapsedStacks().entrySet()) {
+			writer.write(entry.getKey());
+			writer.write(' ');
+			writer.write(entry.getValue().toString());
+			writer.write('\n');
+			count += entry.getValue();
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the frames of the stack from the root to the top, separated by semicolons.
+	 */
+	static String collapse(StackTraceElement[] stack, StringBuilder buf) {
+		buf.setLength(0);
+		for (int i = stack.length; --i >= 0;) {
+			if (buf.length() != 0) {
+				buf.append(';');
+			}
+			buf.append(stack[i].getClassName()).append('.').append(stack[i].getMethodName());
+		}
+		return buf.toString();
+	}
+}
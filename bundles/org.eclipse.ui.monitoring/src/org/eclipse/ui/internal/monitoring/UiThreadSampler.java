@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.ui.monitoring.PreferenceConstants;
+
+/**
+ * Continuously samples the stack of the UI thread at a fixed rate while the UI thread is busy
+ * processing events, and records the samples in a {@link UiThreadProfile}. Unlike the stack
+ * samples of the {@link EventLoopMonitorThread}, which are only taken once an event exceeds the
+ * warning threshold, the profile also covers short stalls.
+ * <p>
+ * The time spent taking the samples is measured. If it exceeds {@link #MAX_OVERHEAD} of the wall
+ * time, the sampling interval is doubled until the overhead is back within the bound, up to
+ * {@link #MAX_INTERVAL} milliseconds.
+ * </p>
+ */
+public class UiThreadSampler extends Thread {
+	/** Maximum share of the wall time the sampling may take. */
+	static final double MAX_OVERHEAD = 0.01;
+	/** Maximum sampling interval in milliseconds the interval may be increased to. */
+	static final long MAX_INTERVAL = 1000;
+
+	private static final String TRACE_SAMPLING_PROFILER = "/debug/sampling_profiler"; //$NON-NLS-1$
+	private static final String TRACE_PREFIX = "UI Thread Sampler"; //$NON-NLS-1$
+	private static final Tracer tracer =
+			Tracer.create(TRACE_PREFIX, PreferenceConstants.PLUGIN_ID + TRACE_SAMPLING_PROFILER);
+
+	private static volatile UiThreadSampler activeSampler;
+
+	private final long uiThreadId;
+	private final BooleanSupplier uiThreadBusy;
+	private final UiThreadProfile profile;
+	private final long configuredInterval;
+	private final AtomicBoolean cancelled = new AtomicBoolean(false);
+	private final Object sleepMonitor = new Object();
+
+	// Written only by the sampling thread.
+	private volatile long interval;
+	private volatile long startTime;
+	private volatile long samplingTime;
+	private volatile long sampleCount;
+	private long averageSampleCost;
+
+	/**
+	 * @param uiThreadId the id of the UI thread
+	 * @param uiThreadBusy tells whether the UI thread is currently processing an event
+	 * @param interval the sampling interval in milliseconds
+	 * @param capacity the number of samples kept in the profile
+	 */
+	public UiThreadSampler(long uiThreadId, BooleanSupplier uiThreadBusy, long interval,
+			int capacity) {
+		super("UI Thread Sampler"); //$NON-NLS-1$
+		setDaemon(true);
+		setPriority(NORM_PRIORITY + 1);
+		this.uiThreadId = uiThreadId;
+		this.uiThreadBusy = uiThreadBusy;
+		this.configuredInterval = Math.max(interval, 1);
+		this.interval = configuredInterval;
+		this.profile = new UiThreadProfile(capacity);
+	}
+
+	/**
+	 * Returns the running sampler, or {@code null} if continuous sampling is disabled.
+	 */
+	public static UiThreadSampler getActiveSampler() {
+		return activeSampler;
+	}
+
+	/**
+	 * Returns the profile the samples are recorded in.
+	 */
+	public UiThreadProfile getProfile() {
+		return profile;
+	}
+
+	/**
+	 * Returns the current sampling interval in milliseconds.
+	 */
+	public long getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Returns the number of samples taken so far.
+	 */
+	public long getSampleCount() {
+		return sampleCount;
+	}
+
+	/**
+	 * Returns the share of the wall time since the start of the sampler which has been spent
+	 * taking samples.
+	 */
+	public double getOverhead() {
+		long start = startTime;
+		if (start == 0) {
+			return 0;
+		}
+		long elapsed = System.nanoTime() - start;
+		return elapsed <= 0 ? 0 : (double) samplingTime / elapsed;
+	}
+
+	/**
+	 * Stops the sampling.
+	 */
+	public void shutdown() {
+		cancelled.set(true);
+		synchronized (sleepMonitor) {
+			sleepMonitor.notify();
+		}
+	}
+
+	@Override
+	public void run() {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		startTime = System.nanoTime();
+		activeSampler = this;
+		try {
+			while (!cancelled.get()) {
+				sleepForMillis(interval);
+				if (cancelled.get() || !uiThreadBusy.getAsBoolean()) {
+					continue;
+				}
+				long t0 = System.nanoTime();
+				ThreadInfo threadInfo = threadMXBean.getThreadInfo(uiThreadId, Integer.MAX_VALUE);
+				if (threadInfo == null) {
+					break; // The UI thread has terminated.
+				}
+				profile.addSample(System.currentTimeMillis(), threadInfo.getStackTrace());
+				long cost = System.nanoTime() - t0;
+				samplingTime += cost;
+				sampleCount++;
+				adjustInterval(cost);
+			}
+		} finally {
+			if (activeSampler == this) {
+				activeSampler = null;
+			}
+		}
+	}
+
+	/**
+	 * Keeps the cost of the samples within {@link #MAX_OVERHEAD} of the sampling interval.
+	 */
+	private void adjustInterval(long cost) {
+		averageSampleCost = averageSampleCost == 0 ? cost : (averageSampleCost * 7 + cost) / 8;
+		long budget = (long) (interval * 1000000 * MAX_OVERHEAD);
+		if (averageSampleCost > budget && interval < MAX_INTERVAL) {
+			interval = Math.min(interval * 2, MAX_INTERVAL);
+			if (tracer != null) {
+				tracer.trace("Average sample cost of %dus exceeds the budget, interval increased to %dms", //$NON-NLS-1$
+						averageSampleCost / 1000, interval);
+			}
+		} else if (averageSampleCost * 4 < budget && interval > configuredInterval) {
+			interval = Math.max(interval / 2, configuredInterval);
+			if (tracer != null) {
+				tracer.trace("Average sample cost of %dus is within the budget, interval decreased to %dms", //$NON-NLS-1$
+						averageSampleCost / 1000, interval);
+			}
+		}
+	}
+
+	private void sleepForMillis(long milliseconds) {
+		try {
+			synchronized (sleepMonitor) {
+				if (!cancelled.get()) {
+					sleepMonitor.wait(milliseconds);
+				}
+			}
+		} catch (InterruptedException e) {
+			// Wake up.
+		}
+	}
+}
@@ -33,11 +33,16 @@ public final class Messages extends NLS {
 	public static String MonitoringPreferencePage_enable_monitoring_label;
 	public static String MonitoringPreferencePage_error_threshold_label;
 	public static String MonitoringPreferencePage_error_threshold_too_low_error;
+	public static String MonitoringPreferencePage_latency_dump_file_label;
+	public static String MonitoringPreferencePage_latency_dump_interval_label;
 	public static String MonitoringPreferencePage_log_freeze_events_label;
 	public static String MonitoringPreferencePage_max_stack_samples_label;
 	public static String MonitoringPreferencePage_noninteresting_thread_filter_label;
 	public static String MonitoringPreferencePage_remove_ui_thread_filter_button_label;
 	public static String MonitoringPreferencePage_remove_noninteresting_thread_filter_button_label;
+	public static String MonitoringPreferencePage_sampling_buffer_size_label;
+	public static String MonitoringPreferencePage_sampling_interval_label;
+	public static String MonitoringPreferencePage_sampling_profiler_enabled_label;
 	public static String MonitoringPreferencePage_ui_thread_filter_label;
 	public static String MonitoringPreferencePage_warning_threshold_label;
 
@@ -35,6 +35,11 @@ public class MonitoringPreferenceInitializer extends AbstractPreferenceInitializ
 		store.setDefault(PreferenceConstants.DEADLOCK_REPORTING_THRESHOLD_MILLIS,
 				5 * 60 * 1000); // 5 min
 		store.setDefault(PreferenceConstants.LOG_TO_ERROR_LOG, true);
+		store.setDefault(PreferenceConstants.SAMPLING_PROFILER_ENABLED, false);
+		store.setDefault(PreferenceConstants.SAMPLING_INTERVAL_MILLIS, 10);
+		store.setDefault(PreferenceConstants.SAMPLING_BUFFER_SIZE, 6000); // 1 min of busy UI thread
+		store.setDefault(PreferenceConstants.LATENCY_DUMP_FILE, ""); //$NON-NLS-1$
+		store.setDefault(PreferenceConstants.LATENCY_DUMP_INTERVAL_SECONDS, 60);
 		store.setDefault(PreferenceConstants.UI_THREAD_FILTER, ""); //$NON-NLS-1$
 		store.setDefault(PreferenceConstants.NONINTERESTING_THREAD_FILTER,
 				"java.*" //$NON-NLS-1$
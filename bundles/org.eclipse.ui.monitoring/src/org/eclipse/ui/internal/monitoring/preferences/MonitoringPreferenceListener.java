@@ -55,7 +55,12 @@ public class MonitoringPreferenceListener implements IPropertyChangeListener {
 				&& !property.equals(PreferenceConstants.LOG_TO_ERROR_LOG)
 				&& !property.equals(PreferenceConstants.MAX_STACK_SAMPLES)
 				&& !property.equals(PreferenceConstants.UI_THREAD_FILTER)
-				&& !property.equals(PreferenceConstants.NONINTERESTING_THREAD_FILTER)) {
+				&& !property.equals(PreferenceConstants.NONINTERESTING_THREAD_FILTER)
+				&& !property.equals(PreferenceConstants.SAMPLING_PROFILER_ENABLED)
+				&& !property.equals(PreferenceConstants.SAMPLING_INTERVAL_MILLIS)
+				&& !property.equals(PreferenceConstants.SAMPLING_BUFFER_SIZE)
+				&& !property.equals(PreferenceConstants.LATENCY_DUMP_FILE)
+				&& !property.equals(PreferenceConstants.LATENCY_DUMP_INTERVAL_SECONDS)) {
 			return;
 		}
 
@@ -26,6 +26,7 @@ import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
 import org.eclipse.jface.preference.IntegerFieldEditor;
+import org.eclipse.jface.preference.StringFieldEditor;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Composite;
@@ -146,6 +147,19 @@ public class MonitoringPreferencePage extends FieldEditorPreferencePage
 		createIntegerEditor(
 				PreferenceConstants.MAX_STACK_SAMPLES,
 				Messages.MonitoringPreferencePage_max_stack_samples_label, block, 0, 100);
+		createBooleanEditor(PreferenceConstants.SAMPLING_PROFILER_ENABLED,
+				Messages.MonitoringPreferencePage_sampling_profiler_enabled_label, block);
+		createIntegerEditor(
+				PreferenceConstants.SAMPLING_INTERVAL_MILLIS,
+				Messages.MonitoringPreferencePage_sampling_interval_label, block, 1, 1000);
+		createIntegerEditor(
+				PreferenceConstants.SAMPLING_BUFFER_SIZE,
+				Messages.MonitoringPreferencePage_sampling_buffer_size_label, block, 1, 1000000);
+		addField(new StringFieldEditor(PreferenceConstants.LATENCY_DUMP_FILE,
+				Messages.MonitoringPreferencePage_latency_dump_file_label, block), block);
+		createIntegerEditor(
+				PreferenceConstants.LATENCY_DUMP_INTERVAL_SECONDS,
+				Messages.MonitoringPreferencePage_latency_dump_interval_label, block, 1, 24 * 3600);
 		GridLayoutFactory.fillDefaults()
 				.numColumns(2)
 				.spacing(LayoutConstants.getSpacing())
@@ -11,6 +11,7 @@
  * Contributors:
  *	   Marcus Eng (Google) - initial API and implementation
  *	   Sergey Prigogin (Google)
+ *	   Eclipse contributors - sampling profiler and latency dump preferences
  *******************************************************************************/
 package org.eclipse.ui.monitoring;
 
@@ -58,6 +59,42 @@ public class PreferenceConstants {
 	 * message if all stack frames of the thread match the filter.
 	 */
 	public static final String NONINTERESTING_THREAD_FILTER = "noninteresting_thread_filter"; //$NON-NLS-1$
+	/**
+	 * If true, the stack of the UI thread is continuously sampled while the UI thread is busy.
+	 * The samples can be written to a file in the collapsed stack format of flame graph tools
+	 * with the "Dump UI Thread Profile" command.
+	 *
+	 * @since 1.4
+	 */
+	public static final String SAMPLING_PROFILER_ENABLED = "sampling_profiler_enabled"; //$NON-NLS-1$
+	/**
+	 * Interval in milliseconds between two samples of the continuous sampling of the UI thread.
+	 *
+	 * @since 1.4
+	 */
+	public static final String SAMPLING_INTERVAL_MILLIS = "sampling_interval"; //$NON-NLS-1$
+	/**
+	 * Maximum number of samples kept by the continuous sampling of the UI thread. Older samples
+	 * are discarded.
+	 *
+	 * @since 1.4
+	 */
+	public static final String SAMPLING_BUFFER_SIZE = "sampling_buffer_size"; //$NON-NLS-1$
+	/**
+	 * Path of a file the latency statistics of the dispatched UI events are periodically written
+	 * to, in JSON format if the name ends with ".json" and in CSV format otherwise. The statistics
+	 * are not written if empty. They are also available through the
+	 * "org.eclipse.ui.monitoring:type=UiResponsiveness" JMX bean.
+	 *
+	 * @since 1.4
+	 */
+	public static final String LATENCY_DUMP_FILE = "latency_dump_file"; //$NON-NLS-1$
+	/**
+	 * Interval in seconds between two writes of the {@link #LATENCY_DUMP_FILE}.
+	 *
+	 * @since 1.4
+	 */
+	public static final String LATENCY_DUMP_INTERVAL_SECONDS = "latency_dump_interval"; //$NON-NLS-1$
 
 	private PreferenceConstants() {}
 }
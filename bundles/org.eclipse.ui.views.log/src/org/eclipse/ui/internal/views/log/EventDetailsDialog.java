@@ -13,6 +13,7 @@
  *     Jacek Pospychala <jacek.pospychala@pl.ibm.com> - bugs 202583, 207466, 207344
  *     Remy Chi Jian Suen <remy.suen@gmail.com> - bug 272985
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 485843
+ *     Eclipse contributors - navigation in the index-only mode of large logs
  *******************************************************************************/
 package org.eclipse.ui.internal.views.log;
 
@@ -871,6 +872,18 @@ public class EventDetailsDialog extends TrayDialog {
 	 * @return top level elements of the Log View
 	 */
 	private AbstractEntry[] getElements() {
-		return (AbstractEntry[]) ((ITreeContentProvider) provider.getContentProvider()).getElements(null);
+		IContentProvider contentProvider = provider.getContentProvider();
+		if (contentProvider instanceof ITreeContentProvider) {
+			return (AbstractEntry[]) ((ITreeContentProvider) contentProvider).getElements(null);
+		}
+		// large logs are read lazily, only the selected entries are navigated
+		// instead of reading all of them
+		List<AbstractEntry> elements = new ArrayList<>();
+		for (Object element : provider.getStructuredSelection()) {
+			if (element instanceof AbstractEntry && ((AbstractEntry) element).getParent(element) == null) {
+				elements.add((AbstractEntry) element);
+			}
+		}
+		return elements.toArray(new AbstractEntry[elements.size()]);
 	}
 }
@@ -11,6 +11,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 485843
+ *     Eclipse contributors - threshold of the index-only mode
  *******************************************************************************/
 package org.eclipse.ui.internal.views.log;
 
@@ -36,6 +37,7 @@ public class FilterDialog extends TrayDialog {
 	private Button limit;
 	Text limitText;
 	Text maxLogTailSizeText;
+	Text logIndexThresholdText;
 
 	// entry types filter
 	private Button errorCheckbox;
@@ -161,6 +163,30 @@ public class FilterDialog extends TrayDialog {
 		});
 		maxLogTailSizeText.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
 		maxLogTailSizeText.setText(memento.getString(LogView.P_LOG_MAX_TAIL_SIZE));
+
+		Label logIndexThresholdLabel = new Label(comp, SWT.NONE);
+		logIndexThresholdLabel.setText(Messages.LogView_FilterDialog_indexThreshold);
+		logIndexThresholdLabel.setToolTipText(Messages.LogView_FilterDialog_indexThresholdTooltip);
+
+		logIndexThresholdText = new Text(comp, SWT.BORDER);
+		logIndexThresholdText.addVerifyListener(e -> {
+			if (Character.isLetter(e.character)) {
+				e.doit = false;
+			}
+		});
+
+		logIndexThresholdText.addModifyListener(e -> {
+			try {
+				if (okButton == null)
+					return;
+				int value = Integer.parseInt(logIndexThresholdText.getText());
+				okButton.setEnabled(value > 0);
+			} catch (NumberFormatException e1) {
+				okButton.setEnabled(false);
+			}
+		});
+		logIndexThresholdText.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+		logIndexThresholdText.setText(memento.getString(LogView.P_LOG_INDEX_THRESHOLD));
 	}
 
 	private void createSessionSection(Composite parent) {
@@ -296,6 +322,7 @@ public class FilterDialog extends TrayDialog {
 		memento.putString(LogView.P_LOG_LIMIT, limitText.getText());
 		memento.putString(LogView.P_USE_LIMIT, limit.getSelection() ? "true" : "false"); //$NON-NLS-1$ //$NON-NLS-2$
 		memento.putString(LogView.P_LOG_MAX_TAIL_SIZE, maxLogTailSizeText.getText());
+		memento.putString(LogView.P_LOG_INDEX_THRESHOLD, logIndexThresholdText.getText());
 		memento.putString(LogView.P_SHOW_ALL_SESSIONS, showAllButton.getSelection() ? "true" : "false"); //$NON-NLS-1$ //$NON-NLS-2$
 
 		// store Event Dialog stack trace filter preferences
@@ -0,0 +1,487 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.views.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.*;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.IMemento;
+
+/**
+ * Index of the top-level entries of a log file which is too large to keep all
+ * of its entries in memory. Only the position of the entries passing the
+ * filters of the view is recorded, in primitive arrays; an entry is parsed from
+ * the file when it is requested, and a bounded number of parsed entries is
+ * cached.
+ * <p>
+ * Like {@link LogReader}, the index only scans the content appended since the
+ * previous update, and starts over if the file was replaced or truncated, or
+ * if the settings affecting the result changed.
+ * </p>
+ * <p>
+ * An update publishes an immutable snapshot of the index when the scan is
+ * done, so the UI thread reading entries never waits for a scan. Entries logged
+ * while the view is open are {@link #append(LogEntry) appended} to the snapshot
+ * without scanning the file again.
+ * </p>
+ */
+public class LogIndex {
+	private static final int ONE_MEGA_BYTE_IN_BYTES = 1024 * 1024;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int CACHE_SIZE = 1000;
+
+	private static final byte[] ENTRY = "!ENTRY".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+	private static final byte[] SESSION = LogSession.SESSION.getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * The published state of the index. The arrays are shared with the scan,
+	 * which only writes beyond the counts of published snapshots and replaces
+	 * the arrays when it starts over.
+	 */
+	private static final class Snapshot {
+		final long[] offsets;
+		final int[] lengths;
+		final int[] sessionIndexes;
+		final int count;
+		final long[] sessionOffsets;
+		final int[] sessionLengths;
+		final int sessionCount;
+		// the length of the last entry or session while more lines may follow
+		final int lastEntryLength;
+		final int lastSessionLength;
+		// entries logged since the update, not in the index
+		final List<LogEntry> appended;
+		final int limit;
+		final IMemento memento;
+
+		Snapshot(long[] offsets, int[] lengths, int[] sessionIndexes, int count, long[] sessionOffsets,
+				int[] sessionLengths, int sessionCount, int lastEntryLength, int lastSessionLength, List<LogEntry> appended, int limit,
+				IMemento memento) {
+			this.offsets = offsets;
+			this.lengths = lengths;
+			this.sessionIndexes = sessionIndexes;
+			this.count = count;
+			this.sessionOffsets = sessionOffsets;
+			this.sessionLengths = sessionLengths;
+			this.sessionCount = sessionCount;
+			this.lastEntryLength = lastEntryLength;
+			this.lastSessionLength = lastSessionLength;
+			this.appended = appended;
+			this.limit = limit;
+			this.memento = memento;
+		}
+
+		Snapshot append(LogEntry entry) {
+			List<LogEntry> newAppended = new ArrayList<>(appended.size() + 1);
+			newAppended.addAll(appended);
+			newAppended.add(entry);
+			return new Snapshot(offsets, lengths, sessionIndexes, count, sessionOffsets, sessionLengths,
+					sessionCount, lastEntryLength, lastSessionLength, Collections.unmodifiableList(newAppended), limit, memento);
+		}
+
+		int size() {
+			return Math.min(count + appended.size(), limit);
+		}
+
+		int getLength(int index) {
+			return index == count - 1 && lastEntryLength >= 0 ? lastEntryLength : lengths[index];
+		}
+
+		int getSessionLength(int index) {
+			return index == sessionCount - 1 && lastSessionLength >= 0 ? lastSessionLength : sessionLengths[index];
+		}
+	}
+
+	/**
+	 * A parsed entry or session, with the length of the file range it was parsed
+	 * from. It is parsed again if the range grew since.
+	 */
+	private static final class Parsed<T> {
+		final int length;
+		final T value;
+
+		Parsed(int length, T value) {
+			this.length = length;
+			this.value = value;
+		}
+	}
+
+	private final File file;
+	// parses the entries, its state is not shared with the scan
+	private final LogReader reader;
+
+	private volatile Snapshot snapshot;
+
+	// state of the scan, guarded by this
+	// start, length and session of each indexed entry, in file order
+	private long[] offsets = new long[1024];
+	private int[] lengths = new int[1024];
+	private int[] sessionIndexes = new int[1024];
+	private int count;
+
+	// start and length of each session header, in file order
+	private long[] sessionOffsets = new long[16];
+	private int[] sessionLengths = new int[16];
+	private int sessionCount;
+	// used for entries logged before any session header
+	private final LogSession defaultSession = new LogSession();
+
+	// position of the file up to which complete lines were scanned
+	private long position;
+	private Object fileKey;
+	private String settings;
+	private boolean skipLineFeed;
+	// the entry or session header whose length grows with the following lines
+	private long openStart = -1;
+	private int openKind;
+	private static final int OPEN_NONE = 0;
+	private static final int OPEN_ENTRY = 1;
+	private static final int OPEN_SESSION = 2;
+
+	private IMemento memento;
+
+	// parsed entries and sessions by their start, guarded by themselves
+	private final Map<Long, Parsed<LogEntry>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Parsed<LogEntry>> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+	private final Map<Long, Parsed<LogSession>> sessionCache = new HashMap<>();
+
+	public LogIndex(File file) {
+		this.file = file;
+		this.reader = new LogReader(file);
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Indexes the entries appended to the tail of the log file since the
+	 * previous update and publishes the result.
+	 *
+	 * @param maxLogTailSizeInMegaByte the size of the tail to index initially
+	 * @param memento                  the settings of the log view
+	 */
+	public synchronized void update(long maxLogTailSizeInMegaByte, IMemento memento) {
+		this.memento = memento;
+		int limit = memento.getString(LogView.P_USE_LIMIT).equals("true") //$NON-NLS-1$
+				? memento.getInteger(LogView.P_LOG_LIMIT).intValue()
+				: Integer.MAX_VALUE;
+		if (!file.exists()) {
+			reset();
+		} else {
+			long maxTailSizeInBytes = maxLogTailSizeInMegaByte > 0
+					? maxLogTailSizeInMegaByte * ONE_MEGA_BYTE_IN_BYTES
+					: ONE_MEGA_BYTE_IN_BYTES;
+			String newSettings = LogReader.getSettings(maxTailSizeInBytes, memento);
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				Object newFileKey = LogReader.getFileKey(file);
+				long size = channel.size();
+				if (!newSettings.equals(settings) || !Objects.equals(newFileKey, fileKey) || size < position) {
+					reset();
+					settings = newSettings;
+					fileKey = newFileKey;
+				}
+				if (position == 0 && size > maxTailSizeInBytes) {
+					position = size - maxTailSizeInBytes;
+					skipToNextLine(channel);
+				}
+				scan(channel, size);
+			} catch (IOException e) { // do nothing
+			}
+		}
+		int openLength = (int) Math.min(Integer.MAX_VALUE, position - openStart);
+		snapshot = new Snapshot(offsets, lengths, sessionIndexes, count, sessionOffsets, sessionLengths,
+				sessionCount, openKind == OPEN_ENTRY ? openLength : -1, openKind == OPEN_SESSION ? openLength : -1,
+				Collections.emptyList(), limit, memento);
+	}
+
+	/**
+	 * Adds an entry logged after the last update. The entry is in the log file
+	 * too, the next update indexes it from there.
+	 *
+	 * @param entry the logged entry
+	 */
+	public synchronized void append(LogEntry entry) {
+		Snapshot current = snapshot;
+		if (current != null) {
+			snapshot = current.append(entry);
+		}
+	}
+
+	/**
+	 * @return the number of entries which can be shown, the oldest exceeding the
+	 *         limit of the view are not counted
+	 */
+	public int size() {
+		Snapshot current = snapshot;
+		return current == null ? 0 : current.size();
+	}
+
+	/**
+	 * Returns the entry with the given index, parsing it from the file if it is
+	 * not cached.
+	 *
+	 * @param index the index of the entry, 0 is the oldest entry which can be
+	 *              shown
+	 * @return the entry or <code>null</code> if the index is no longer valid
+	 */
+	public LogEntry getEntry(int index) {
+		Snapshot current = snapshot;
+		if (current == null || index < 0 || index >= current.size()) {
+			return null;
+		}
+		int i = current.count + current.appended.size() - current.size() + index;
+		if (i >= current.count) {
+			return current.appended.get(i - current.count);
+		}
+		Long start = Long.valueOf(current.offsets[i]);
+		int length = current.getLength(i);
+		synchronized (cache) {
+			Parsed<LogEntry> parsed = cache.get(start);
+			if (parsed != null && parsed.length == length) {
+				return parsed.value;
+			}
+		}
+		LogSession session = getSession(current, current.sessionIndexes[i]);
+		LogEntry entry = reader.readEntry(current.offsets[i], length, session, current.memento);
+		if (entry == null) {
+			// the file changed since it was indexed
+			entry = new LogEntry(
+					new Status(IStatus.WARNING, Activator.PLUGIN_ID, NLS.bind(Messages.LogIndex_entryNotRead, start)));
+			entry.setSession(session);
+		}
+		synchronized (cache) {
+			cache.put(start, new Parsed<>(length, entry));
+		}
+		return entry;
+	}
+
+	private LogSession getSession(Snapshot current, int index) {
+		if (index < 0) {
+			return defaultSession;
+		}
+		Long start = Long.valueOf(current.sessionOffsets[index]);
+		int length = current.getSessionLength(index);
+		synchronized (sessionCache) {
+			Parsed<LogSession> parsed = sessionCache.get(start);
+			if (parsed != null && parsed.length == length) {
+				return parsed.value;
+			}
+		}
+		LogSession session = reader.readSession(current.sessionOffsets[index], length, current.memento);
+		if (session == null) {
+			session = defaultSession;
+		}
+		synchronized (sessionCache) {
+			sessionCache.put(start, new Parsed<>(length, session));
+		}
+		return session;
+	}
+
+	private void reset() {
+		// published snapshots keep the old arrays
+		offsets = new long[1024];
+		lengths = new int[1024];
+		sessionIndexes = new int[1024];
+		count = 0;
+		sessionOffsets = new long[16];
+		sessionLengths = new int[16];
+		sessionCount = 0;
+		position = 0;
+		fileKey = null;
+		settings = null;
+		skipLineFeed = false;
+		openStart = -1;
+		openKind = OPEN_NONE;
+		synchronized (cache) {
+			cache.clear();
+		}
+		synchronized (sessionCache) {
+			sessionCache.clear();
+		}
+	}
+
+	private void skipToNextLine(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		while (channel.read(buffer, position) > 0) {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				byte b = buffer.get();
+				position++;
+				if (b == '\n' || b == '\r') {
+					return;
+				}
+			}
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Scans the complete lines between the position and the given size of the
+	 * file for entry and session lines. Only these lines are decoded.
+	 */
+	private void scan(FileChannel channel, long size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(1, size - position)));
+		// the beginning of the current line, enough to recognize it
+		byte[] head = new byte[16];
+		int headLength = 0;
+		// the whole line, only collected for entry lines
+		byte[] line = null;
+		int lineLength = 0;
+		long lineStart = position;
+		long next = position;
+		while (next < size) {
+			buffer.clear();
+			int read = channel.read(buffer, next);
+			if (read <= 0) {
+				break;
+			}
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				byte b = buffer.get();
+				next++;
+				if (skipLineFeed) {
+					skipLineFeed = false;
+					if (b == '\n') {
+						position = next;
+						lineStart = next;
+						continue;
+					}
+				}
+				if (b == '\n' || b == '\r') {
+					processLine(lineStart, head, headLength, line, lineLength);
+					headLength = 0;
+					line = null;
+					lineLength = 0;
+					skipLineFeed = b == '\r';
+					position = next;
+					lineStart = next;
+					continue;
+				}
+				if (line != null) {
+					if (lineLength == line.length) {
+						line = Arrays.copyOf(line, line.length * 2);
+					}
+					line[lineLength++] = b;
+				} else if (headLength < head.length) {
+					if (headLength == 0 && b >= 0 && b <= ' ') {
+						// leading white space is trimmed by the parser
+						continue;
+					}
+					head[headLength++] = b;
+					if (headLength == ENTRY.length && startsWith(head, headLength, ENTRY)) {
+						// collect the whole line to read the severity
+						line = new byte[256];
+						System.arraycopy(head, 0, line, 0, headLength);
+						lineLength = headLength;
+					}
+				}
+			}
+		}
+	}
+
+	private void processLine(long lineStart, byte[] head, int headLength, byte[] line, int lineLength) {
+		boolean isEntry = line != null;
+		boolean isSession = !isEntry && startsWith(head, headLength, SESSION);
+		if (!isEntry && !isSession) {
+			return;
+		}
+		if (openKind != OPEN_NONE) {
+			close(lineStart);
+		}
+
+		if (isSession) {
+			if (sessionCount == sessionOffsets.length) {
+				int capacity = sessionCount * 2;
+				sessionOffsets = Arrays.copyOf(sessionOffsets, capacity);
+				sessionLengths = Arrays.copyOf(sessionLengths, capacity);
+			}
+			sessionOffsets[sessionCount] = lineStart;
+			sessionLengths[sessionCount] = 0;
+			sessionCount++;
+			openStart = lineStart;
+			openKind = OPEN_SESSION;
+			if (!memento.getString(LogView.P_SHOW_ALL_SESSIONS).equals("true")) { //$NON-NLS-1$
+				// only the entries of the most recent session are shown, published
+				// snapshots keep the old arrays
+				offsets = new long[1024];
+				lengths = new int[1024];
+				sessionIndexes = new int[1024];
+				count = 0;
+			}
+			return;
+		}
+
+		try {
+			LogEntry entry = new LogEntry();
+			entry.processEntry(new String(line, 0, lineLength, StandardCharsets.UTF_8).trim());
+			if (!LogReader.isLogged(entry, memento)) {
+				return;
+			}
+		} catch (ParseException e) {
+			// the parser tosses the entry
+			return;
+		}
+		if (count == offsets.length) {
+			int capacity = count * 2;
+			offsets = Arrays.copyOf(offsets, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			sessionIndexes = Arrays.copyOf(sessionIndexes, capacity);
+		}
+		offsets[count] = lineStart;
+		lengths[count] = 0;
+		sessionIndexes[count] = sessionCount - 1;
+		count++;
+		openStart = lineStart;
+		openKind = OPEN_ENTRY;
+	}
+
+	/**
+	 * Records the length of the open entry or session, which ends where the given
+	 * line starts. The length of the last one is only published with the
+	 * snapshots, the arrays are not written while the entry may grow.
+	 */
+	private void close(long end) {
+		int length = (int) Math.min(Integer.MAX_VALUE, end - openStart);
+		if (openKind == OPEN_ENTRY) {
+			lengths[count - 1] = length;
+		} else if (openKind == OPEN_SESSION) {
+			sessionLengths[sessionCount - 1] = length;
+		}
+		openKind = OPEN_NONE;
+	}
+
+	private static boolean startsWith(byte[] bytes, int length, byte[] prefix) {
+		if (length < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (bytes[i] != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.views.log;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+
+/**
+ * Content provider of the virtual log tree used for large log files. The input
+ * is a {@link LogIndex}; its entries are only parsed once their tree item
+ * becomes visible.
+ */
+public class LogIndexContentProvider implements ILazyTreeContentProvider {
+	private final LogView logView;
+	private TreeViewer viewer;
+	private LogIndex index;
+
+	public LogIndexContentProvider(LogView logView) {
+		this.logView = logView;
+	}
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		this.viewer = (TreeViewer) viewer;
+		this.index = newInput instanceof LogIndex ? (LogIndex) newInput : null;
+	}
+
+	@Override
+	public void updateElement(Object parent, int index) {
+		Object element;
+		if (parent == this.index) {
+			int size = this.index.size();
+			if (index >= size) {
+				return;
+			}
+			// the entries can only be shown in the order of the file
+			element = this.index.getEntry(logView.isIndexAscending() ? index : size - 1 - index);
+			if (element == null) {
+				// the index was updated meanwhile, the tree is refreshed after
+				return;
+			}
+		} else {
+			AbstractEntry[] children = ((AbstractEntry) parent).getChildren(parent);
+			if (index >= children.length) {
+				return;
+			}
+			element = children[index];
+		}
+		viewer.replace(parent, index, element);
+		updateChildCount(element, -1);
+	}
+
+	@Override
+	public void updateChildCount(Object element, int currentChildCount) {
+		int count;
+		if (element == index) {
+			count = index.size();
+		} else if (element instanceof AbstractEntry) {
+			count = ((AbstractEntry) element).size();
+		} else {
+			count = 0;
+		}
+		if (count != currentChildCount) {
+			viewer.setChildCount(element, count);
+		}
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		Object parent = ((AbstractEntry) element).getParent(element);
+		return parent != null ? parent : index;
+	}
+}
@@ -13,11 +13,19 @@
  *     Jacek Pospychala <jacek.pospychala@pl.ibm.com> - bugs 202583, 207061
  *     Jacek Pospychala <jacek.pospychala@pl.ibm.com> - bugs 207312, 100715
  *     Jacek Pospychala <jacek.pospychala@pl.ibm.com> - bugs 207344
+ *     Eclipse contributors - incremental parsing of appended log content
+ *     Eclipse contributors - parsing of single entries located by LogIndex
  *******************************************************************************/
 package org.eclipse.ui.internal.views.log;
 
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.text.ParseException;
 import java.util.*;
 import org.eclipse.core.runtime.IStatus;
@@ -25,7 +33,20 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.IMemento;
 
-class LogReader {
+/**
+ * Reads the entries of a log file. An instance remembers how far the file was
+ * parsed, so reading it again only parses the content appended in the
+ * meantime. The file is parsed from scratch if it was replaced or truncated, or
+ * if the settings affecting the result changed.
+ * <p>
+ * Entries returned by a read are never modified by later reads, so they can be
+ * handed to the UI thread while the next read runs. Only complete top-level
+ * entries, followed by another entry or session, are kept between reads. The
+ * last entry of the file may still grow, so every read parses it again into new
+ * objects.
+ * </p>
+ */
+public class LogReader {
 	private static final int SESSION_STATE = 10;
 	public static final long MAX_FILE_LENGTH = 1024 * 1024;
 	private static final int ONE_MEGA_BYTE_IN_BYTES = 1024 * 1024;
@@ -36,164 +57,372 @@ class LogReader {
 	private static final int TEXT_STATE = 60;
 	private static final int UNKNOWN_STATE = 70;
 
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final File file;
+
+	// position of the file up to which the entries are complete, the last
+	// entry or session after it is parsed again by every read
+	private long offset;
+	private Object fileKey;
+	private String settings;
+	// whether the last parsed line ended with '\r', a following '\n' is skipped
+	private boolean skipLineFeed;
+
+	// the complete entries and the sessions at the offset, kept between reads
+	private final List<LogEntry> entries = new ArrayList<>();
+	private LogSession offsetSession;
+	private LogSession offsetCurrentSession;
+
+	// state of the parser during a read, parents[0] is the last top-level entry
+	private final ArrayList<LogEntry> parents = new ArrayList<>();
+	private LogEntry current;
+	private LogSession session;
+	private LogSession currentSession;
+	private int writerState = UNKNOWN_STATE;
+	private StringBuilder text;
+	private String message;
+
+	public LogReader(File file) {
+		this.file = file;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
 	public static LogSession parseLogFile(File file, long maxLogTailSizeInMegaByte, List<LogEntry> entries,
 			IMemento memento) {
-		if (!file.exists())
+		return new LogReader(file).read(maxLogTailSizeInMegaByte, entries, memento);
+	}
+
+	public static LogSession parseLogFile(File file, List<LogEntry> entries, IMemento memento) {
+		return parseLogFile(file, ONE_MEGA_BYTE_IN_BYTES, entries, memento);
+	}
+
+	/**
+	 * Adds the entries of the tail of the log file to the given list. Only the
+	 * content appended since the previous read is parsed.
+	 *
+	 * @param maxLogTailSizeInMegaByte the size of the tail to read initially
+	 * @param result                   the list to add the entries to
+	 * @param memento                  the settings of the log view
+	 * @return the most recent session
+	 */
+	public synchronized LogSession read(long maxLogTailSizeInMegaByte, List<LogEntry> result, IMemento memento) {
+		if (!file.exists()) {
+			reset();
 			return null;
+		}
 
 		if (memento.getString(LogView.P_USE_LIMIT).equals("true") //$NON-NLS-1$
-				&& memento.getInteger(LogView.P_LOG_LIMIT).intValue() == 0)
+				&& memento.getInteger(LogView.P_LOG_LIMIT).intValue() == 0) {
+			reset();
 			return null;
+		}
 
-		ArrayList<LogEntry> parents = new ArrayList<>();
-		LogEntry current = null;
-		LogSession session = null;
-		int writerState = UNKNOWN_STATE;
-		StringWriter swriter = null;
-		PrintWriter writer = null;
-		int state = UNKNOWN_STATE;
-		LogSession currentSession = null;
 		long maxTailSizeInBytes = maxLogTailSizeInMegaByte > 0 ? maxLogTailSizeInMegaByte * ONE_MEGA_BYTE_IN_BYTES
 				: ONE_MEGA_BYTE_IN_BYTES;
-		try (BufferedReader reader = new BufferedReader(
-				new InputStreamReader(new TailInputStream(file, maxTailSizeInBytes), StandardCharsets.UTF_8))) {
-			for (;;) {
-				String line0 = reader.readLine();
-				if (line0 == null)
-					break;
-				String line = line0.trim();
-
-				if (line.startsWith(LogSession.SESSION)) {
-					state = SESSION_STATE;
-				} else if (line.startsWith("!ENTRY")) { //$NON-NLS-1$
-					state = ENTRY_STATE;
-				} else if (line.startsWith("!SUBENTRY")) { //$NON-NLS-1$
-					state = SUBENTRY_STATE;
-				} else if (line.startsWith("!MESSAGE")) { //$NON-NLS-1$
-					state = MESSAGE_STATE;
-				} else if (line.startsWith("!STACK")) { //$NON-NLS-1$
-					state = STACK_STATE;
-				} else
-					state = TEXT_STATE;
-
-				if (state == TEXT_STATE) {
-					if (writer != null) {
-						if (swriter.getBuffer().length() > 0)
-							writer.println();
-						writer.print(line0);
-					}
-					continue;
-				}
+		String newSettings = getSettings(maxTailSizeInBytes, memento);
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			Object newFileKey = getFileKey(file);
+			long size = channel.size();
+			if (!newSettings.equals(settings) || !Objects.equals(newFileKey, fileKey) || size < offset) {
+				reset();
+				settings = newSettings;
+				fileKey = newFileKey;
+			}
+			if (offset == 0 && size > maxTailSizeInBytes) {
+				// start at the beginning of a line to be sure to start at a valid
+				// UTF-8 character
+				offset = size - maxTailSizeInBytes;
+				skipToNextLine(channel);
+			}
+			readLines(channel, size, memento);
+		} catch (IOException e) { // do nothing
+		}
+
+		result.addAll(entries);
+		if (!parents.isEmpty()) {
+			// parsed again by the next read, so the returned entry is not modified
+			addEntry(parents.get(0), result, memento);
+		}
+		if (file.length() > maxLogTailSizeInMegaByte && result.isEmpty()) {
+			LogEntry entry = new LogEntry(new Status(IStatus.WARNING, Activator.PLUGIN_ID, NLS.bind(
+					Messages.LogReader_warn_noEntryWithinMaxLogTailSize, Long.valueOf(maxLogTailSizeInMegaByte))));
+			entry.setSession(currentSession == null ? new LogSession() : currentSession);
+			result.add(entry);
+		}
+		return currentSession;
+	}
+
+	private void reset() {
+		offset = 0;
+		fileKey = null;
+		settings = null;
+		skipLineFeed = false;
+		entries.clear();
+		offsetSession = null;
+		offsetCurrentSession = null;
+	}
+
+	/**
+	 * Parses the top-level entry at the given range of the file, as located by
+	 * a {@link LogIndex}. Filters are not applied.
+	 *
+	 * @param start        the offset of the <code>!ENTRY</code> line
+	 * @param length       the length of the entry including its sub-entries
+	 * @param entrySession the session the entry belongs to
+	 * @param memento      the settings of the log view
+	 * @return the entry or <code>null</code> if the range could not be parsed
+	 */
+	synchronized LogEntry readEntry(long start, int length, LogSession entrySession, IMemento memento) {
+		readRange(start, length, entrySession, memento);
+		return parents.isEmpty() ? null : parents.get(0);
+	}
+
+	/**
+	 * Parses the session header at the given range of the file, as located by a
+	 * {@link LogIndex}.
+	 *
+	 * @param start   the offset of the <code>!SESSION</code> line
+	 * @param length  the length of the session header
+	 * @param memento the settings of the log view
+	 * @return the session or <code>null</code> if the range could not be parsed
+	 */
+	synchronized LogSession readSession(long start, int length, IMemento memento) {
+		readRange(start, length, null, memento);
+		return session;
+	}
+
+	private void readRange(long start, int length, LogSession entrySession, IMemento memento) {
+		reset();
+		offsetSession = entrySession;
+		offsetCurrentSession = entrySession;
+		offset = start;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			readLines(channel, Math.min(start + length, channel.size()), memento);
+		} catch (IOException e) { // do nothing
+		}
+	}
+
+	static Object getFileKey(File file) throws IOException {
+		BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		Object key = attributes.fileKey();
+		// not available on all platforms
+		return key != null ? key : attributes.creationTime();
+	}
 
-				if (writer != null) {
-					setData(current, session, writerState, swriter);
-					writerState = UNKNOWN_STATE;
-					swriter = null;
-					writer.close();
-					writer = null;
+	/**
+	 * Returns the settings which affect the parsed entries.
+	 */
+	static String getSettings(long maxTailSizeInBytes, IMemento memento) {
+		return maxTailSizeInBytes + "," + memento.getString(LogView.P_USE_LIMIT) + "," //$NON-NLS-1$ //$NON-NLS-2$
+				+ memento.getInteger(LogView.P_LOG_LIMIT) + "," + memento.getString(LogView.P_SHOW_ALL_SESSIONS) + "," //$NON-NLS-1$ //$NON-NLS-2$
+				+ memento.getString(LogView.P_LOG_INFO) + "," + memento.getString(LogView.P_LOG_WARNING) + "," //$NON-NLS-1$ //$NON-NLS-2$
+				+ memento.getString(LogView.P_LOG_ERROR) + "," + memento.getString(LogView.P_LOG_OK); //$NON-NLS-1$
+	}
+
+	private void skipToNextLine(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		while (channel.read(buffer, offset) > 0) {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				byte b = buffer.get();
+				offset++;
+				if (b == '\n' || b == '\r') {
+					return;
 				}
+			}
+			buffer.clear();
+		}
+	}
 
-				switch (state) {
-				case STACK_STATE:
-					swriter = new StringWriter();
-					writer = new PrintWriter(swriter, true);
-					writerState = STACK_STATE;
-					break;
-				case SESSION_STATE:
-					session = new LogSession();
-					session.processLogLine(line);
-					swriter = new StringWriter();
-					writer = new PrintWriter(swriter, true);
-					writerState = SESSION_STATE;
-					currentSession = updateCurrentSession(currentSession, session);
-					// if current session is most recent and not showing all sessions
-					if (currentSession.equals(session) && !memento.getString(LogView.P_SHOW_ALL_SESSIONS).equals("true")) //$NON-NLS-1$
-						entries.clear();
-					break;
-				case ENTRY_STATE:
-					if (currentSession == null) { // create fake session if there was no any
-						currentSession = new LogSession();
-					}
-					try {
-						LogEntry entry = new LogEntry();
-						entry.setSession(currentSession);
-						entry.processEntry(line);
-						setNewParent(parents, entry, 0);
-						current = entry;
-						addEntry(current, entries, memento);
-					} catch (ParseException pe) {
-						//do nothing, just toss the entry
+	/**
+	 * Parses the complete lines between the offset and the given size of the
+	 * file. The offset is advanced to the start of the last top-level entry or
+	 * session, which is parsed again by the next read together with an
+	 * incomplete last line.
+	 */
+	private void readLines(FileChannel channel, long size, IMemento memento) throws IOException {
+		// continue with the state at the offset
+		parents.clear();
+		current = null;
+		session = offsetSession;
+		currentSession = offsetCurrentSession;
+		writerState = UNKNOWN_STATE;
+		text = null;
+		message = null;
+		skipLineFeed = false;
+
+		ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(1, size - offset)));
+		byte[] line = new byte[256];
+		int lineLength = 0;
+		long position = offset;
+		long lineStart = offset;
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read <= 0) {
+				break;
+			}
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				byte b = buffer.get();
+				position++;
+				if (skipLineFeed) {
+					skipLineFeed = false;
+					if (b == '\n') {
+						lineStart = position;
+						continue;
 					}
-					break;
-				case SUBENTRY_STATE:
-					if (parents.size() > 0) {
-						try {
-							LogEntry entry = new LogEntry();
-							entry.setSession(session);
-							int depth = entry.processSubEntry(line);
-							setNewParent(parents, entry, depth);
-							current = entry;
-							LogEntry parent = parents.get(depth - 1);
-							parent.addChild(entry);
-						} catch (ParseException pe) {
-							//do nothing, just toss the bad entry
-						}
+				}
+				if (b == '\n' || b == '\r') {
+					processLine(new String(line, 0, lineLength, StandardCharsets.UTF_8), lineStart, memento);
+					lineLength = 0;
+					skipLineFeed = b == '\r';
+					lineStart = position;
+				} else {
+					if (lineLength == line.length) {
+						line = Arrays.copyOf(line, line.length * 2);
 					}
-					break;
-				case MESSAGE_STATE:
-					swriter = new StringWriter();
-					writer = new PrintWriter(swriter, true);
-					String message = ""; //$NON-NLS-1$
-					if (line.length() > 8)
-						message = line.substring(9);
-					if (current != null)
-						current.setMessage(message);
-					writerState = MESSAGE_STATE;
-					break;
-				default:
-					break;
+					line[lineLength++] = b;
 				}
 			}
+		}
+		// make the text of the last entry available, it is parsed again by the
+		// next read if more is appended
+		setData();
+	}
 
-			if (swriter != null && current != null && writerState == STACK_STATE) {
-				writerState = UNKNOWN_STATE;
-				current.setStack(swriter.toString());
-			}
-		} catch (IOException e) { // do nothing
-		} finally {
-			if (file.length() > maxLogTailSizeInMegaByte && entries.isEmpty()) {
-				LogEntry entry = new LogEntry(new Status(IStatus.WARNING, Activator.PLUGIN_ID, NLS.bind(
-						Messages.LogReader_warn_noEntryWithinMaxLogTailSize, Long.valueOf(maxLogTailSizeInMegaByte))));
-				entry.setSession(currentSession == null ? new LogSession() : currentSession);
-				entries.add(entry);
-			}
-			if (writer != null) {
-				setData(current, session, writerState, swriter);
-				writer.close();
+	/**
+	 * Called when a top-level entry or a session starts, the entries before are
+	 * complete then and are kept for the next read.
+	 *
+	 * @param lineStart the position of the line starting the entry or session
+	 */
+	private void completeEntries(long lineStart, IMemento memento) {
+		if (!parents.isEmpty()) {
+			addEntry(parents.get(0), entries, memento);
+			parents.clear();
+		}
+		current = null;
+		offset = lineStart;
+		offsetSession = session;
+		offsetCurrentSession = currentSession;
+	}
+
+	private void processLine(String line0, long lineStart, IMemento memento) {
+		String line = line0.trim();
+		int state;
+		if (line.startsWith(LogSession.SESSION)) {
+			state = SESSION_STATE;
+		} else if (line.startsWith("!ENTRY")) { //$NON-NLS-1$
+			state = ENTRY_STATE;
+		} else if (line.startsWith("!SUBENTRY")) { //$NON-NLS-1$
+			state = SUBENTRY_STATE;
+		} else if (line.startsWith("!MESSAGE")) { //$NON-NLS-1$
+			state = MESSAGE_STATE;
+		} else if (line.startsWith("!STACK")) { //$NON-NLS-1$
+			state = STACK_STATE;
+		} else
+			state = TEXT_STATE;
+
+		if (state == TEXT_STATE) {
+			if (text != null) {
+				if (text.length() > 0)
+					text.append(System.lineSeparator());
+				text.append(line0);
 			}
+			return;
 		}
 
-		return currentSession;
-	}
+		if (text != null) {
+			setData();
+			writerState = UNKNOWN_STATE;
+			text = null;
+		}
 
-	public static LogSession parseLogFile(File file, List<LogEntry> entries, IMemento memento) {
-		return parseLogFile(file, ONE_MEGA_BYTE_IN_BYTES, entries, memento);
+		switch (state) {
+		case STACK_STATE:
+			text = new StringBuilder();
+			writerState = STACK_STATE;
+			break;
+		case SESSION_STATE:
+			completeEntries(lineStart, memento);
+			session = new LogSession();
+			session.processLogLine(line);
+			text = new StringBuilder();
+			writerState = SESSION_STATE;
+			currentSession = updateCurrentSession(currentSession, session);
+			// if current session is most recent and not showing all sessions
+			if (currentSession.equals(session) && !memento.getString(LogView.P_SHOW_ALL_SESSIONS).equals("true")) //$NON-NLS-1$
+				entries.clear();
+			break;
+		case ENTRY_STATE:
+			if (currentSession == null) { // create fake session if there was no any
+				currentSession = new LogSession();
+			}
+			completeEntries(lineStart, memento);
+			try {
+				LogEntry entry = new LogEntry();
+				entry.setSession(currentSession);
+				entry.processEntry(line);
+				setNewParent(parents, entry, 0);
+				current = entry;
+			} catch (ParseException pe) {
+				//do nothing, just toss the entry
+			}
+			break;
+		case SUBENTRY_STATE:
+			if (parents.size() > 0) {
+				try {
+					LogEntry entry = new LogEntry();
+					entry.setSession(session);
+					int depth = entry.processSubEntry(line);
+					// only add to the entries of the last top-level entry
+					if (depth > 0 && depth <= parents.size()) {
+						setNewParent(parents, entry, depth);
+						current = entry;
+						LogEntry parent = parents.get(depth - 1);
+						parent.addChild(entry);
+					}
+				} catch (ParseException pe) {
+					//do nothing, just toss the bad entry
+				}
+			}
+			break;
+		case MESSAGE_STATE:
+			text = new StringBuilder();
+			message = ""; //$NON-NLS-1$
+			if (line.length() > 8)
+				message = line.substring(9);
+			if (current != null)
+				current.setMessage(message);
+			writerState = MESSAGE_STATE;
+			break;
+		default:
+			break;
+		}
 	}
 
 	/**
-	 * Assigns data from writer to appropriate field of current Log Entry or Session,
-	 * depending on writer state.
+	 * Assigns the text collected so far to the appropriate field of current Log
+	 * Entry or Session, depending on writer state. May be called again once more
+	 * text was collected.
 	 */
-	private static void setData(LogEntry current, LogSession session, int writerState, StringWriter swriter) {
+	private void setData() {
+		if (text == null) {
+			return;
+		}
 		if (writerState == STACK_STATE && current != null) {
-			current.setStack(swriter.toString());
+			current.setStack(text.toString());
 		} else if (writerState == SESSION_STATE && session != null) {
-			session.setSessionData(swriter.toString());
+			session.setSessionData(text.toString());
 		} else if (writerState == MESSAGE_STATE && current != null) {
-			StringBuilder sb = new StringBuilder(current.getMessage());
-			String continuation = swriter.toString();
-			if (continuation.length() > 0)
-				sb.append(System.lineSeparator()).append(continuation);
+			StringBuilder sb = new StringBuilder(message);
+			if (text.length() > 0)
+				sb.append(System.lineSeparator()).append(text);
 			current.setMessage(sb.toString());
 		}
 	}
@@ -18,6 +18,8 @@
  *     Eike Stepper <stepper@esc-net.de>              - bug 429372
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 485843
  *     Patrik Suzzi <psuzzi@gmail.com> - Bug 501586
+ *     Eclipse contributors - incremental reading of the log file
+ *     Eclipse contributors - index-only mode for large log files
  *******************************************************************************/
 
 package org.eclipse.ui.internal.views.log;
@@ -78,6 +80,19 @@ public class LogView extends ViewPart implements LogListener {
 	 * This value should be increased if the size of the sub elements of the last (most recent) log entry in the log file exceeds the maximum tail size.
 	 **/
 	public static final String P_LOG_MAX_TAIL_SIZE = "maxLogTailSize"; //$NON-NLS-1$
+	/**
+	 * Size in Mega Bytes above which the log is shown in a virtual tree. Only the
+	 * position of the entries is kept in memory and entries are read from the
+	 * log file when they are shown; sorting by message or plug-in, text
+	 * filtering and grouping are not available in this mode.
+	 * <p>
+	 * Only the tail of the log file is read, so this mode is used when
+	 * {@link #P_LOG_MAX_TAIL_SIZE} is raised above this size. With the default
+	 * tail size of 1 MB it is never used; it is meant to be opted in to together
+	 * with a larger tail size.
+	 * </p>
+	 **/
+	public static final String P_LOG_INDEX_THRESHOLD = "logIndexThreshold"; //$NON-NLS-1$
 	public static final String P_LOG_LIMIT = "limit"; //$NON-NLS-1$
 	public static final String P_USE_LIMIT = "useLimit"; //$NON-NLS-1$
 	public static final String P_SHOW_ALL_SESSIONS = "allSessions"; //$NON-NLS-1$
@@ -95,6 +110,8 @@ public class LogView extends ViewPart implements LogListener {
 
 	/** default values **/
 	private static final int DEFAULT_LOG_MAX_TAIL_SIZE = 1; // 1 Mega Byte
+	private static final int DEFAULT_LOG_INDEX_THRESHOLD = 16; // 16 Mega Bytes
+	private static final int ONE_MEGA_BYTE_IN_BYTES = 1024 * 1024;
 
 	private int MESSAGE_ORDER;
 	private int PLUGIN_ORDER;
@@ -124,6 +141,10 @@ public class LogView extends ViewPart implements LogListener {
 	private IMemento fMemento;
 	private File fInputFile;
 	private String fDirectory;
+	// remembers how far fInputFile was parsed, so a refresh only parses appended content
+	private LogReader fLogReader;
+	// the index shown instead of the elements if the log is large
+	private volatile LogIndex fLogIndex;
 
 	private Comparator<?> fComparator;
 
@@ -569,7 +590,8 @@ public class LogView extends ViewPart implements LogListener {
 			}
 		};
 		filter.setIncludeLeadingWildcard(true);
-		fFilteredTree = new FilteredTree(parent, SWT.FULL_SELECTION, filter);
+		// virtual to allow showing large logs with a LogIndexContentProvider
+		fFilteredTree = new FilteredTree(parent, SWT.FULL_SELECTION | SWT.VIRTUAL, filter);
 		// need to give filter Textbox some space from the border
 		if (fFilteredTree.getFilterControl() != null) {
 			Composite filterComposite = fFilteredTree.getFilterControl().getParent(); // FilteredTree new look lays filter Text on additional composite
@@ -611,6 +633,9 @@ public class LogView extends ViewPart implements LogListener {
 		fColumn1.addSelectionListener(new SelectionAdapter() {
 			@Override
 			public void widgetSelected(SelectionEvent e) {
+				if (fLogIndex != null) {
+					return; // only sorted by date
+				}
 				MESSAGE_ORDER *= -1;
 				ViewerComparator comparator = getViewerComparator(MESSAGE);
 				fFilteredTree.getViewer().setComparator(comparator);
@@ -630,6 +655,9 @@ public class LogView extends ViewPart implements LogListener {
 		fColumn2.addSelectionListener(new SelectionAdapter() {
 			@Override
 			public void widgetSelected(SelectionEvent e) {
+				if (fLogIndex != null) {
+					return; // only sorted by date
+				}
 				PLUGIN_ORDER *= -1;
 				ViewerComparator comparator = getViewerComparator(PLUGIN);
 				fFilteredTree.getViewer().setComparator(comparator);
@@ -651,7 +679,11 @@ public class LogView extends ViewPart implements LogListener {
 			public void widgetSelected(SelectionEvent e) {
 				DATE_ORDER *= -1;
 				ViewerComparator comparator = getViewerComparator(DATE);
-				fFilteredTree.getViewer().setComparator(comparator);
+				if (fLogIndex != null) {
+					fFilteredTree.getViewer().refresh();
+				} else {
+					fFilteredTree.getViewer().setComparator(comparator);
+				}
 				setComparator(DATE);
 				((EventDetailsDialogAction) fPropertiesAction).setComparator(fComparator);
 				fMemento.putInteger(P_ORDER_VALUE, DATE_ORDER);
@@ -835,6 +867,7 @@ public class LogView extends ViewPart implements LogListener {
 
 	public void handleClear() {
 		BusyIndicator.showWhile(fTree.getDisplay(), () -> {
+			fLogIndex = null;
 			elements.clear();
 			groups.clear();
 			if (currentSession != null) {
@@ -870,14 +903,24 @@ public class LogView extends ViewPart implements LogListener {
 	 */
 	void readLogFile() {
 		setContentDescription(Messages.LogView_readLog_loading);
-		fetchLogEntries().thenAccept(this::updateLogViewer);
+		// the entries are only shown and grouped in the UI thread
+		fetchLogEntries().thenAccept(entries -> getDisplay().asyncExec(() -> {
+			if (!isDisposed()) {
+				updateLogViewer(entries);
+			}
+		}));
 	}
 
 	private CompletableFuture<List<LogEntry>> fetchLogEntries() {
 		return CompletableFuture.supplyAsync(() -> {
 			List<LogEntry> result = new ArrayList<>();
-			LogSession lastLogSession = LogReader.parseLogFile(this.fInputFile, getLogMaxTailSize(), result,
-					this.fMemento);
+			if (isLogIndexRequired()) {
+				getLogIndex().update(getLogMaxTailSize(), this.fMemento);
+				currentSession = null; // new entries are read from the file
+				return result;
+			}
+			fLogIndex = null;
+			LogSession lastLogSession = getLogReader().read(getLogMaxTailSize(), result, this.fMemento);
 			if (lastLogSession != null
 					&& (lastLogSession.getDate() == null || isEclipseStartTime(lastLogSession.getDate()))) {
 				currentSession = lastLogSession;
@@ -888,6 +931,35 @@ public class LogView extends ViewPart implements LogListener {
 		});
 	}
 
+	private boolean isLogIndexRequired() {
+		long size = Math.min(fInputFile.length(), getLogMaxTailSize() * ONE_MEGA_BYTE_IN_BYTES);
+		return size > getLogIndexThreshold() * ONE_MEGA_BYTE_IN_BYTES;
+	}
+
+	private synchronized LogIndex getLogIndex() {
+		LogIndex index = fLogIndex;
+		if (index == null || !index.getFile().equals(fInputFile)) {
+			index = new LogIndex(fInputFile);
+			fLogIndex = index;
+			fLogReader = null;
+		}
+		return index;
+	}
+
+	/**
+	 * @return whether the entries of a large log are shown oldest first
+	 */
+	boolean isIndexAscending() {
+		return DATE_ORDER == ASCENDING;
+	}
+
+	private synchronized LogReader getLogReader() {
+		if (fLogReader == null || !fLogReader.getFile().equals(fInputFile)) {
+			fLogReader = new LogReader(fInputFile);
+		}
+		return fLogReader;
+	}
+
 	private void updateLogViewer(List<LogEntry> entries) {
 		elements.clear();
 		groups.clear();
@@ -1162,8 +1234,14 @@ public class LogView extends ViewPart implements LogListener {
 
 	private synchronized void pushEntry(LogEntry entry) {
 		if (LogReader.isLogged(entry, fMemento)) {
-			group(Collections.singletonList(entry));
-			limitEntriesCount();
+			LogIndex index = fLogIndex;
+			if (index != null) {
+				// the next update indexes the entry from the log file
+				index.append(entry);
+			} else {
+				group(Collections.singletonList(entry));
+				limitEntriesCount();
+			}
 		}
 		asyncRefresh(true);
 	}
@@ -1172,8 +1250,16 @@ public class LogView extends ViewPart implements LogListener {
 		return new Throttler(display, Duration.ofMillis(16), () -> {
 			if (!fTree.isDisposed()) {
 				TreeViewer viewer = fFilteredTree.getViewer();
-				viewer.refresh();
-				viewer.expandToLevel(2);
+				LogIndex index = fLogIndex;
+				if (index != null) {
+					showLogIndex(viewer, index);
+				} else {
+					if (viewer.getInput() != this) {
+						showElements(viewer);
+					}
+					viewer.refresh();
+					viewer.expandToLevel(2);
+				}
 				fTree.setEnabled(true);
 				boolean exists = fInputFile.exists();
 				boolean enabled = exists && fInputFile.equals(Platform.getLogFileLocation().toFile());
@@ -1189,6 +1275,39 @@ public class LogView extends ViewPart implements LogListener {
 		});
 	}
 
+	/**
+	 * Shows the entries of a large log in the virtual tree, the entries are only
+	 * read from the file once they become visible.
+	 */
+	private void showLogIndex(TreeViewer viewer, LogIndex index) {
+		if (viewer.getInput() != index) {
+			// the lazy content provider supports neither sorting nor filtering
+			viewer.setAutoExpandLevel(0);
+			viewer.setComparator(null);
+			viewer.setContentProvider(new LogIndexContentProvider(this));
+			viewer.setInput(index);
+			setColumnSorting(fColumn3, DATE_ORDER);
+			setFilterTextEnabled(false);
+		}
+		viewer.setChildCount(index, index.size());
+		viewer.refresh();
+	}
+
+	private void showElements(TreeViewer viewer) {
+		viewer.setAutoExpandLevel(2);
+		viewer.setContentProvider(new LogViewContentProvider(this));
+		viewer.setInput(this);
+		initializeViewerSorter();
+		setFilterTextEnabled(true);
+	}
+
+	private void setFilterTextEnabled(boolean enabled) {
+		Text filterControl = fFilteredTree.getFilterControl();
+		if (filterControl != null && !filterControl.isDisposed()) {
+			filterControl.setEnabled(enabled);
+		}
+	}
+
 	private Throttler createMutualActivate(Display display) {
 		return new Throttler(display, Duration.ofMillis(500), () -> {
 			if (!fTree.isDisposed()) {
@@ -1707,6 +1826,7 @@ public class LogView extends ViewPart implements LogListener {
 		fMemento.putBoolean(P_SHOW_FILTER_TEXT, instancePrefs.getBoolean(P_SHOW_FILTER_TEXT, defaultPrefs.getBoolean(P_SHOW_FILTER_TEXT, true)));
 		fMemento.putInteger(P_GROUP_BY, instancePrefs.getInt(P_GROUP_BY, defaultPrefs.getInt(P_GROUP_BY, LogView.GROUP_BY_NONE)));
 		fMemento.putString(P_LOG_MAX_TAIL_SIZE, String.valueOf(getLogMaxTailSizePreference(instancePrefs, defaultPrefs, DEFAULT_LOG_MAX_TAIL_SIZE)));
+		fMemento.putString(P_LOG_INDEX_THRESHOLD, String.valueOf(getLogIndexThresholdPreference(instancePrefs, defaultPrefs, DEFAULT_LOG_INDEX_THRESHOLD)));
 	}
 
 	private long getLogMaxTailSizePreference(Preferences instancePrefs, Preferences defaultPrefs, long defaultMaxLogTailSize) {
@@ -1717,10 +1837,22 @@ public class LogView extends ViewPart implements LogListener {
 		}
 	}
 
+	private long getLogIndexThresholdPreference(Preferences instancePrefs, Preferences defaultPrefs, long defaultLogIndexThreshold) {
+		try {
+			return instancePrefs.getLong(P_LOG_INDEX_THRESHOLD, defaultPrefs.getLong(P_LOG_INDEX_THRESHOLD, defaultLogIndexThreshold));
+		} catch (IllegalStateException ex) {
+			return defaultLogIndexThreshold;
+		}
+	}
+
 	private long getLogMaxTailSize() {
 		return Long.parseLong(this.fMemento.getString(P_LOG_MAX_TAIL_SIZE));
 	}
 
+	private long getLogIndexThreshold() {
+		return Long.parseLong(this.fMemento.getString(P_LOG_INDEX_THRESHOLD));
+	}
+
 	/**
 	 * Returns the width to use for the column represented by the given key. The default width
 	 * is returned iff:
@@ -1772,6 +1904,7 @@ public class LogView extends ViewPart implements LogListener {
 		instancePrefs.putBoolean(P_SHOW_FILTER_TEXT, fMemento.getBoolean(P_SHOW_FILTER_TEXT).booleanValue());
 		instancePrefs.putInt(P_GROUP_BY, fMemento.getInteger(P_GROUP_BY).intValue());
 		instancePrefs.putLong(P_LOG_MAX_TAIL_SIZE, getLogMaxTailSize());
+		instancePrefs.putLong(P_LOG_INDEX_THRESHOLD, getLogIndexThreshold());
 		try {
 			instancePrefs.flush();
 		} catch (BackingStoreException e) {
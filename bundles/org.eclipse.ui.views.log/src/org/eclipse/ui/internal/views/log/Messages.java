@@ -12,6 +12,7 @@
  *     IBM Corporation - initial API and implementation
  *     Jacek Pospychala <jacek.pospychala@pl.ibm.com> - bugs 202583, 207344
  *     Benjamin Cabe <benjamin.cabe@anyware-tech.com> - bug 218648
+ *     Eclipse contributors - index-only mode for large log files
  *******************************************************************************/
 package org.eclipse.ui.internal.views.log;
 
@@ -20,6 +21,7 @@ import org.eclipse.osgi.util.NLS;
 public class Messages extends NLS {
 
 	public static String LogReader_warn_noEntryWithinMaxLogTailSize;
+	public static String LogIndex_entryNotRead;
 
 	public static String LogView_column_message;
 	public static String LogView_column_plugin;
@@ -70,6 +72,8 @@ public class Messages extends NLS {
 	public static String LogView_FilterDialog_error;
 	public static String LogView_FilterDialog_limitTo;
 	public static String LogView_FilterDialog_maxLogTailSize;
+	public static String LogView_FilterDialog_indexThreshold;
+	public static String LogView_FilterDialog_indexThresholdTooltip;
 	public static String LogView_FilterDialog_eventsLogged;
 	public static String LogView_FilterDialog_allSessions;
 	public static String LogView_FilterDialog_ok;
@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.eclipse.core.commands.util.Tracing;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SafeRunner;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.e4.ui.internal.workbench.StartupTimeline;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.misc.Policy;
+import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
+
+/**
+ * Executes the <code>org.eclipse.ui.startup</code> extensions, one after the
+ * other or concurrently by a bounded number of jobs, and records how long the
+ * extensions of each plug-in took.
+ * <p>
+ * A <code>startup</code> element may name plug-ins with an <code>after</code>
+ * attribute. Their extensions are run before, in both modes. Unknown plug-ins
+ * are ignored. Cycles are logged and broken up.
+ * </p>
+ * <p>
+ * The durations are traced with <code>org.eclipse.ui/trace/earlyStartup</code>.
+ * Plug-ins taking longer than the threshold given by the
+ * {@value #REPORT_THRESHOLD_PROPERTY} system property (in milliseconds) are
+ * additionally reported in the log.
+ * </p>
+ *
+ * @since 3.129
+ */
+public final class EarlyStartupScheduler {
+
+	/**
+	 * Whether the early startup extensions are executed concurrently, disabled by
+	 * default.
+	 */
+	static final boolean PARALLEL = Boolean
+			.parseBoolean(System.getProperty("org.eclipse.ui.workbench.parallelEarlyStartup", "false")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/** The number of early startup extensions executed concurrently at most. */
+	static final int MAX_THREADS = Math.max(1, Integer.getInteger("org.eclipse.ui.workbench.earlyStartupThreads", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())).intValue());
+
+	static final String REPORT_THRESHOLD_PROPERTY = "org.eclipse.ui.workbench.earlyStartupReportThreshold"; //$NON-NLS-1$
+
+	private static final long REPORT_THRESHOLD = Long.getLong(REPORT_THRESHOLD_PROPERTY, 0).longValue();
+
+	/** The number of plug-ins listed in the trace output. */
+	private static final int REPORT_SIZE = 10;
+
+	private final List<IExtension> extensions;
+
+	private final Map<IExtension, Set<IExtension>> dependencies = new HashMap<>();
+
+	private final Object family;
+
+	private final BooleanSupplier running;
+
+	/** Duration of the early startup of each plug-in, in nanoseconds */
+	private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+	/**
+	 * @param extensions the startup extensions to run, in registry order
+	 * @param family     the job family of the created jobs
+	 * @param running    whether the workbench is still running
+	 */
+	public EarlyStartupScheduler(Collection<IExtension> extensions, Object family, BooleanSupplier running) {
+		this.family = family;
+		this.running = running;
+		Map<String, List<IExtension>> byContributor = new HashMap<>();
+		for (IExtension extension : extensions) {
+			byContributor.computeIfAbsent(extension.getContributor().getName(), k -> new ArrayList<>())
+					.add(extension);
+		}
+		for (IExtension extension : extensions) {
+			Set<IExtension> predecessors = new LinkedHashSet<>();
+			for (String pluginId : getAfterPlugins(extension)) {
+				if (!pluginId.equals(extension.getContributor().getName())) {
+					predecessors.addAll(byContributor.getOrDefault(pluginId, List.of()));
+				}
+			}
+			dependencies.put(extension, predecessors);
+		}
+		this.extensions = sort(extensions);
+	}
+
+	private static Set<String> getAfterPlugins(IExtension extension) {
+		Set<String> result = new HashSet<>();
+		for (IConfigurationElement element : extension.getConfigurationElements()) {
+			String after = element.getAttribute(IWorkbenchRegistryConstants.ATT_AFTER);
+			if (after != null) {
+				for (String pluginId : after.split(",")) { //$NON-NLS-1$
+					pluginId = pluginId.trim();
+					if (!pluginId.isEmpty()) {
+						result.add(pluginId);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Orders the extensions after their predecessors, keeping the registry order
+	 * otherwise. When no extension is ready, the first one in a cycle drops the
+	 * dependencies which are not yet satisfied.
+	 */
+	private List<IExtension> sort(Collection<IExtension> unsorted) {
+		List<IExtension> sorted = new ArrayList<>(unsorted.size());
+		Set<IExtension> done = new HashSet<>();
+		StringBuilder broken = new StringBuilder();
+		while (sorted.size() < unsorted.size()) {
+			boolean progress = false;
+			for (IExtension extension : unsorted) {
+				if (!done.contains(extension) && done.containsAll(dependencies.get(extension))) {
+					sorted.add(extension);
+					done.add(extension);
+					progress = true;
+				}
+			}
+			if (!progress) {
+				for (IExtension extension : unsorted) {
+					if (!done.contains(extension) && isInCycle(extension, done)) {
+						broken.append(' ').append(extension.getContributor().getName());
+						dependencies.get(extension).retainAll(done);
+						sorted.add(extension);
+						done.add(extension);
+						break;
+					}
+				}
+			}
+		}
+		if (broken.length() > 0) {
+			WorkbenchPlugin.log(new Status(IStatus.WARNING, PlatformUI.PLUGIN_ID,
+					"The 'after' attributes of the org.eclipse.ui.startup extensions form a cycle, ignoring them for:" //$NON-NLS-1$
+							+ broken));
+		}
+		return sorted;
+	}
+
+	/**
+	 * @return whether the extension depends on itself through the extensions
+	 *         which are not done
+	 */
+	private boolean isInCycle(IExtension extension, Set<IExtension> done) {
+		Set<IExtension> visited = new HashSet<>();
+		List<IExtension> stack = new ArrayList<>(dependencies.get(extension));
+		while (!stack.isEmpty()) {
+			IExtension current = stack.remove(stack.size() - 1);
+			if (current == extension) {
+				return true;
+			}
+			if (!done.contains(current) && visited.add(current)) {
+				stack.addAll(dependencies.get(current));
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the extensions in the order they are started, or scheduled if run
+	 *         concurrently
+	 */
+	public List<IExtension> getExtensions() {
+		return extensions;
+	}
+
+	/**
+	 * Runs the extensions, in the calling thread or, if {@link #PARALLEL},
+	 * concurrently in jobs of a job group, and reports the durations.
+	 *
+	 * @param monitor the progress monitor
+	 * @return the result status
+	 */
+	IStatus run(IProgressMonitor monitor) {
+		long start = System.nanoTime();
+		IStatus result;
+		try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_EARLY_STARTUP,
+				"Early startup extensions")) { //$NON-NLS-1$
+			result = PARALLEL ? runParallel(monitor) : runSequential(monitor);
+		}
+		report(System.nanoTime() - start);
+		return result;
+	}
+
+	private IStatus runSequential(IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, WorkbenchMessages.Workbench_startingPlugins,
+				extensions.size());
+		for (IExtension extension : extensions) {
+			if (subMonitor.isCanceled() || !running.getAsBoolean()) {
+				return Status.CANCEL_STATUS;
+			}
+			subMonitor.setTaskName(extension.getContributor().getName());
+			runExtension(extension);
+			subMonitor.worked(1);
+		}
+		return Status.OK_STATUS;
+	}
+
+	private IStatus runParallel(IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, WorkbenchMessages.Workbench_startingPlugins, 1);
+		JobGroup group = new JobGroup(WorkbenchMessages.Workbench_startingPlugins, MAX_THREADS, 0);
+		Map<IExtension, AtomicInteger> pending = new HashMap<>();
+		Map<IExtension, List<IExtension>> successors = new HashMap<>();
+		for (IExtension extension : extensions) {
+			pending.put(extension, new AtomicInteger(dependencies.get(extension).size()));
+			for (IExtension predecessor : dependencies.get(extension)) {
+				successors.computeIfAbsent(predecessor, k -> new ArrayList<>()).add(extension);
+			}
+		}
+		for (IExtension extension : extensions) {
+			if (pending.get(extension).get() == 0) {
+				schedule(extension, group, pending, successors);
+			}
+		}
+		try {
+			group.join(0, subMonitor);
+		} catch (OperationCanceledException e) {
+			group.cancel();
+			return Status.CANCEL_STATUS;
+		} catch (InterruptedException e) {
+			group.cancel();
+			Thread.currentThread().interrupt();
+			return Status.CANCEL_STATUS;
+		}
+		return Status.OK_STATUS;
+	}
+
+	private void schedule(IExtension extension, JobGroup group, Map<IExtension, AtomicInteger> pending,
+			Map<IExtension, List<IExtension>> successors) {
+		Job job = new Job(extension.getContributor().getName()) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					if (monitor.isCanceled() || !running.getAsBoolean()) {
+						return Status.CANCEL_STATUS;
+					}
+					runExtension(extension);
+					return Status.OK_STATUS;
+				} finally {
+					// successors are scheduled while this job still runs, so the
+					// group is not done in between
+					for (IExtension successor : successors.getOrDefault(extension, List.of())) {
+						if (pending.get(successor).decrementAndGet() == 0) {
+							schedule(successor, group, pending, successors);
+						}
+					}
+				}
+			}
+
+			@Override
+			public boolean belongsTo(Object jobFamily) {
+				return family.equals(jobFamily);
+			}
+		};
+		job.setSystem(true);
+		job.setJobGroup(group);
+		job.schedule();
+	}
+
+	private void runExtension(IExtension extension) {
+		String pluginId = extension.getContributor().getName();
+		long start = System.nanoTime();
+		try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_EARLY_STARTUP, "Early startup", //$NON-NLS-1$
+				pluginId)) {
+			SafeRunner.run(new EarlyStartupRunnable(extension));
+		}
+		durations.merge(pluginId, Long.valueOf(System.nanoTime() - start), Long::sum);
+	}
+
+	private void report(long totalNanos) {
+		List<Map.Entry<String, Long>> slowest = new ArrayList<>(durations.entrySet());
+		slowest.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+		if (Policy.DEBUG_EARLY_STARTUP) {
+			StringBuilder message = new StringBuilder();
+			message.append(extensions.size()).append(" extensions took ").append(totalNanos / 1000000) //$NON-NLS-1$
+					.append(" ms").append(PARALLEL ? " using " + MAX_THREADS + " threads" : "") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					.append(", slowest:"); //$NON-NLS-1$
+			for (Map.Entry<String, Long> entry : slowest.subList(0, Math.min(REPORT_SIZE, slowest.size()))) {
+				message.append("\n\t").append(entry.getKey()).append(": ") //$NON-NLS-1$ //$NON-NLS-2$
+						.append(entry.getValue().longValue() / 1000000).append(" ms"); //$NON-NLS-1$
+			}
+			Tracing.printTrace("STARTUP", message.toString()); //$NON-NLS-1$
+		}
+		if (REPORT_THRESHOLD > 0) {
+			StringBuilder message = new StringBuilder();
+			for (Map.Entry<String, Long> entry : slowest) {
+				long millis = entry.getValue().longValue() / 1000000;
+				if (millis < REPORT_THRESHOLD) {
+					break;
+				}
+				message.append(' ').append(entry.getKey()).append(" (").append(millis).append(" ms)"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			if (message.length() > 0) {
+				WorkbenchPlugin.log(new Status(IStatus.INFO, PlatformUI.PLUGIN_ID,
+						"Early startup extensions slower than " + REPORT_THRESHOLD + " ms:" + message)); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+}
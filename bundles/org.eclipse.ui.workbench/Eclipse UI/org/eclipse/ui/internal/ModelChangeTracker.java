@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.Set;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+/**
+ * Tracks changes of the persisted parts of the application model. The model is
+ * dirty after a non-transient feature was changed, until the changes are taken
+ * by the auto-save. Changes of transient features (widgets, renderers,
+ * contexts) and of the transient data of the model elements are ignored
+ * because they are never written to <code>workbench.xmi</code>.
+ * <p>
+ * The changed elements and the elements removed from a containment feature are
+ * recorded, so that a {@link ModelSnapshot} only needs to update their copies.
+ * </p>
+ *
+ * @since 3.129
+ */
+public final class ModelChangeTracker extends EContentAdapter {
+
+	private final Set<EObject> changedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private final Set<EObject> removedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private boolean dirty;
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+
+		if (notification.isTouch() || notification.getEventType() == Notification.REMOVING_ADAPTER) {
+			return;
+		}
+		Object feature = notification.getFeature();
+		if (feature instanceof EStructuralFeature && ((EStructuralFeature) feature).isTransient()) {
+			return;
+		}
+		Object notifier = notification.getNotifier();
+		if (!(notifier instanceof EObject)) {
+			return;
+		}
+		EObject object = (EObject) notifier;
+		if (object.eContainmentFeature() != null && object.eContainmentFeature().isTransient()) {
+			// e.g. the entries of MApplicationElement.transientData
+			return;
+		}
+		if (notification.getEventType() == Notification.SET
+				&& Objects.equals(notification.getOldValue(), notification.getNewValue())) {
+			// e.g. a persisted state which is written again with the same value
+			return;
+		}
+		synchronized (this) {
+			changedObjects.add(object);
+			if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+				addRemovedObjects(notification);
+			}
+			dirty = true;
+		}
+	}
+
+	private void addRemovedObjects(Notification notification) {
+		switch (notification.getEventType()) {
+		case Notification.SET:
+		case Notification.UNSET:
+		case Notification.REMOVE:
+			if (notification.getOldValue() instanceof EObject) {
+				removedObjects.add((EObject) notification.getOldValue());
+			}
+			break;
+		case Notification.REMOVE_MANY:
+			if (notification.getOldValue() instanceof Collection<?>) {
+				for (Object removed : (Collection<?>) notification.getOldValue()) {
+					if (removed instanceof EObject) {
+						removedObjects.add((EObject) removed);
+					}
+				}
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * @return whether a persisted feature of the model was changed since the
+	 *         changes were taken the last time
+	 */
+	public synchronized boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * Marks the model dirty without recording a change, e.g. when the last
+	 * changes could not be written.
+	 */
+	public synchronized void setDirty() {
+		dirty = true;
+	}
+
+	/**
+	 * Forgets the recorded changes and marks the model clean, e.g. after the
+	 * whole model was copied.
+	 */
+	public synchronized void markClean() {
+		changedObjects.clear();
+		removedObjects.clear();
+		dirty = false;
+	}
+
+	/**
+	 * Moves the recorded changes to the given collections and marks the model
+	 * clean.
+	 *
+	 * @param changed receives the elements whose persisted features changed
+	 * @param removed receives the elements which were removed from a
+	 *                containment feature, they may have been added elsewhere
+	 */
+	public synchronized void takeChanges(Collection<EObject> changed, Collection<EObject> removed) {
+		changed.addAll(changedObjects);
+		removed.addAll(removedObjects);
+		changedObjects.clear();
+		removedObjects.clear();
+		dirty = false;
+	}
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.e4.ui.internal.workbench.E4ModelResource;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * A copy of the persisted parts of the application model, which is kept up to
+ * date with the changes recorded by a {@link ModelChangeTracker}. Only the
+ * copies of the changed elements are updated, so taking a snapshot costs time
+ * in proportion to the changes rather than to the size of the model.
+ * <p>
+ * The copy is contained in its own resource, which is not part of the resource
+ * set of the model, and the copied elements keep the IDs of the original
+ * elements. It must only be updated on the thread changing the model, and not
+ * while it is being saved.
+ * </p>
+ *
+ * @since 3.129
+ */
+public final class ModelSnapshot {
+
+	private final EObject root;
+
+	private final Resource source;
+
+	private final Resource resource;
+
+	// the copy of every persisted element, by its original
+	private final Map<EObject, EObject> copies = new IdentityHashMap<>();
+
+	/**
+	 * Copies the given model.
+	 *
+	 * @param root     the root of the model, it must be contained in a resource
+	 * @param resource an empty resource for the copy
+	 */
+	public ModelSnapshot(EObject root, Resource resource) {
+		this.root = root;
+		this.source = root.eResource();
+		this.resource = resource;
+		List<EObject> created = new ArrayList<>();
+		resource.getContents().add(getCopy(root, created));
+		for (EObject original : created) {
+			copyReferences(original, copies.get(original));
+		}
+	}
+
+	/**
+	 * @return the resource containing the copy of the model
+	 */
+	public Resource getResource() {
+		return resource;
+	}
+
+	/**
+	 * @param original an element of the model
+	 * @return the copy of the element or <code>null</code> if it is not part of
+	 *         the snapshot
+	 */
+	public EObject getCopy(EObject original) {
+		return copies.get(original);
+	}
+
+	/**
+	 * Applies the changes taken from the tracker to the copy.
+	 *
+	 * @param tracker the tracker of the changes of the model
+	 */
+	public void update(ModelChangeTracker tracker) {
+		List<EObject> changed = new ArrayList<>();
+		List<EObject> removed = new ArrayList<>();
+		tracker.takeChanges(changed, removed);
+
+		// the containment first, so that every referenced element has a copy
+		List<EObject> updated = new ArrayList<>();
+		for (EObject original : changed) {
+			EObject copy = copies.get(original);
+			// new elements are copied with their new container
+			if (copy != null && EcoreUtil.isAncestor(root, original)) {
+				copyContents(original, copy, updated);
+				updated.add(original);
+			}
+		}
+		for (EObject original : updated) {
+			copyReferences(original, copies.get(original));
+		}
+
+		for (EObject original : removed) {
+			if (!EcoreUtil.isAncestor(root, original)) {
+				copies.remove(original);
+				for (TreeIterator<EObject> it = original.eAllContents(); it.hasNext();) {
+					copies.remove(it.next());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the copy of the given element, copying its contents if it has no
+	 * copy yet.
+	 */
+	private EObject getCopy(EObject original, List<EObject> created) {
+		EObject copy = copies.get(original);
+		if (copy == null) {
+			copy = EcoreUtil.create(original.eClass());
+			copies.put(original, copy);
+			if (source instanceof E4ModelResource && resource instanceof E4ModelResource) {
+				((E4ModelResource) resource).setID(copy, ((E4ModelResource) source).getID(original));
+			}
+			copyContents(original, copy, created);
+			created.add(original);
+		}
+		return copy;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void copyContents(EObject original, EObject copy, List<EObject> created) {
+		for (EAttribute attribute : original.eClass().getEAllAttributes()) {
+			if (!isCopied(attribute)) {
+				continue;
+			}
+			if (!original.eIsSet(attribute)) {
+				copy.eUnset(attribute);
+			} else if (attribute.isMany()) {
+				ECollections.setEList((EList<Object>) copy.eGet(attribute), (List<Object>) original.eGet(attribute));
+			} else {
+				copy.eSet(attribute, original.eGet(attribute));
+			}
+		}
+		for (EReference reference : original.eClass().getEAllContainments()) {
+			if (!isCopied(reference)) {
+				continue;
+			}
+			if (!original.eIsSet(reference)) {
+				copy.eUnset(reference);
+			} else if (reference.isMany()) {
+				List<EObject> children = (List<EObject>) original.eGet(reference);
+				List<EObject> childCopies = new ArrayList<>(children.size());
+				for (EObject child : children) {
+					childCopies.add(getCopy(child, created));
+				}
+				ECollections.setEList((EList<EObject>) copy.eGet(reference), childCopies);
+			} else {
+				copy.eSet(reference, getCopy((EObject) original.eGet(reference), created));
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void copyReferences(EObject original, EObject copy) {
+		for (EReference reference : original.eClass().getEAllReferences()) {
+			if (reference.isContainment() || reference.isContainer() || !isCopied(reference)) {
+				continue;
+			}
+			if (!original.eIsSet(reference)) {
+				copy.eUnset(reference);
+			} else if (reference.isMany()) {
+				Collection<EObject> targets = (Collection<EObject>) original.eGet(reference, false);
+				List<EObject> targetCopies = new ArrayList<>(targets.size());
+				for (EObject target : targets) {
+					targetCopies.add(getTargetCopy(target));
+				}
+				ECollections.setEList((EList<EObject>) copy.eGet(reference, false), targetCopies);
+			} else {
+				copy.eSet(reference, getTargetCopy((EObject) original.eGet(reference, false)));
+			}
+		}
+	}
+
+	private EObject getTargetCopy(EObject target) {
+		// like EcoreUtil.Copier, elements outside of the model are referenced
+		// as they are
+		EObject copy = copies.get(target);
+		return copy != null ? copy : target;
+	}
+
+	private static boolean isCopied(EStructuralFeature feature) {
+		return feature.isChangeable() && !feature.isDerived() && !feature.isTransient();
+	}
+}
@@ -22,6 +22,8 @@
  *     Daniel Kruegler <daniel.kruegler@gmail.com> - Bug 520926
  *     Christian Georgi (SAP SE) - Bug 540440
  *     Paul Pazderski <paul-eclipse@ppazderski.de> - Bug 550950
+ *     Eclipse contributors - auto-save only changed models from an incremental snapshot,
+ *                            ordered and concurrent early startup, startup timeline
  *******************************************************************************/
 
 package org.eclipse.ui.internal;
@@ -32,11 +34,17 @@ import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -58,6 +66,7 @@ import org.eclipse.core.commands.NotHandledException;
 import org.eclipse.core.commands.common.EventManager;
 import org.eclipse.core.commands.common.NotDefinedException;
 import org.eclipse.core.commands.contexts.ContextManager;
+import org.eclipse.core.commands.util.Tracing;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -86,6 +95,7 @@ import org.eclipse.e4.core.di.InjectionException;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.internal.workbench.E4Workbench;
 import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
+import org.eclipse.e4.ui.internal.workbench.StartupTimeline;
 import org.eclipse.e4.ui.internal.workbench.renderers.swt.IUpdateService;
 import org.eclipse.e4.ui.internal.workbench.swt.E4Application;
 import org.eclipse.e4.ui.internal.workbench.swt.IEventLoopAdvisor;
@@ -438,8 +448,12 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 	private String id;
 	private ServiceRegistration<?> e4WorkbenchService;
 
-	// flag used to identify if the application model needs to be saved
-	private boolean applicationModelChanged = false;
+	// tracks the changes of the application model to skip unnecessary saves
+	private final ModelChangeTracker modelChangeTracker = new ModelChangeTracker();
+
+	// copy of the application model written by the auto-save, only updated on
+	// the UI thread while no auto-save job runs
+	private ModelSnapshot modelSnapshot;
 
 	private IWorkbenchWindow windowWhileInit;
 
@@ -1227,17 +1241,125 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 	}
 
 	/**
-	 * Copy the model, clean it up and write it out to workbench.xmi. Called as part
-	 * of persist(false) during auto-save.
+	 * Snapshot the model and write it out to workbench.xmi. Called as part of
+	 * persist(false) during auto-save.
+	 * <p>
+	 * Only the copies of the model elements changed since the last auto-save
+	 * are updated on the UI thread, the snapshot is serialized by a background
+	 * job. If the model is not contained in a resource it is copied and
+	 * serialized in the background instead. Nothing is written if the model
+	 * did not change, including the mementos persisted just before.
+	 * </p>
 	 */
 	private void persistWorkbenchModel() {
 		if (Job.getJobManager().find(WORKBENCH_AUTO_SAVE_JOB).length > 0) {
 			return;
 		}
+		if (!modelChangeTracker.isDirty()) {
+			if (Policy.DEBUG_AUTO_SAVE) {
+				Tracing.printTrace("AUTOSAVE", "model unchanged, skipped"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return;
+		}
+		final Resource resource = ((EObject) application).eResource();
+		if (resource == null) {
+			persistWorkbenchModelCopy();
+			return;
+		}
+		if (detectWorkbenchCorruption(application)) {
+			return;
+		}
+		long start = System.nanoTime();
+		if (modelSnapshot == null) {
+			// the copy contains all changes made so far
+			modelChangeTracker.markClean();
+			modelSnapshot = new ModelSnapshot((EObject) application, createSnapshotResource(resource));
+		} else {
+			modelSnapshot.update(modelChangeTracker);
+		}
+		cleanUpCopy((MApplication) modelSnapshot.getCopy((EObject) application));
+		if (Policy.DEBUG_AUTO_SAVE) {
+			Tracing.printTrace("AUTOSAVE", "model snapshot took " //$NON-NLS-1$ //$NON-NLS-2$
+					+ (System.nanoTime() - start) / 1000000 + " ms"); //$NON-NLS-1$
+		}
+		final Resource snapshotResource = modelSnapshot.getResource();
+
+		Job saveJob = new Job(WORKBENCH_AUTO_SAVE_BACKGROUND_JOB) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				long writeStart = System.nanoTime();
+				try {
+					saveSnapshot(snapshotResource);
+				} catch (IOException e) {
+					// Just auto-save, we don't really care, but retry next time
+					modelChangeTracker.setDirty();
+				}
+				if (Policy.DEBUG_AUTO_SAVE) {
+					Tracing.printTrace("AUTOSAVE", "model written to " + snapshotResource.getURI() + " in " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+							+ (System.nanoTime() - writeStart) / 1000000 + " ms"); //$NON-NLS-1$
+				}
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return WORKBENCH_AUTO_SAVE_JOB.equals(family);
+			}
+
+		};
+		saveJob.setPriority(Job.SHORT);
+		saveJob.setSystem(true);
+		saveJob.schedule();
+	}
+
+	/**
+	 * Creates a resource of the same kind and with the same URI as the resource
+	 * of the model, which is not added to its resource set.
+	 */
+	private static Resource createSnapshotResource(Resource resource) {
+		org.eclipse.emf.common.util.URI uri = resource.getURI();
+		Resource.Factory.Registry registry = resource.getResourceSet() != null
+				? resource.getResourceSet().getResourceFactoryRegistry()
+				: Resource.Factory.Registry.INSTANCE;
+		return registry.getFactory(uri).createResource(uri);
+	}
+
+	/**
+	 * Saves the snapshot into a temporary file which then replaces the
+	 * workbench.xmi, so that the file is never left half written.
+	 */
+	private static void saveSnapshot(Resource resource) throws IOException {
+		Map<String, Object> options = new HashMap<>();
+		options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE);
+		org.eclipse.emf.common.util.URI uri = resource.getURI();
+		if (!uri.isFile()) {
+			resource.save(options);
+			return;
+		}
+		Path file = Paths.get(uri.toFileString());
+		Path tempFile = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		try (OutputStream out = Files.newOutputStream(tempFile)) {
+			resource.save(out, options);
+		}
+		try {
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Copy the model, clean it up and write it out to workbench.xmi.
+	 */
+	private void persistWorkbenchModelCopy() {
 		final MApplication appCopy = (MApplication) EcoreUtil.copy((EObject) application);
 		if (detectWorkbenchCorruption(appCopy)) {
 			return;
 		}
+		modelChangeTracker.markClean();
 		final IModelResourceHandler handler = e4Context.get(IModelResourceHandler.class);
 
 		Job cleanAndSaveJob = new Job(WORKBENCH_AUTO_SAVE_BACKGROUND_JOB) {
@@ -1895,9 +2017,7 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 			}
 		});
 
-		eventBroker.subscribe(UIEvents.UIModelTopicBase + "/*", event -> { // //$NON-NLS-1$
-			applicationModelChanged = true;
-		});
+		((EObject) application).eAdapters().add(modelChangeTracker);
 
 		boolean found = false;
 		List<MPartDescriptor> currentDescriptors = application.getDescriptors();
@@ -2631,6 +2751,15 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 		Job job = new Job("Executing the early startup extensions") { //$NON-NLS-1$
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					return runEarlyStartup(monitor);
+				} finally {
+					// early startup is the last startup phase of the workbench
+					StartupTimeline.finish();
+				}
+			}
+
+			private IStatus runEarlyStartup(IProgressMonitor monitor) {
 				// bug 55901: don't use getConfigElements directly, for pre-3.0
 				// compat, make sure to allow both missing class
 				// attribute and a missing startup element
@@ -2642,22 +2771,16 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 					return Status.OK_STATUS;
 				}
 				HashSet<String> disabledPlugins = new HashSet<>(Arrays.asList(getDisabledEarlyActivatedPlugins()));
-				SubMonitor subMonitor = SubMonitor.convert(monitor, WorkbenchMessages.Workbench_startingPlugins,
-						extensions.length);
+				// if the plugin is not in the set of disabled plugins, then
+				// execute the code to start it
+				List<IExtension> enabledExtensions = new ArrayList<>(extensions.length);
 				for (IExtension extension : extensions) {
-					if (subMonitor.isCanceled() || !isRunning()) {
-						return Status.CANCEL_STATUS;
-					}
-
-					// if the plugin is not in the set of disabled plugins, then
-					// execute the code to start it
 					if (!disabledPlugins.contains(extension.getContributor().getName())) {
-						subMonitor.setTaskName(extension.getContributor().getName());
-						SafeRunner.run(new EarlyStartupRunnable(extension));
+						enabledExtensions.add(extension);
 					}
-					subMonitor.worked(1);
 				}
-				return Status.OK_STATUS;
+				return new EarlyStartupScheduler(enabledExtensions, EARLY_STARTUP_FAMILY, Workbench.this::isRunning)
+						.run(monitor);
 			}
 
 			@Override
@@ -2745,7 +2868,10 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 			final boolean[] initOK = new boolean[1];
 
 			// initialize workbench and restore or open one window
-			initOK[0] = init();
+			try (StartupTimeline.Span span = StartupTimeline.begin(StartupTimeline.CAT_WORKBENCH,
+					"Workbench.init")) { //$NON-NLS-1$
+				initOK[0] = init();
+			}
 
 			if (initOK[0] && runEventLoop) {
 				// Same registration as in E4Workbench
@@ -2777,11 +2903,7 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 							}
 							final int nextDelay = getAutoSaveJobTime();
 							try {
-								if (applicationModelChanged) {
-									persist(false);
-									applicationModelChanged = false;
-
-								}
+								persist(false);
 								monitor.done();
 							} finally {
 								// repeat
@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - transfer the model in the configured format
  *******************************************************************************/
 
 package org.eclipse.ui.internal;
@@ -23,6 +24,10 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.ui.internal.workbench.E4Workbench;
+import org.eclipse.e4.ui.internal.workbench.ResourceHandler;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.preferences.WorkbenchSettingsTransfer;
 
 /**
@@ -65,12 +70,12 @@ public class WorkbenchLayoutSettingsTransfer extends WorkbenchSettingsTransfer {
 				}
 			}
 
-			File workbenchModel = new File(currentLocation.toOSString(), "workbench.xmi"); //$NON-NLS-1$
+			File workbenchModel = ResourceHandler.getModelFile(currentLocation.toFile(), getModelFormat());
 			if (workbenchModel.exists()) {
 				byte[] bytes = new byte[8192];
 				try (FileInputStream inputStream = new FileInputStream(workbenchModel);
-						FileOutputStream outputStream = new FileOutputStream(new File(workspaceFile, "workbench.xmi")) //$NON-NLS-1$
-				) {
+						FileOutputStream outputStream = new FileOutputStream(
+								new File(workspaceFile, workbenchModel.getName()))) {
 					int read = inputStream.read(bytes, 0, 8192);
 					while (read != -1) {
 						outputStream.write(bytes, 0, read);
@@ -87,6 +92,18 @@ public class WorkbenchLayoutSettingsTransfer extends WorkbenchSettingsTransfer {
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * @return the format the workbench model is persisted in, or
+	 *         <code>null</code> for the default format
+	 */
+	private static String getModelFormat() {
+		if (!PlatformUI.isWorkbenchRunning()) {
+			return null;
+		}
+		IEclipseContext context = PlatformUI.getWorkbench().getService(IEclipseContext.class);
+		return context == null ? null : (String) context.get(E4Workbench.PERSISTED_MODEL_FORMAT);
+	}
+
 	/**
 	 * Create the parent directories for the workbench layout file and then return
 	 * the File.
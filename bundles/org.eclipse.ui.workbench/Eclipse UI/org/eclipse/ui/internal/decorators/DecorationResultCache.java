@@ -0,0 +1,400 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.decorators;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jface.viewers.IDecorationContext;
+
+/**
+ * A bounded cache of the {@link DecorationResult}s computed by the
+ * {@link DecorationScheduler}, keyed by element and decoration context.
+ * <p>
+ * The cache is split into segments, each of them an access ordered map with its
+ * own lock, so readers in the UI thread rarely contend with the decoration
+ * jobs. The least recently used results of a segment are evicted once it
+ * exceeds its share of the maximum number of entries or of the estimated
+ * memory. Elements are only weakly referenced, the results of elements which
+ * are no longer referenced elsewhere (e.g. of closed projects) are discarded.
+ * </p>
+ * <p>
+ * Results which are waiting for their label update are
+ * {@link #putPinned(Object, IDecorationContext, DecorationResult) pinned}: they
+ * are neither evicted nor counted against the bounds until the update was
+ * fired and they are {@link #unpin(Object[]) unpinned}. Their elements are
+ * weakly referenced as well. Otherwise a batch of
+ * more elements than fit into the cache would evict its own results before the
+ * viewers read them and be decorated over and over again.
+ * </p>
+ */
+public class DecorationResultCache {
+
+	/** Default maximum number of cached results */
+	static final int DEFAULT_MAX_ENTRIES = 20000;
+
+	/** Default maximum estimated memory of the cached results in bytes */
+	static final long DEFAULT_MAX_BYTES = 8 * 1024 * 1024;
+
+	private static final int SEGMENT_COUNT = 16;
+
+	/** Estimated size of a cache entry without the strings and overlays */
+	private static final int ENTRY_OVERHEAD = 160;
+
+	/**
+	 * The key of a result, only weakly referencing the element. The keys of the
+	 * pinned results have no context.
+	 */
+	private static final class Key extends WeakReference<Object> {
+		private final IDecorationContext context;
+		private final int hash;
+
+		Key(Object element, IDecorationContext context, ReferenceQueue<Object> queue) {
+			super(element, queue);
+			this.context = context;
+			this.hash = 31 * element.hashCode() + (context == null ? 0 : context.hashCode());
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			if (hash != other.hash || !Objects.equals(context, other.context)) {
+				return false;
+			}
+			Object element = get();
+			// a cleared key is only equal to itself
+			return element != null && element.equals(other.get());
+		}
+	}
+
+	private static final class Entry {
+		final DecorationResult result;
+		final long size;
+
+		Entry(DecorationResult result, long size) {
+			this.result = result;
+			this.size = size;
+		}
+	}
+
+	private final class Segment {
+		private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+		private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+		private long bytes;
+
+		synchronized DecorationResult get(Key key) {
+			expungeCleared();
+			Entry entry = entries.get(key);
+			return entry == null ? null : entry.result;
+		}
+
+		synchronized void put(Object element, IDecorationContext context, DecorationResult result) {
+			expungeCleared();
+			Entry entry = new Entry(result, estimateSize(result));
+			Entry old = entries.put(new Key(element, context, queue), entry);
+			if (old != null) {
+				bytes -= old.size;
+			}
+			bytes += entry.size;
+			Iterator<Entry> iterator = entries.values().iterator();
+			while (iterator.hasNext() && (entries.size() > maxEntriesPerSegment || bytes > maxBytesPerSegment)) {
+				Entry eldest = iterator.next();
+				if (eldest == entry) {
+					break; // keep at least the new result
+				}
+				iterator.remove();
+				bytes -= eldest.size;
+				evictions.increment();
+			}
+		}
+
+		synchronized void clear() {
+			entries.clear();
+			bytes = 0;
+			while (queue.poll() != null) {
+				// keys are gone with the map
+			}
+		}
+
+		synchronized int size() {
+			expungeCleared();
+			return entries.size();
+		}
+
+		synchronized long bytes() {
+			expungeCleared();
+			return bytes;
+		}
+
+		private void expungeCleared() {
+			Object cleared;
+			while ((cleared = queue.poll()) != null) {
+				Entry entry = entries.remove(cleared);
+				if (entry != null) {
+					bytes -= entry.size;
+					collected.increment();
+				}
+			}
+		}
+	}
+
+	private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+	/** The results waiting for their label update, by element and context */
+	private final Map<Key, Map<IDecorationContext, DecorationResult>> pinned = new ConcurrentHashMap<>();
+	private final ReferenceQueue<Object> pinnedQueue = new ReferenceQueue<>();
+	private final int maxEntriesPerSegment;
+	private final long maxBytesPerSegment;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder collected = new LongAdder();
+
+	/**
+	 * Creates a cache with the default bounds.
+	 */
+	public DecorationResultCache() {
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Creates a cache with the given bounds.
+	 *
+	 * @param maxEntries the maximum number of cached results
+	 * @param maxBytes   the maximum estimated memory of the cached results
+	 */
+	public DecorationResultCache(int maxEntries, long maxBytes) {
+		this.maxEntriesPerSegment = Math.max(1, maxEntries / SEGMENT_COUNT);
+		this.maxBytesPerSegment = Math.max(1, maxBytes / SEGMENT_COUNT);
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment();
+		}
+	}
+
+	private Segment segmentFor(Key key) {
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		return segments[(h & 0x7fffffff) % SEGMENT_COUNT];
+	}
+
+	/**
+	 * Returns the cached result of the element in the context.
+	 *
+	 * @param element the decorated element
+	 * @param context the decoration context
+	 * @return the result or <code>null</code> if none is cached
+	 */
+	public DecorationResult get(Object element, IDecorationContext context) {
+		DecorationResult result = null;
+		if (!pinned.isEmpty()) {
+			Map<IDecorationContext, DecorationResult> pinnedResults = pinned.get(new Key(element, null, null));
+			if (pinnedResults != null) {
+				result = pinnedResults.get(context);
+			}
+		}
+		if (result == null) {
+			Key key = new Key(element, context, null);
+			result = segmentFor(key).get(key);
+		}
+		if (result == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return result;
+	}
+
+	/**
+	 * Caches the result of the element in the context, evicting the least
+	 * recently used results if the cache gets too large.
+	 *
+	 * @param element the decorated element
+	 * @param context the decoration context
+	 * @param result  the result to cache
+	 */
+	public void put(Object element, IDecorationContext context, DecorationResult result) {
+		Key key = new Key(element, context, null);
+		segmentFor(key).put(element, context, result);
+	}
+
+	/**
+	 * Caches the result of the element in the context until it is
+	 * {@link #unpin(Object[]) unpinned}, regardless of the bounds of the cache.
+	 *
+	 * @param element the decorated element
+	 * @param context the decoration context
+	 * @param result  the result to cache
+	 */
+	public void putPinned(Object element, IDecorationContext context, DecorationResult result) {
+		expungeClearedPinned();
+		pinned.computeIfAbsent(new Key(element, null, pinnedQueue), key -> new ConcurrentHashMap<>()).put(context,
+				result);
+	}
+
+	/**
+	 * Moves the pinned results of the elements into the bounded part of the
+	 * cache, where they may be evicted again.
+	 *
+	 * @param elements the elements whose label update was fired
+	 */
+	public void unpin(Object[] elements) {
+		expungeClearedPinned();
+		for (Object element : elements) {
+			Map<IDecorationContext, DecorationResult> pinnedResults = pinned.remove(new Key(element, null, null));
+			if (pinnedResults != null) {
+				pinnedResults.forEach((context, result) -> put(element, context, result));
+			}
+		}
+	}
+
+	private void expungeClearedPinned() {
+		Object cleared;
+		while ((cleared = pinnedQueue.poll()) != null) {
+			if (pinned.remove(cleared) != null) {
+				collected.increment();
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached results, including the pinned ones. The statistics are
+	 * kept.
+	 */
+	public void clear() {
+		pinned.clear();
+		while (pinnedQueue.poll() != null) {
+			// keys are gone with the map
+		}
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * @return the number of cached results, including the pinned ones
+	 */
+	public int size() {
+		int size = getPinnedCount();
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @return the number of results waiting for their label update
+	 */
+	public int getPinnedCount() {
+		int size = 0;
+		for (Map<IDecorationContext, DecorationResult> pinnedResults : pinned.values()) {
+			size += pinnedResults.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @return the estimated memory of the cached results in bytes, without the
+	 *         pinned ones
+	 */
+	public long getEstimatedBytes() {
+		long bytes = 0;
+		for (Segment segment : segments) {
+			bytes += segment.bytes();
+		}
+		return bytes;
+	}
+
+	/**
+	 * @return the number of lookups which found a result
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of lookups which didn't find a result
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of results evicted because the cache was full
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return the number of results discarded because their element was garbage
+	 *         collected
+	 */
+	public long getCollectedCount() {
+		return collected.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "DecorationResultCache [size=" + size() + ", pinned=" + getPinnedCount() + ", bytes=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ getEstimatedBytes() + ", hits=" //$NON-NLS-1$
+				+ getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", collected=" + getCollectedCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Estimates the memory retained by a result, including its prefixes, suffixes
+	 * and overlays.
+	 *
+	 * @param result the result
+	 * @return the estimated size in bytes
+	 */
+	public static long estimateSize(DecorationResult result) {
+		long size = ENTRY_OVERHEAD;
+		size += estimateSize(result.getPrefixes());
+		size += estimateSize(result.getSuffixes());
+		if (result.getDescriptors() != null) {
+			// the descriptors are usually shared, count the references only
+			size += 16 + 8L * result.getDescriptors().length;
+		}
+		return size;
+	}
+
+	private static long estimateSize(List<?> strings) {
+		if (strings == null) {
+			return 0;
+		}
+		long size = 24 + 8L * strings.size();
+		for (Object string : strings) {
+			if (string instanceof String) {
+				size += 40 + 2L * ((String) string).length();
+			}
+		}
+		return size;
+	}
+}
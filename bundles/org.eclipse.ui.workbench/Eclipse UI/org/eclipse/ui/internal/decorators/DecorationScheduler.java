@@ -13,19 +13,23 @@
  *     Francis Upton <francisu@ieee.org> -
  *     		Fix for Bug 216667 [Decorators] DecorationScheduler hangs onto objects forever sometimes
  *     Stefan Winkler <stefan@winklerweb.net> - bug 417255 - Race Condition in DecorationScheduler
+ *     Eclipse contributors - lock free queueing, batched parallel decoration, bounded result cache
+ *                            pinning results until their label update
  *******************************************************************************/
 package org.eclipse.ui.internal.decorators;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.eclipse.core.commands.util.Tracing;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -44,6 +48,7 @@ import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.WorkbenchMessages;
+import org.eclipse.ui.internal.misc.Policy;
 import org.eclipse.ui.progress.UIJob;
 import org.eclipse.ui.progress.WorkbenchJob;
 
@@ -60,28 +65,32 @@ import org.eclipse.ui.progress.WorkbenchJob;
  * needs an element decorated, it calls <code>queueForDecoration</code>.</li>
  *
  * <li><code>queueForDecoration</code> inserts (or, if already present, updates)
- * the <code>element</code> into <code>awaitingDecoration</code> and an
- * associated <code>DecorationReference</code> into
- * <code>awaitingDecorationValues</code> and schedules the
- * <code>decorationJob</code> to be executed asynchonously.</li>
+ * the associated <code>DecorationReference</code> of the <code>element</code>
+ * in <code>awaitingDecoration</code>, appends new elements to
+ * <code>decorationQueue</code> and schedules the <code>decorationJobs</code>
+ * to be executed asynchonously. No lock is taken, so the UI thread doesn't
+ * contend with the decoration jobs.</li>
  *
- * <li>The <code>decorationJob</code> processes the list of elements in
- * <code>awaitingDecoration</code> one by one. For each element, it calls
- * <code>ensureResultCached</code>, which in turn calls the actual lightweight
- * decorator(s) for the element and stores the decoration result in the
+ * <li>The <code>decorationJobs</code> drain the <code>decorationQueue</code> in
+ * batches of {@link #BATCH_SIZE} elements. Elements are independent of each
+ * other, so while elements remain queued further decoration jobs are scheduled
+ * to process other batches in parallel. For each element, the job calls
+ * <code>queue</code>, which in turn calls the actual lightweight decorator(s)
+ * for the element and stores the decoration result in the
  * <code>resultCache</code> and adds the element to the
  * <code>pendingUpdate</code> collection to remember that it needs to be updated
  * in the UI.</li>
  *
- * <li>When the <code>decorationJob</code> has finished processing all elements
- * in <code>awaitingDecoration</code>, it finally schedules the
- * <code>updateJob</code>.</li>
+ * <li>When a decoration job has finished a batch, it schedules the
+ * <code>updateJob</code>. Scheduling is coalesced, so the updates of all
+ * batches finished in the meantime are fired at once.</li>
  *
  * <li>
  * <p>
  * The <code>updateJob</code> runs in the UI thread and fires
  * {@link LabelProviderChangedEvent}s for all elements in
- * <code>pendingUpdate</code>. The {@link LabelProviderChangedEvent} causes the
+ * <code>pendingUpdate</code>, with a single event for all of them. The
+ * {@link LabelProviderChangedEvent} causes the
  * respective viewers to trigger an <code>update</code> for the given elements.
  * </p>
  * <p>
@@ -105,7 +114,7 @@ import org.eclipse.ui.progress.WorkbenchJob;
  * </ol>
  *
  * So, in summary, a decoration is first enqueued, then calculated
- * asynchronously by the <code>decorationJob</code> and enqueued for UI-update,
+ * asynchronously by the <code>decorationJobs</code> and enqueued for UI-update,
  * and finally, the <code>updateJob</code> fires events which cause the viewers
  * to update the UI using the now available decoration results.
  */
@@ -114,24 +123,41 @@ public class DecorationScheduler {
 	private static final ILabelProviderListener[] EMPTY_LISTENER_LIST = new ILabelProviderListener[0];
 
 	// When decorations are computed they are added to this cache via
-	// scheduleUpdateJob() method
-	private final Map<IDecorationContext, Map<Object, DecorationResult>> resultCache = new ConcurrentHashMap<>();
+	// scheduleUpdateJob() method. It is bounded and only weakly references the
+	// elements.
+	private final DecorationResultCache resultCache = new DecorationResultCache();
 
 	/**
-	 * Objects that are awaiting a label update. manually synchronized on
-	 * DecorationScheduler.pendingUpdate
+	 * Objects that are awaiting a label update, may contain duplicates which are
+	 * removed when the update is fired.
 	 **/
-	private final Set<Object> pendingUpdate = new LinkedHashSet<>();
+	private final Queue<Object> pendingUpdate = new ConcurrentLinkedQueue<>();
 
-	/** manually synchronized on DecorationScheduler.this **/
-	private final LinkedHashMap<Object, DecorationReference> awaitingDecoration = new LinkedHashMap<>();
+	/** The references of the elements awaiting decoration **/
+	private final Map<Object, DecorationReference> awaitingDecoration = new ConcurrentHashMap<>();
 
-	/** manually synchronized on DecorationScheduler.this **/
-	private boolean shutdown = false;
+	/**
+	 * The elements awaiting decoration in the order they were queued. An element
+	 * is added whenever its reference is added to awaitingDecoration.
+	 **/
+	private final Queue<Object> decorationQueue = new ConcurrentLinkedQueue<>();
+
+	private volatile boolean shutdown = false;
 
 	private final DecoratorManager decoratorManager;
 
-	private final Job decorationJob;
+	/**
+	 * The jobs decorating elements in parallel. The first one is scheduled when
+	 * elements are queued, the others are scheduled while elements remain queued.
+	 */
+	private final Job[] decorationJobs;
+
+	/** Number of elements a decoration job takes from the queue at once. */
+	static final int BATCH_SIZE = 200;
+
+	/** Number of decoration jobs running in parallel at most. */
+	private static final int MAX_DECORATION_JOBS = Math.max(1,
+			Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
 
 	// Notifies about updateJob or clearJob finishing
 	private final class JobChangeListener extends JobChangeAdapter {
@@ -183,7 +209,10 @@ public class DecorationScheduler {
 	 */
 	DecorationScheduler(DecoratorManager manager) {
 		decoratorManager = manager;
-		decorationJob = createDecorationJob();
+		decorationJobs = new Job[MAX_DECORATION_JOBS];
+		for (int i = 0; i < decorationJobs.length; i++) {
+			decorationJobs[i] = createDecorationJob();
+		}
 	}
 
 	/**
@@ -220,21 +249,29 @@ public class DecorationScheduler {
 	 * @param context         The decoration context
 	 */
 
-	synchronized void queueForDecoration(Object element, Object adaptedElement, boolean forceUpdate,
+	void queueForDecoration(Object element, Object adaptedElement, boolean forceUpdate,
 			String undecoratedText, IDecorationContext context) {
 
 		Assert.isNotNull(context);
-		DecorationReference reference = awaitingDecoration.get(element);
-		if (reference != null) {
-			if (forceUpdate) {// Make sure we don't loose a force
-				reference.setForceUpdate(forceUpdate);
+		boolean[] added = new boolean[1];
+		// the reference is updated atomically with respect to its removal by a
+		// decoration job, so a context or force is never lost
+		awaitingDecoration.compute(element, (key, reference) -> {
+			if (reference != null) {
+				if (forceUpdate) {// Make sure we don't loose a force
+					reference.setForceUpdate(forceUpdate);
+				}
+				reference.addContext(context);
+				return reference;
 			}
-			reference.addContext(context);
-		} else {
-			reference = new DecorationReference(element, adaptedElement, context);
-			reference.setForceUpdate(forceUpdate);
-			reference.setUndecoratedText(undecoratedText);
-			awaitingDecoration.put(element, reference);
+			DecorationReference newReference = new DecorationReference(element, adaptedElement, context);
+			newReference.setForceUpdate(forceUpdate);
+			newReference.setUndecoratedText(undecoratedText);
+			added[0] = true;
+			return newReference;
+		});
+		if (added[0]) {
+			decorationQueue.add(element);
 			if (shutdown) {
 				return;
 			}
@@ -248,7 +285,19 @@ public class DecorationScheduler {
 	 * incomplete constructed DecorationScheduler.this
 	 */
 	void schedule() {
-		decorationJob.schedule();
+		decorationJobs[0].schedule();
+	}
+
+	/**
+	 * Schedules an idle decoration job to help with the remaining elements.
+	 */
+	private void scheduleHelper() {
+		for (int i = 1; i < decorationJobs.length; i++) {
+			if (decorationJobs[i].getState() == Job.NONE) {
+				decorationJobs[i].schedule();
+				return;
+			}
+		}
 	}
 
 	/**
@@ -301,16 +350,21 @@ public class DecorationScheduler {
 	}
 
 	private DecorationResult internalGetResult(Object element, IDecorationContext context) {
-		Map<Object, DecorationResult> results = resultCache.get(context);
-		if (results != null) {
-			return results.get(element);
-		}
-		return null;
+		return resultCache.get(element, context);
 	}
 
 	protected void internalPutResult(Object element, IDecorationContext context, DecorationResult result) {
-		Map<Object, DecorationResult> results = resultCache.computeIfAbsent(context, ctx -> new ConcurrentHashMap<>());
-		results.put(element, result);
+		// keep the result until the viewers were told to fetch it
+		resultCache.putPinned(element, context, result);
+	}
+
+	/**
+	 * Return the cache of the decoration results, e.g. for its statistics.
+	 *
+	 * @return the result cache
+	 */
+	DecorationResultCache getResultCache() {
+		return resultCache;
 	}
 
 	/**
@@ -335,24 +389,25 @@ public class DecorationScheduler {
 	/**
 	 * Shutdown the decoration.
 	 */
-	synchronized void shutdown() {
+	void shutdown() {
 		shutdown = true;
 	}
 
 	/**
-	 * Get the next resource to be decorated.
+	 * Take the next elements to be decorated from the queue.
 	 *
-	 * @return IResource
+	 * @param batch the list to fill with at most {@link #BATCH_SIZE} references
+	 * @return <code>true</code> if any reference was taken
 	 */
-	synchronized DecorationReference removeNextReference() {
-		Iterator<Entry<Object, DecorationReference>> iterator = awaitingDecoration.entrySet().iterator();
-		if (shutdown || !iterator.hasNext()) {
-			return null;
+	boolean removeNextReferences(List<DecorationReference> batch) {
+		Object element;
+		while (!shutdown && batch.size() < BATCH_SIZE && (element = decorationQueue.poll()) != null) {
+			DecorationReference reference = awaitingDecoration.remove(element);
+			if (reference != null) {
+				batch.add(reference);
+			}
 		}
-		Entry<Object, DecorationReference> entry = iterator.next();
-		iterator.remove();
-		DecorationReference reference = entry.getValue();
-		return reference;
+		return !batch.isEmpty();
 	}
 
 	/**
@@ -363,10 +418,8 @@ public class DecorationScheduler {
 			@Override
 			public IStatus run(IProgressMonitor monitor) {
 
-				synchronized (DecorationScheduler.this) {
-					if (shutdown) {
-						return Status.CANCEL_STATUS;
-					}
+				if (shutdown) {
+					return Status.CANCEL_STATUS;
 				}
 
 				while (updatesPending()) {
@@ -382,28 +435,36 @@ public class DecorationScheduler {
 
 				SubMonitor subMonitor = SubMonitor.convert(monitor,
 						WorkbenchMessages.DecorationScheduler_CalculatingTask, awaitingDecoration.size() + 1);
-				// will block if there are no resources to be decorated
-				DecorationReference reference;
-
+				List<DecorationReference> batch = new ArrayList<>(BATCH_SIZE);
 				boolean queued = false;
-				// for each in awaitingDecorationValues, but not locking the map during the whole iteration:
-				while ((reference = removeNextReference()) != null) {
-					subMonitor.split(1);
-					queued = true;
-					Object element = reference.getElement();
-					boolean force = reference.shouldForceUpdate();
-					Collection<IDecorationContext> contexts = reference.getContexts();
-					for (IDecorationContext context : contexts) {
-						queued |= queue(element, force, context);
+				// take the queued elements batch by batch, other decoration
+				// jobs may take batches concurrently
+				while (true) {
+					if (!removeNextReferences(batch)) {
+						return Status.OK_STATUS;
+					}
+					if (!decorationQueue.isEmpty()) {
+						scheduleHelper();
+					}
+					for (DecorationReference reference : batch) {
+						subMonitor.split(1);
+						Object element = reference.getElement();
+						boolean force = reference.shouldForceUpdate();
+						Collection<IDecorationContext> contexts = reference.getContexts();
+						for (IDecorationContext context : contexts) {
+							queued |= queue(element, force, context);
+						}
+					}
+					batch.clear();
+					// Notify listeners once per batch with results, the
+					// update job coalesces the batches finished until it
+					// runs.
+					if (queued) {
+						queued = false;
+						scheduleUpdateJob();
 					}
 					subMonitor.setWorkRemaining(awaitingDecoration.size() + 1); // may grow asynchronously
-					// Only notify listeners when we have exhausted the
-					// queue of decoration requests.
-				}
-				if (queued) {
-					scheduleUpdateJob();
 				}
-				return Status.OK_STATUS;
 			}
 
 			/**
@@ -437,9 +498,7 @@ public class DecorationScheduler {
 					// Add an update for only the original element
 					// to
 					// prevent multiple updates and clear the cache.
-					synchronized (pendingUpdate) {
-						pendingUpdate.add(element);
-					}
+					pendingUpdate.add(element);
 					return true;
 				}
 				return false;
@@ -527,10 +586,8 @@ public class DecorationScheduler {
 				isUpdateJobRunning = true;
 
 				try {
-					synchronized (DecorationScheduler.this) {
-						if (shutdown) {
-							return Status.CANCEL_STATUS;
-						}
+					if (shutdown) {
+						return Status.CANCEL_STATUS;
 					}
 
 					// If this is the first one check again in case
@@ -593,11 +650,15 @@ public class DecorationScheduler {
 			private void resetState() {
 				currentIndex = NEEDS_INIT;// Reset
 				removedListeners.clear();
-				// Other decoration requests may have occurred due to
-				// updates or we may have timed out updating listeners.
-				// Only clear the results if there are none pending.
-				if (awaitingDecoration.isEmpty()) {
-					resultCache.clear();
+				if (labelProviderChangedEvent != null) {
+					// the listeners fetched the results of the update
+					resultCache.unpin(labelProviderChangedEvent.getElements());
+					labelProviderChangedEvent = null;
+				}
+				// the results stay cached within the bounds of the cache, they
+				// are cleared when a decorator reports a change
+				if (Policy.DEBUG_DECORATION_CACHE) {
+					Tracing.printTrace("DECORATIONS", resultCache.toString()); //$NON-NLS-1$
 				}
 			}
 
@@ -606,11 +667,13 @@ public class DecorationScheduler {
 				// clear the list
 				removedListeners.clear();
 				currentIndex = 0;
-				synchronized (pendingUpdate) {
-					Object[] elements = pendingUpdate.toArray(new Object[pendingUpdate.size()]);
-					pendingUpdate.clear();
-					labelProviderChangedEvent = new LabelProviderChangedEvent(decoratorManager, elements);
+				// one event for all elements decorated in the meantime
+				Set<Object> elements = new LinkedHashSet<>();
+				Object element;
+				while ((element = pendingUpdate.poll()) != null) {
+					elements.add(element);
 				}
+				labelProviderChangedEvent = new LabelProviderChangedEvent(decoratorManager, elements.toArray());
 				listeners = decoratorManager.getListeners();
 			}
 
@@ -727,9 +790,6 @@ public class DecorationScheduler {
 	 * @return boolean <code>true</code> if the updates are empty
 	 */
 	boolean hasPendingUpdates() {
-		synchronized (pendingUpdate) {
-			return pendingUpdate.isEmpty();
-		}
-
+		return pendingUpdate.isEmpty();
 	}
 }
@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - thread safe decorator creation
  *******************************************************************************/
 package org.eclipse.ui.internal.decorators;
 
@@ -82,9 +83,13 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 
 	/**
 	 * The DeclarativeDecorator is the internal decorator supplied by the decorator
-	 * definition.
+	 * definition. Created while synchronized on the definition, as elements are
+	 * decorated by several jobs in parallel.
 	 */
-	private ILightweightLabelDecorator decorator;
+	private volatile ILightweightLabelDecorator decorator;
+
+	/** Serializes the calls into a contributed decorator */
+	private final Object decorateLock = new Object();
 
 	private int quadrant;
 
@@ -100,10 +105,12 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 	 * Gets the decorator and creates it if it does not exist yet. Throws a
 	 * CoreException if there is a problem creating the decorator. This method
 	 * should not be called unless a check for enabled to be true is done first.
+	 * Synchronized so that concurrent decoration jobs create the decorator only
+	 * once.
 	 *
 	 * @return Returns a ILabelDecorator
 	 */
-	protected ILightweightLabelDecorator internalGetDecorator() throws CoreException {
+	protected synchronized ILightweightLabelDecorator internalGetDecorator() throws CoreException {
 		if (labelProviderCreationFailed) {
 			return null;
 		}
@@ -245,16 +252,15 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 				return;
 			}
 
-			if (isAdaptable()) {
-				String[] classes = getObjectClasses();
-				for (String className : classes) {
-					Object adapted = LegacyResourceSupport.getAdapter(element, className);
-					if (adapted != null) {
-						currentDecorator.decorate(adapted, decoration);
-					}
+			if (currentDecorator instanceof DeclarativeDecorator) {
+				decorate(currentDecorator, element, decoration);
+			} else {
+				// Contributed decorators were never required to be thread
+				// safe, so they are not called by several decoration jobs
+				// at the same time.
+				synchronized (decorateLock) {
+					decorate(currentDecorator, element, decoration);
 				}
-			} else if (element != null) {
-				currentDecorator.decorate(element, decoration);
 			}
 		} catch (CoreException exception) {
 			handleCoreException(exception);
@@ -262,6 +268,20 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 
 	}
 
+	private void decorate(ILightweightLabelDecorator currentDecorator, Object element, IDecoration decoration) {
+		if (isAdaptable()) {
+			String[] classes = getObjectClasses();
+			for (String className : classes) {
+				Object adapted = LegacyResourceSupport.getAdapter(element, className);
+				if (adapted != null) {
+					currentDecorator.decorate(adapted, decoration);
+				}
+			}
+		} else if (element != null) {
+			currentDecorator.decorate(element, decoration);
+		}
+	}
+
 	/**
 	 * Returns the lightweight decorator, or <code>null</code> if not enabled.
 	 *
@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - auto-save, early startup and decoration cache tracing
  *******************************************************************************/
 package org.eclipse.ui.internal.misc;
 
@@ -159,6 +160,28 @@ public class Policy {
 	 */
 	public static boolean DEBUG_WORKING_SETS = DEFAULT;
 
+	/**
+	 * Whether or not the timing of the workbench model auto-save is traced.
+	 *
+	 * @since 3.129
+	 */
+	public static boolean DEBUG_AUTO_SAVE = DEFAULT;
+
+	/**
+	 * Whether or not the durations of the early startup extensions are traced.
+	 *
+	 * @since 3.129
+	 */
+	public static boolean DEBUG_EARLY_STARTUP = DEFAULT;
+
+	/**
+	 * Whether or not the statistics of the decoration result cache are traced
+	 * after each label update.
+	 *
+	 * @since 3.129
+	 */
+	public static boolean DEBUG_DECORATION_CACHE = DEFAULT;
+
 	static {
 		if (getDebugOption("/debug")) { //$NON-NLS-1$
 			DEBUG_SWT_GRAPHICS = getDebugOption("/trace/graphics"); //$NON-NLS-1$
@@ -191,6 +214,9 @@ public class Policy {
 			EXPERIMENTAL_MENU = getDebugOption("/experimental/menus"); //$NON-NLS-1$
 			DEBUG_MPE = getDebugOption("/trace/multipageeditor"); //$NON-NLS-1$
 			DEBUG_WORKING_SETS = getDebugOption("/debug/workingSets"); //$NON-NLS-1$
+			DEBUG_AUTO_SAVE = getDebugOption("/trace/autosave"); //$NON-NLS-1$
+			DEBUG_EARLY_STARTUP = getDebugOption("/trace/earlyStartup"); //$NON-NLS-1$
+			DEBUG_DECORATION_CACHE = getDebugOption("/trace/decorationCache"); //$NON-NLS-1$
 
 			if (DEBUG_SWT_DEBUG_GLOBAL)
 				Device.DEBUG = true;
@@ -14,6 +14,8 @@
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 472654, 491272, 491398
  *     Leung Wang Hei <gemaspecial@yahoo.com.hk> - Bug 483343
  *     Patrik Suzzi <psuzzi@gmail.com> - Bug 491291, 491529, 491293, 492434, 492452, 459989, 507322
+ *     Eclipse contributors - reuse matchers and narrow previous results while typing,
+ *                            evaluate providers concurrently
  *******************************************************************************/
 package org.eclipse.ui.internal.quickaccess;
 
@@ -30,7 +32,13 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -39,10 +47,12 @@ import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.jface.bindings.TriggerSequence;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.TableColumnLayout;
@@ -104,6 +114,11 @@ public abstract class QuickAccessContents {
 	private QuickAccessProvider[] providers;
 	private Map<String, QuickAccessProvider> providerMap = new HashMap<>();
 	private Map<QuickAccessElement, QuickAccessProvider> elementsToProviders = new HashMap<>();
+	/**
+	 * Matchers of the elements shown so far, they keep the precomputed labels of
+	 * the element and the last filter which rejected it
+	 */
+	private final Map<QuickAccessElement, QuickAccessMatcher> matchers = new ConcurrentHashMap<>();
 
 	protected Table table;
 	protected Label infoLabel;
@@ -123,6 +138,24 @@ public abstract class QuickAccessContents {
 	private TriggerSequence keySequence;
 	private Job computeProposalsJob;
 
+	/**
+	 * Maximum number of providers which are evaluated concurrently
+	 */
+	private static final int MAX_CONCURRENT_PROVIDERS = Math.max(2,
+			Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * Time in milliseconds after which providers which didn't return their
+	 * elements yet are cancelled and left out of the proposals
+	 */
+	static final long PROVIDER_TIMEOUT = 10000;
+
+	/**
+	 * Time in milliseconds without another provider completing after which the
+	 * proposals computed so far are shown
+	 */
+	private static final long PARTIAL_RESULTS_DELAY = 50;
+
 	public QuickAccessContents(QuickAccessProvider[] providers) {
 		this.providers = providers;
 	}
@@ -160,8 +193,14 @@ public abstract class QuickAccessContents {
 		int maxNumberOfItemsInTable = computeNumberOfItems();
 		AtomicReference<List<QuickAccessEntry>[]> entries = new AtomicReference<>();
 		final Job currentComputeEntriesJob = Job.create(computingMessage, theMonitor -> {
-			entries.set(
-					computeMatchingEntries(filter, perfectMatch, maxNumberOfItemsInTable, theMonitor));
+			// show the proposals of fast providers while slow ones are still running
+			Consumer<List<QuickAccessEntry>[]> partialResults = partialEntries -> display.asyncExec(() -> {
+				if (!theMonitor.isCanceled() && !table.isDisposed()) {
+					refreshTable(perfectMatch, partialEntries, filter);
+				}
+			});
+			entries.set(computeMatchingEntries(filter, perfectMatch, maxNumberOfItemsInTable, theMonitor,
+					partialResults));
 			return theMonitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
 		});
 		currentComputeEntriesJob.setPriority(Job.INTERACTIVE);
@@ -351,17 +390,28 @@ public abstract class QuickAccessContents {
 	 * should be displayed in the table given a text filter and a perfect match
 	 * entry that should be given priority. The number of items returned is affected
 	 * by {@link #getShowAllMatches()} and the size of the table's composite.
+	 * <p>
+	 * The providers are evaluated concurrently, at most
+	 * {@link #MAX_CONCURRENT_PROVIDERS} at a time. Whenever some of them complete
+	 * while others are still running, the entries computed so far are passed to
+	 * the given consumer. Providers which don't complete within
+	 * {@link #PROVIDER_TIMEOUT} are cancelled and left out, all providers are
+	 * cancelled when the given monitor is.
+	 * </p>
 	 *
-	 * @param filter       the string text filter to apply, possibly empty
-	 * @param perfectMatch a quick access element that should be given priority or
-	 *                     <code>null</code>
+	 * @param filter         the string text filter to apply, possibly empty
+	 * @param perfectMatch   a quick access element that should be given priority
+	 *                       or <code>null</code>
 	 *
 	 * @param aMonitor
+	 * @param partialResults receives the entries of the providers which completed
+	 *                       so far, may be <code>null</code>
 	 * @return the array of lists (one per provider) contains the quick access
 	 *         entries that should be added to the table, possibly empty
 	 */
 	private List<QuickAccessEntry>[] computeMatchingEntries(String filter, QuickAccessElement perfectMatch,
-			int maxNumberOfItemsInTable, IProgressMonitor aMonitor) {
+			int maxNumberOfItemsInTable, IProgressMonitor aMonitor,
+			Consumer<List<QuickAccessEntry>[]> partialResults) {
 		if (aMonitor == null) {
 			aMonitor = new NullProgressMonitor();
 		}
@@ -373,54 +423,144 @@ public abstract class QuickAccessContents {
 			filter = category + " " + categoryMatcher.group(2); //$NON-NLS-1$
 		}
 		final String finalFilter = filter;
+		// compiled once and shared by all elements
+		final QuickAccessFilter compiledFilter = new QuickAccessFilter(filter);
 
-		// collect matching elements
-		LinkedHashMap<QuickAccessProvider, List<QuickAccessElement>> elementsForProviders = new LinkedHashMap<>(
-				providers.length);
+		List<QuickAccessProvider> activeProviders = new ArrayList<>(providers.length);
 		for (QuickAccessProvider provider : providers) {
-			if (aMonitor.isCanceled()) {
-				break;
-			}
 			boolean isPreviousPickProvider = provider instanceof PreviousPicksProvider;
 			// skip if filter contains a category, and current provider isn't this category
 			if (category != null && !category.equalsIgnoreCase(provider.getName()) && !isPreviousPickProvider) {
 				continue;
 			}
 			if (!filter.isEmpty() || isPreviousPickProvider || showAllMatches) {
-				AtomicReference<List<QuickAccessElement>> sortedElementRef = new AtomicReference<>();
-				if (provider.requiresUiAccess()) {
-					UIJob job = new UIJob(
-							NLS.bind(QuickAccessMessages.QuickAccessContents_processingProviderInUI,
-									provider.getName())) {
-						@Override
-						public IStatus runInUIThread(IProgressMonitor monitor) {
-							sortedElementRef.set(Arrays.asList(provider.getElementsSorted(finalFilter, monitor)));
-							return Status.OK_STATUS;
+				activeProviders.add(provider);
+			}
+		}
+
+		// collect matching elements
+		int providerCount = activeProviders.size();
+		AtomicReferenceArray<List<QuickAccessElement>> providerElements = new AtomicReferenceArray<>(providerCount);
+		BlockingQueue<Integer> completedProviders = new LinkedBlockingQueue<>();
+		JobGroup providerJobs = new JobGroup(NLS.bind(QuickAccessMessages.QuickaAcessContents_computeMatchingEntries,
+				filter), MAX_CONCURRENT_PROVIDERS, providerCount);
+		for (int i = 0; i < providerCount; i++) {
+			QuickAccessProvider provider = activeProviders.get(i);
+			Integer index = Integer.valueOf(i);
+			Job job = Job.create(NLS.bind(QuickAccessMessages.QuickAccessContents_processingProvider,
+					provider.getName()), monitor -> {
+						try {
+							providerElements.set(index.intValue(),
+									collectElements(provider, finalFilter, compiledFilter, monitor));
+						} finally {
+							completedProviders.add(index);
 						}
-					};
-					job.setPriority(Job.INTERACTIVE);
-					job.schedule();
-					try {
-						job.join(0, new NullProgressMonitor());
-					} catch (Exception e) {
-						WorkbenchPlugin.log(e);
-					}
-				} else {
-					sortedElementRef.set(Arrays.asList(provider.getElementsSorted(filter, aMonitor)));
+						return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+					});
+			job.setSystem(true);
+			job.setPriority(Job.INTERACTIVE);
+			job.setJobGroup(providerJobs);
+			job.schedule();
+		}
+		long deadline = System.currentTimeMillis() + PROVIDER_TIMEOUT;
+		int pendingProviders = providerCount;
+		boolean unpublishedResults = false;
+		try {
+			while (pendingProviders > 0 && !aMonitor.isCanceled()) {
+				long timeout = deadline - System.currentTimeMillis();
+				if (timeout <= 0) {
+					break;
 				}
-				List<QuickAccessElement> sortedElements = sortedElementRef.get();
-				if (sortedElements == null) {
-					sortedElements = Collections.emptyList();
+				// also wakes up regularly to notice cancellation
+				Integer completed = completedProviders.poll(Math.min(timeout, PARTIAL_RESULTS_DELAY),
+						TimeUnit.MILLISECONDS);
+				if (completed == null) {
+					// publish once no other provider completed for a moment
+					if (unpublishedResults && partialResults != null && !aMonitor.isCanceled()) {
+						partialResults.accept(computeEntries(activeProviders, providerElements, compiledFilter,
+								perfectMatch, maxNumberOfItemsInTable));
+					}
+					unpublishedResults = false;
+					continue;
 				}
-				if (!(provider instanceof PreviousPicksProvider)) {
-					for (QuickAccessElement element : sortedElements) {
+				pendingProviders--;
+				QuickAccessProvider provider = activeProviders.get(completed.intValue());
+				List<QuickAccessElement> elements = providerElements.get(completed.intValue());
+				if (elements != null && !(provider instanceof PreviousPicksProvider)) {
+					for (QuickAccessElement element : elements) {
 						elementsToProviders.put(element, provider);
 					}
 				}
-				if (!filter.isEmpty() && !sortedElements.isEmpty()) {
-					sortedElements = putPrefixMatchFirst(sortedElements, filter);
+				unpublishedResults = true;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			if (pendingProviders > 0) {
+				// filter changed or providers too slow
+				providerJobs.cancel();
+			}
+		}
+		return computeEntries(activeProviders, providerElements, compiledFilter, perfectMatch,
+				maxNumberOfItemsInTable);
+	}
+
+	/**
+	 * Returns the sorted elements of the given provider which can match the given
+	 * filter.
+	 */
+	private List<QuickAccessElement> collectElements(QuickAccessProvider provider, String filter,
+			QuickAccessFilter compiledFilter, IProgressMonitor monitor) {
+		AtomicReference<List<QuickAccessElement>> sortedElementRef = new AtomicReference<>();
+		if (provider.requiresUiAccess()) {
+			UIJob job = new UIJob(
+					NLS.bind(QuickAccessMessages.QuickAccessContents_processingProviderInUI, provider.getName())) {
+				@Override
+				public IStatus runInUIThread(IProgressMonitor uiMonitor) {
+					sortedElementRef.set(Arrays.asList(provider.getElementsSorted(filter, uiMonitor)));
+					return Status.OK_STATUS;
 				}
-				elementsForProviders.put(provider, new ArrayList<>(sortedElements));
+			};
+			job.setPriority(Job.INTERACTIVE);
+			job.schedule();
+			try {
+				job.join(0, monitor);
+			} catch (OperationCanceledException e) {
+				job.cancel();
+			} catch (Exception e) {
+				WorkbenchPlugin.log(e);
+			}
+		} else {
+			sortedElementRef.set(Arrays.asList(provider.getElementsSorted(filter, monitor)));
+		}
+		List<QuickAccessElement> sortedElements = sortedElementRef.get();
+		if (sortedElements == null) {
+			sortedElements = Collections.emptyList();
+		}
+		if (!filter.isEmpty() && !sortedElements.isEmpty()) {
+			// only keep the elements the previous filter didn't reject
+			sortedElements = narrow(sortedElements, compiledFilter, provider);
+			sortedElements = putPrefixMatchFirst(sortedElements, compiledFilter, provider);
+		}
+		return sortedElements;
+	}
+
+	/**
+	 * Matches the elements collected so far and returns the entries to show.
+	 *
+	 * @param activeProviders  the evaluated providers
+	 * @param providerElements the elements of the providers, in the same order,
+	 *                         <code>null</code> for providers not completed yet
+	 */
+	private List<QuickAccessEntry>[] computeEntries(List<QuickAccessProvider> activeProviders,
+			AtomicReferenceArray<List<QuickAccessElement>> providerElements, QuickAccessFilter compiledFilter,
+			QuickAccessElement perfectMatch, int maxNumberOfItemsInTable) {
+		LinkedHashMap<QuickAccessProvider, List<QuickAccessElement>> elementsForProviders = new LinkedHashMap<>(
+				activeProviders.size());
+		for (int i = 0; i < activeProviders.size(); i++) {
+			List<QuickAccessElement> elements = providerElements.get(i);
+			if (elements != null) {
+				elementsForProviders.put(activeProviders.get(i), new ArrayList<>(elements));
 			}
 		}
 
@@ -434,7 +574,8 @@ public abstract class QuickAccessContents {
 		}
 		for (Entry<QuickAccessProvider, List<QuickAccessElement>> entry : elementsForProviders.entrySet()) {
 			if (!(entry.getKey() instanceof PreviousPicksProvider)) {
-				List<QuickAccessElement> filteredElements = new ArrayList<>(entry.getValue());
+				// elements are taken from the head below
+				List<QuickAccessElement> filteredElements = new LinkedList<>(entry.getValue());
 				filteredElements.removeIf(element -> prevPickIds.contains(element.getId()));
 				entry.setValue(filteredElements);
 			}
@@ -444,7 +585,7 @@ public abstract class QuickAccessContents {
 		if (perfectMatch != null) {
 			for (Entry<QuickAccessProvider, List<QuickAccessElement>> entry : elementsForProviders.entrySet()) {
 				if (perfectMatchProvider != null) {
-					List<QuickAccessElement> filteredElements = new ArrayList<>(entry.getValue());
+					List<QuickAccessElement> filteredElements = new LinkedList<>(entry.getValue());
 					if (filteredElements.removeIf(element -> prevPickIds.contains(element.getId()))) {
 						entry.setValue(filteredElements);
 						perfectMatchProvider = entry.getKey();
@@ -460,8 +601,8 @@ public abstract class QuickAccessContents {
 					.entrySet()) {
 				QuickAccessProvider provider = elementsPerProvider.getKey();
 				List<QuickAccessEntry> entries = elementsPerProvider.getValue().stream() //
-						.map(QuickAccessMatcher::new) //
-						.map(matcher -> matcher.match(finalFilter, provider)) //
+						.map(element -> getMatcher(element, provider)) //
+						.map(matcher -> matcher.match(compiledFilter, provider)) //
 						.filter(Objects::nonNull) //
 						.collect(Collectors.toList());
 				if (!entries.isEmpty()) {
@@ -480,7 +621,7 @@ public abstract class QuickAccessContents {
 						int toPickEntries = nbEntriesPerProvider;
 						while (toPickEntries > 0 && !elements.isEmpty()) {
 							QuickAccessElement element = elements.remove(0);
-							QuickAccessEntry entry = new QuickAccessMatcher(element).match(filter, provider);
+							QuickAccessEntry entry = getMatcher(element, provider).match(compiledFilter, provider);
 							if (entry != null) {
 								numberOfSlotsLeft--;
 								toPickEntries--;
@@ -500,7 +641,7 @@ public abstract class QuickAccessContents {
 							boolean entryPicked = false;
 							while (!entryPicked && !elements.isEmpty()) {
 								QuickAccessElement element = elements.remove(0);
-								QuickAccessEntry entry = new QuickAccessMatcher(element).match(filter, provider);
+								QuickAccessEntry entry = getMatcher(element, provider).match(compiledFilter, provider);
 								if (entry != null) {
 									numberOfSlotsLeft--;
 									entryPicked = true;
@@ -533,31 +674,54 @@ public abstract class QuickAccessContents {
 		return (List<QuickAccessEntry>[]) res.toArray(new List<?>[res.size()]);
 	}
 
+	/**
+	 * Returns the matcher for the given element, reusing the one created for a
+	 * previous filter unless the element was replaced by its provider. The
+	 * labels of elements of indexable providers are taken from the
+	 * {@link QuickAccessIndex}.
+	 */
+	private QuickAccessMatcher getMatcher(QuickAccessElement element, QuickAccessProvider provider) {
+		QuickAccessMatcher matcher = matchers.get(element);
+		if (matcher == null || matcher.getElement() != element) {
+			matcher = new QuickAccessMatcher(element, QuickAccessIndex.getDefault().getLabels(provider, element));
+			matchers.put(element, matcher);
+		}
+		return matcher;
+	}
+
+	/**
+	 * Removes the elements which were rejected by a filter the given filter
+	 * narrows down, i.e. when the user typed additional characters only the
+	 * previous matches are considered.
+	 */
+	private List<QuickAccessElement> narrow(List<QuickAccessElement> elements, QuickAccessFilter filter,
+			QuickAccessProvider provider) {
+		List<QuickAccessElement> res = new ArrayList<>(elements.size());
+		for (QuickAccessElement element : elements) {
+			if (!getMatcher(element, provider).isRejected(filter, provider)) {
+				res.add(element);
+			}
+		}
+		return res;
+	}
+
 	/*
 	 * Consider whether we could directly check the "matchQuality" here, but it
 	 * seems to be a more expensive operation
 	 */
-	private static List<QuickAccessElement> putPrefixMatchFirst(List<QuickAccessElement> elements, String prefix) {
-		List<QuickAccessElement> res = new ArrayList<>(elements);
-		List<Integer> matchingIndexes = new ArrayList<>();
-		for (int i = 0; i < elements.size(); i++) {
-			if (elements.get(i).getLabel().toLowerCase().startsWith(prefix.toLowerCase())) {
-				matchingIndexes.add(Integer.valueOf(i));
-			}
-		}
-		int currentMatchIndex = 0;
-		int currentNonMatchIndex = matchingIndexes.size();
-		for (int i = 0; i < res.size(); i++) {
-			boolean isMatch = !matchingIndexes.isEmpty() && matchingIndexes.iterator().next().intValue() == i;
-			if (isMatch) {
-				matchingIndexes.remove(0);
-				res.set(currentMatchIndex, elements.get(i));
-				currentMatchIndex++;
+	private List<QuickAccessElement> putPrefixMatchFirst(List<QuickAccessElement> elements,
+			QuickAccessFilter prefix, QuickAccessProvider provider) {
+		List<QuickAccessElement> res = new ArrayList<>(elements.size());
+		List<QuickAccessElement> nonMatching = new ArrayList<>();
+		char[] prefixChars = prefix.getChars();
+		for (QuickAccessElement element : elements) {
+			if (getMatcher(element, provider).labelStartsWith(prefixChars)) {
+				res.add(element);
 			} else {
-				res.set(currentNonMatchIndex, elements.get(i));
-				currentNonMatchIndex++;
+				nonMatching.add(element);
 			}
 		}
+		res.addAll(nonMatching);
 		return res;
 	}
 
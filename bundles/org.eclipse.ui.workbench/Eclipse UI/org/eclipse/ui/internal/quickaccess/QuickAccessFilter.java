@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.ui.internal.quickaccess;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A quick access filter compiled once per user input. It is shared by the
+ * {@link QuickAccessMatcher}s of all elements and matches their precomputed
+ * lowercase labels without allocating for elements which don't match.
+ * <p>
+ * A filter containing '*' or '?' is a wildcard filter: '*' matches any number
+ * of characters and a run of n '?' up to n characters. Otherwise all
+ * whitespace separated words of the filter have to occur in order. In both
+ * cases '(' and ')' match one optional character, leading and trailing
+ * wildcards and whitespace are ignored.
+ * </p>
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class QuickAccessFilter {
+
+	/** Placeholder in a segment for '(' and ')', matching one optional char */
+	private static final char OPTIONAL_CHAR = '\uFFFF';
+
+	/** Gap between two segments which may span any number of chars */
+	private static final int UNBOUNDED = -1;
+
+	private static final int[][] EMPTY_INDICES = new int[0][0];
+
+	private final String filter;
+	private final char[] chars;
+
+	/** the literal parts which have to match in order */
+	private final char[][] segments;
+	/**
+	 * for each segment the maximum number of chars between it and the previous
+	 * segment, or {@link #UNBOUNDED}
+	 */
+	private final int[] maxGaps;
+	/** for each segment whether it doesn't contain an {@link #OPTIONAL_CHAR} */
+	private final boolean[] fixedLengths;
+
+	/**
+	 * Compiles the given user input.
+	 *
+	 * @param filter the filter text, not <code>null</code>
+	 */
+	public QuickAccessFilter(String filter) {
+		this.filter = filter;
+		this.chars = toLowerCase(filter);
+
+		List<char[]> segmentList = new ArrayList<>();
+		List<Integer> gapList = new ArrayList<>();
+		int start = 0;
+		int end = chars.length;
+		boolean wildcards = filter.indexOf('*') != -1 || filter.indexOf('?') != -1;
+		// same trimming as the former "^\s*(\*|\?)*" and "(\*|\?)*\s*$" patterns
+		while (start < end && isWhitespace(chars[start])) {
+			start++;
+		}
+		while (start < end && isWildcard(chars[start])) {
+			start++;
+		}
+		while (end > start && isWhitespace(chars[end - 1])) {
+			end--;
+		}
+		while (end > start && isWildcard(chars[end - 1])) {
+			end--;
+		}
+		int gap = UNBOUNDED;
+		int i = start;
+		while (i < end) {
+			int segmentStart = i;
+			while (i < end && !(wildcards ? isWildcard(chars[i]) : isWhitespace(chars[i]))) {
+				i++;
+			}
+			segmentList.add(toSegment(chars, segmentStart, i));
+			gapList.add(Integer.valueOf(gap));
+			// collapse the following run of separators into one gap
+			gap = 0;
+			while (i < end && (wildcards ? isWildcard(chars[i]) : isWhitespace(chars[i]))) {
+				if (!wildcards || chars[i] == '*') {
+					gap = UNBOUNDED;
+				} else if (gap != UNBOUNDED) {
+					gap++;
+				}
+				i++;
+			}
+		}
+		int count = segmentList.size();
+		this.segments = segmentList.toArray(new char[count][]);
+		this.maxGaps = new int[count];
+		this.fixedLengths = new boolean[count];
+		for (int j = 0; j < count; j++) {
+			maxGaps[j] = gapList.get(j).intValue();
+			fixedLengths[j] = indexOf(segments[j], OPTIONAL_CHAR) == -1;
+		}
+	}
+
+	/**
+	 * @return the filter text this filter was compiled from
+	 */
+	public String getFilter() {
+		return filter;
+	}
+
+	/**
+	 * @return the filter text in lowercase, to be used for substring matches
+	 */
+	char[] getChars() {
+		return chars;
+	}
+
+	/**
+	 * @return the length of the filter text
+	 */
+	int length() {
+		return chars.length;
+	}
+
+	/**
+	 * Returns whether every label matched by this filter is also matched by the
+	 * given filter, which is the case if this filter was created by typing
+	 * additional characters. Elements rejected by the given filter can then be
+	 * skipped without matching them again.
+	 *
+	 * @param previous a filter which was applied before, may be
+	 *                 <code>null</code>
+	 * @return <code>true</code> if this filter only narrows down the matches of
+	 *         the given filter
+	 */
+	public boolean isNarrowing(QuickAccessFilter previous) {
+		return previous != null && filter.startsWith(previous.filter);
+	}
+
+	/**
+	 * Matches the segments of this filter against the given text.
+	 *
+	 * @param text the lowercase text
+	 * @return the start and end index (inclusive) of every segment in the text,
+	 *         or <code>null</code> if the text doesn't match
+	 */
+	int[][] matchSegments(char[] text) {
+		if (segments.length == 0) {
+			return EMPTY_INDICES;
+		}
+		if (!find(text, 0, 0, null)) {
+			return null;
+		}
+		// the second run follows the same path and records it
+		int[][] indices = new int[segments.length][2];
+		find(text, 0, 0, indices);
+		return indices;
+	}
+
+	private boolean find(char[] text, int segment, int from, int[][] indices) {
+		if (segment == segments.length) {
+			return true;
+		}
+		int maxGap = segment == 0 ? UNBOUNDED : maxGaps[segment];
+		int lastStart = maxGap == UNBOUNDED ? text.length : Math.min(text.length, from + maxGap);
+		// with an unbounded gap to the next segment the leftmost match of a
+		// segment is the best one, later ones can't match if it didn't
+		boolean leftmostOnly = fixedLengths[segment]
+				&& (segment + 1 == segments.length || maxGaps[segment + 1] == UNBOUNDED);
+		char[] segmentChars = segments[segment];
+		for (int start = from; start <= lastStart; start++) {
+			if (leftmostOnly) {
+				if (matchesAt(text, start, segmentChars)) {
+					if (indices != null) {
+						indices[segment][0] = start;
+						indices[segment][1] = start + segmentChars.length - 1;
+					}
+					return find(text, segment + 1, start + segmentChars.length, indices);
+				}
+			} else if (matchSegment(text, segment, start, start, 0, indices)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean matchSegment(char[] text, int segment, int start, int pos, int index, int[][] indices) {
+		char[] segmentChars = segments[segment];
+		if (index == segmentChars.length) {
+			if (indices != null) {
+				indices[segment][0] = start;
+				indices[segment][1] = pos - 1;
+			}
+			return find(text, segment + 1, pos, indices);
+		}
+		char c = segmentChars[index];
+		if (c == OPTIONAL_CHAR) {
+			// greedy, like the ".?" the parentheses used to be replaced with
+			return (pos < text.length && matchSegment(text, segment, start, pos + 1, index + 1, indices))
+					|| matchSegment(text, segment, start, pos, index + 1, indices);
+		}
+		return pos < text.length && text[pos] == c
+				&& matchSegment(text, segment, start, pos + 1, index + 1, indices);
+	}
+
+	private static boolean matchesAt(char[] text, int start, char[] chars) {
+		if (start + chars.length > text.length) {
+			return false;
+		}
+		for (int i = 0; i < chars.length; i++) {
+			if (text[start + i] != chars[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given chars in the text.
+	 *
+	 * @param text  the text to search
+	 * @param chars the chars to find
+	 * @return the index of the first occurrence or -1
+	 */
+	static int indexOf(char[] text, char[] chars) {
+		int last = text.length - chars.length;
+		for (int i = 0; i <= last; i++) {
+			if (matchesAt(text, i, chars)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int indexOf(char[] chars, char c) {
+		for (int i = 0; i < chars.length; i++) {
+			if (chars[i] == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Lowercases the given string char by char so that indices in the result are
+	 * the same as in the given string.
+	 *
+	 * @param s the string to convert
+	 * @return the lowercase chars
+	 */
+	static char[] toLowerCase(String s) {
+		char[] result = s.toCharArray();
+		for (int i = 0; i < result.length; i++) {
+			result[i] = Character.toLowerCase(result[i]);
+		}
+		return result;
+	}
+
+	private static char[] toSegment(char[] chars, int start, int end) {
+		char[] segment = new char[end - start];
+		for (int i = start; i < end; i++) {
+			char c = chars[i];
+			segment[i - start] = c == '(' || c == ')' ? OPTIONAL_CHAR : c;
+		}
+		return segment;
+	}
+
+	private static boolean isWildcard(char c) {
+		return c == '*' || c == '?';
+	}
+
+	private static boolean isWhitespace(char c) {
+		// the characters of the regular expression class \s
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+}
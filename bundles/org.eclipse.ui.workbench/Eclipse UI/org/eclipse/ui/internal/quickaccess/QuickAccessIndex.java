@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.ui.internal.quickaccess;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IRegistryChangeListener;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.quickaccess.QuickAccessElement;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * A persistent index of the labels of quick access elements, so the labels
+ * which are expensive to compute (e.g. preference page keywords) and their
+ * match keys don't have to be computed again in every session.
+ * <p>
+ * Only the elements of {@link QuickAccessProvider#isIndexable() indexable}
+ * providers are kept. The index is stored in the workbench metadata, loaded on
+ * first use and discarded when the installed bundles or the locale changed or
+ * when the extension registry changes.
+ * </p>
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class QuickAccessIndex {
+
+	/** Version of the file format, increment on any change */
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String INDEX_FILE = "quickAccessIndex.dat"; //$NON-NLS-1$
+
+	/** Delay in milliseconds before new entries are written */
+	private static final long SAVE_DELAY = 5000;
+
+	/** Strings longer than this may not fit into a modified UTF-8 record */
+	private static final int MAX_STRING_LENGTH = 0xFFFF / 3;
+
+	/**
+	 * The labels of an element, as they were when it was indexed.
+	 */
+	public static final class Labels {
+		public final String label;
+		public final String matchLabel;
+		public final String sortLabel;
+		public final String camelCase;
+
+		Labels(String label, String matchLabel, String sortLabel, String camelCase) {
+			this.label = label;
+			this.matchLabel = matchLabel;
+			this.sortLabel = sortLabel;
+			this.camelCase = camelCase;
+		}
+
+		static Labels of(QuickAccessElement element) {
+			String label = element.getLabel();
+			return new Labels(label, element.getMatchLabel(), element.getSortLabel(),
+					CamelUtil.getCamelCase(label));
+		}
+	}
+
+	private static QuickAccessIndex instance;
+
+	private final File file;
+	private final long stamp;
+	/** element labels by element id, by provider id */
+	private final Map<String, Map<String, Labels>> providers = new ConcurrentHashMap<>();
+	private final AtomicBoolean dirty = new AtomicBoolean();
+	private final Job saveJob;
+	private volatile boolean loaded;
+
+	private final IRegistryChangeListener registryListener = event -> invalidate();
+
+	/**
+	 * @return the index of the workbench, stored in its metadata area
+	 */
+	public static synchronized QuickAccessIndex getDefault() {
+		if (instance == null) {
+			IPath location = WorkbenchPlugin.getDefault() == null ? null
+					: WorkbenchPlugin.getDefault().getDataLocation();
+			File file = location == null ? null : location.append(INDEX_FILE).toFile();
+			instance = new QuickAccessIndex(file, computeStamp());
+			if (Platform.getExtensionRegistry() != null) {
+				Platform.getExtensionRegistry().addRegistryChangeListener(instance.registryListener);
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Creates an index backed by the given file.
+	 *
+	 * @param file  the file to load and store the index, or <code>null</code> to
+	 *              only keep it in memory
+	 * @param stamp identifies the installation the stored labels are valid for
+	 */
+	public QuickAccessIndex(File file, long stamp) {
+		this.file = file;
+		this.stamp = stamp;
+		this.saveJob = Job.createSystem(QuickAccessIndex.class.getSimpleName(), monitor -> {
+			save();
+			return Status.OK_STATUS;
+		});
+	}
+
+	/**
+	 * Computes a stamp of the installed bundles and the locale, the labels of the
+	 * elements are derived from their extensions and translations.
+	 */
+	private static long computeStamp() {
+		long result = FORMAT_VERSION;
+		result = 31 * result + Platform.getNL().hashCode();
+		Bundle bundle = FrameworkUtil.getBundle(QuickAccessIndex.class);
+		BundleContext context = bundle == null ? null : bundle.getBundleContext();
+		if (context != null) {
+			for (Bundle installed : context.getBundles()) {
+				result = 31 * result + installed.getBundleId();
+				result = 31 * result + installed.getLastModified();
+				result = 31 * result + String.valueOf(installed.getVersion()).hashCode();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the labels of the given element. They are taken from the index if
+	 * the provider is indexable and the element was already indexed with the same
+	 * label, otherwise they are computed and added to the index.
+	 *
+	 * @param provider the provider of the element
+	 * @param element  the element
+	 * @return the labels of the element, never <code>null</code>
+	 */
+	public Labels getLabels(QuickAccessProvider provider, QuickAccessElement element) {
+		String id = element.getId();
+		if (id == null || !provider.isIndexable()) {
+			return Labels.of(element);
+		}
+		ensureLoaded();
+		Map<String, Labels> elements = providers.computeIfAbsent(provider.getId(), k -> new ConcurrentHashMap<>());
+		Labels labels = elements.get(id);
+		if (labels == null || !labels.label.equals(element.getLabel())) {
+			labels = Labels.of(element);
+			elements.put(id, labels);
+			if (dirty.compareAndSet(false, true)) {
+				saveJob.schedule(SAVE_DELAY);
+			}
+		}
+		return labels;
+	}
+
+	/**
+	 * @return the number of indexed elements
+	 */
+	public int size() {
+		ensureLoaded();
+		return providers.values().stream().mapToInt(Map::size).sum();
+	}
+
+	/**
+	 * Discards all indexed labels, e.g. because contributions changed.
+	 */
+	public void invalidate() {
+		loaded = true;
+		providers.clear();
+		if (dirty.compareAndSet(false, true)) {
+			saveJob.schedule(SAVE_DELAY);
+		}
+	}
+
+	private void ensureLoaded() {
+		if (!loaded) {
+			synchronized (this) {
+				if (!loaded) {
+					load();
+					loaded = true;
+				}
+			}
+		}
+	}
+
+	private void load() {
+		if (file == null || !file.isFile()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != FORMAT_VERSION || in.readLong() != stamp) {
+				// written by another installation, rebuilt while being used
+				return;
+			}
+			int providerCount = in.readInt();
+			for (int i = 0; i < providerCount; i++) {
+				String providerId = in.readUTF();
+				int elementCount = in.readInt();
+				Map<String, Labels> elements = new ConcurrentHashMap<>(elementCount);
+				for (int j = 0; j < elementCount; j++) {
+					String id = in.readUTF();
+					elements.put(id, new Labels(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF()));
+				}
+				providers.put(providerId, elements);
+			}
+		} catch (IOException e) {
+			// a damaged index is rebuilt while being used
+			providers.clear();
+		}
+	}
+
+	/**
+	 * Writes the index if it changed since it was loaded or last written.
+	 */
+	public void save() {
+		if (file == null || !dirty.compareAndSet(true, false)) {
+			return;
+		}
+		File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())))) {
+				out.writeInt(FORMAT_VERSION);
+				out.writeLong(stamp);
+				Map<String, Map<String, Labels>> snapshot = Map.copyOf(providers);
+				out.writeInt(snapshot.size());
+				for (Map.Entry<String, Map<String, Labels>> provider : snapshot.entrySet()) {
+					Map<String, Labels> elements = Map.copyOf(provider.getValue());
+					out.writeUTF(provider.getKey());
+					int count = 0;
+					for (Map.Entry<String, Labels> element : elements.entrySet()) {
+						if (isStorable(element.getKey(), element.getValue())) {
+							count++;
+						}
+					}
+					out.writeInt(count);
+					for (Map.Entry<String, Labels> element : elements.entrySet()) {
+						Labels labels = element.getValue();
+						if (isStorable(element.getKey(), labels)) {
+							out.writeUTF(element.getKey());
+							out.writeUTF(labels.label);
+							out.writeUTF(labels.matchLabel);
+							out.writeUTF(labels.sortLabel);
+							out.writeUTF(labels.camelCase);
+						}
+					}
+				}
+			}
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (FileNotFoundException e) {
+			// metadata area not writable, keep the index in memory only
+		} catch (IOException e) {
+			WorkbenchPlugin.log(e);
+		}
+	}
+
+	private static boolean isStorable(String id, Labels labels) {
+		return id.length() <= MAX_STRING_LENGTH && isStorable(labels.label) && isStorable(labels.matchLabel)
+				&& isStorable(labels.sortLabel) && isStorable(labels.camelCase);
+	}
+
+	private static boolean isStorable(String s) {
+		return s != null && s.length() <= MAX_STRING_LENGTH;
+	}
+}
@@ -10,122 +10,132 @@
  *
  * Contributors:
  * - Mickael Istria (Red Hat Inc.) - extract from QuickAccessElement
+ * - Eclipse contributors - precompiled filter and labels, incremental narrowing
  *******************************************************************************/
 
 package org.eclipse.ui.internal.quickaccess;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 import org.eclipse.ui.quickaccess.QuickAccessElement;
 
 /**
  * QuickAccessMatch contains the logic to check whether a given
  * {@link QuickAccessElement} matches a input user request.
+ * <p>
+ * A matcher keeps the lowercase labels of its element, so it is meant to be
+ * reused for every {@link QuickAccessFilter} applied while quick access is
+ * open. It also remembers the last filter which rejected the element, so the
+ * element is skipped without matching while the user keeps typing.
+ * </p>
  *
  * @noreference This class is not intended to be referenced by clients.
  */
 public final class QuickAccessMatcher {
 
+	private static final int[][] EMPTY_INDICES = new int[0][0];
+
+	/**
+	 * The lowercase labels combined with the name of a provider, used when the
+	 * element alone doesn't match.
+	 */
+	private static final class ProviderLabels {
+		final QuickAccessProvider provider;
+		final int providerNameLength;
+		final char[] matchLabel;
+		final char[] label;
+		final char[] camelCase;
+		final int providerCamelCaseLength;
+
+		ProviderLabels(QuickAccessProvider provider, String elementMatchLabel, String elementLabel) {
+			this.provider = provider;
+			String providerName = provider.getName();
+			this.providerNameLength = providerName.length();
+			String combinedLabel = providerName + " " + elementLabel; //$NON-NLS-1$
+			this.matchLabel = QuickAccessFilter.toLowerCase(providerName + " " + elementMatchLabel); //$NON-NLS-1$
+			this.label = QuickAccessFilter.toLowerCase(combinedLabel);
+			this.camelCase = CamelUtil.getCamelCase(combinedLabel).toCharArray();
+			this.providerCamelCaseLength = CamelUtil.getCamelCase(providerName).length();
+		}
+	}
+
+	/**
+	 * A filter which didn't match the element for a provider.
+	 */
+	private static final class Rejection {
+		final QuickAccessFilter filter;
+		final QuickAccessProvider provider;
+
+		Rejection(QuickAccessFilter filter, QuickAccessProvider provider) {
+			this.filter = filter;
+			this.provider = provider;
+		}
+	}
+
 	private final QuickAccessElement element;
+	private final String matchLabel;
+	private final char[] lowerMatchLabel;
+	private final char[] lowerLabel;
+	private final char[] camelCase;
+
+	private volatile ProviderLabels providerLabels;
+	private volatile Rejection rejection;
 
 	public QuickAccessMatcher(QuickAccessElement element) {
-		this.element = element;
+		this(element, QuickAccessIndex.Labels.of(element));
 	}
 
-	private static final int[][] EMPTY_INDICES = new int[0][0];
-	private static final String WS_WILD_START = "^\\s*(\\*|\\?)*"; //$NON-NLS-1$
-	private static final String WS_WILD_END = "(\\*|\\?)*\\s*$"; //$NON-NLS-1$
-	private static final String ANY_WS = "\\s+"; //$NON-NLS-1$
-	private static final String EMPTY_STR = ""; //$NON-NLS-1$
-	private static final String PAR_START = "\\("; //$NON-NLS-1$
-	private static final String PAR_END = "\\)"; //$NON-NLS-1$
-	private static final String ONE_CHAR = ".?"; //$NON-NLS-1$
-
-	// whitespaces filter and patterns
-	private String wsFilter;
-	private Pattern wsPattern;
-
 	/**
-	 * Get the existing {@link Pattern} for the given filter, or create a new one.
-	 * The generated pattern will replace whitespace with * to match all.
+	 * Creates a matcher using the given, e.g. indexed, labels of the element.
 	 *
-	 * @param filter
-	 * @return
+	 * @param element the element
+	 * @param labels  the labels of the element
 	 */
-	private Pattern getWhitespacesPattern(String filter) {
-		if (wsPattern == null || !filter.equals(wsFilter)) {
-			wsFilter = filter;
-			String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
-					.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
-			sFilter = String.format(".*(%s).*", sFilter.replaceAll(ANY_WS, ").*(")); //$NON-NLS-1$//$NON-NLS-2$
-			wsPattern = safeCompile(sFilter);
-		}
-		return wsPattern;
+	QuickAccessMatcher(QuickAccessElement element, QuickAccessIndex.Labels labels) {
+		this.element = element;
+		this.matchLabel = labels.matchLabel;
+		String label = labels.label;
+		this.lowerMatchLabel = QuickAccessFilter.toLowerCase(matchLabel);
+		this.lowerLabel = matchLabel.equals(label) ? lowerMatchLabel : QuickAccessFilter.toLowerCase(label);
+		// use actual label for camelcase
+		this.camelCase = labels.camelCase.toCharArray();
 	}
 
-	// wildcard filter and patterns
-	private String wcFilter;
-	private Pattern wcPattern;
+	/**
+	 * @return the element this matcher was created for
+	 */
+	public QuickAccessElement getElement() {
+		return element;
+	}
 
 	/**
-	 * Get the existing {@link Pattern} for the given filter, or create a new one.
-	 * The generated pattern will handle '*' and '?' wildcards.
+	 * Returns whether the label of the element starts with the given lowercase
+	 * prefix.
 	 *
-	 * @param filter
-	 * @return
+	 * @param prefix the lowercase prefix
+	 * @return <code>true</code> if the label starts with the prefix
 	 */
-	private Pattern getWildcardsPattern(String filter) {
-		// squash consecutive **** into a single *
-		filter = filter.replaceAll("\\*+", "*"); //$NON-NLS-1$ //$NON-NLS-2$
-		if (wcPattern == null || !filter.equals(wcFilter)) {
-			wcFilter = filter;
-			String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
-					.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
-			// replace '*' and '?' with their matchers ").*(" and ").?("
-			StringBuilder sb = new StringBuilder();
-			for (int i = 0; i < sFilter.length(); i++) {
-				char c = sFilter.charAt(i);
-				if (c == '*') {
-					sb.append(").").append(c).append("("); //$NON-NLS-1$ //$NON-NLS-2$
-				} else if (c == '?') {
-					int n = 1;
-					for (; (i + 1) < sFilter.length(); i++) {
-						if (sFilter.charAt(i + 1) != '?') {
-							break;
-						}
-						n++;
-					}
-					sb.append(").").append(n == 1 ? '?' : String.format("{0,%d}", n)).append("("); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-				} else {
-					sb.append(c);
-				}
+	boolean labelStartsWith(char[] prefix) {
+		if (prefix.length > lowerLabel.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (lowerLabel[i] != prefix[i]) {
+				return false;
 			}
-			sFilter = String.format(".*(%s).*", sb.toString()); //$NON-NLS-1$
-			// remove empty capturing groups
-			sFilter = sFilter.replace("()", EMPTY_STR); //$NON-NLS-1$
-			//
-			wcPattern = safeCompile(sFilter);
 		}
-		return wcPattern;
+		return true;
 	}
 
 	/**
-	 * A safe way to compile some unknown pattern, avoids possible
-	 * {@link PatternSyntaxException}. If the pattern can't be compiled, some not
-	 * matching pattern will be returned.
+	 * Returns whether the element was already rejected by a filter which the
+	 * given filter narrows down, so it can't match the given filter either.
 	 *
-	 * @param pattern some pattern to compile, not null
-	 * @return a {@link Pattern} object compiled from given input or a dummy pattern
-	 *         which do not match anything
+	 * @param filter              the filter to check
+	 * @param providerForMatching the provider that would own the entry
+	 * @return <code>true</code> if the element is known not to match
 	 */
-	private static Pattern safeCompile(String pattern) {
-		try {
-			return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
-		} catch (Exception e) {
-			// A "bell" special character: should not match anything we can get
-			return Pattern.compile("\\a"); //$NON-NLS-1$
-		}
+	public boolean isRejected(QuickAccessFilter filter, QuickAccessProvider providerForMatching) {
+		Rejection r = rejection;
+		return r != null && r.provider == providerForMatching && filter.isNarrowing(r.filter);
 	}
 
 	/**
@@ -139,96 +149,109 @@ public final class QuickAccessMatcher {
 	 * @noreference This method is not intended to be referenced by clients.
 	 */
 	public QuickAccessEntry match(String filter, QuickAccessProvider providerForMatching) {
-		String matchLabel = element.getMatchLabel();
+		return match(new QuickAccessFilter(filter), providerForMatching);
+	}
+
+	/**
+	 * If this element is a match (partial, complete, camel case, etc) to the given
+	 * filter, returns a {@link QuickAccessEntry}. Otherwise returns
+	 * <code>null</code>;
+	 *
+	 * @param filter              compiled filter for matching
+	 * @param providerForMatching the provider that will own the entry
+	 * @return a quick access entry or <code>null</code>
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public QuickAccessEntry match(QuickAccessFilter filter, QuickAccessProvider providerForMatching) {
+		if (isRejected(filter, providerForMatching)) {
+			return null;
+		}
+		QuickAccessEntry entry = doMatch(filter, providerForMatching);
+		if (entry == null) {
+			rejection = new Rejection(filter, providerForMatching);
+		}
+		return entry;
+	}
+
+	private QuickAccessEntry doMatch(QuickAccessFilter filter, QuickAccessProvider providerForMatching) {
+		char[] filterChars = filter.getChars();
+		int filterLength = filterChars.length;
 		// first occurrence of filter
-		int index = matchLabel.toLowerCase().indexOf(filter);
-		if (index != -1) {
-			index = element.getLabel().toLowerCase().indexOf(filter);
+		int matchIndex = QuickAccessFilter.indexOf(lowerMatchLabel, filterChars);
+		if (matchIndex != -1) {
+			int index = QuickAccessFilter.indexOf(lowerLabel, filterChars);
 			if (index != -1) { // match actual label
-				int quality = matchLabel.toLowerCase().equals(filter) ? QuickAccessEntry.MATCH_PERFECT
-						: (matchLabel.toLowerCase().startsWith(filter) ? QuickAccessEntry.MATCH_EXCELLENT
-								: QuickAccessEntry.MATCH_GOOD);
+				int quality = lowerMatchLabel.length == filterLength ? QuickAccessEntry.MATCH_PERFECT
+						: (matchIndex == 0 ? QuickAccessEntry.MATCH_EXCELLENT : QuickAccessEntry.MATCH_GOOD);
 				return new QuickAccessEntry(element, providerForMatching,
-						new int[][] { { index, index + filter.length() - 1 } }, EMPTY_INDICES, quality);
+						new int[][] { { index, index + filterLength - 1 } }, EMPTY_INDICES, quality);
 			}
 			return new QuickAccessEntry(element, providerForMatching, EMPTY_INDICES, EMPTY_INDICES,
 					QuickAccessEntry.MATCH_PARTIAL);
 		}
 		//
-		Pattern p;
-		if (filter.contains("*") || filter.contains("?")) { //$NON-NLS-1$ //$NON-NLS-2$
-			// check for wildcards
-			p = getWildcardsPattern(filter);
-		} else {
-			// check for whitespaces
-			p = getWhitespacesPattern(filter);
-		}
-		Matcher m = p.matcher(matchLabel);
+		int[][] indices = filter.matchSegments(lowerMatchLabel);
 		// if matches, return an entry
-		if (m.matches()) {
+		if (indices != null) {
 			// and highlight match on the label only
-			String label = element.getLabel();
-			if (!matchLabel.equals(label)) {
-				m = p.matcher(element.getLabel());
-				if (!m.matches()) {
+			if (lowerLabel != lowerMatchLabel) {
+				indices = filter.matchSegments(lowerLabel);
+				if (indices == null) {
 					return new QuickAccessEntry(element, providerForMatching, EMPTY_INDICES, EMPTY_INDICES,
 							QuickAccessEntry.MATCH_GOOD);
 				}
 			}
-			int groupCount = m.groupCount();
-			int[][] indices = new int[groupCount][];
-			for (int i = 0; i < groupCount; i++) {
-				int nGrp = i + 1;
-				// capturing group
-				indices[i] = new int[] { m.start(nGrp), m.end(nGrp) - 1 };
-			}
 			// return match and list of indices
 			int quality = QuickAccessEntry.MATCH_EXCELLENT;
 			return new QuickAccessEntry(element, providerForMatching, indices, EMPTY_INDICES, quality);
 		}
 		//
-		String combinedMatchLabel = (providerForMatching.getName() + " " + element.getMatchLabel()); //$NON-NLS-1$
-		String combinedLabel = (providerForMatching.getName() + " " + element.getLabel()); //$NON-NLS-1$
-		index = combinedMatchLabel.toLowerCase().indexOf(filter);
+		ProviderLabels combined = getProviderLabels(providerForMatching);
+		int index = QuickAccessFilter.indexOf(combined.matchLabel, filterChars);
 		if (index != -1) { // match
-			index = combinedLabel.toLowerCase().indexOf(filter);
+			index = QuickAccessFilter.indexOf(combined.label, filterChars);
 			if (index != -1) { // compute highlight on label
-				int lengthOfElementMatch = index + filter.length() - providerForMatching.getName().length() - 1;
+				int lengthOfElementMatch = index + filterLength - combined.providerNameLength - 1;
 				if (lengthOfElementMatch > 0) {
 					return new QuickAccessEntry(element, providerForMatching,
 							new int[][] { { 0, lengthOfElementMatch - 1 } },
-							new int[][] { { index, index + filter.length() - 1 } }, QuickAccessEntry.MATCH_GOOD);
+							new int[][] { { index, index + filterLength - 1 } }, QuickAccessEntry.MATCH_GOOD);
 				}
 				return new QuickAccessEntry(element, providerForMatching, EMPTY_INDICES,
-						new int[][] { { index, index + filter.length() - 1 } }, QuickAccessEntry.MATCH_GOOD);
+						new int[][] { { index, index + filterLength - 1 } }, QuickAccessEntry.MATCH_GOOD);
 			}
 			return new QuickAccessEntry(element, providerForMatching, EMPTY_INDICES, EMPTY_INDICES,
 					QuickAccessEntry.MATCH_PARTIAL);
 		}
 		//
-		String camelCase = CamelUtil.getCamelCase(element.getLabel()); // use actual label for camelcase
-		index = camelCase.indexOf(filter);
+		index = QuickAccessFilter.indexOf(camelCase, filterChars);
 		if (index != -1) {
-			int[][] indices = CamelUtil.getCamelCaseIndices(matchLabel, index, filter.length());
-			return new QuickAccessEntry(element, providerForMatching, indices, EMPTY_INDICES,
+			int[][] camelIndices = CamelUtil.getCamelCaseIndices(matchLabel, index, filterLength);
+			return new QuickAccessEntry(element, providerForMatching, camelIndices, EMPTY_INDICES,
 					QuickAccessEntry.MATCH_GOOD);
 		}
-		String combinedCamelCase = CamelUtil.getCamelCase(combinedLabel);
-		index = combinedCamelCase.indexOf(filter);
+		index = QuickAccessFilter.indexOf(combined.camelCase, filterChars);
 		if (index != -1) {
-			String providerCamelCase = CamelUtil.getCamelCase(providerForMatching.getName());
-			int lengthOfElementMatch = index + filter.length() - providerCamelCase.length();
+			String providerName = providerForMatching.getName();
+			int lengthOfElementMatch = index + filterLength - combined.providerCamelCaseLength;
 			if (lengthOfElementMatch > 0) {
 				return new QuickAccessEntry(element, providerForMatching,
 						CamelUtil.getCamelCaseIndices(matchLabel, 0, lengthOfElementMatch),
-						CamelUtil.getCamelCaseIndices(providerForMatching.getName(), index,
-								filter.length() - lengthOfElementMatch),
+						CamelUtil.getCamelCaseIndices(providerName, index, filterLength - lengthOfElementMatch),
 						QuickAccessEntry.MATCH_GOOD);
 			}
 			return new QuickAccessEntry(element, providerForMatching, EMPTY_INDICES,
-					CamelUtil.getCamelCaseIndices(providerForMatching.getName(), index, filter.length()),
-					QuickAccessEntry.MATCH_GOOD);
+					CamelUtil.getCamelCaseIndices(providerName, index, filterLength), QuickAccessEntry.MATCH_GOOD);
 		}
 		return null;
 	}
+
+	private ProviderLabels getProviderLabels(QuickAccessProvider provider) {
+		ProviderLabels labels = providerLabels;
+		if (labels == null || labels.provider != provider) {
+			labels = new ProviderLabels(provider, matchLabel, element.getLabel());
+			providerLabels = labels;
+		}
+		return labels;
+	}
 }
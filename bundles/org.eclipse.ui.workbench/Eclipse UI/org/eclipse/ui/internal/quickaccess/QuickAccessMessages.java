@@ -47,6 +47,7 @@ public class QuickAccessMessages extends NLS {
 	public static String QuickAccessContents_computeMatchingEntries_displayFeedback_jobName;
 	public static String QuickaAcessContents_computeMatchingEntries;
 	public static String QuickAccessContents_processingProviderInUI;
+	public static String QuickAccessContents_processingProvider;
 
 	static {
 		// initialize resource bundle
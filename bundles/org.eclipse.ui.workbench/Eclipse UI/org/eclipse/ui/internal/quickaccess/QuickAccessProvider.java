@@ -10,11 +10,14 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - persistent label index
  *******************************************************************************/
 package org.eclipse.ui.internal.quickaccess;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -84,7 +87,7 @@ public abstract class QuickAccessProvider {
 			if (cacheSortedElements == null) {
 				cacheSortedElements = new QuickAccessElement[0];
 			}
-			Arrays.sort(cacheSortedElements, Comparator.comparing(QuickAccessElement::getSortLabel));
+			sortElements(cacheSortedElements);
 		}
 		if (filter == null) {
 			return cacheSortedElements;
@@ -99,6 +102,19 @@ public abstract class QuickAccessProvider {
 		return res.toArray(new QuickAccessElement[res.size()]);
 	}
 
+	private void sortElements(QuickAccessElement[] elements) {
+		if (!isIndexable()) {
+			Arrays.sort(elements, Comparator.comparing(QuickAccessElement::getSortLabel));
+			return;
+		}
+		QuickAccessIndex index = QuickAccessIndex.getDefault();
+		Map<QuickAccessElement, String> sortLabels = new IdentityHashMap<>(elements.length);
+		for (QuickAccessElement element : elements) {
+			sortLabels.put(element, index.getLabels(this, element).sortLabel);
+		}
+		Arrays.sort(elements, Comparator.comparing(sortLabels::get));
+	}
+
 	/**
 	 * Returns the element for the given ID if available, or null if no matching
 	 * element is available.
@@ -147,4 +163,17 @@ public abstract class QuickAccessProvider {
 		return false;
 	}
 
+	/**
+	 * Returns whether the labels of the elements of this provider only depend on
+	 * the installed contributions and the locale, so they may be kept in the
+	 * {@link QuickAccessIndex} across sessions. Elements are identified by
+	 * {@link QuickAccessElement#getId()}.
+	 *
+	 * @return {@code true} if the element labels can be indexed, {@code false}
+	 *         otherwise.
+	 */
+	public boolean isIndexable() {
+		return false;
+	}
+
 }
@@ -11,6 +11,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 472654
+ *     Eclipse contributors - persistent label index
  *******************************************************************************/
 
 package org.eclipse.ui.internal.quickaccess.providers;
@@ -80,6 +81,11 @@ public class PerspectiveProvider extends QuickAccessProvider {
 		idToElement.clear();
 	}
 
+	@Override
+	public boolean isIndexable() {
+		return true;
+	}
+
 	@Override
 	public boolean requiresUiAccess() {
 		return true;
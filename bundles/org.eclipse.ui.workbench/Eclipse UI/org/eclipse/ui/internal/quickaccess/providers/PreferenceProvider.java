@@ -11,6 +11,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 472654
+ *     Eclipse contributors - persistent label index
  *******************************************************************************/
 
 package org.eclipse.ui.internal.quickaccess.providers;
@@ -91,6 +92,11 @@ public class PreferenceProvider extends QuickAccessProvider {
 		idToElement.clear();
 	}
 
+	@Override
+	public boolean isIndexable() {
+		return true;
+	}
+
 	@Override
 	public boolean requiresUiAccess() {
 		return true; // workbenchActivitySupport.getActivityManager() seems to require UI Thread
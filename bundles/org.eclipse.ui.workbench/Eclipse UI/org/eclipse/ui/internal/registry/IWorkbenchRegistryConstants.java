@@ -16,6 +16,7 @@
  *     Semion Chichelnitsky (semion@il.ibm.com) - bug 208564
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 441184, 441280
  *     Denis Zygann <d.zygann@web.de> - Bug 457390
+ *     Eclipse contributors - startup ordering attribute
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
@@ -43,6 +44,14 @@ public interface IWorkbenchRegistryConstants {
 	 */
 	String ATT_ADVISORID = "triggerPointAdvisorId"; //$NON-NLS-1$
 
+	/**
+	 * Plug-ins whose early startup runs before a startup element. Value
+	 * <code>after</code>.
+	 *
+	 * @since 3.129
+	 */
+	String ATT_AFTER = "after"; //$NON-NLS-1$
+
 	/**
 	 * Allow label update attribute. Value <code>allowLabelUpdate</code>.
 	 */
@@ -120,6 +120,82 @@ public class ViewCSSTest {
 		assertEquals("color: blue;", buttonStyle.getCssText());
 	}
 
+	@Test
+	void testIndexedSelectorsKeepStylesheetOrder() throws Exception {
+		// the rules end up in different index buckets (id, class, element,
+		// universal), the position in the stylesheet must still win on equal
+		// specificity
+		String css = ".ClassA { color: red; }\n" + "Button.ClassB { color: green; }\n"
+				+ "* > Button.ClassA { color: blue; }\n" + "Label { color: black; }\n"
+				+ "#MyId { font-weight: bold; }\n" + "* { font-style: italic; }\n";
+		ViewCSS viewCSS = createViewCss(css);
+
+		final TestElement shell = new TestElement("Shell", engine);
+		final TestElement button = new TestElement("Button", shell, engine);
+		button.setClass("ClassB  ClassA");
+		button.setId("MyId");
+
+		CSSStyleDeclaration buttonStyle = viewCSS.getComputedStyle(button, null);
+		assertNotNull(buttonStyle);
+		assertEquals("blue", buttonStyle.getPropertyCSSValue("color").getCssText());
+		assertEquals("bold", buttonStyle.getPropertyCSSValue("font-weight").getCssText());
+		assertEquals("italic", buttonStyle.getPropertyCSSValue("font-style").getCssText());
+
+		final TestElement label = new TestElement("Label", shell, engine);
+		CSSStyleDeclaration labelStyle = viewCSS.getComputedStyle(label, null);
+		assertNotNull(labelStyle);
+		assertEquals("black", labelStyle.getPropertyCSSValue("color").getCssText());
+		assertNull(labelStyle.getPropertyCSSValue("font-weight"));
+	}
+
+	@Test
+	void testComputedStyleSharedBySignature() throws Exception {
+		String css = "Shell > Button { color: blue; }\n" + "Button.Red { color: red; }\n"
+				+ "Button[flat='true'] { font-weight: bold; }\n";
+		ViewCSS viewCSS = createViewCss(css);
+
+		final TestElement shell = new TestElement("Shell", engine);
+		final TestElement button1 = new TestElement("Button", shell, engine);
+		final TestElement button2 = new TestElement("Button", shell, engine);
+		final TestElement button3 = new TestElement("Button", shell, engine);
+		button3.setClass("Red");
+		final TestElement button4 = new TestElement("Button", shell, engine);
+		button4.setAttribute("flat", "true");
+
+		CSSStyleDeclaration style1 = viewCSS.getComputedStyle(button1, null);
+		assertNotNull(style1);
+		assertSame(style1, viewCSS.getComputedStyle(button2, null));
+
+		CSSStyleDeclaration style3 = viewCSS.getComputedStyle(button3, null);
+		assertNotSame(style1, style3);
+		assertEquals("red", style3.getPropertyCSSValue("color").getCssText());
+
+		CSSStyleDeclaration style4 = viewCSS.getComputedStyle(button4, null);
+		assertNotSame(style1, style4);
+		assertEquals("bold", style4.getPropertyCSSValue("font-weight").getCssText());
+
+		// a different ancestor chain does not share the style
+		final TestElement composite = new TestElement("Composite", engine);
+		final TestElement button5 = new TestElement("Button", composite, engine);
+		assertNull(viewCSS.getComputedStyle(button5, null));
+	}
+
+	@Test
+	void testComputedStyleCacheFlushedOnStyleSheetChange() throws Exception {
+		CSSStyleSheet styleSheet = ParserTestUtil.parseCss("Button { color: blue; }\n");
+		DocumentCSSImpl docCss = new DocumentCSSImpl();
+		docCss.addStyleSheet(styleSheet);
+		ViewCSSImpl viewCSS = new ViewCSSImpl(docCss);
+
+		final TestElement button = new TestElement("Button", engine);
+		CSSStyleDeclaration style = viewCSS.getComputedStyle(button, null);
+		assertEquals("blue", style.getPropertyCSSValue("color").getCssText());
+
+		docCss.addStyleSheet(ParserTestUtil.parseCss("Button { color: green; }\n"));
+		style = viewCSS.getComputedStyle(button, null);
+		assertEquals("green", style.getPropertyCSSValue("color").getCssText());
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	void testRuleCaching() throws Exception {
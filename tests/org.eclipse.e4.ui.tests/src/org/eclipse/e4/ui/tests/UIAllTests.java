@@ -16,6 +16,7 @@
 
 package org.eclipse.e4.ui.tests;
 
+import org.eclipse.e4.ui.tests.application.BatchingUIEventHandlerTest;
 import org.eclipse.e4.ui.tests.application.Bug299755Test;
 import org.eclipse.e4.ui.tests.application.Bug308220Test;
 import org.eclipse.e4.ui.tests.application.Bug320857Test;
@@ -49,6 +50,7 @@ import org.eclipse.e4.ui.tests.workbench.PartOnTopManagerTest;
 import org.eclipse.e4.ui.tests.workbench.PartRenderingEngineTests;
 import org.eclipse.e4.ui.tests.workbench.SWTPartRendererTest;
 import org.eclipse.e4.ui.tests.workbench.SashRendererTest;
+import org.eclipse.e4.ui.tests.workbench.StartupTimelineTest;
 import org.eclipse.e4.ui.tests.workbench.TopoSortTests;
 import org.eclipse.e4.ui.workbench.renderers.swt.MenuManagerRendererTest;
 import org.eclipse.e4.ui.workbench.renderers.swt.StackRendererTest;
@@ -66,6 +68,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 		StartupTestSuite.class,
 		UIEventTypesTest.class,
+		BatchingUIEventHandlerTest.class,
 		Bug299755Test.class,
 		Bug308220Test.class,
 		Bug320857Test.class,
@@ -102,7 +105,8 @@ import org.junit.runners.Suite;
 		E4ResourceTest.class,
 		AreaRendererTest.class,
 		SWTPartRendererTest.class,
-		ModelServiceImplTest.class
+		ModelServiceImplTest.class,
+		StartupTimelineTest.class
 })
 public class UIAllTests {
 }
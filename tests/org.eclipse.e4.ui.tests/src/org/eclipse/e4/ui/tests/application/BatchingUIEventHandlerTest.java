@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.e4.ui.tests.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.e4.ui.services.events.IBatchingEventHandler;
+import org.eclipse.e4.ui.services.internal.events.BatchingUIEventHandler;
+import org.eclipse.e4.ui.workbench.UIEvents;
+import org.junit.Test;
+import org.osgi.service.event.Event;
+
+/**
+ * Tests the queued delivery of the {@link BatchingUIEventHandler}.
+ */
+public class BatchingUIEventHandlerTest {
+
+	private static final String TOPIC = UIEvents.UIElement.TOPIC_TOBERENDERED;
+
+	/**
+	 * Queues asynchronous runnables until {@link #runAsyncRunnables()}.
+	 */
+	private static class QueueingUISynchronize extends UISynchronize {
+		final Deque<Runnable> asyncRunnables = new ArrayDeque<>();
+
+		@Override
+		public void syncExec(Runnable runnable) {
+			runnable.run();
+		}
+
+		@Override
+		public void asyncExec(Runnable runnable) {
+			asyncRunnables.add(runnable);
+		}
+
+		void runAsyncRunnables() {
+			Runnable runnable;
+			while ((runnable = asyncRunnables.poll()) != null) {
+				runnable.run();
+			}
+		}
+
+		@Override
+		protected boolean isUIThread(Thread thread) {
+			return true;
+		}
+
+		@Override
+		protected void showBusyWhile(Runnable runnable) {
+			runnable.run();
+		}
+
+		@Override
+		protected boolean dispatchEvents() {
+			return false;
+		}
+	}
+
+	private static class RecordingHandler implements IBatchingEventHandler {
+		final List<Event> events = new ArrayList<>();
+		final boolean coalesce;
+
+		RecordingHandler(boolean coalesce) {
+			this.coalesce = coalesce;
+		}
+
+		@Override
+		public Object getCoalescingKey(Event event) {
+			return coalesce ? IBatchingEventHandler.topicAndProperty(event, UIEvents.EventTags.ELEMENT) : null;
+		}
+
+		@Override
+		public void handleEvent(Event event) {
+			events.add(event);
+		}
+	}
+
+	@Test
+	public void testEventsDeliveredInOneBatch() {
+		QueueingUISynchronize uiSync = new QueueingUISynchronize();
+		RecordingHandler handler = new RecordingHandler(false);
+		BatchingUIEventHandler batching = new BatchingUIEventHandler(handler, uiSync);
+
+		for (int i = 0; i < 10; i++) {
+			batching.handleEvent(createEvent(i % 2, i));
+		}
+		assertEquals(1, uiSync.asyncRunnables.size());
+		assertTrue(handler.events.isEmpty());
+
+		uiSync.runAsyncRunnables();
+		assertEquals(10, handler.events.size());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(Integer.valueOf(i), handler.events.get(i).getProperty(UIEvents.EventTags.NEW_VALUE));
+		}
+	}
+
+	@Test
+	public void testCoalescedEventsKeepMostRecent() {
+		QueueingUISynchronize uiSync = new QueueingUISynchronize();
+		RecordingHandler handler = new RecordingHandler(true);
+		BatchingUIEventHandler batching = new BatchingUIEventHandler(handler, uiSync);
+
+		batching.handleEvent(createEvent(0, 0));
+		batching.handleEvent(createEvent(1, 1));
+		batching.handleEvent(createEvent(0, 2));
+		uiSync.runAsyncRunnables();
+
+		assertEquals(2, handler.events.size());
+		assertEquals(Integer.valueOf(1), handler.events.get(0).getProperty(UIEvents.EventTags.NEW_VALUE));
+		assertEquals(Integer.valueOf(2), handler.events.get(1).getProperty(UIEvents.EventTags.NEW_VALUE));
+	}
+
+	@Test
+	public void testQueuedEventsDroppedOnDispose() {
+		QueueingUISynchronize uiSync = new QueueingUISynchronize();
+		RecordingHandler handler = new RecordingHandler(false);
+		BatchingUIEventHandler batching = new BatchingUIEventHandler(handler, uiSync);
+
+		batching.handleEvent(createEvent(0, 0));
+		batching.dispose();
+		uiSync.runAsyncRunnables();
+		assertTrue(handler.events.isEmpty());
+
+		// events received after the subscription ended are ignored as well
+		batching.handleEvent(createEvent(0, 1));
+		assertTrue(uiSync.asyncRunnables.isEmpty());
+		assertTrue(handler.events.isEmpty());
+	}
+
+	private static Event createEvent(int element, int value) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(UIEvents.EventTags.ELEMENT, Integer.valueOf(element));
+		properties.put(UIEvents.EventTags.NEW_VALUE, Integer.valueOf(value));
+		return new Event(TOPIC, properties);
+	}
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.tests.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.services.events.EventBrokerFactory;
+import org.eclipse.e4.ui.services.internal.events.DirectEventBroker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Tests of the event broker dispatching events in-process
+ */
+public class DirectEventBrokerTest extends UITest {
+	private static final String TEST_TOPIC = "test/DirectEventBrokerTest/topic";
+
+	private AtomicInteger seen;
+	private IEclipseContext context;
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		seen = new AtomicInteger(0);
+		context = application.getContext().createChild(getClass().getName());
+		context.set(EventBrokerFactory.DIRECT_DISPATCH, Boolean.TRUE);
+	}
+
+	@After
+	@Override
+	public void tearDown() throws Exception {
+		super.tearDown();
+		context.dispose();
+	}
+
+	@Test
+	public void testDirectBrokerSelected() {
+		assertTrue(context.get(IEventBroker.class) instanceof DirectEventBroker);
+	}
+
+	@Test
+	public void testPublish() {
+		IEventBroker eb = context.get(IEventBroker.class);
+		Object data = new Object();
+		List<Object> received = new ArrayList<>();
+		eb.subscribe(TEST_TOPIC, event -> received.add(event.getProperty(IEventBroker.DATA)));
+		eb.send(TEST_TOPIC, data);
+		assertEquals(1, received.size());
+		assertSame(data, received.get(0));
+	}
+
+	@Test
+	public void testWildcards() {
+		IEventBroker eb = context.get(IEventBroker.class);
+		List<String> received = Collections.synchronizedList(new ArrayList<>());
+		eb.subscribe("*", event -> received.add("*"));
+		eb.subscribe("test/DirectEventBrokerTest/*", event -> received.add("test/DirectEventBrokerTest/*"));
+		eb.subscribe("test/*", event -> received.add("test/*"));
+		eb.subscribe("test/DirectEventBrokerTest/other", event -> received.add("other"));
+
+		eb.send(TEST_TOPIC, null);
+		assertEquals(List.of("*", "test/DirectEventBrokerTest/*", "test/*"), received);
+
+		received.clear();
+		eb.send("test/DirectEventBrokerTest", null);
+		assertEquals(List.of("*", "test/*"), received);
+	}
+
+	@Test
+	public void testFilter() {
+		IEventBroker eb = context.get(IEventBroker.class);
+		eb.subscribe(TEST_TOPIC, "(kind=interesting)", event -> seen.incrementAndGet(), true);
+		eb.send(TEST_TOPIC, Map.of("kind", "boring"));
+		eb.send(TEST_TOPIC, Map.of("kind", "interesting"));
+		assertEquals(1, seen.get());
+	}
+
+	@Test
+	public void testMixedWithServiceBroker() {
+		IEventBroker direct = context.get(IEventBroker.class);
+		IEclipseContext serviceContext = application.getContext().createChild();
+		serviceContext.set(EventBrokerFactory.DIRECT_DISPATCH, Boolean.FALSE);
+		IEventBroker service = serviceContext.get(IEventBroker.class);
+		try {
+			// events of the direct broker reach event handler services and
+			// vice versa
+			service.subscribe(TEST_TOPIC, event -> seen.incrementAndGet());
+			direct.send(TEST_TOPIC, new Object());
+			assertEquals(1, seen.get());
+
+			direct.subscribe(TEST_TOPIC, event -> seen.incrementAndGet());
+			service.send(TEST_TOPIC, new Object());
+			assertEquals(3, seen.get());
+		} finally {
+			serviceContext.dispose();
+		}
+	}
+
+	@Test
+	public void testForwardedEventKeepsPayload() {
+		IEventBroker direct = context.get(IEventBroker.class);
+		IEclipseContext serviceContext = application.getContext().createChild();
+		serviceContext.set(EventBrokerFactory.DIRECT_DISPATCH, Boolean.FALSE);
+		IEventBroker service = serviceContext.get(IEventBroker.class);
+		try {
+			Set<String> propertyNames = new TreeSet<>();
+			service.subscribe(TEST_TOPIC, event -> Collections.addAll(propertyNames, event.getPropertyNames()));
+			direct.send(TEST_TOPIC, Map.of("kind", "forwarded"));
+			assertEquals(Set.of(EventConstants.EVENT_TOPIC, IEventBroker.DATA, "kind"), propertyNames);
+		} finally {
+			serviceContext.dispose();
+		}
+	}
+
+	@Test
+	public void testDisposeDispatcherUnregistersBridge() throws Exception {
+		IEventBroker eb = context.get(IEventBroker.class);
+		eb.subscribe(TEST_TOPIC, event -> seen.incrementAndGet());
+		BundleContext bundleContext = FrameworkUtil.getBundle(DirectEventBroker.class).getBundleContext();
+		String filter = "(" + EventConstants.EVENT_TOPIC + "=\\*)";
+		// the bridge handler, other "*" handlers of the OSGi broker may exist
+		int registered = countServices(bundleContext, filter);
+		assertTrue(registered > 0);
+
+		DirectEventBroker.disposeDispatcher();
+		assertEquals(registered - 1, countServices(bundleContext, filter));
+	}
+
+	private static int countServices(BundleContext bundleContext, String filter) throws Exception {
+		ServiceReference<?>[] references = bundleContext.getServiceReferences(EventHandler.class.getName(), filter);
+		int count = 0;
+		if (references != null) {
+			for (ServiceReference<?> reference : references) {
+				if (reference.getBundle() == bundleContext.getBundle()) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void testUnsubscribe() {
+		IEventBroker eb = context.get(IEventBroker.class);
+		EventHandler handler = event -> seen.incrementAndGet();
+		eb.subscribe(TEST_TOPIC, handler);
+		eb.subscribe("*", handler);
+		eb.send(TEST_TOPIC, new Object());
+		assertEquals(2, seen.get());
+
+		eb.unsubscribe(handler);
+		eb.send(TEST_TOPIC, new Object());
+		assertEquals("subscription was not removed", 2, seen.get());
+	}
+
+	@Test
+	public void testUnsubscribeOnDispose() {
+		IEventBroker publisher = context.get(IEventBroker.class);
+		IEclipseContext child = context.createChild();
+		IEventBroker subscriber = child.get(IEventBroker.class);
+		subscriber.subscribe(TEST_TOPIC, event -> seen.incrementAndGet());
+
+		publisher.send(TEST_TOPIC, new Object());
+		assertEquals(1, seen.get());
+
+		child.dispose();
+
+		publisher.send(TEST_TOPIC, new Object());
+		assertEquals("event broker did not properly unsubscribe on dispose", 1, seen.get());
+	}
+}
@@ -11,14 +11,18 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Steven Spungin <steven@spungin.tv> - Bug 437958
+ *     Eclipse contributors - binary model format tests
  ******************************************************************************/
 
 package org.eclipse.e4.ui.tests.application;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -26,6 +30,8 @@ import java.util.List;
 import org.eclipse.e4.core.contexts.ContextInjectionFactory;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.e4.ui.internal.workbench.E4BinaryResource;
+import org.eclipse.e4.ui.internal.workbench.E4ModelResource;
 import org.eclipse.e4.ui.internal.workbench.E4Workbench;
 import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
 import org.eclipse.e4.ui.internal.workbench.ResourceHandler;
@@ -77,11 +83,18 @@ public class ResourceHandlerTest {
 	}
 
 	private ResourceHandler createHandler(URI uri) {
+		return createHandler(uri, null, true);
+	}
+
+	private ResourceHandler createHandler(URI uri, String modelFormat, boolean clearPersistedState) {
 		IEclipseContext appContext = E4Application.createDefaultContext();
 		IEclipseContext localContext = appContext.createChild();
 		localContext.set(E4Workbench.INSTANCE_LOCATION, getInstanceLocation());
 		localContext.set(IWorkbench.PERSIST_STATE, Boolean.TRUE);
-		localContext.set(IWorkbench.CLEAR_PERSISTED_STATE, Boolean.TRUE);
+		localContext.set(IWorkbench.CLEAR_PERSISTED_STATE, Boolean.valueOf(clearPersistedState));
+		if (modelFormat != null) {
+			localContext.set(E4Workbench.PERSISTED_MODEL_FORMAT, modelFormat);
+		}
 
 		localContext.set(E4Workbench.INITIAL_WORKBENCH_MODEL_URI, uri);
 
@@ -234,4 +247,90 @@ public class ResourceHandlerTest {
 		MApplication unchangedApplication = (MApplication) verifyResource.getContents().get(0);
 		assertEquals(2, unchangedApplication.getChildren().size());
 	}
+
+	@Test
+	public void testBinaryModelFormat() throws IOException {
+		URI uri = URI.createPlatformPluginURI("org.eclipse.e4.ui.tests/xmi/modelprocessor/base.e4xmi", true);
+
+		ResourceHandler handler = createHandler(uri, E4Workbench.MODEL_FORMAT_BINARY, true);
+		Resource resource = handler.loadMostRecentModel();
+		assertTrue(resource instanceof E4BinaryResource);
+		MApplication application = (MApplication) resource.getContents().get(0);
+		MWindow window = application.getChildren().get(1);
+		assertEquals("_w4fQ8HVHEd-aXt9fFntEtw", ((E4ModelResource) resource).getID((EObject) window));
+		handler.save();
+
+		ResourceHandler restoreHandler = createHandler(uri, E4Workbench.MODEL_FORMAT_BINARY, false);
+		Resource restoredResource = restoreHandler.loadMostRecentModel();
+		assertTrue(restoredResource instanceof E4BinaryResource);
+		MWindow restoredWindow = (MWindow) restoredResource.getEObject("_w4fQ8HVHEd-aXt9fFntEtw");
+		assertNotNull(restoredWindow);
+		assertEquals("fragment.contributedWindow", restoredWindow.getElementId());
+		assertEquals(window.getChildren().size(), restoredWindow.getChildren().size());
+		assertEquals(((E4ModelResource) resource).getID((EObject) window.getChildren().get(0)),
+				((E4ModelResource) restoredResource).getID((EObject) restoredWindow.getChildren().get(0)));
+	}
+
+	@Test
+	public void testBinaryModelFilter() throws IOException {
+		URI uri = URI.createPlatformPluginURI("org.eclipse.e4.ui.tests/xmi/modelprocessor/base.e4xmi", true);
+
+		ResourceHandler handler = createHandler(uri, E4Workbench.MODEL_FORMAT_BINARY, true);
+		Resource resource = handler.loadMostRecentModel();
+		MApplication application = (MApplication) resource.getContents().get(0);
+		MWindow window = application.getChildren().get(1);
+		MWindow dynamicWindow = MBasicFactory.INSTANCE.createWindow();
+		dynamicWindow.getPersistedState().put(IWorkbench.PERSIST_STATE, "false");
+		application.getChildren().add(1, dynamicWindow);
+		handler.save();
+
+		// the filtered window is left out, the IDs still match the elements
+		ResourceHandler restoreHandler = createHandler(uri, E4Workbench.MODEL_FORMAT_BINARY, false);
+		Resource restoredResource = restoreHandler.loadMostRecentModel();
+		MApplication restoredApplication = (MApplication) restoredResource.getContents().get(0);
+		assertEquals(application.getChildren().size() - 1, restoredApplication.getChildren().size());
+		MWindow restoredWindow = restoredApplication.getChildren().get(1);
+		assertEquals(window.getElementId(), restoredWindow.getElementId());
+		assertEquals(((E4ModelResource) resource).getID((EObject) window),
+				((E4ModelResource) restoredResource).getID((EObject) restoredWindow));
+	}
+
+	@Test
+	public void testMigrateModelFormat() throws IOException {
+		URI uri = URI.createPlatformPluginURI("org.eclipse.e4.ui.tests/xmi/modelprocessor/base.e4xmi", true);
+
+		// saved as XMI
+		ResourceHandler handler = createHandler(uri, E4Workbench.MODEL_FORMAT_XMI, true);
+		Resource resource = handler.loadMostRecentModel();
+		assertTrue(resource instanceof E4XMIResource);
+		MWindow window = ((MApplication) resource.getContents().get(0)).getChildren().get(0);
+		String windowId = ((E4ModelResource) resource).getID((EObject) window);
+		handler.save();
+
+		// restored from the XMI file into the binary format
+		ResourceHandler binaryHandler = createHandler(uri, E4Workbench.MODEL_FORMAT_BINARY, false);
+		Resource binaryResource = binaryHandler.loadMostRecentModel();
+		assertTrue(binaryResource instanceof E4BinaryResource);
+		EObject binaryWindow = binaryResource.getEObject(windowId);
+		assertSame(((MApplication) binaryResource.getContents().get(0)).getChildren().get(0), binaryWindow);
+		((MWindow) binaryWindow).setLabel("migrated");
+		binaryHandler.save();
+
+		// the XMI file is replaced by the binary one
+		File xmiFile = new File(resource.getURI().toFileString());
+		File binaryFile = new File(binaryResource.getURI().toFileString());
+		assertTrue(binaryFile.exists());
+		assertFalse(xmiFile.exists());
+
+		// and back
+		ResourceHandler xmiHandler = createHandler(uri, E4Workbench.MODEL_FORMAT_XMI, false);
+		Resource xmiResource = xmiHandler.loadMostRecentModel();
+		assertTrue(xmiResource instanceof E4XMIResource);
+		MWindow xmiWindow = (MWindow) xmiResource.getEObject(windowId);
+		assertSame(((MApplication) xmiResource.getContents().get(0)).getChildren().get(0), xmiWindow);
+		assertEquals("migrated", xmiWindow.getLabel());
+		xmiHandler.save();
+		assertTrue(xmiFile.exists());
+		assertFalse(binaryFile.exists());
+	}
 }
@@ -15,19 +15,25 @@
 package org.eclipse.e4.ui.tests.application;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
 import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.services.events.IEventTopicRegistry;
 import org.eclipse.e4.ui.workbench.UIEvents;
 import org.eclipse.emf.common.util.EList;
 import org.junit.Before;
 import org.junit.Test;
 import org.osgi.service.event.Event;
+import org.osgi.service.event.EventConstants;
 
 /**
  * Tests the translation of the EMF Notification.* types to UIEvents.EventType.*
@@ -199,4 +205,41 @@ public class UIEventTypesTest extends HeadlessApplicationElementTest {
 		assertEquals(null, event.getProperty(UIEvents.EventTags.NEW_VALUE));
 	}
 
+	@Test
+	public void testEventData() {
+		applicationElement.setElementId("aaa");
+		assertEquals(1, eventCount);
+		Object data = event.getProperty(IEventBroker.DATA);
+		assertTrue(data instanceof Map<?, ?>);
+		Map<?, ?> map = (Map<?, ?>) data;
+		assertEquals(applicationElement, map.get(UIEvents.EventTags.ELEMENT));
+		assertEquals("aaa", map.get(UIEvents.EventTags.NEW_VALUE));
+		assertFalse(map.containsKey(UIEvents.EventTags.OLD_VALUE));
+		// the data holds the event tags only, like the map the publisher used to send
+		assertFalse(map.containsKey(EventConstants.EVENT_TOPIC));
+		assertFalse(map.containsKey(IEventBroker.DATA));
+		assertEquals(new HashMap<>(map), map);
+		assertEquals(new HashMap<>(map).hashCode(), map.hashCode());
+	}
+
+	@Test
+	public void testEventsWithoutSubscribersSuppressed() {
+		IEclipseContext appContext = rule.getApplicationContext();
+		UIEventPublisher publisher = appContext.get(UIEventPublisher.class);
+		IEventBroker appEB = appContext.get(IEventBroker.class);
+		String topic = "org/eclipse/e4/ui/model/application/ApplicationElement/contributorURI/"
+				+ UIEvents.EventTypes.SET;
+		assertTrue(appEB instanceof IEventTopicRegistry);
+		assertFalse(((IEventTopicRegistry) appEB).hasSubscribers(topic));
+
+		long published = publisher.getPublishedEventCount();
+		long suppressed = publisher.getSuppressedEventCount();
+		applicationElement.setContributorURI("platform:/plugin/org.eclipse.e4.ui.tests");
+		assertEquals(published, publisher.getPublishedEventCount());
+		assertEquals(suppressed + 1, publisher.getSuppressedEventCount());
+
+		applicationElement.setElementId("aaa");
+		assertEquals(1, eventCount);
+		assertEquals(published + 1, publisher.getPublishedEventCount());
+	}
 }
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.e4.ui.tests.workbench;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.eclipse.e4.ui.internal.workbench.StartupTimeline;
+import org.eclipse.e4.ui.internal.workbench.StartupTimeline.Recorder;
+import org.eclipse.e4.ui.internal.workbench.StartupTimeline.Span;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the trace-event JSON written by the {@link StartupTimeline}.
+ */
+public class StartupTimelineTest {
+
+	private Path file;
+	private Recorder recorder;
+
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("timeline", ".json");
+		recorder = new Recorder(file);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		recorder.write();
+		assertEquals("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[]}", read());
+	}
+
+	@Test
+	public void testSpan() throws IOException {
+		try (Span span = recorder.begin(StartupTimeline.CAT_MODEL, "Load model", "org.example")) {
+			// measured
+		}
+		recorder.write();
+		String json = read();
+		assertTrue(json, json.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+		assertTrue(json, json.endsWith("]}"));
+		assertTrue(json, json.contains("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":"
+				+ Thread.currentThread().getId() + ",\"args\":{\"name\":\"" + Thread.currentThread().getName()
+				+ "\"}}"));
+		assertTrue(json, json.contains("{\"name\":\"Load model\",\"cat\":\"model\",\"ph\":\"X\",\"ts\":"));
+		assertTrue(json, json.contains(",\"pid\":1,\"tid\":" + Thread.currentThread().getId()
+				+ ",\"args\":{\"detail\":\"org.example\"}}"));
+		assertEquals(1, count(json, "\"ph\":\"X\""));
+	}
+
+	@Test
+	public void testEscaping() throws IOException {
+		recorder.begin(StartupTimeline.CAT_WORKBENCH, "quote \" backslash \\ tab \t",
+				"newline \n return \r control \u0001 unicode \u00e4").close();
+		recorder.write();
+		String json = read();
+		assertTrue(json, json.contains("\"name\":\"quote \\\" backslash \\\\ tab \\t\""));
+		assertTrue(json,
+				json.contains("\"args\":{\"detail\":\"newline \\n return \\r control \\u0001 unicode \u00e4\"}"));
+		assertFalse(json, json.contains("\u0001"));
+	}
+
+	@Test
+	public void testNullCategory() throws IOException {
+		recorder.begin(null, "span", null).close();
+		recorder.write();
+		String json = read();
+		assertTrue(json, json.contains("{\"name\":\"span\",\"cat\":null,\"ph\":\"X\""));
+		assertFalse(json, json.contains("\"args\":{\"detail\""));
+	}
+
+	@Test
+	public void testWriteContinuesRecording() throws IOException {
+		recorder.begin(StartupTimeline.CAT_RENDER, "first", null).close();
+		recorder.write();
+		assertTrue(read().contains("\"first\""));
+
+		recorder.begin(StartupTimeline.CAT_RENDER, "second", null).close();
+		recorder.write();
+		String json = read();
+		assertTrue(json, json.contains("\"first\""));
+		assertTrue(json, json.contains("\"second\""));
+	}
+
+	@Test
+	public void testFinish() throws IOException {
+		recorder.phase("Model loaded");
+		recorder.begin(StartupTimeline.CAT_EARLY_STARTUP, "open", null).close();
+		Span late = recorder.begin(StartupTimeline.CAT_EARLY_STARTUP, "late", null);
+		recorder.finish();
+		String json = read();
+		assertTrue(json, json.contains("{\"name\":\"Model loaded\",\"cat\":\"workbench\",\"ph\":\"i\",\"ts\":"));
+		assertTrue(json, json.contains(",\"s\":\"g\",\"pid\":1,\"tid\":"));
+		assertTrue(json, json.contains("{\"name\":\"Startup finished\",\"cat\":\"workbench\",\"ph\":\"i\""));
+		assertTrue(json, json.contains("\"open\""));
+
+		// nothing is recorded or written after the timeline is finished
+		late.close();
+		recorder.begin(StartupTimeline.CAT_EARLY_STARTUP, "after", null).close();
+		recorder.phase("after phase");
+		Files.delete(file);
+		recorder.finish();
+		assertFalse(Files.exists(file));
+		recorder.write();
+		json = read();
+		assertFalse(json, json.contains("\"late\""));
+		assertFalse(json, json.contains("after"));
+		assertEquals(1, count(json, "Startup finished"));
+	}
+
+	@Test
+	public void testCapped() throws IOException {
+		recorder = new Recorder(file, 2);
+		recorder.begin(StartupTimeline.CAT_RENDER, "first", null).close();
+		recorder.begin(StartupTimeline.CAT_RENDER, "second", null).close();
+		assertFalse(recorder.isCapped());
+		recorder.begin(StartupTimeline.CAT_RENDER, "third", null).close();
+		assertTrue(recorder.isCapped());
+
+		// a capped timeline is still written when finished and marked as truncated
+		recorder.finish();
+		String json = read();
+		assertTrue(json, json.contains("\"first\""));
+		assertTrue(json, json.contains("\"second\""));
+		assertFalse(json, json.contains("\"third\""));
+		assertTrue(json, json.endsWith("],\"otherData\":{\"truncated\":\"2 events\"}}"));
+	}
+
+	private String read() throws IOException {
+		return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+	}
+
+	private static int count(String text, String part) {
+		int count = 0;
+		for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + part.length())) {
+			count++;
+		}
+		return count;
+	}
+}
@@ -12,6 +12,7 @@
  *     IBM Corporation - initial API and implementation
  *     Matthew Hall - bugs 208858, 221351, 213145, 244098
  *     Simon Scholz <simon.scholz@vogella.com> - Bug 444829
+ *     Eclipse contributors - batched change notifications
  ******************************************************************************/
 
 package org.eclipse.jface.databinding.conformance;
@@ -69,6 +70,28 @@ public class MutableObservableListContractTest extends
 		list = (IObservableList) getObservable();
 	}
 
+	@Test
+	public void testBatch_ListChangeEventsMerged() throws Exception {
+		list.add(delegate.createElement(list));
+		final List oldList = new ArrayList(list);
+		ChangeEventTracker changeListener = ChangeEventTracker.observe(list);
+		ListChangeEventTracker listener = ListChangeEventTracker.observe(list);
+
+		list.getRealm().batch(() -> {
+			list.add(delegate.createElement(list));
+			list.add(0, delegate.createElement(list));
+			list.remove(1);
+			assertEquals(formatFail("List change events should be deferred until the batch ends."), 0,
+					listener.count);
+		});
+
+		assertEquals(formatFail("A batch should fire one change event."), 1, changeListener.count);
+		assertEquals(formatFail("A batch should fire one list change event."), 1, listener.count);
+		listener.event.diff.applyTo(oldList);
+		assertEquals(formatFail("The merged diff should transform the list before the batch into the current list."),
+				list, oldList);
+	}
+
 	@Test
 	public void testAdd_ListChangeEvent() throws Exception {
 		final Object element = delegate.createElement(list);
@@ -12,6 +12,7 @@
  *     Brad Reynolds - initial API and implementation
  *     Matthew Hall - bugs 215531, 221351, 213145
  *     Simon Scholz <simon.scholz@vogella.com> - Bug 444829
+ *     Eclipse contributors - batched change notifications
  ******************************************************************************/
 
 package org.eclipse.jface.databinding.conformance;
@@ -54,6 +55,32 @@ public class MutableObservableSetContractTest extends
 		set = (IObservableSet) getObservable();
 	}
 
+	@Test
+	public void testBatch_SetChangeEventsMerged() throws Exception {
+		final Object removed = delegate.createElement(set);
+		set.add(removed);
+		ChangeEventTracker changeListener = ChangeEventTracker.observe(set);
+		SetChangeEventTracker listener = SetChangeEventTracker.observe(set);
+		final Object added = delegate.createElement(set);
+		final Object transientElement = delegate.createElement(set);
+
+		set.getRealm().batch(() -> {
+			set.add(added);
+			set.add(transientElement);
+			set.remove(removed);
+			set.remove(transientElement);
+			assertEquals(formatFail("Set change events should be deferred until the batch ends."), 0,
+					listener.count);
+		});
+
+		assertEquals(formatFail("A batch should fire one change event."), 1, changeListener.count);
+		assertEquals(formatFail("A batch should fire one set change event."), 1, listener.count);
+		assertEquals(formatFail("The merged diff should contain the net additions."),
+				Collections.singleton(added), listener.event.diff.getAdditions());
+		assertEquals(formatFail("The merged diff should contain the net removals."),
+				Collections.singleton(removed), listener.event.diff.getRemovals());
+	}
+
 	@Test
 	public void testAdd_SetChangeEvent() throws Exception {
 		assertSetChangeEventFired(() -> set.add(delegate.createElement(set)), "Set.add(Object)", set);
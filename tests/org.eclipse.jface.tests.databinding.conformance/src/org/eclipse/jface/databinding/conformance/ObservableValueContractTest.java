@@ -12,6 +12,7 @@
  *     Brad Reynolds - initial API and implementation
  *     Matthew Hall - bug 213145
  *     Simon Scholz <simon.scholz@vogella.com> - Bug 444829
+ *     Eclipse contributors - batched change notifications
  ******************************************************************************/
 
 package org.eclipse.jface.databinding.conformance;
@@ -29,6 +30,7 @@ import org.eclipse.core.databinding.observable.value.IObservableValue;
 import org.eclipse.core.databinding.observable.value.IValueChangeListener;
 import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
 import org.eclipse.jface.databinding.conformance.delegate.IObservableValueContractDelegate;
+import org.eclipse.jface.databinding.conformance.util.ChangeEventTracker;
 import org.eclipse.jface.databinding.conformance.util.CurrentRealm;
 import org.eclipse.jface.databinding.conformance.util.RealmTester;
 import org.eclipse.jface.databinding.conformance.util.ValueChangeEventTracker;
@@ -65,6 +67,27 @@ public class ObservableValueContractTest extends ObservableContractTest {
 				1, listener.count);
 	}
 
+	@Test
+	public void testChange_BatchMergesValueChangeEvents() throws Exception {
+		ChangeEventTracker changeListener = ChangeEventTracker.observe(observable);
+		ValueChangeEventTracker listener = ValueChangeEventTracker.observe(observable);
+		Object oldValue = observable.getValue();
+
+		observable.getRealm().batch(() -> {
+			delegate.change(observable);
+			delegate.change(observable);
+			assertEquals(formatFail("Value change events should be deferred until the batch ends."), 0,
+					listener.count);
+		});
+
+		assertEquals(formatFail("A batch should fire one change event."), 1, changeListener.count);
+		assertEquals(formatFail("A batch should fire one value change event."), 1, listener.count);
+		assertEquals(formatFail("The old value of a merged event should be the value before the batch."),
+				oldValue, listener.event.diff.getOldValue());
+		assertEquals(formatFail("The new value of a merged event should be the value after the batch."),
+				observable.getValue(), listener.event.diff.getNewValue());
+	}
+
 	@Test
 	public void testGetValueType_ExpectedType() throws Exception {
 		assertEquals(
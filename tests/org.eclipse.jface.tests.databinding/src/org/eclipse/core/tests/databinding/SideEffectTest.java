@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     Stefan Xenos (Google) - initial API and implementation
+ *     Eclipse contributors - unchanged dependencies keep their listeners
  ******************************************************************************/
 package org.eclipse.core.tests.databinding;
 
@@ -422,6 +423,41 @@ public class SideEffectTest extends AbstractDefaultRealmTestCase {
 		assertEquals(2, sideEffectInvocations);
 	}
 
+	@Test
+	public void testUnchangedDependencyKeepsListener() throws Exception {
+		AtomicInteger firstListenerAdded = new AtomicInteger();
+		AtomicInteger lastListenerRemoved = new AtomicInteger();
+		WritableValue<String> dependency = new WritableValue<String>("", null) {
+			@Override
+			protected void firstListenerAdded() {
+				firstListenerAdded.incrementAndGet();
+			}
+
+			@Override
+			protected void lastListenerRemoved() {
+				lastListenerRemoved.incrementAndGet();
+			}
+		};
+
+		sideEffect = ISideEffect.create(() -> {
+			dependency.getValue();
+			sideEffectInvocations++;
+		});
+		assertEquals(1, firstListenerAdded.get());
+
+		dependency.setValue("foo");
+		runAsync();
+		dependency.setValue("bar");
+		runAsync();
+
+		assertEquals(3, sideEffectInvocations);
+		assertEquals(1, firstListenerAdded.get());
+		assertEquals(0, lastListenerRemoved.get());
+
+		sideEffect.dispose();
+		assertEquals(1, lastListenerRemoved.get());
+	}
+
 	// Doesn't currently work, but this would be a desirable property for
 	// SideEffect to have
 	// public void testInvalidateSelf() throws Exception {
@@ -11,15 +11,19 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Matthew Hall - bug 226216
+ *     Eclipse contributors - tests for the diff of large lists
  *******************************************************************************/
 
 package org.eclipse.core.tests.databinding.observable;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.eclipse.core.databinding.observable.Diffs;
 import org.eclipse.core.databinding.observable.list.ListDiff;
@@ -268,7 +272,73 @@ public class Diffs_ListDiffTests {
 		checkComputedListDiff(List.of("a", "b", "c"), List.of("c", "a", "b"));
 	}
 
-	private static void checkComputedListDiff(List<Object> oldList, List<Object> newList) {
+	@Test
+	public void testComputeListDiff_LargeListAppend() {
+		List<Object> oldList = createList(10000, 10000);
+		List<Object> newList = new ArrayList<>(oldList);
+		newList.addAll(createList(1000, 10));
+
+		ListDiff<?> diff = checkComputedListDiff(oldList, newList);
+		assertEquals(1000, diff.getDifferences().length);
+		assertEntry(diff.getDifferences()[0], true, 10000, "e0");
+	}
+
+	@Test
+	public void testComputeListDiff_LargeListReplaced() {
+		List<Object> oldList = createList(10000, 10000);
+		List<Object> newList = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			newList.add("new" + i);
+		}
+
+		ListDiff<?> diff = checkComputedListDiff(oldList, newList);
+		assertEquals(15000, diff.getDifferences().length);
+	}
+
+	@Test
+	public void testComputeListDiff_LargeListEdits() {
+		Random random = new Random(42);
+		for (int alphabet : new int[] { 5, 100, 10000 }) {
+			List<Object> oldList = createList(3000, alphabet);
+			List<Object> newList = new ArrayList<>(oldList);
+			for (int i = 0; i < 50; i++) {
+				switch (random.nextInt(3)) {
+				case 0:
+					newList.add(random.nextInt(newList.size() + 1), "x" + random.nextInt(alphabet));
+					break;
+				case 1:
+					newList.remove(random.nextInt(newList.size()));
+					break;
+				default:
+					newList.set(random.nextInt(newList.size()), null);
+				}
+			}
+
+			ListDiff<?> diff = checkComputedListDiff(oldList, newList);
+			assertTrue(diff.getDifferences().length <= 100);
+			checkComputedListDiff(newList, oldList);
+		}
+	}
+
+	@Test
+	public void testComputeListDiff_LargeListShuffled() {
+		List<Object> oldList = createList(3000, 500);
+		List<Object> newList = new ArrayList<>(oldList);
+		Collections.shuffle(newList, new Random(42));
+
+		checkComputedListDiff(oldList, newList);
+		checkComputedListDiff(newList, oldList);
+	}
+
+	private static List<Object> createList(int size, int alphabet) {
+		List<Object> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add("e" + (i % alphabet));
+		}
+		return list;
+	}
+
+	private static ListDiff<?> checkComputedListDiff(List<Object> oldList, List<Object> newList) {
 		ListDiff<?> diff = Diffs.computeListDiff(oldList, newList);
 
 		final List<Object> list = new ArrayList<>(oldList);
@@ -290,5 +360,6 @@ public class Diffs_ListDiffTests {
 		});
 
 		assertEquals("Applying diff to old list should make it equal to new list", newList, list);
+		return diff;
 	}
 }
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.eclipse.core.databinding.observable.Diffs;
+
+/**
+ * Compares the run time of {@link Diffs#computeListDiff(List, List)} with the
+ * quadratic algorithm it used for all lists before, for typical changes of
+ * large lists. Not run as part of the test suite, start it with
+ * <code>main</code>; the arguments are the list size (default 5000) and the
+ * number of measured iterations (default 5).
+ * <p>
+ * JMH is not available in the target platform, so warm-up and measurement are
+ * done here: each scenario runs a few times before the average of the measured
+ * iterations is reported.
+ * </p>
+ */
+public class ListDiffBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 3;
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		Random random = new Random(42);
+		List<String> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add("element" + i);
+		}
+
+		List<String> appended = new ArrayList<>(list);
+		for (int i = 0; i < size / 10; i++) {
+			appended.add("appended" + i);
+		}
+		List<String> edited = new ArrayList<>(list);
+		for (int i = 0; i < 20; i++) {
+			edited.set(random.nextInt(edited.size()), "edited" + i);
+			edited.remove(random.nextInt(edited.size()));
+			edited.add(random.nextInt(edited.size()), "inserted" + i);
+		}
+		List<String> middleReplaced = new ArrayList<>(list);
+		for (int i = size / 3; i < 2 * size / 3; i++) {
+			middleReplaced.set(i, "replaced" + i);
+		}
+		List<String> replaced = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			replaced.add("other" + i);
+		}
+		List<String> shuffled = new ArrayList<>(list);
+		Collections.shuffle(shuffled, random);
+
+		System.out.println(String.format("%-20s %15s %15s", "scenario (" + size + ")", "quadratic [ms]", //$NON-NLS-1$ //$NON-NLS-2$
+				"current [ms]")); //$NON-NLS-1$
+		run("append", iterations, list, appended); //$NON-NLS-1$
+		run("scattered edits", iterations, list, edited); //$NON-NLS-1$
+		run("middle replaced", iterations, list, middleReplaced); //$NON-NLS-1$
+		run("all replaced", iterations, list, replaced); //$NON-NLS-1$
+		run("shuffled", iterations, list, shuffled); //$NON-NLS-1$
+	}
+
+	private static void run(String scenario, int iterations, List<String> oldList, List<String> newList) {
+		double quadratic = measure(iterations, () -> quadraticListDiff(oldList, newList));
+		double current = measure(iterations, () -> Integer.valueOf(Diffs.computeListDiff(oldList, newList).getDifferences().length));
+		System.out.println(String.format("%-20s %15.2f %15.2f", scenario, Double.valueOf(quadratic), //$NON-NLS-1$
+				Double.valueOf(current)));
+	}
+
+	private static double measure(int iterations, Supplier<Integer> diff) {
+		int blackhole = 0;
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			blackhole += diff.get().intValue();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			blackhole += diff.get().intValue();
+		}
+		long duration = System.nanoTime() - start;
+		if (blackhole == -1) {
+			System.out.println();
+		}
+		return duration / 1e6 / iterations;
+	}
+
+	/**
+	 * The algorithm used by Diffs#computeListDiff for all lists up to 1.13,
+	 * counting the entries it creates.
+	 */
+	private static Integer quadraticListDiff(List<String> oldList0, List<String> newList) {
+		List<String> oldList = new ArrayList<>(oldList0);
+		int entries = 0;
+		int index = 0;
+		for (String newValue : newList) {
+			if (oldList.size() <= index) {
+				entries++;
+			} else {
+				boolean done;
+				do {
+					done = true;
+					String oldValue = oldList.get(index);
+					if (!Objects.equals(oldValue, newValue)) {
+						int oldIndexOfNewValue = listIndexOf(oldList, newValue, index);
+						if (oldIndexOfNewValue != -1) {
+							int newIndexOfOldValue = listIndexOf(newList, oldValue, index);
+							if (newIndexOfOldValue == -1) {
+								entries++;
+								oldList.remove(index);
+								done = false;
+							} else if (newIndexOfOldValue > oldIndexOfNewValue) {
+								newIndexOfOldValue = Math.min(newIndexOfOldValue, oldList.size() - 1);
+								entries += 2;
+								oldList.remove(index);
+								oldList.add(newIndexOfOldValue, oldValue);
+								done = false;
+							} else {
+								entries += 2;
+								oldList.remove(oldIndexOfNewValue);
+								oldList.add(index, newValue);
+							}
+						} else {
+							oldList.add(index, newValue);
+							entries++;
+						}
+					}
+				} while (!done);
+			}
+			++index;
+		}
+		entries += Math.max(0, oldList.size() - index);
+		return Integer.valueOf(entries);
+	}
+
+	private static int listIndexOf(List<String> list, String element, int index) {
+		for (int i = index; i < list.size(); i++) {
+			if (Objects.equals(list.get(i), element)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
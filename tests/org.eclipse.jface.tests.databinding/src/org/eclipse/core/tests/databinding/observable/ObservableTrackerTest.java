@@ -11,6 +11,7 @@
  * Contributors:
  *     Matthew Hall - initial API and implementation (bug 210115)
  *     Matthew Hall - bugs 249526, 251424
+ *     Eclipse contributors - pooled tracking frames
  ******************************************************************************/
 
 package org.eclipse.core.tests.databinding.observable;
@@ -186,6 +187,65 @@ public class ObservableTrackerTest extends AbstractDefaultRealmTestCase {
 		assertThrows(IllegalStateException.class, () -> ObservableTracker.setIgnore(false));
 	}
 
+	@Test
+	public void testRunAndMonitor_ManyObservables() {
+		final IObservable[] observables = new IObservable[50];
+		for (int i = 0; i < observables.length; i++) {
+			observables[i] = new ObservableStub();
+		}
+
+		IObservable[] result = ObservableTracker.runAndMonitor(() -> {
+			for (int pass = 0; pass < 2; pass++) {
+				for (IObservable observable : observables) {
+					ObservableTracker.getterCalled(observable);
+				}
+			}
+		}, null, null);
+
+		assertEquals(new IdentitySet<>(Arrays.asList(observables)), new IdentitySet<>(Arrays.asList(result)));
+		assertEquals(observables.length, result.length);
+	}
+
+	@Test
+	public void testRunAndMonitor_Nested() {
+		final IObservable outer = new ObservableStub();
+		final IObservable inner = new ObservableStub();
+		final IObservable[][] innerResult = new IObservable[1][];
+
+		IObservable[] result = ObservableTracker.runAndMonitor(() -> {
+			ObservableTracker.getterCalled(outer);
+			innerResult[0] = ObservableTracker.runAndMonitor(() -> ObservableTracker.getterCalled(inner), null, null);
+			ObservableTracker.getterCalled(outer);
+		}, null, null);
+
+		assertEquals(1, result.length);
+		assertSame(outer, result[0]);
+		assertEquals(1, innerResult[0].length);
+		assertSame(inner, innerResult[0][0]);
+	}
+
+	@Test
+	public void testRunAndMonitor_ExceptionRestoresTracking() {
+		final IObservable outer = new ObservableStub();
+		final IObservable failed = new ObservableStub();
+
+		IObservable[] result = ObservableTracker.runAndMonitor(() -> {
+			assertThrows(IllegalStateException.class, () -> ObservableTracker.runAndMonitor(() -> {
+				ObservableTracker.getterCalled(failed);
+				throw new IllegalStateException();
+			}, null, null));
+			ObservableTracker.getterCalled(outer);
+		}, null, null);
+
+		assertEquals(1, result.length);
+		assertSame(outer, result[0]);
+
+		// the frame of the failed runnable is reused without its observables
+		result = ObservableTracker.runAndMonitor(() -> ObservableTracker.runAndMonitor(() -> {
+		}, null, null), null, null);
+		assertEquals(0, result.length);
+	}
+
 	public static class ObservableStub extends AbstractObservable {
 		public ObservableStub() {
 			this(Realm.getDefault());
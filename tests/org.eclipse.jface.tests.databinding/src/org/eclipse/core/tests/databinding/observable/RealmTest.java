@@ -10,15 +10,27 @@
  *
  * Contributors:
  *     Brad Reynolds - initial API and implementation
+ *     Eclipse contributors - batched change notifications
  ******************************************************************************/
 
 package org.eclipse.core.tests.databinding.observable;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
 
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.map.WritableMap;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.jface.databinding.conformance.util.ChangeEventTracker;
 import org.eclipse.jface.databinding.conformance.util.CurrentRealm;
+import org.eclipse.jface.databinding.conformance.util.MapChangeEventTracker;
 import org.eclipse.jface.databinding.conformance.util.RealmTester;
+import org.eclipse.jface.databinding.conformance.util.ValueChangeEventTracker;
 import org.junit.Test;
 
 /**
@@ -35,4 +47,76 @@ public class RealmTest {
 
 		assertEquals("old realm should have been restored", oldRealm, Realm.getDefault());
 	}
+
+	@Test
+	public void testBatch_Nested() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		ValueChangeEventTracker<String> tracker = ValueChangeEventTracker.observe(value);
+
+		realm.batch(() -> {
+			value.setValue("b");
+			realm.batch(() -> value.setValue("c"));
+			assertTrue(realm.isBatching());
+			assertEquals(0, tracker.count);
+			value.setValue("d");
+		});
+
+		assertFalse(realm.isBatching());
+		assertEquals(1, tracker.count);
+		assertEquals("a", tracker.event.diff.getOldValue());
+		assertEquals("d", tracker.event.diff.getNewValue());
+	}
+
+	@Test
+	public void testBatch_FiresOnException() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		ChangeEventTracker tracker = ChangeEventTracker.observe(value);
+
+		assertThrows(IllegalStateException.class, () -> realm.batch(() -> {
+			value.setValue("b");
+			throw new IllegalStateException();
+		}));
+
+		assertFalse(realm.isBatching());
+		assertEquals(1, tracker.count);
+	}
+
+	@Test
+	public void testBatch_UnmatchedEnd() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		assertThrows(IllegalStateException.class, () -> realm.endBatch());
+	}
+
+	@Test
+	public void testBatch_MapDiffMerged() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		WritableMap<String, String> map = new WritableMap<>(realm);
+		map.put("changed", "old");
+		map.put("removed", "old");
+		map.put("readded", "old");
+		MapChangeEventTracker<String, String> tracker = MapChangeEventTracker.observe(map);
+
+		realm.batch(() -> {
+			map.put("changed", "new");
+			map.remove("removed");
+			map.put("added", "new");
+			map.put("transient", "new");
+			map.remove("transient");
+			map.remove("readded");
+			map.put("readded", "new");
+		});
+
+		assertEquals(1, tracker.count);
+		assertEquals(Collections.singleton("added"), tracker.event.diff.getAddedKeys());
+		assertEquals(Collections.singleton("removed"), tracker.event.diff.getRemovedKeys());
+		assertEquals(2, tracker.event.diff.getChangedKeys().size());
+		assertEquals("old", tracker.event.diff.getOldValue("changed"));
+		assertEquals("new", tracker.event.diff.getNewValue("changed"));
+		assertEquals("old", tracker.event.diff.getOldValue("readded"));
+		assertEquals("new", tracker.event.diff.getNewValue("readded"));
+		assertEquals("old", tracker.event.diff.getOldValue("removed"));
+		assertNull(tracker.event.diff.getOldValue("added"));
+	}
 }
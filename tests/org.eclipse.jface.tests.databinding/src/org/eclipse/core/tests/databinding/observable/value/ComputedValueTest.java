@@ -12,6 +12,7 @@
  *     IBM Corporation - initial API and implementation
  *     Brad Reynolds - bug 116920
  *     Brad Reynolds - bug 164653
+ *     Eclipse contributors - unchanged dependencies keep their listeners
  *******************************************************************************/
 
 package org.eclipse.core.tests.databinding.observable.value;
@@ -148,6 +149,54 @@ public class ComputedValueTest extends AbstractDefaultRealmTestCase {
 		assertFalse("because value2 is not a part of the calculation the listeners should have been removed", value2.hasListeners());
 	}
 
+	@Test
+	public void testUnchangedDependenciesKeepListeners() throws Exception {
+		final int[] listenerCounts = new int[2];
+		WritableValue<Integer> value1 = new WritableValue<Integer>(Integer.valueOf(1), Integer.TYPE) {
+			@Override
+			protected void firstListenerAdded() {
+				listenerCounts[0]++;
+			}
+
+			@Override
+			protected void lastListenerRemoved() {
+				listenerCounts[1]++;
+			}
+		};
+		WritableValueExt<Integer> value2 = new WritableValueExt<>(Integer.TYPE, Integer.valueOf(1));
+		final boolean[] useValue2 = { true };
+
+		ComputedValue<Integer> cv = new ComputedValue<Integer>() {
+			@Override
+			protected Integer calculate() {
+				int sum = value1.getValue().intValue();
+				if (useValue2[0]) {
+					sum += value2.getValue().intValue();
+				}
+				return Integer.valueOf(sum);
+			}
+		};
+		cv.addValueChangeListener(event -> event.diff.getNewValue());
+		assertEquals(Integer.valueOf(2), cv.getValue());
+		assertEquals(1, listenerCounts[0]);
+
+		value1.setValue(Integer.valueOf(2));
+		assertEquals(Integer.valueOf(3), cv.getValue());
+		assertEquals(1, listenerCounts[0]);
+		assertEquals(0, listenerCounts[1]);
+		assertTrue(value2.hasListeners());
+
+		useValue2[0] = false;
+		value1.setValue(Integer.valueOf(3));
+		assertEquals(Integer.valueOf(3), cv.getValue());
+		assertEquals(0, listenerCounts[1]);
+		assertFalse("because value2 is not a part of the calculation the listeners should have been removed",
+				value2.hasListeners());
+
+		cv.dispose();
+		assertEquals(1, listenerCounts[1]);
+	}
+
 	@Test
 	public void testSetValueUnsupportedOperationException() throws Exception {
 		ComputedValue<Object> cv = new ComputedValue<Object>() {
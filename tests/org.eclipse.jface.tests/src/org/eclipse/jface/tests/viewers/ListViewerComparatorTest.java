@@ -10,10 +10,13 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - sorting on cached sort keys
  ******************************************************************************/
 
 package org.eclipse.jface.tests.viewers;
 
+import java.text.Collator;
+
 import org.eclipse.jface.viewers.ListViewer;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.ViewerComparator;
@@ -65,6 +68,34 @@ public class ListViewerComparatorTest extends ViewerComparatorTest {
 		assertSortedResult(TEAM1_SORTED_WITH_INSERT);
 	}
 
+	public void testViewerComparatorSortKeys() {
+		ViewerComparator comparator = new ViewerComparator();
+		comparator.setUseSortKeys(true);
+		fViewer.setComparator(comparator);
+		assertSortedResult(TEAM1_SORTED);
+	}
+
+	public void testViewerComparatorSortKeysInsertElement() {
+		ViewerComparator comparator = new ViewerComparator();
+		comparator.setUseSortKeys(true);
+		fViewer.setComparator(comparator);
+		team1.addMember("Duong");
+		assertSortedResult(TEAM1_SORTED_WITH_INSERT);
+	}
+
+	public void testViewerComparatorCollationKeysLabelChange() {
+		ViewerComparator comparator = new ViewerComparator(Collator.getInstance());
+		comparator.setUseSortKeys(true);
+		fViewer.setComparator(comparator);
+		assertSortedResult(TEAM1_SORTED);
+
+		// the cached key of the renamed member must not be reused
+		team1.members[6].name = "Zoe"; // Andrea
+		fViewer.refresh();
+		assertSortedResult(new String[] { "Boris", "Eric", "Karice", "Kim", "Michael", "Mike", "Paul", "Susan", "Tod",
+				"Zoe" });
+	}
+
 	private void assertSortedResult(String[] expected) {
 		String[] items = getListViewer().getList().getItems();
 		for (int i = 0; i < items.length; i++) {
@@ -552,4 +552,35 @@ public class EventLoopMonitorThreadTests {
 		assertEquals("A freeze event's duration is incorrect", eventDuration,
 				event.getTotalDuration());
 	}
+
+	@Test
+	public void testEventLatencyRecorded() throws Exception {
+		EventLoopMonitorThread thread = createTestThread(FREEZE_THRESHOLD_MS);
+		try {
+			Event event = new Event();
+			for (int[] typeAndDetail : new int[][] { { SWT.PreEvent, SWT.Selection },
+					{ SWT.PreEvent, SWT.Paint }, { SWT.PostEvent, SWT.Paint },
+					{ SWT.PreExternalEventDispatch, 0 } }) {
+				event.type = typeAndDetail[0];
+				event.detail = typeAndDetail[1];
+				thread.handleEvent(event);
+			}
+			Thread.sleep(200); // Waiting in a nested event loop.
+			event.type = SWT.PostExternalEventDispatch;
+			event.detail = 0;
+			thread.handleEvent(event);
+			event.type = SWT.PostEvent;
+			event.detail = SWT.Selection;
+			thread.handleEvent(event);
+
+			EventLatencyRecorder recorder = thread.getLatencyRecorder();
+			assertEquals(2, recorder.getAllEvents().getTotalCount());
+			assertEquals(1, recorder.getHistograms().get("Selection").getTotalCount());
+			assertEquals(1, recorder.getHistograms().get("Paint").getTotalCount());
+			assertTrue("The nested event loop is not excluded from the event duration",
+					recorder.getHistograms().get("Selection").getMaxValue() < 200000);
+		} finally {
+			thread.shutdown();
+		}
+	}
 }
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+
+import org.eclipse.swt.SWT;
+import org.junit.Test;
+
+/**
+ * Tests for {@link LatencyHistogram} and {@link EventLatencyRecorder}.
+ */
+public class LatencyHistogramTests {
+	@Test
+	public void testBucketBoundaries() {
+		long previousHighest = -1;
+		for (int index = 0; index < 500; index++) {
+			long highest = LatencyHistogram.getHighestValue(index);
+			assertEquals(index, LatencyHistogram.getIndex(previousHighest + 1));
+			assertEquals(index, LatencyHistogram.getIndex(highest));
+			previousHighest = highest;
+		}
+		assertEquals(Long.MAX_VALUE,
+				LatencyHistogram.getHighestValue(LatencyHistogram.getIndex(Long.MAX_VALUE)));
+	}
+
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getValueAtPercentile(50));
+		for (int i = 1; i <= 1000; i++) {
+			histogram.recordValue(i * 1000L);
+		}
+		assertEquals(1000, histogram.getTotalCount());
+		assertEquals(1000000, histogram.getMaxValue());
+		assertEquals(500500, histogram.getMean(), 0.001);
+		assertWithinPrecision(500000, histogram.getValueAtPercentile(50));
+		assertWithinPrecision(990000, histogram.getValueAtPercentile(99));
+		assertEquals(1000000, histogram.getValueAtPercentile(100));
+		assertEquals(LatencyHistogram.SUB_BUCKET_COUNT - 1,
+				LatencyHistogram.getHighestValue(LatencyHistogram.SUB_BUCKET_COUNT - 1));
+
+		histogram.reset();
+		assertEquals(0, histogram.getTotalCount());
+		assertEquals(0, histogram.getMaxValue());
+	}
+
+	private static void assertWithinPrecision(long expected, long actual) {
+		assertTrue(actual + " is not close to " + expected,
+				Math.abs(actual - expected) <= expected / (LatencyHistogram.SUB_BUCKET_COUNT / 2));
+	}
+
+	@Test
+	public void testRecorderDumps() throws Exception {
+		EventLatencyRecorder recorder = new EventLatencyRecorder();
+		recorder.recordEvent(SWT.Selection, 2000);
+		recorder.recordEvent(SWT.Selection, 4000);
+		recorder.recordEvent(SWT.Paint, 1000);
+
+		StringWriter csv = new StringWriter();
+		recorder.writeCsv(csv);
+		String[] lines = csv.toString().split("\n");
+		assertEquals("eventType,count,meanMs,p50Ms,p90Ms,p99Ms,p99_9Ms,maxMs", lines[0]);
+		assertEquals("All,3,2.333,2.047,4.000,4.000,4.000,4.000", lines[1]);
+		assertEquals(4, lines.length);
+
+		StringWriter json = new StringWriter();
+		recorder.writeJson(json);
+		assertTrue(json.toString(), json.toString().contains(
+				"\"Selection\": {\"count\": 2, \"meanMs\": 3.000, \"p50Ms\": 2.047, \"p90Ms\": 4.000,"));
+	}
+}
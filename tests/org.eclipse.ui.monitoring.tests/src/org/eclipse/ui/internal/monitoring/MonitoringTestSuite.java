@@ -26,6 +26,8 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	EventLoopMonitorThreadTests.class,
 	FilterHandlerTests.class,
-	DefaultLoggerTests.class})
+	DefaultLoggerTests.class,
+	UiThreadProfileTests.class,
+	LatencyHistogramTests.class})
 public class MonitoringTestSuite {
 }
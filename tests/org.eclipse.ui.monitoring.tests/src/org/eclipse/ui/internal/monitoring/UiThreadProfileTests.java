@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link UiThreadProfile} and {@link UiThreadSampler}.
+ */
+public class UiThreadProfileTests {
+	private static final StackTraceElement[] STACK_A = {
+			frame("org.example.Leaf", "a"), frame("org.example.Middle", "run"),
+			frame("org.example.Root", "main") };
+	private static final StackTraceElement[] STACK_B = {
+			frame("org.example.Leaf", "b"), frame("org.example.Middle", "run"),
+			frame("org.example.Root", "main") };
+
+	private static StackTraceElement frame(String className, String methodName) {
+		return new StackTraceElement(className, methodName, null, -1);
+	}
+
+	@Test
+	public void testCollapsedStacks() throws Exception {
+		UiThreadProfile profile = new UiThreadProfile(10);
+		profile.addSample(1, STACK_A);
+		profile.addSample(2, STACK_B);
+		profile.addSample(3, STACK_A);
+
+		Map<String, Integer> stacks = profile.getCollapsedStacks();
+		assertEquals(2, stacks.size());
+		assertEquals(Integer.valueOf(2), stacks.get("org.example.Root.main;org.example.Middle.run;org.example.Leaf.a"));
+		assertEquals(Integer.valueOf(1), stacks.get("org.example.Root.main;org.example.Middle.run;org.example.Leaf.b"));
+
+		StringWriter writer = new StringWriter();
+		assertEquals(3, profile.writeCollapsedStacks(writer));
+		assertEquals("org.example.Root.main;org.example.Middle.run;org.example.Leaf.a 2\n"
+				+ "org.example.Root.main;org.example.Middle.run;org.example.Leaf.b 1\n", writer.toString());
+	}
+
+	@Test
+	public void testOldestSamplesOverwritten() {
+		UiThreadProfile profile = new UiThreadProfile(3);
+		profile.addSample(1, STACK_A);
+		profile.addSample(2, STACK_A);
+		profile.addSample(3, STACK_B);
+		profile.addSample(4, STACK_B);
+		profile.addSample(5, STACK_B);
+
+		assertEquals(3, profile.size());
+		assertEquals(5, profile.getTotalSampleCount());
+		assertEquals(3, profile.getOldestTimestamp());
+		Map<String, Integer> stacks = profile.getCollapsedStacks();
+		assertEquals(1, stacks.size());
+		assertEquals(Integer.valueOf(3), stacks.values().iterator().next());
+
+		profile.clear();
+		assertEquals(0, profile.size());
+		assertTrue(profile.getCollapsedStacks().isEmpty());
+	}
+
+	@Test
+	public void testSamplerOnlySamplesBusyThread() throws Exception {
+		Object lock = new Object();
+		boolean[] busy = new boolean[1];
+		UiThreadSampler sampler = new UiThreadSampler(Thread.currentThread().getId(), () -> {
+			synchronized (lock) {
+				return busy[0];
+			}
+		}, 1, 1000);
+		sampler.start();
+		try {
+			Thread.sleep(50);
+			assertEquals(0, sampler.getSampleCount());
+
+			synchronized (lock) {
+				busy[0] = true;
+			}
+			long deadline = System.currentTimeMillis() + 5000;
+			while (sampler.getProfile().size() == 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertTrue(sampler.getProfile().size() > 0);
+			assertEquals(sampler, UiThreadSampler.getActiveSampler());
+			String stack = sampler.getProfile().getCollapsedStacks().keySet().iterator().next();
+			assertTrue(stack, stack.contains(getClass().getName() + ".testSamplerOnlySamplesBusyThread"));
+			assertTrue(sampler.getOverhead() < 1);
+		} finally {
+			sampler.shutdown();
+			sampler.join(5000);
+		}
+		assertEquals(null, UiThreadSampler.getActiveSampler());
+	}
+}
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.performance;
+
+/**
+ * An element decorated by the {@link PerformanceLightweightDecorator}.
+ */
+public class DecoratedElement {
+
+	private final String name;
+
+	public DecoratedElement(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.performance;
+
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jface.viewers.ILabelDecorator;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.ui.PlatformUI;
+import org.junit.Test;
+
+/**
+ * Measures the time to decorate a large number of elements with a lightweight
+ * decorator, from queueing the elements until the label updates of all of them
+ * were fired.
+ */
+public class DecorationSchedulerPerformanceTest extends BasicPerformanceTest {
+
+	private static final int ELEMENT_COUNT = 50000;
+	private static final int ITERATIONS = 5;
+	private static final long TIMEOUT = 60000;
+
+	public DecorationSchedulerPerformanceTest() {
+		super("Decorate " + ELEMENT_COUNT + " elements");
+	}
+
+	@Test
+	public void testDecorateElements() throws Throwable {
+		ILabelDecorator decorator = PlatformUI.getWorkbench().getDecoratorManager().getLabelDecorator();
+		Set<Object> updated = new HashSet<>();
+		// fired in the UI thread
+		ILabelProviderListener listener = event -> {
+			Object[] elements = event.getElements();
+			if (elements != null) {
+				Collections.addAll(updated, elements);
+			}
+		};
+		decorator.addListener(listener);
+		try {
+			for (int i = 0; i < ITERATIONS; i++) {
+				// new elements every iteration, so no result is cached
+				DecoratedElement[] elements = new DecoratedElement[ELEMENT_COUNT];
+				for (int j = 0; j < elements.length; j++) {
+					elements[j] = new DecoratedElement("element" + j);
+				}
+				updated.clear();
+				startMeasuring();
+				for (DecoratedElement element : elements) {
+					decorator.decorateText(element.getName(), element);
+				}
+				long end = System.currentTimeMillis() + TIMEOUT;
+				while (updated.size() < ELEMENT_COUNT) {
+					if (System.currentTimeMillis() > end) {
+						fail("Only " + updated.size() + " of " + ELEMENT_COUNT + " elements were decorated");
+					}
+					processEvents();
+				}
+				stopMeasuring();
+			}
+		} finally {
+			decorator.removeListener(listener);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.eclipse.e4.ui.internal.workbench.E4BinaryResourceFactory;
+import org.eclipse.e4.ui.internal.workbench.E4Workbench;
+import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
+import org.eclipse.e4.ui.internal.workbench.E4XMIResourceFactory;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Measures the time to load a persisted workbench model with thousands of
+ * elements, in the XMI and in the binary format. The binary file must be
+ * smaller than the XMI file of the same model.
+ */
+@RunWith(Parameterized.class)
+public class ModelPersistencePerformanceTest extends BasicPerformanceTest {
+
+	private static final int STACK_COUNT = 200;
+	private static final int PARTS_PER_STACK = 25;
+	private static final int ITERATIONS = 10;
+
+	private final String format;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] { { E4Workbench.MODEL_FORMAT_XMI },
+				{ E4Workbench.MODEL_FORMAT_BINARY } });
+	}
+
+	public ModelPersistencePerformanceTest(String format) {
+		super("Load workbench model with " + STACK_COUNT * PARTS_PER_STACK + " parts:" + format);
+		this.format = format;
+	}
+
+	@Test
+	public void testLoadModel() throws Throwable {
+		boolean binary = E4Workbench.MODEL_FORMAT_BINARY.equals(format);
+		File file = File.createTempFile("workbench", binary ? "." + E4BinaryResourceFactory.EXTENSION : ".xmi");
+		try {
+			URI uri = URI.createFileURI(file.getAbsolutePath());
+			Resource resource = createResourceSet().createResource(uri);
+			resource.getContents().add((EObject) createModel());
+			resource.save(Collections.singletonMap(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE));
+			assertTrue("Empty model file", file.length() > 0);
+			if (binary) {
+				long xmiLength = getXMILength();
+				assertTrue("Binary model (" + file.length() + " bytes) not smaller than XMI (" + xmiLength
+						+ " bytes)", file.length() < xmiLength);
+			}
+
+			exercise(() -> {
+				ResourceSet resourceSet = createResourceSet();
+				startMeasuring();
+				Resource loaded = resourceSet.getResource(uri, true);
+				stopMeasuring();
+				assertEquals(1, loaded.getContents().size());
+				MApplication application = (MApplication) loaded.getContents().get(0);
+				assertEquals(STACK_COUNT, ((MTrimmedWindow) application.getChildren().get(0)).getChildren().size());
+			}, 1, ITERATIONS, 30000);
+		} finally {
+			file.delete();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static long getXMILength() throws IOException {
+		File file = File.createTempFile("workbench", ".xmi");
+		try {
+			Resource resource = createResourceSet().createResource(URI.createFileURI(file.getAbsolutePath()));
+			resource.getContents().add((EObject) createModel());
+			resource.save(Collections.singletonMap(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE));
+			return file.length();
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static ResourceSet createResourceSet() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new E4XMIResourceFactory());
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(E4BinaryResourceFactory.EXTENSION,
+				new E4BinaryResourceFactory());
+		return resourceSet;
+	}
+
+	private static MApplication createModel() {
+		MApplication application = MApplicationFactory.INSTANCE.createApplication();
+		application.setElementId("org.eclipse.ui.tests.performance.application");
+		MTrimmedWindow window = MBasicFactory.INSTANCE.createTrimmedWindow();
+		window.setElementId("org.eclipse.ui.tests.performance.window");
+		application.getChildren().add(window);
+		for (int i = 0; i < STACK_COUNT; i++) {
+			MPartStack stack = MBasicFactory.INSTANCE.createPartStack();
+			stack.setElementId("stack" + i);
+			stack.getTags().add("Minimized");
+			window.getChildren().add(stack);
+			for (int j = 0; j < PARTS_PER_STACK; j++) {
+				MPart part = MBasicFactory.INSTANCE.createPart();
+				part.setElementId("org.eclipse.ui.tests.performance.part" + j);
+				part.setLabel("Part " + i + "." + j);
+				part.setContributionURI("bundleclass://org.eclipse.ui.tests.performance/Part" + j);
+				part.getTags().add("View");
+				part.getPersistedState().put("memento", "<?xml version=\"1.0\"?><view id=\"" + j + "\"/>");
+				stack.getChildren().add(part);
+			}
+			stack.setSelectedElement(stack.getChildren().get(0));
+		}
+		return application;
+	}
+}
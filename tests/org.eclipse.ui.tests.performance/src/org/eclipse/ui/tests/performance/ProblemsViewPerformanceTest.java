@@ -10,15 +10,19 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - incremental update scenario
  ******************************************************************************/
 
 package org.eclipse.ui.tests.performance;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -41,6 +45,8 @@ public class ProblemsViewPerformanceTest extends BasicPerformanceTest {
 
 	private String PROBLEMS_VIEW_ID = "org.eclipse.ui.tests.performance.problemsView";
 
+	private static final long TIMEOUT = 60000;
+
 	/**
 	 * Create a new instance of the receiver.
 	 *
@@ -86,6 +92,94 @@ public class ProblemsViewPerformanceTest extends BasicPerformanceTest {
 
 	}
 
+	/**
+	 * Test the update of a problems view showing many markers when a workspace
+	 * operation changes only a few of them.
+	 */
+	public void testIncrementalUpdate() throws CoreException {
+		IWorkbenchWindow window = openTestWindow(EMPTY_PERSPECTIVE_ID);
+		final IWorkbenchPage page = window.getActivePage();
+
+		PerformanceProblemsView view;
+
+		try {
+			view = (PerformanceProblemsView) page.showView(PROBLEMS_VIEW_ID);
+		} catch (PartInitException e) {
+			e.printStackTrace();
+			fail();
+			return;
+		}
+
+		tagIfNecessary("UI - Problems View incremental update",
+				Dimension.ELAPSED_PROCESS);
+
+		int baseCount = 20000;
+		List<IMarker> base = createMarkers("this is a base test ", baseCount);
+		try {
+			waitForMarkerCount(view, baseCount);
+			for (int i = 0; i < 20; i++) {
+				startMeasuring();
+				List<IMarker> added = createMarkers("this is a test ", 10);
+				waitForMarkerCount(view, baseCount + 10);
+				stopMeasuring();
+				deleteMarkers(added);
+				waitForMarkerCount(view, baseCount);
+			}
+		} finally {
+			deleteMarkers(base);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Wait until the view shows count markers, it is updated from the marker
+	 * deltas of the workspace operations.
+	 */
+	private void waitForMarkerCount(PerformanceProblemsView view, int count) {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		int markerCount;
+		while ((markerCount = view.getMarkerCount()) != count) {
+			if (markerCount < 0) {
+				fail("The markers shown by the view could not be read");
+			}
+			if (System.currentTimeMillis() > end) {
+				fail("The view shows " + markerCount + " instead of " + count + " markers");
+			}
+			processEvents();
+		}
+	}
+
+	/**
+	 * Create count markers in one workspace operation.
+	 */
+	private List<IMarker> createMarkers(String messagePrefix, int count)
+			throws CoreException {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		IWorkspaceRoot root = workspace.getRoot();
+		List<IMarker> markers = new ArrayList<>(count);
+		workspace.run(monitor -> {
+			for (int i = 0; i < count; i++) {
+				IMarker marker = root.createMarker(IMarker.PROBLEM);
+				marker.setAttributes(
+						new String[] { IMarker.SEVERITY, IMarker.MESSAGE },
+						new Object[] {
+								Integer.valueOf(IMarker.SEVERITY_ERROR),
+								messagePrefix + i });
+				markers.add(marker);
+			}
+		}, null);
+		return markers;
+	}
+
+	private void deleteMarkers(List<IMarker> markers) throws CoreException {
+		ResourcesPlugin.getWorkspace().run(monitor -> {
+			for (IMarker marker : markers) {
+				marker.delete();
+			}
+		}, null);
+	}
+
 	/**
 	 * Remove the created markers
 	 */
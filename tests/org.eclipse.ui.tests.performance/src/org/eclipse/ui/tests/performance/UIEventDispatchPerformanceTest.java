@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.performance;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.e4.ui.services.events.IBatchingEventHandler;
+import org.eclipse.e4.ui.services.internal.events.BatchingUIEventHandler;
+import org.eclipse.e4.ui.services.internal.events.UIEventHandler;
+import org.eclipse.e4.ui.workbench.UIEvents;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Measures the delivery of a burst of model change events to a UI event
+ * handler with the synchronous {@link UIEventHandler} and the
+ * {@link BatchingUIEventHandler}, with and without coalescing.
+ */
+@RunWith(Parameterized.class)
+public class UIEventDispatchPerformanceTest extends BasicPerformanceTest {
+
+	private static final String SYNC = "sync";
+	private static final String BATCHED = "batched";
+	private static final String COALESCED = "coalesced";
+
+	private static final int EVENT_COUNT = 10_000;
+	private static final int ELEMENT_COUNT = 100;
+	private static final int ITERATIONS = 20;
+
+	private static final String TOPIC = UIEvents.UIElement.TOPIC_TOBERENDERED;
+
+	private final String mode;
+
+	/**
+	 * Runs synchronous runnables directly and queues asynchronous ones until
+	 * {@link #runAsyncRunnables()}, counting both.
+	 */
+	private static class CountingUISynchronize extends UISynchronize {
+		final Deque<Runnable> asyncRunnables = new ArrayDeque<>();
+		int dispatches;
+
+		@Override
+		public void syncExec(Runnable runnable) {
+			dispatches++;
+			runnable.run();
+		}
+
+		@Override
+		public void asyncExec(Runnable runnable) {
+			dispatches++;
+			asyncRunnables.add(runnable);
+		}
+
+		void runAsyncRunnables() {
+			Runnable runnable;
+			while ((runnable = asyncRunnables.poll()) != null) {
+				runnable.run();
+			}
+		}
+
+		@Override
+		protected boolean isUIThread(Thread thread) {
+			return true;
+		}
+
+		@Override
+		protected void showBusyWhile(Runnable runnable) {
+			runnable.run();
+		}
+
+		@Override
+		protected boolean dispatchEvents() {
+			return false;
+		}
+	}
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] { { SYNC }, { BATCHED }, { COALESCED } });
+	}
+
+	public UIEventDispatchPerformanceTest(String mode) {
+		super("Deliver " + EVENT_COUNT + " UI events:" + mode);
+		this.mode = mode;
+	}
+
+	@Test
+	public void testDispatch() throws Throwable {
+		exercise(() -> {
+			CountingUISynchronize uiSync = new CountingUISynchronize();
+			AtomicInteger handled = new AtomicInteger();
+			EventHandler handler = createHandler(uiSync, handled);
+			startMeasuring();
+			for (int i = 0; i < EVENT_COUNT; i++) {
+				Map<String, Object> properties = new HashMap<>();
+				properties.put(UIEvents.EventTags.ELEMENT, Integer.valueOf(i % ELEMENT_COUNT));
+				properties.put(UIEvents.EventTags.NEW_VALUE, Integer.valueOf(i));
+				handler.handleEvent(new Event(TOPIC, properties));
+			}
+			uiSync.runAsyncRunnables();
+			stopMeasuring();
+			assertEquals(SYNC.equals(mode) ? EVENT_COUNT : 1, uiSync.dispatches);
+			assertEquals(COALESCED.equals(mode) ? ELEMENT_COUNT : EVENT_COUNT, handled.get());
+		}, 1, ITERATIONS, 30000);
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private EventHandler createHandler(UISynchronize uiSync, AtomicInteger handled) {
+		if (SYNC.equals(mode)) {
+			return new UIEventHandler(event -> handled.incrementAndGet(), uiSync);
+		}
+		boolean coalesce = COALESCED.equals(mode);
+		return new BatchingUIEventHandler(new IBatchingEventHandler() {
+			@Override
+			public Object getCoalescingKey(Event event) {
+				return coalesce ? IBatchingEventHandler.topicAndProperty(event, UIEvents.EventTags.ELEMENT) : null;
+			}
+
+			@Override
+			public void handleEvent(Event event) {
+				handled.incrementAndGet();
+			}
+		}, uiSync);
+	}
+}
@@ -44,6 +44,10 @@ public class UIPerformanceTestSuite extends FilteredTestSuite {
 		addTest(new JUnit4TestAdapter(EditorSwitchTest.class));
 		addTestSuite(CommandsPerformanceTest.class);
 		addTest(new JUnit4TestAdapter(LabelProviderTest.class));
+		addTest(new JUnit4TestAdapter(DecorationSchedulerPerformanceTest.class));
+		addTest(new JUnit4TestAdapter(ModelPersistencePerformanceTest.class));
+		addTest(new JUnit4TestAdapter(ViewCSSPerformanceTest.class));
+		addTest(new JUnit4TestAdapter(UIEventDispatchPerformanceTest.class));
 		addTestSuite(ProgressReportingTest.class);
 		addTestSuite(OpenProjectExplorerFolderTest.class);
 	}
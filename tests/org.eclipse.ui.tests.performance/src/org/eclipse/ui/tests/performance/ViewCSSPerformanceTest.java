@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.performance;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
+import org.eclipse.e4.ui.tests.css.core.util.ParserTestUtil;
+import org.eclipse.e4.ui.tests.css.core.util.TestElement;
+import org.junit.Test;
+import org.w3c.css.sac.InputSource;
+import org.w3c.dom.css.CSSStyleSheet;
+import org.w3c.dom.css.ViewCSS;
+
+/**
+ * Measures the computation of the styles of a large synthetic DOM against the
+ * dark theme shipped with <code>org.eclipse.ui.themes</code>.
+ */
+public class ViewCSSPerformanceTest extends BasicPerformanceTest {
+
+	private static final String DARK_THEME = "platform:/plugin/org.eclipse.ui.themes/css/e4-dark_linux.css";
+
+	private static final int NODE_COUNT = 10_000;
+
+	private static final int WARMUP_RUNS = 3;
+
+	private static final int MEASURED_RUNS = 5;
+
+	private static final String[] TYPES = { "Composite", "CTabFolder", "ToolBar", "Button", "Label", "Text",
+			"Table", "Tree", "StyledText", "Canvas" };
+
+	private static final String[] CLASSES = { null, "MPart", "MPartStack", "MTrimBar", "MToolControl active",
+			"MPartStack active noFocus", "Draggable" };
+
+	private CSSEngine engine;
+
+	public ViewCSSPerformanceTest() {
+		super("Compute styles of " + NODE_COUNT + " nodes");
+	}
+
+	@Test
+	public void testComputedStylePerNode() throws Throwable {
+		engine = ParserTestUtil.createEngine();
+		ViewCSS viewCSS = createViewCss(DARK_THEME);
+		List<TestElement> nodes = createTree(NODE_COUNT);
+
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			computeStyles(viewCSS, nodes);
+		}
+
+		for (int i = 0; i < MEASURED_RUNS; i++) {
+			startMeasuring();
+			int styled = computeStyles(viewCSS, nodes);
+			stopMeasuring();
+			assertTrue(styled > 0);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static int computeStyles(ViewCSS viewCSS, List<TestElement> nodes) {
+		int styled = 0;
+		for (TestElement node : nodes) {
+			if (viewCSS.getComputedStyle(node, null) != null) {
+				styled++;
+			}
+		}
+		return styled;
+	}
+
+	/**
+	 * Creates a tree of elements with a fan-out of ten below a single shell,
+	 * cycling through widget types, CSS classes and a few ids.
+	 */
+	private List<TestElement> createTree(int count) {
+		List<TestElement> nodes = new ArrayList<>(count);
+		TestElement shell = new TestElement("Shell", engine);
+		shell.setClass("MTrimmedWindow");
+		nodes.add(shell);
+		for (int i = 1; i < count; i++) {
+			TestElement parent = nodes.get((i - 1) / 10);
+			TestElement node = new TestElement(TYPES[i % TYPES.length], parent, engine);
+			node.setClass(CLASSES[i % CLASSES.length]);
+			if (i % 97 == 0) {
+				node.setId("org-eclipse-ui-main-toolbar");
+			}
+			nodes.add(node);
+		}
+		return nodes;
+	}
+
+	private ViewCSS createViewCss(String url) throws IOException {
+		DocumentCSSImpl docCss = new DocumentCSSImpl();
+		URL resolved = FileLocator.resolve(new URL(url));
+		try (InputStream stream = resolved.openStream()) {
+			InputSource source = new InputSource();
+			source.setURI(resolved.toString());
+			source.setByteStream(stream);
+			docCss.addStyleSheet((CSSStyleSheet) engine.parseStyleSheet(source));
+		}
+		return new ViewCSSImpl(docCss);
+	}
+}
@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - marker count for the incremental update scenario
  ******************************************************************************/
 
 package org.eclipse.ui.tests.performance.parts;
@@ -42,4 +43,18 @@ public class PerformanceProblemsView extends ProblemsView {
 		}
 		return null;
 	}
+
+	/**
+	 * @return the number of markers shown by the view
+	 */
+	public int getMarkerCount() {
+		try {
+			Method m = ExtendedMarkersView.class.getDeclaredMethod("getAllMarkers");
+			m.setAccessible(true);
+			return ((Object[]) m.invoke(this)).length;
+		} catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			e.printStackTrace();
+		}
+		return -1;
+	}
 }
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.decorators;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jface.viewers.DecorationContext;
+import org.eclipse.jface.viewers.IDecorationContext;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.decorators.DecorationResult;
+import org.eclipse.ui.internal.decorators.DecorationResultCache;
+import org.junit.Test;
+
+/**
+ * Tests the bounds, statistics and pinned results of the decoration result
+ * cache.
+ */
+public class DecorationResultCacheTest {
+
+	private static final IDecorationContext CONTEXT = DecorationContext.DEFAULT_CONTEXT;
+
+	private static DecorationResult createResult() {
+		return WorkbenchPlugin.getDefault().getDecoratorManager().getLightweightManager()
+				.getDecorationResult(new Object());
+	}
+
+	@Test
+	public void testHitsAndMisses() {
+		DecorationResultCache cache = new DecorationResultCache();
+		String element = "element";
+		DecorationResult result = createResult();
+		assertNull(cache.get(element, CONTEXT));
+		cache.put(element, CONTEXT, result);
+		assertSame(result, cache.get(new String("element"), CONTEXT));
+		assertNull(cache.get(element, new DecorationContext()));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvicted() {
+		// one entry per segment at most
+		DecorationResultCache cache = new DecorationResultCache(16, Long.MAX_VALUE);
+		Object[] elements = new Object[1000];
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = Integer.valueOf(i);
+			cache.put(elements[i], CONTEXT, createResult());
+			// the latest result is always kept
+			assertNotNull(cache.get(elements[i], CONTEXT));
+		}
+		assertTrue(cache.size() <= 16);
+		assertEquals(elements.length - cache.size(), cache.getEvictionCount());
+
+		DecorationResultCache lruCache = new DecorationResultCache(16 * 2, Long.MAX_VALUE);
+		// all keys with the same hash code end up in the same segment
+		Object first = new SameHash("first");
+		Object second = new SameHash("second");
+		Object third = new SameHash("third");
+		lruCache.put(first, CONTEXT, createResult());
+		lruCache.put(second, CONTEXT, createResult());
+		lruCache.get(first, CONTEXT);
+		lruCache.put(third, CONTEXT, createResult());
+		assertNotNull(lruCache.get(first, CONTEXT));
+		assertNull(lruCache.get(second, CONTEXT));
+		assertNotNull(lruCache.get(third, CONTEXT));
+	}
+
+	@Test
+	public void testMemoryBound() {
+		DecorationResult result = createResult();
+		long size = DecorationResultCache.estimateSize(result);
+		DecorationResultCache cache = new DecorationResultCache(Integer.MAX_VALUE, size * 16 * 3);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(Integer.valueOf(i), CONTEXT, result);
+		}
+		assertTrue(cache.getEstimatedBytes() <= size * 16 * 3);
+		assertTrue(cache.getEvictionCount() > 0);
+	}
+
+	@Test
+	public void testPinnedResultsNotEvicted() {
+		// one entry per segment at most
+		DecorationResultCache cache = new DecorationResultCache(16, Long.MAX_VALUE);
+		Object[] elements = new Object[1000];
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = Integer.valueOf(i);
+			cache.putPinned(elements[i], CONTEXT, createResult());
+		}
+		// more results than the cache holds wait for their update
+		assertEquals(elements.length, cache.getPinnedCount());
+		assertEquals(0, cache.getEvictionCount());
+		for (Object element : elements) {
+			assertNotNull(cache.get(element, CONTEXT));
+		}
+
+		cache.unpin(elements);
+		assertEquals(0, cache.getPinnedCount());
+		assertTrue(cache.size() <= 16);
+		assertEquals(elements.length - cache.size(), cache.getEvictionCount());
+	}
+
+	@Test
+	public void testUnpinnedResultEvicted() {
+		DecorationResultCache cache = new DecorationResultCache(16 * 2, Long.MAX_VALUE);
+		// all keys with the same hash code end up in the same segment
+		Object pinned = new SameHash("pinned");
+		Object first = new SameHash("first");
+		Object second = new SameHash("second");
+		cache.putPinned(pinned, CONTEXT, createResult());
+		cache.put(first, CONTEXT, createResult());
+		cache.put(second, CONTEXT, createResult());
+		assertNotNull(cache.get(pinned, CONTEXT));
+		assertEquals(0, cache.getEvictionCount());
+
+		// the unpinned result is the most recently used one
+		cache.unpin(new Object[] { pinned });
+		assertEquals(1, cache.getEvictionCount());
+		assertNull(cache.get(first, CONTEXT));
+		assertNotNull(cache.get(second, CONTEXT));
+		assertNotNull(cache.get(pinned, CONTEXT));
+	}
+
+	@Test
+	public void testClear() {
+		DecorationResultCache cache = new DecorationResultCache();
+		cache.put("element", CONTEXT, createResult());
+		cache.putPinned("pinned", CONTEXT, createResult());
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getEstimatedBytes());
+		assertNull(cache.get("element", CONTEXT));
+		assertNull(cache.get("pinned", CONTEXT));
+	}
+
+	private static class SameHash {
+		private final String name;
+
+		SameHash(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public int hashCode() {
+			return 1;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof SameHash && ((SameHash) obj).name.equals(name);
+		}
+	}
+}
@@ -27,6 +27,7 @@ import org.junit.runners.Suite;
 	DecoratorTableTest.class,
 	DecoratorAdaptableTests.class,
 	DecoratorCacheTest.class,
+	DecorationResultCacheTest.class,
 })
 public class DecoratorsTestSuite {
 }
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IContributor;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.ui.internal.EarlyStartupScheduler;
+import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
+import org.junit.Test;
+
+/**
+ * Tests the order in which the {@link EarlyStartupScheduler} starts the early
+ * startup extensions.
+ */
+public class EarlyStartupSchedulerTest {
+
+	@Test
+	public void testRegistryOrder() {
+		IExtension a = createExtension("a", null);
+		IExtension b = createExtension("b", null);
+		IExtension c = createExtension("c", null);
+		assertEquals(List.of(a, b, c), getOrder(a, b, c));
+	}
+
+	@Test
+	public void testAfter() {
+		IExtension a = createExtension("a", "c");
+		IExtension b = createExtension("b", null);
+		IExtension c = createExtension("c", "b");
+		assertEquals(List.of(b, c, a), getOrder(a, b, c));
+	}
+
+	@Test
+	public void testAfterSeveral() {
+		IExtension a = createExtension("a", " c , b ");
+		IExtension b = createExtension("b", null);
+		IExtension c = createExtension("c", null);
+		// all extensions of a plug-in run before
+		IExtension c2 = createExtension("c", null);
+		assertEquals(List.of(b, c, c2, a), getOrder(a, b, c, c2));
+	}
+
+	@Test
+	public void testUnknownAfter() {
+		IExtension a = createExtension("a", "unknown");
+		IExtension b = createExtension("b", "a,,unknown");
+		// an extension is not run after itself
+		IExtension c = createExtension("c", "c");
+		assertEquals(List.of(a, b, c), getOrder(a, b, c));
+	}
+
+	@Test
+	public void testCycle() {
+		IExtension a = createExtension("a", "b");
+		IExtension b = createExtension("b", "a");
+		IExtension c = createExtension("c", "a");
+		IExtension d = createExtension("d", null);
+		// the cycle is broken at a, c still runs after it
+		assertEquals(List.of(d, a, c, b), getOrder(c, a, b, d));
+	}
+
+	@Test
+	public void testCycleOfThree() {
+		IExtension a = createExtension("a", "c");
+		IExtension b = createExtension("b", "a");
+		IExtension c = createExtension("c", "b");
+		IExtension d = createExtension("d", "b");
+		assertEquals(List.of(b, d, c, a), getOrder(d, b, c, a));
+	}
+
+	private static List<IExtension> getOrder(IExtension... extensions) {
+		return new EarlyStartupScheduler(List.of(extensions), new Object(), () -> true).getExtensions();
+	}
+
+	private static IExtension createExtension(String pluginId, String after) {
+		IContributor contributor = mock(IContributor.class);
+		when(contributor.getName()).thenReturn(pluginId);
+		IConfigurationElement element = mock(IConfigurationElement.class);
+		when(element.getAttribute(IWorkbenchRegistryConstants.ATT_AFTER)).thenReturn(after);
+		IExtension extension = mock(IExtension.class);
+		when(extension.getContributor()).thenReturn(contributor);
+		when(extension.getConfigurationElements()).thenReturn(new IConfigurationElement[] { element });
+		return extension;
+	}
+}
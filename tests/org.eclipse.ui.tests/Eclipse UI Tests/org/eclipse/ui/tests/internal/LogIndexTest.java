@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.ui.IMemento;
+import org.eclipse.ui.XMLMemento;
+import org.eclipse.ui.internal.views.log.LogEntry;
+import org.eclipse.ui.internal.views.log.LogIndex;
+import org.eclipse.ui.internal.views.log.LogView;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the index of the entries of large log files used by the log view.
+ */
+public class LogIndexTest {
+
+	private static final String SESSION = "!SESSION 2026-10-18 12:00:00.000 ---------------------------------";
+	private static final String ENTRY = "!ENTRY org.eclipse.ui 4 0 2026-10-18 12:00:00.000";
+	private static final String INFO_ENTRY = "!ENTRY org.eclipse.ui 1 0 2026-10-18 12:00:00.000";
+	private static final String SUBENTRY = "!SUBENTRY 1 org.eclipse.ui 4 0 2026-10-18 12:00:00.000";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File file;
+	private IMemento memento;
+	private LogIndex index;
+
+	@Before
+	public void setUp() throws IOException {
+		file = folder.newFile(".log");
+		memento = XMLMemento.createWriteRoot("logView");
+		memento.putString(LogView.P_USE_LIMIT, "false");
+		memento.putInteger(LogView.P_LOG_LIMIT, 50);
+		memento.putString(LogView.P_SHOW_ALL_SESSIONS, "true");
+		memento.putString(LogView.P_LOG_INFO, "false");
+		memento.putString(LogView.P_LOG_WARNING, "true");
+		memento.putString(LogView.P_LOG_ERROR, "true");
+		memento.putString(LogView.P_LOG_OK, "true");
+		index = new LogIndex(file);
+	}
+
+	private void append(String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+	}
+
+	private void update() {
+		index.update(1, memento);
+	}
+
+	@Test
+	public void testBuildIndex() throws IOException {
+		append(SESSION + "\n" + ENTRY + "\n!MESSAGE first\n" + INFO_ENTRY + "\n!MESSAGE filtered\n" + ENTRY
+				+ "\n!MESSAGE second\n" + SUBENTRY + "\n!MESSAGE child\n");
+		assertEquals(0, index.size());
+		update();
+		assertEquals(2, index.size());
+		LogEntry first = index.getEntry(0);
+		assertEquals("first", first.getMessage());
+		assertEquals(0, first.size());
+		LogEntry second = index.getEntry(1);
+		assertEquals("second", second.getMessage());
+		assertEquals(1, second.size());
+		assertSame(first.getSession(), second.getSession());
+	}
+
+	@Test
+	public void testLookup() throws IOException {
+		append(ENTRY + "\n!MESSAGE first\n" + ENTRY + "\n!MESSAGE second\n" + ENTRY + "\n!MESSAGE third\n");
+		update();
+		assertEquals(3, index.size());
+		assertEquals("third", index.getEntry(2).getMessage());
+		assertEquals("first", index.getEntry(0).getMessage());
+		// parsed entries are cached
+		assertSame(index.getEntry(1), index.getEntry(1));
+		assertNull(index.getEntry(-1));
+		assertNull(index.getEntry(3));
+	}
+
+	@Test
+	public void testLimit() throws IOException {
+		memento.putString(LogView.P_USE_LIMIT, "true");
+		memento.putInteger(LogView.P_LOG_LIMIT, 2);
+		append(ENTRY + "\n!MESSAGE first\n" + ENTRY + "\n!MESSAGE second\n" + ENTRY + "\n!MESSAGE third\n");
+		update();
+		assertEquals(2, index.size());
+		assertEquals("second", index.getEntry(0).getMessage());
+		assertEquals("third", index.getEntry(1).getMessage());
+	}
+
+	@Test
+	public void testIncrementalExtension() throws IOException {
+		append(ENTRY + "\n!MESSAGE first\n");
+		update();
+		assertEquals(1, index.size());
+		LogEntry first = index.getEntry(0);
+		assertEquals(0, first.size());
+
+		// the last entry grows, it is parsed again but the returned one doesn't change
+		append(SUBENTRY + "\n!MESSAGE child\n");
+		update();
+		assertEquals(1, index.size());
+		LogEntry grown = index.getEntry(0);
+		assertNotSame(first, grown);
+		assertEquals(0, first.size());
+		assertEquals(1, grown.size());
+
+		append(ENTRY + "\n!MESSAGE second\n");
+		update();
+		assertEquals(2, index.size());
+		assertSame(grown, index.getEntry(0));
+		assertEquals("second", index.getEntry(1).getMessage());
+	}
+
+	@Test
+	public void testNewSession() throws IOException {
+		memento.putString(LogView.P_SHOW_ALL_SESSIONS, "false");
+		append(SESSION + "\n" + ENTRY + "\n!MESSAGE old\n");
+		update();
+		assertEquals(1, index.size());
+		LogEntry old = index.getEntry(0);
+
+		append(SESSION + "\n" + ENTRY + "\n!MESSAGE new\n");
+		// the published index doesn't change until the update
+		assertSame(old, index.getEntry(0));
+		update();
+		assertEquals(1, index.size());
+		assertEquals("new", index.getEntry(0).getMessage());
+	}
+
+	@Test
+	public void testAppend() throws IOException {
+		append(ENTRY + "\n!MESSAGE first\n");
+		update();
+		LogEntry logged = new LogEntry(new Status(IStatus.ERROR, "org.eclipse.ui", "logged"));
+		index.append(logged);
+		assertEquals(2, index.size());
+		assertSame(logged, index.getEntry(1));
+
+		// the update reads the logged entry from the file instead
+		append(ENTRY + "\n!MESSAGE logged\n");
+		update();
+		assertEquals(2, index.size());
+		assertEquals("logged", index.getEntry(1).getMessage());
+	}
+}
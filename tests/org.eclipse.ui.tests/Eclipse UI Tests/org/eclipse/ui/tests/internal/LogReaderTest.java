@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.ui.IMemento;
+import org.eclipse.ui.XMLMemento;
+import org.eclipse.ui.internal.views.log.LogEntry;
+import org.eclipse.ui.internal.views.log.LogReader;
+import org.eclipse.ui.internal.views.log.LogView;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the incremental reading of a log file by the {@link LogReader}.
+ */
+public class LogReaderTest {
+
+	private static final String ENTRY = "!ENTRY org.eclipse.ui 4 0 2026-10-18 12:00:00.000";
+	private static final String SUBENTRY = "!SUBENTRY 1 org.eclipse.ui 4 0 2026-10-18 12:00:00.000";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File file;
+	private IMemento memento;
+	private LogReader reader;
+
+	@Before
+	public void setUp() throws IOException {
+		file = folder.newFile(".log");
+		memento = XMLMemento.createWriteRoot("logView");
+		memento.putString(LogView.P_USE_LIMIT, "false");
+		memento.putInteger(LogView.P_LOG_LIMIT, 50);
+		memento.putString(LogView.P_SHOW_ALL_SESSIONS, "true");
+		memento.putString(LogView.P_LOG_INFO, "true");
+		memento.putString(LogView.P_LOG_WARNING, "true");
+		memento.putString(LogView.P_LOG_ERROR, "true");
+		memento.putString(LogView.P_LOG_OK, "true");
+		reader = new LogReader(file);
+	}
+
+	private void append(String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+	}
+
+	private List<LogEntry> read() {
+		List<LogEntry> entries = new ArrayList<>();
+		reader.read(1, entries, memento);
+		return entries;
+	}
+
+	@Test
+	public void testAppendedEntries() throws IOException {
+		append(ENTRY + "\n!MESSAGE first\n");
+		List<LogEntry> entries = read();
+		assertEquals(1, entries.size());
+		LogEntry first = entries.get(0);
+		assertEquals("first", first.getMessage());
+
+		// the last entry grows, the returned one must not change
+		append(SUBENTRY + "\n!MESSAGE child\n");
+		entries = read();
+		assertEquals(1, entries.size());
+		assertEquals(0, first.size());
+		assertEquals(1, entries.get(0).size());
+
+		append(ENTRY + "\n!MESSAGE second\n");
+		entries = read();
+		assertEquals(2, entries.size());
+		LogEntry complete = entries.get(0);
+		assertEquals("first", complete.getMessage());
+		assertEquals(1, complete.size());
+		assertEquals("second", entries.get(1).getMessage());
+
+		// complete entries are kept, not parsed again
+		append(ENTRY + "\n!MESSAGE third\n");
+		entries = read();
+		assertEquals(3, entries.size());
+		assertSame(complete, entries.get(0));
+		assertEquals("third", entries.get(2).getMessage());
+	}
+
+	@Test
+	public void testPartialLastLine() throws IOException {
+		append(ENTRY + "\n!MESSAGE hello wor");
+		List<LogEntry> entries = read();
+		assertEquals(1, entries.size());
+		assertNull(entries.get(0).getMessage());
+
+		append("ld\n");
+		entries = read();
+		assertEquals(1, entries.size());
+		assertEquals("hello world", entries.get(0).getMessage());
+	}
+
+	@Test
+	public void testCrLfSplitAcrossReads() throws IOException {
+		append(ENTRY + "\r\n!MESSAGE first\r\n!STACK 0\r\njava.lang.Exception\r");
+		List<LogEntry> entries = read();
+		assertEquals(1, entries.size());
+		assertEquals("java.lang.Exception", entries.get(0).getStack());
+
+		append("\n\tat Test.test(Test.java:1)\r\n" + ENTRY + "\r\n!MESSAGE second\r\n");
+		entries = read();
+		assertEquals(2, entries.size());
+		// the line feed completes the line terminator, it doesn't start an empty line
+		assertEquals("java.lang.Exception" + System.lineSeparator() + "\tat Test.test(Test.java:1)",
+				entries.get(0).getStack());
+		assertEquals("second", entries.get(1).getMessage());
+	}
+
+	@Test
+	public void testTruncatedFile() throws IOException {
+		append(ENTRY + "\n!MESSAGE first\n" + ENTRY + "\n!MESSAGE second\n");
+		assertEquals(2, read().size());
+
+		Files.write(file.toPath(), (ENTRY + "\n!MESSAGE new\n").getBytes(StandardCharsets.UTF_8));
+		List<LogEntry> entries = read();
+		assertEquals(1, entries.size());
+		assertEquals("new", entries.get(0).getMessage());
+	}
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.ui.internal.ModelChangeTracker;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the dirty state and the changes recorded by the
+ * {@link ModelChangeTracker}.
+ */
+public class ModelChangeTrackerTest {
+
+	private MApplication application;
+	private MTrimmedWindow window;
+	private ModelChangeTracker tracker;
+
+	@Before
+	public void setUp() {
+		application = MApplicationFactory.INSTANCE.createApplication();
+		window = MBasicFactory.INSTANCE.createTrimmedWindow();
+		application.getChildren().add(window);
+		tracker = new ModelChangeTracker();
+		((EObject) application).eAdapters().add(tracker);
+	}
+
+	@Test
+	public void testPersistedFeature() {
+		assertFalse(tracker.isDirty());
+		window.setLabel("label");
+		assertTrue(tracker.isDirty());
+
+		List<EObject> changed = new ArrayList<>();
+		List<EObject> removed = new ArrayList<>();
+		tracker.takeChanges(changed, removed);
+		assertFalse(tracker.isDirty());
+		assertEquals(List.of(window), changed);
+		assertTrue(removed.isEmpty());
+
+		// nothing left to take
+		changed.clear();
+		tracker.takeChanges(changed, removed);
+		assertTrue(changed.isEmpty());
+	}
+
+	@Test
+	public void testSameValue() {
+		window.setLabel("label");
+		window.getPersistedState().put("key", "value");
+		tracker.markClean();
+
+		window.setLabel("label");
+		window.getPersistedState().put("key", "value");
+		assertFalse(tracker.isDirty());
+
+		window.getPersistedState().put("key", "other");
+		assertTrue(tracker.isDirty());
+	}
+
+	@Test
+	public void testTransientFeatures() {
+		window.setWidget(new Object());
+		window.setRenderer(new Object());
+		window.getTransientData().put("key", "value");
+		window.getTransientData().put("key", "other");
+		assertFalse(tracker.isDirty());
+	}
+
+	@Test
+	public void testContainment() {
+		MPart part = MBasicFactory.INSTANCE.createPart();
+		window.getChildren().add(part);
+		assertTrue(tracker.isDirty());
+		List<EObject> changed = new ArrayList<>();
+		List<EObject> removed = new ArrayList<>();
+		tracker.takeChanges(changed, removed);
+		assertEquals(List.of(window), changed);
+
+		// the added element is tracked too
+		part.setLabel("label");
+		changed.clear();
+		tracker.takeChanges(changed, removed);
+		assertEquals(List.of(part), changed);
+
+		window.getChildren().remove(part);
+		changed.clear();
+		tracker.takeChanges(changed, removed);
+		assertEquals(List.of(window), changed);
+		assertEquals(List.of(part), removed);
+
+		// the removed element is not tracked any more
+		part.setLabel("other");
+		assertFalse(tracker.isDirty());
+	}
+
+	@Test
+	public void testMarkCleanAndSetDirty() {
+		window.setLabel("label");
+		tracker.markClean();
+		assertFalse(tracker.isDirty());
+		List<EObject> changed = new ArrayList<>();
+		tracker.takeChanges(changed, new ArrayList<>());
+		assertTrue(changed.isEmpty());
+
+		tracker.setDirty();
+		assertTrue(tracker.isDirty());
+		tracker.takeChanges(changed, new ArrayList<>());
+		assertFalse(tracker.isDirty());
+		assertTrue(changed.isEmpty());
+	}
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.model.application.commands.MCommand;
+import org.eclipse.e4.ui.model.application.commands.MCommandsFactory;
+import org.eclipse.e4.ui.model.application.commands.MHandler;
+import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.ui.internal.ModelChangeTracker;
+import org.eclipse.ui.internal.ModelSnapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link ModelSnapshot} follows the changes of the model.
+ */
+public class ModelSnapshotTest {
+
+	private MApplication application;
+	private MPartStack stack;
+	private MPart part;
+	private MCommand command;
+	private MHandler handler;
+	private E4XMIResource resource;
+	private ModelChangeTracker tracker;
+	private ModelSnapshot snapshot;
+
+	@Before
+	public void setUp() {
+		application = MApplicationFactory.INSTANCE.createApplication();
+		MTrimmedWindow window = MBasicFactory.INSTANCE.createTrimmedWindow();
+		application.getChildren().add(window);
+		stack = MBasicFactory.INSTANCE.createPartStack();
+		window.getChildren().add(stack);
+		part = MBasicFactory.INSTANCE.createPart();
+		part.setLabel("part");
+		part.getPersistedState().put("key", "value");
+		stack.getChildren().add(part);
+		command = MCommandsFactory.INSTANCE.createCommand();
+		application.getCommands().add(command);
+		handler = MCommandsFactory.INSTANCE.createHandler();
+		handler.setCommand(command);
+		application.getHandlers().add(handler);
+
+		resource = new E4XMIResource(URI.createURI("workbench.xmi"));
+		resource.getContents().add((EObject) application);
+		tracker = new ModelChangeTracker();
+		((EObject) application).eAdapters().add(tracker);
+		snapshot = new ModelSnapshot((EObject) application, new E4XMIResource(URI.createURI("workbench.xmi")));
+	}
+
+	private EObject getCopy(Object original) {
+		return snapshot.getCopy((EObject) original);
+	}
+
+	private void assertSnapshot() {
+		EObject copy = getCopy(application);
+		assertNotSame(application, copy);
+		assertSame(snapshot.getResource(), copy.eResource());
+		assertTrue(EcoreUtil.equals((EObject) application, copy));
+	}
+
+	@Test
+	public void testCopy() {
+		assertSnapshot();
+		assertSame(getCopy(command), ((MHandler) getCopy(handler)).getCommand());
+		// the elements keep their IDs
+		assertEquals(resource.getID((EObject) part),
+				((E4XMIResource) snapshot.getResource()).getID(getCopy(part)));
+	}
+
+	@Test
+	public void testUpdate() {
+		EObject partCopy = getCopy(part);
+		part.setLabel("changed");
+		part.getPersistedState().put("key", "changed");
+		MPart newPart = MBasicFactory.INSTANCE.createPart();
+		newPart.getTags().add("tag");
+		stack.getChildren().add(0, newPart);
+		MCommand newCommand = MCommandsFactory.INSTANCE.createCommand();
+		application.getCommands().add(newCommand);
+		handler.setCommand(newCommand);
+
+		snapshot.update(tracker);
+		assertSnapshot();
+		// only the changed elements are copied again
+		assertSame(partCopy, getCopy(part));
+		assertSame(getCopy(newCommand), ((MHandler) getCopy(handler)).getCommand());
+	}
+
+	@Test
+	public void testMoveAndRemove() {
+		EObject partCopy = getCopy(part);
+		MPartStack newStack = MBasicFactory.INSTANCE.createPartStack();
+		application.getChildren().get(0).getChildren().add(newStack);
+		newStack.getChildren().add(part);
+		application.getCommands().remove(command);
+		handler.setCommand(null);
+
+		snapshot.update(tracker);
+		assertSnapshot();
+		assertSame(partCopy, getCopy(part));
+		assertNull(getCopy(command));
+	}
+
+	@Test
+	public void testTransientFeatures() {
+		part.getTransientData().put("key", "value");
+		part.setWidget(new Object());
+
+		snapshot.update(tracker);
+		MPart partCopy = (MPart) getCopy(part);
+		assertTrue(partCopy.getTransientData().isEmpty());
+		assertNull(partCopy.getWidget());
+	}
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.markers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ui.tests.harness.util.FileUtil;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests that marker changes applied incrementally to the markers of a view
+ * give the same entries and categories as gathering all markers again.
+ */
+@RunWith(JUnit4.class)
+public class MarkersIncrementalUpdateTest extends UITestCase {
+
+	private static final long TIMEOUT = 30000;
+
+	private IProject project;
+
+	private MarkersTestMarkersView view;
+
+	public MarkersIncrementalUpdateTest() {
+		super(MarkersIncrementalUpdateTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		project = FileUtil.createProject(MarkersIncrementalUpdateTest.class.getSimpleName());
+		view = (MarkersTestMarkersView) fWorkbench.getActiveWorkbenchWindow().getActivePage()
+				.showView("org.eclipse.ui.tests.markerTests");
+		waitForUpdates();
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		FileUtil.deleteProject(project);
+		super.doTearDown();
+	}
+
+	@Test
+	public void testAddMarkers() throws CoreException {
+		List<IMarker> markers = createMarkers(IMarker.SEVERITY_ERROR, "b", "d");
+		assertMarkers(markers);
+
+		// inside, at the start and at the end of the category
+		markers.addAll(createMarkers(IMarker.SEVERITY_ERROR, "c", "a", "e"));
+		assertMarkers(markers);
+
+		// in a new category
+		markers.addAll(createMarkers(IMarker.SEVERITY_WARNING, "f"));
+		assertMarkers(markers);
+	}
+
+	@Test
+	public void testRemoveMarkers() throws CoreException {
+		List<IMarker> errors = createMarkers(IMarker.SEVERITY_ERROR, "a", "b", "c");
+		List<IMarker> warnings = createMarkers(IMarker.SEVERITY_WARNING, "d", "e");
+		List<IMarker> markers = new ArrayList<>(errors);
+		markers.addAll(warnings);
+		assertMarkers(markers);
+
+		errors.get(1).delete();
+		markers.remove(errors.get(1));
+		assertMarkers(markers);
+
+		// the category is removed with its last marker
+		ResourcesPlugin.getWorkspace().run(monitor -> {
+			for (IMarker marker : warnings) {
+				marker.delete();
+			}
+		}, null);
+		markers.removeAll(warnings);
+		assertMarkers(markers);
+	}
+
+	@Test
+	public void testChangeMarkers() throws CoreException {
+		List<IMarker> errors = createMarkers(IMarker.SEVERITY_ERROR, "a", "b", "c");
+		List<IMarker> warnings = createMarkers(IMarker.SEVERITY_WARNING, "d");
+		List<IMarker> markers = new ArrayList<>(errors);
+		markers.addAll(warnings);
+		assertMarkers(markers);
+
+		// moves inside its category
+		errors.get(0).setAttribute(IMarker.MESSAGE, "z");
+		assertMarkers(markers);
+
+		// moves to another category
+		errors.get(1).setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+		assertMarkers(markers);
+
+		// moves to a new category and empties its category
+		warnings.get(0).setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO);
+		assertMarkers(markers);
+	}
+
+	private List<IMarker> createMarkers(int severity, String... messages) throws CoreException {
+		List<IMarker> markers = new ArrayList<>();
+		ResourcesPlugin.getWorkspace().run(monitor -> {
+			for (String message : messages) {
+				IMarker marker = project.createMarker(IMarker.PROBLEM);
+				marker.setAttribute(IMarker.SEVERITY, severity);
+				marker.setAttribute(IMarker.MESSAGE, message);
+				markers.add(marker);
+			}
+		}, null);
+		return markers;
+	}
+
+	/**
+	 * Wait for the view to apply the marker changes and check the result
+	 * against gathering all markers again.
+	 */
+	private void assertMarkers(List<IMarker> markers) {
+		waitForUpdates();
+		List<List<IMarker>> categories = view.getCategorizedMarkers();
+		Set<IMarker> shown = new HashSet<>();
+		for (List<IMarker> category : categories) {
+			for (IMarker marker : category) {
+				if (project.equals(marker.getResource())) {
+					shown.add(marker);
+				}
+			}
+		}
+		assertEquals(new HashSet<>(markers), shown);
+
+		view.scheduleCleanUpdate();
+		waitForUpdates();
+		assertEquals(view.getCategorizedMarkers(), categories);
+	}
+
+	private void waitForUpdates() {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (view.updatesPending()) {
+			if (System.currentTimeMillis() > end) {
+				fail("The markers of the view were not updated");
+			}
+			processEvents();
+		}
+	}
+}
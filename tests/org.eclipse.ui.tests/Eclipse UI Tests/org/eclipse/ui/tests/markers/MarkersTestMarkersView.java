@@ -10,6 +10,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - access to the categorized markers
  *******************************************************************************/
 
 package org.eclipse.ui.tests.markers;
@@ -17,6 +18,8 @@ package org.eclipse.ui.tests.markers;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.jobs.IJobChangeListener;
@@ -26,6 +29,7 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeColumn;
 import org.eclipse.ui.internal.views.markers.ExtendedMarkersView;
+import org.eclipse.ui.views.markers.MarkerItem;
 import org.eclipse.ui.views.markers.MarkerSupportView;
 import org.eclipse.ui.views.markers.internal.MarkerSupportRegistry;
 
@@ -154,4 +158,74 @@ public class MarkersTestMarkersView extends MarkerSupportView {
 		}
 		return null;
 	}
+
+	/**
+	 * Get the markers gathered by the builder of the receiver, in the order
+	 * they are shown, one list per category.
+	 *
+	 * @return the markers of each category
+	 */
+	public List<List<IMarker>> getCategorizedMarkers() {
+		List<List<IMarker>> categories = new ArrayList<>();
+		try {
+			Object markers = invoke(getBuilder(), "getMarkers");
+			List<IMarker> uncategorized = new ArrayList<>();
+			for (Object element : (Object[]) invoke(markers, "getElements")) {
+				MarkerItem item = (MarkerItem) element;
+				if (item.getMarker() != null) {
+					uncategorized.add(item.getMarker());
+					continue;
+				}
+				List<IMarker> category = new ArrayList<>();
+				for (Object child : (Object[]) invoke(item, "getChildren")) {
+					category.add(((MarkerItem) child).getMarker());
+				}
+				categories.add(category);
+			}
+			if (!uncategorized.isEmpty()) {
+				categories.add(uncategorized);
+			}
+		} catch (ReflectiveOperationException e) {
+			e.printStackTrace();
+		}
+		return categories;
+	}
+
+	/**
+	 * @return whether the builder of the receiver has updates to do
+	 */
+	public boolean updatesPending() {
+		try {
+			return ((Boolean) invoke(getBuilder(), "updatesPending")).booleanValue();
+		} catch (ReflectiveOperationException e) {
+			e.printStackTrace();
+		}
+		return false;
+	}
+
+	/**
+	 * Gather all markers again instead of applying the marker changes.
+	 */
+	public void scheduleCleanUpdate() {
+		try {
+			Object builder = getBuilder();
+			Method method = builder.getClass().getDeclaredMethod("scheduleUpdateJob", long.class, boolean.class);
+			method.setAccessible(true);
+			method.invoke(builder, Long.valueOf(0), Boolean.TRUE);
+		} catch (ReflectiveOperationException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private Object getBuilder() throws ReflectiveOperationException {
+		Method method = ExtendedMarkersView.class.getDeclaredMethod("getBuilder");
+		method.setAccessible(true);
+		return method.invoke(this);
+	}
+
+	private static Object invoke(Object target, String name) throws ReflectiveOperationException {
+		Method method = target.getClass().getDeclaredMethod(name);
+		method.setAccessible(true);
+		return method.invoke(target);
+	}
 }
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.quickaccess;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.ui.internal.quickaccess.QuickAccessContents;
+import org.eclipse.ui.internal.quickaccess.QuickAccessProvider;
+import org.eclipse.ui.quickaccess.QuickAccessElement;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the concurrent evaluation of quick access providers with synthetic slow
+ * providers.
+ */
+public class QuickAccessContentsTest {
+
+	private static final int TIMEOUT = 5000;
+	private static final int SLOW_PROVIDER_DELAY = 2000;
+
+	/**
+	 * A provider which takes the given time to compute the elements for a
+	 * filter.
+	 */
+	private static class SyntheticProvider extends QuickAccessProvider {
+		private final String name;
+		private final long delay;
+		private final QuickAccessElement[] elements;
+		final CountDownLatch started = new CountDownLatch(1);
+		final AtomicBoolean cancelled = new AtomicBoolean();
+
+		SyntheticProvider(String name, long delay, int elementCount) {
+			this.name = name;
+			this.delay = delay;
+			this.elements = new QuickAccessElement[elementCount];
+			for (int i = 0; i < elementCount; i++) {
+				elements[i] = new SyntheticElement(name + " item " + i);
+			}
+		}
+
+		@Override
+		public String getId() {
+			return name;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public QuickAccessElement[] getElements() {
+			return new QuickAccessElement[0];
+		}
+
+		@Override
+		public QuickAccessElement[] getElements(String filter, IProgressMonitor monitor) {
+			started.countDown();
+			long end = System.currentTimeMillis() + delay;
+			while (System.currentTimeMillis() < end) {
+				if (monitor.isCanceled()) {
+					cancelled.set(true);
+					return new QuickAccessElement[0];
+				}
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return new QuickAccessElement[0];
+				}
+			}
+			return elements;
+		}
+
+		@Override
+		protected void doReset() {
+		}
+	}
+
+	private static class SyntheticElement extends QuickAccessElement {
+		private final String label;
+
+		SyntheticElement(String label) {
+			this.label = label;
+		}
+
+		@Override
+		public String getLabel() {
+			return label;
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public String getId() {
+			return label;
+		}
+
+		@Override
+		public void execute() {
+		}
+	}
+
+	private Shell shell;
+
+	@Before
+	public void setUp() {
+		shell = new Shell(Display.getDefault());
+		shell.setLayout(new GridLayout());
+		shell.setSize(400, 600);
+	}
+
+	@After
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	private QuickAccessContents createContents(QuickAccessProvider... providers) {
+		QuickAccessContents contents = new QuickAccessContents(providers) {
+			@Override
+			protected QuickAccessElement getPerfectMatch(String filter) {
+				return null;
+			}
+
+			@Override
+			protected void updateFeedback(boolean filterTextEmpty, boolean showAllMatches) {
+			}
+
+			@Override
+			protected void handleElementSelected(String text, Object selectedElement) {
+			}
+
+			@Override
+			protected void doClose() {
+			}
+		};
+		contents.createTable(shell, SWT.LEFT_TO_RIGHT);
+		shell.layout(true, true);
+		shell.open();
+		return contents;
+	}
+
+	private static boolean tableContains(Table table, String label) {
+		return Arrays.stream(table.getItems()).map(item -> item.getText(1)).anyMatch(label::equals);
+	}
+
+	@Test
+	public void testTimeToFirstResult() {
+		SyntheticProvider slow = new SyntheticProvider("Slow", SLOW_PROVIDER_DELAY, 10);
+		SyntheticProvider fast = new SyntheticProvider("Fast", 0, 10);
+		QuickAccessContents contents = createContents(slow, fast);
+		Table table = contents.getTable();
+
+		long start = System.currentTimeMillis();
+		contents.updateProposals("item");
+		assertTrue("Missing fast proposals", DisplayHelper.waitForCondition(shell.getDisplay(), TIMEOUT,
+				() -> tableContains(table, "Fast item 0")));
+		long timeToFirstResult = System.currentTimeMillis() - start;
+		assertTrue("Fast proposals waited for the slow provider: " + timeToFirstResult + "ms",
+				timeToFirstResult < SLOW_PROVIDER_DELAY);
+		assertFalse(tableContains(table, "Slow item 0"));
+
+		assertTrue("Missing slow proposals", DisplayHelper.waitForCondition(shell.getDisplay(),
+				SLOW_PROVIDER_DELAY + TIMEOUT, () -> tableContains(table, "Slow item 0")));
+		// the providers keep their order
+		assertEquals("Slow", table.getItem(0).getText(0));
+	}
+
+	@Test
+	public void testFilterChangeCancelsProviders() throws InterruptedException {
+		SyntheticProvider slow = new SyntheticProvider("Slow", SLOW_PROVIDER_DELAY, 10);
+		QuickAccessContents contents = createContents(slow);
+
+		contents.updateProposals("item");
+		assertTrue(slow.started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		contents.updateProposals("item 1");
+		assertTrue("Provider not cancelled", DisplayHelper.waitForCondition(shell.getDisplay(), TIMEOUT,
+				() -> slow.cancelled.get()));
+		assertTrue("Missing proposals", DisplayHelper.waitForCondition(shell.getDisplay(),
+				SLOW_PROVIDER_DELAY + TIMEOUT, () -> tableContains(contents.getTable(), "Slow item 1")));
+	}
+}
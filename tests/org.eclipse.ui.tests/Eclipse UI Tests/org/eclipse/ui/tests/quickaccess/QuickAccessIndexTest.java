@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.quickaccess;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.ui.internal.quickaccess.QuickAccessIndex;
+import org.eclipse.ui.internal.quickaccess.QuickAccessProvider;
+import org.eclipse.ui.quickaccess.QuickAccessElement;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the persistence and invalidation of the quick access label index.
+ */
+public class QuickAccessIndexTest {
+
+	private static final long STAMP = 42;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File file;
+
+	/**
+	 * An element which counts the computations of its match label.
+	 */
+	private static class CountingElement extends QuickAccessElement {
+		private final String id;
+		private final String label;
+		int matchLabelComputations;
+
+		CountingElement(String id, String label) {
+			this.id = id;
+			this.label = label;
+		}
+
+		@Override
+		public String getLabel() {
+			return label;
+		}
+
+		@Override
+		public String getMatchLabel() {
+			matchLabelComputations++;
+			return label + " keywords";
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public String getId() {
+			return id;
+		}
+
+		@Override
+		public void execute() {
+		}
+	}
+
+	private static class IndexableProvider extends QuickAccessProvider {
+		private final boolean indexable;
+
+		IndexableProvider(boolean indexable) {
+			this.indexable = indexable;
+		}
+
+		@Override
+		public String getId() {
+			return "indexable." + indexable;
+		}
+
+		@Override
+		public String getName() {
+			return getId();
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public QuickAccessElement[] getElements() {
+			return new QuickAccessElement[0];
+		}
+
+		@Override
+		protected void doReset() {
+		}
+
+		@Override
+		public boolean isIndexable() {
+			return indexable;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		file = new File(folder.getRoot(), "index.dat");
+	}
+
+	@Test
+	public void testLabelsRestoredFromDisk() {
+		QuickAccessProvider provider = new IndexableProvider(true);
+		QuickAccessIndex index = new QuickAccessIndex(file, STAMP);
+		CountingElement element = new CountingElement("id1", "Some Element");
+		assertEquals("Some Element keywords", index.getLabels(provider, element).matchLabel);
+		index.getLabels(provider, element);
+		assertEquals(1, element.matchLabelComputations);
+		index.save();
+		assertTrue(file.isFile());
+
+		CountingElement sameElement = new CountingElement("id1", "Some Element");
+		QuickAccessIndex.Labels labels = new QuickAccessIndex(file, STAMP).getLabels(provider, sameElement);
+		assertEquals(0, sameElement.matchLabelComputations);
+		assertEquals("Some Element keywords", labels.matchLabel);
+		assertEquals("Some Element", labels.sortLabel);
+		assertEquals("se", labels.camelCase);
+	}
+
+	@Test
+	public void testOtherStampIgnored() {
+		QuickAccessProvider provider = new IndexableProvider(true);
+		QuickAccessIndex index = new QuickAccessIndex(file, STAMP);
+		index.getLabels(provider, new CountingElement("id1", "Some Element"));
+		index.save();
+
+		QuickAccessIndex otherInstallation = new QuickAccessIndex(file, STAMP + 1);
+		assertEquals(0, otherInstallation.size());
+		CountingElement element = new CountingElement("id1", "Some Element");
+		otherInstallation.getLabels(provider, element);
+		assertEquals(1, element.matchLabelComputations);
+	}
+
+	@Test
+	public void testChangedLabelRecomputed() {
+		QuickAccessProvider provider = new IndexableProvider(true);
+		QuickAccessIndex index = new QuickAccessIndex(file, STAMP);
+		index.getLabels(provider, new CountingElement("id1", "Some Element"));
+
+		CountingElement renamed = new CountingElement("id1", "Renamed Element");
+		assertEquals("Renamed Element keywords", index.getLabels(provider, renamed).matchLabel);
+		assertEquals(1, renamed.matchLabelComputations);
+	}
+
+	@Test
+	public void testInvalidate() {
+		QuickAccessProvider provider = new IndexableProvider(true);
+		QuickAccessIndex index = new QuickAccessIndex(file, STAMP);
+		index.getLabels(provider, new CountingElement("id1", "Some Element"));
+		index.save();
+		index.invalidate();
+		assertEquals(0, index.size());
+		index.save();
+
+		assertEquals(0, new QuickAccessIndex(file, STAMP).size());
+	}
+
+	@Test
+	public void testProviderNotIndexable() {
+		QuickAccessProvider provider = new IndexableProvider(false);
+		QuickAccessIndex index = new QuickAccessIndex(file, STAMP);
+		CountingElement element = new CountingElement("id1", "Some Element");
+		index.getLabels(provider, element);
+		index.getLabels(provider, element);
+		assertEquals(2, element.matchLabelComputations);
+		assertEquals(0, index.size());
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.ui.tests.quickaccess;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.ui.internal.quickaccess.QuickAccessEntry;
+import org.eclipse.ui.internal.quickaccess.QuickAccessFilter;
+import org.eclipse.ui.internal.quickaccess.QuickAccessMatcher;
+import org.eclipse.ui.internal.quickaccess.QuickAccessProvider;
+import org.eclipse.ui.quickaccess.QuickAccessElement;
+import org.junit.Test;
+
+/**
+ * Tests the compiled filters of quick access
+ */
+public class QuickAccessMatcherTest {
+
+	private static final QuickAccessProvider PROVIDER = new QuickAccessProvider() {
+		@Override
+		public String getId() {
+			return "test.provider";
+		}
+
+		@Override
+		public String getName() {
+			return "Commands";
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public QuickAccessElement[] getElements() {
+			return new QuickAccessElement[0];
+		}
+
+		@Override
+		protected void doReset() {
+		}
+	};
+
+	private static QuickAccessElement element(String label) {
+		return new QuickAccessElement() {
+			@Override
+			public String getLabel() {
+				return label;
+			}
+
+			@Override
+			public ImageDescriptor getImageDescriptor() {
+				return null;
+			}
+
+			@Override
+			public String getId() {
+				return label;
+			}
+
+			@Override
+			public void execute() {
+			}
+		};
+	}
+
+	private static QuickAccessEntry match(String filter, String label) {
+		return new QuickAccessMatcher(element(label)).match(new QuickAccessFilter(filter), PROVIDER);
+	}
+
+	@Test
+	public void testSubstring() {
+		assertEquals(QuickAccessEntry.MATCH_PERFECT, match("open type", "Open Type").getMatchQuality());
+		assertEquals(QuickAccessEntry.MATCH_EXCELLENT, match("open", "Open Type").getMatchQuality());
+		assertEquals(QuickAccessEntry.MATCH_GOOD, match("type", "Open Type").getMatchQuality());
+		assertNull(match("close", "Open Type"));
+	}
+
+	@Test
+	public void testWhitespace() {
+		QuickAccessEntry entry = match("text white", "Text Editors - Show whitespace characters");
+		assertNotNull(entry);
+		assertEquals(QuickAccessEntry.MATCH_EXCELLENT, entry.getMatchQuality());
+		// words have to occur in order
+		assertNull(match("white text", "Text Editors - Show whitespace characters"));
+		assertNotNull(match("  text   white ", "Text Editors - Show whitespace characters"));
+	}
+
+	@Test
+	public void testWildcards() {
+		assertNotNull(match("op*ty", "Open Type"));
+		assertNotNull(match("*open*", "Open Type"));
+		assertNotNull(match("open?type", "Open Type"));
+		assertNotNull(match("op???ty", "Open Type"));
+		assertNull(match("op??ty", "Open Type"));
+		assertNull(match("ty*op", "Open Type"));
+	}
+
+	@Test
+	public void testParenthesesMatchOptionalChar() {
+		assertNotNull(match("run(", "Run As"));
+		assertNotNull(match("run(as", "Run As"));
+		assertNotNull(match("run()as", "Run As"));
+		assertNull(match("runas", "Run As"));
+	}
+
+	@Test
+	public void testCamelCase() {
+		assertNotNull(match("ot", "Open Type"));
+		// provider name and label
+		assertNotNull(match("cot", "Open Type"));
+		assertNull(match("to", "Open Type"));
+	}
+
+	@Test
+	public void testNarrowing() {
+		QuickAccessFilter filter = new QuickAccessFilter("op");
+		assertTrue(new QuickAccessFilter("ope").isNarrowing(filter));
+		assertTrue(new QuickAccessFilter("op*t").isNarrowing(filter));
+		assertFalse(new QuickAccessFilter("o").isNarrowing(filter));
+		assertFalse(new QuickAccessFilter("oq").isNarrowing(filter));
+		assertFalse(filter.isNarrowing(null));
+	}
+
+	@Test
+	public void testRejectedElementSkipped() {
+		QuickAccessMatcher matcher = new QuickAccessMatcher(element("Open Type"));
+		QuickAccessFilter filter = new QuickAccessFilter("ox");
+		assertNull(matcher.match(filter, PROVIDER));
+		assertTrue(matcher.isRejected(new QuickAccessFilter("oxy"), PROVIDER));
+		assertFalse(matcher.isRejected(new QuickAccessFilter("o"), PROVIDER));
+		assertNotNull(matcher.match(new QuickAccessFilter("o"), PROVIDER));
+	}
+}
@@ -17,6 +17,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ CamelUtilTest.class, QuickAccessDialogTest.class, ContentMatchesTest.class })
+@Suite.SuiteClasses({ CamelUtilTest.class, QuickAccessMatcherTest.class, QuickAccessContentsTest.class,
+		QuickAccessIndexTest.class, QuickAccessDialogTest.class, ContentMatchesTest.class })
 public class QuickAccessTestSuite {
 }